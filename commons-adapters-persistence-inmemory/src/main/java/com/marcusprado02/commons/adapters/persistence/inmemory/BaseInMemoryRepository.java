@@ -2,6 +2,7 @@ package com.marcusprado02.commons.adapters.persistence.inmemory;
 
 import com.marcusprado02.commons.ports.persistence.contract.Repository;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -9,15 +10,28 @@ import java.util.concurrent.ConcurrentHashMap;
  * Base in-memory implementation of {@code Repository} using entity type {@code E} and ID type
  * {@code I}.
  *
+ * <p>Entities live on the heap only, unless the repository is created with an {@link EntityCodec}
+ * and a {@link PersistenceConfig}: it is then durable, restoring its entities from disk on creation
+ * and appending every save and delete to a memory-mapped write-ahead log, which is compacted into a
+ * snapshot whenever it fills up. Restoring reads the latest snapshot plus the writes since, rather
+ * than rebuilding from the system of record. Writes to a durable repository are serialized; call
+ * {@link #close()} on shutdown.
+ *
  * @param <E> the entity type
  * @param <I> the ID type
  */
-public class BaseInMemoryRepository<E, I> implements Repository<E, I> {
+public class BaseInMemoryRepository<E, I> implements Repository<E, I>, AutoCloseable {
 
-  /** In-memory storage map keyed by entity ID. */
+  /**
+   * In-memory storage map keyed by entity ID. In durable mode, modify it only through {@link
+   * #put(Object, Object)} and {@link #remove(Object)}.
+   */
   protected final Map<I, E> storage = new ConcurrentHashMap<>();
 
-  private final IdExtractor<E, I> idExtractor;
+  /** Strategy extracting the ID from an entity. */
+  protected final IdExtractor<E, I> idExtractor;
+
+  private final DurableStore<E> store;
 
   /**
    * Creates a new repository with the given ID extractor.
@@ -26,6 +40,25 @@ public class BaseInMemoryRepository<E, I> implements Repository<E, I> {
    */
   public BaseInMemoryRepository(IdExtractor<E, I> idExtractor) {
     this.idExtractor = idExtractor;
+    this.store = null;
+  }
+
+  /**
+   * Creates a durable repository, restoring the entities persisted in the configured directory.
+   *
+   * @param idExtractor the strategy to extract the ID from an entity
+   * @param codec the codec writing entities to disk
+   * @param config where and how to persist entities
+   */
+  public BaseInMemoryRepository(
+      IdExtractor<E, I> idExtractor, EntityCodec<E> codec, PersistenceConfig config) {
+    this.idExtractor = Objects.requireNonNull(idExtractor, "idExtractor");
+    this.store =
+        DurableStore.open(
+            Objects.requireNonNull(config, "config"),
+            Objects.requireNonNull(codec, "codec"),
+            entity -> storage.put(idExtractor.getId(entity), entity),
+            entity -> storage.remove(idExtractor.getId(entity)));
   }
 
   @Override
@@ -36,18 +69,79 @@ public class BaseInMemoryRepository<E, I> implements Repository<E, I> {
   @Override
   public E save(E entity) {
     I id = idExtractor.getId(entity);
-    storage.put(id, entity);
+    put(id, entity);
     return entity;
   }
 
   @Override
   public void delete(E entity) {
     I id = idExtractor.getId(entity);
-    storage.remove(id);
+    remove(id);
   }
 
   @Override
   public void deleteById(I id) {
-    storage.remove(id);
+    remove(id);
+  }
+
+  /**
+   * Writes the entities to a new snapshot and truncates the log, bounding the time the next restore
+   * takes. Does nothing unless the repository is durable.
+   */
+  public void snapshot() {
+    if (store == null) {
+      return;
+    }
+    synchronized (store) {
+      store.compact(storage.values());
+    }
+  }
+
+  /** Forces pending writes of a durable repository to disk and releases its log. */
+  @Override
+  public void close() {
+    if (store == null) {
+      return;
+    }
+    synchronized (store) {
+      store.close();
+    }
+  }
+
+  /**
+   * Stores an entity, logging the write first in durable mode.
+   *
+   * @param id the entity ID
+   * @param entity the entity
+   * @return the entity previously stored under the ID, or {@code null}
+   */
+  protected E put(I id, E entity) {
+    if (store == null) {
+      return storage.put(id, entity);
+    }
+    synchronized (store) {
+      store.appendPut(entity, storage.values());
+      return storage.put(id, entity);
+    }
+  }
+
+  /**
+   * Removes an entity, logging the delete first in durable mode.
+   *
+   * @param id the entity ID
+   * @return the removed entity, or {@code null} if none was stored under the ID
+   */
+  protected E remove(I id) {
+    if (store == null) {
+      return storage.remove(id);
+    }
+    synchronized (store) {
+      E previous = storage.get(id);
+      if (previous != null) {
+        store.appendDelete(previous, storage.values());
+        storage.remove(id);
+      }
+      return previous;
+    }
   }
 }
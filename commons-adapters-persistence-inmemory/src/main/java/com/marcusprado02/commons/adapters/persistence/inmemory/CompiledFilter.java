@@ -0,0 +1,118 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import com.marcusprado02.commons.ports.persistence.specification.FilterOperator;
+import com.marcusprado02.commons.ports.persistence.specification.SearchFilter;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link SearchFilter} prepared for repeated evaluation: the {@code LIKE} pattern is compiled and
+ * the {@code IN} values are split once, and the operand of a comparison is converted once per field
+ * type rather than once per entity.
+ */
+final class CompiledFilter implements Predicate<Object> {
+
+  private final SearchFilter filter;
+  private final Pattern likePattern;
+  private final Set<String> inValues;
+  private volatile Operand operand;
+
+  CompiledFilter(SearchFilter filter) {
+    this.filter = filter;
+    String value = filter.value();
+    this.likePattern =
+        switch (filter.operator()) {
+          case LIKE ->
+              value == null ? null : Pattern.compile(value.toLowerCase().replace("%", ".*"));
+          default -> null;
+        };
+    this.inValues =
+        switch (filter.operator()) {
+          case IN -> value == null ? null : splitValues(value);
+          default -> null;
+        };
+  }
+
+  SearchFilter filter() {
+    return filter;
+  }
+
+  /** Gets the index lookup equivalent to this filter, or {@code null} if none is. */
+  SecondaryIndex.Lookup lookup() {
+    if (filter.value() == null) {
+      return null;
+    }
+    return switch (filter.operator()) {
+      case EQ, GT, GTE, LT, LTE ->
+          new SecondaryIndex.Lookup(filter.field(), filter.operator(), filter.value());
+      case IN -> new SecondaryIndex.Lookup(filter.field(), FilterOperator.IN, inValues);
+      default -> null;
+    };
+  }
+
+  @Override
+  public boolean test(Object entity) {
+    try {
+      Object fieldValue = FieldAccessor.get(entity, filter.field());
+      if (fieldValue == null) {
+        return filter.value() == null;
+      }
+
+      return switch (filter.operator()) {
+        case EQ -> fieldValue.toString().equals(filter.value());
+        case NEQ -> !fieldValue.toString().equals(filter.value());
+        case LIKE -> likePattern.matcher(fieldValue.toString().toLowerCase()).matches();
+        case GT -> compare(fieldValue) > 0;
+        case LT -> compare(fieldValue) < 0;
+        case GTE -> compare(fieldValue) >= 0;
+        case LTE -> compare(fieldValue) <= 0;
+        case IN -> inValues.contains(fieldValue.toString());
+      };
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to apply filter on field: " + filter.field(), e);
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private int compare(Object fieldValue) {
+    if (fieldValue instanceof Comparable comparable) {
+      return comparable.compareTo(operand(fieldValue.getClass()));
+    }
+    throw new IllegalArgumentException("Field is not comparable: " + fieldValue.getClass());
+  }
+
+  private Object operand(Class<?> type) {
+    Operand current = operand;
+    if (current == null || current.type() != type) {
+      current = new Operand(type, convertToType(filter.value(), type));
+      operand = current;
+    }
+    return current.value();
+  }
+
+  static Set<String> splitValues(String value) {
+    return Arrays.stream(value.split(",")).map(String::trim).collect(Collectors.toSet());
+  }
+
+  static Object convertToType(String value, Class<?> targetType) {
+    if (targetType == String.class) {
+      return value;
+    } else if (targetType == Integer.class || targetType == int.class) {
+      return Integer.parseInt(value);
+    } else if (targetType == Long.class || targetType == long.class) {
+      return Long.parseLong(value);
+    } else if (targetType == Double.class || targetType == double.class) {
+      return Double.parseDouble(value);
+    } else if (targetType == Float.class || targetType == float.class) {
+      return Float.parseFloat(value);
+    } else if (targetType == Boolean.class || targetType == boolean.class) {
+      return Boolean.parseBoolean(value);
+    }
+    return value;
+  }
+
+  private record Operand(Class<?> type, Object value) {}
+}
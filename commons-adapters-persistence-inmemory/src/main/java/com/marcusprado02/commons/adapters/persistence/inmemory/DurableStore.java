@@ -0,0 +1,315 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import com.marcusprado02.commons.ports.persistence.exception.PersistenceException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot plus memory-mapped write-ahead log behind a durable in-memory repository.
+ *
+ * <p>The directory holds {@code snapshot.dat}, the entities as of some generation, and {@code
+ * wal-<generation>.log}, the puts and deletes since. Each log record is its payload length, its
+ * type, a CRC32 of type and payload, then the payload; the type byte is written last, and replay
+ * stops at the first record that is unwritten or fails its checksum, so a torn write loses only
+ * itself. When the log fills up, the entities are written to a new snapshot, which atomically
+ * replaces the old one, and a log for the next generation is started.
+ *
+ * <p>Not thread-safe; the repository serializes access.
+ *
+ * @param <E> the entity type
+ */
+final class DurableStore<E> {
+
+  static final String SNAPSHOT_FILE = "snapshot.dat";
+
+  private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+  private static final String LOG_PREFIX = "wal-";
+  private static final String LOG_SUFFIX = ".log";
+  private static final int SNAPSHOT_MAGIC = 0x494d5331; // "IMS1"
+  private static final int LOG_MAGIC = 0x494d4c31; // "IML1"
+  private static final int LOG_HEADER_SIZE = 8;
+  private static final int RECORD_HEADER_SIZE = 9;
+  private static final int END_OF_SNAPSHOT = -1;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+
+  private final PersistenceConfig config;
+  private final EntityCodec<E> codec;
+  private final CRC32 crc = new CRC32();
+  private long generation;
+  private FileChannel channel;
+  private MappedByteBuffer log;
+
+  private DurableStore(PersistenceConfig config, EntityCodec<E> codec) {
+    this.config = config;
+    this.codec = codec;
+  }
+
+  /**
+   * Opens the store in the configured directory, replaying its snapshot and log.
+   *
+   * @param config the configuration
+   * @param codec the entity codec
+   * @param onPut receives every entity put, in order
+   * @param onDelete receives every entity deleted, in order
+   * @param <E> the entity type
+   * @return the open store
+   */
+  static <E> DurableStore<E> open(
+      PersistenceConfig config, EntityCodec<E> codec, Consumer<E> onPut, Consumer<E> onDelete) {
+    DurableStore<E> store = new DurableStore<>(config, codec);
+    try {
+      Files.createDirectories(config.directory());
+      store.restore(onPut, onDelete);
+    } catch (IOException e) {
+      throw new PersistenceException("Failed to open repository in " + config.directory(), e);
+    }
+    return store;
+  }
+
+  /**
+   * Appends a put of the entity, first compacting into a snapshot if the log is full.
+   *
+   * @param entity the entity
+   * @param current the entities before this put, for compaction
+   */
+  void appendPut(E entity, Collection<E> current) {
+    append(PUT, entity, current);
+  }
+
+  /**
+   * Appends a delete of the entity, first compacting into a snapshot if the log is full.
+   *
+   * @param entity the entity
+   * @param current the entities before this delete, for compaction
+   */
+  void appendDelete(E entity, Collection<E> current) {
+    append(DELETE, entity, current);
+  }
+
+  /**
+   * Writes the entities to a new snapshot and starts a new, empty log.
+   *
+   * @param entities the current entities
+   */
+  void compact(Collection<E> entities) {
+    compact(entities, 0);
+  }
+
+  /** Forces pending writes to the storage device and releases the log. */
+  void close() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      log.force();
+      channel.close();
+    } catch (IOException e) {
+      throw new PersistenceException("Failed to close repository log", e);
+    } finally {
+      channel = null;
+      log = null;
+    }
+  }
+
+  private void append(byte type, E entity, Collection<E> current) {
+    ensureOpen();
+    byte[] payload = codec.encode(entity);
+    int size = RECORD_HEADER_SIZE + payload.length;
+    if (log.remaining() < size) {
+      compact(current, size);
+    }
+    int position = log.position();
+    crc.reset();
+    crc.update(type);
+    crc.update(payload);
+    log.put(position + RECORD_HEADER_SIZE, payload);
+    log.putInt(position + 5, (int) crc.getValue());
+    log.putInt(position, payload.length);
+    log.put(position + 4, type);
+    log.position(position + size);
+    if (config.syncOnWrite()) {
+      log.force(position, size);
+    }
+  }
+
+  private void compact(Collection<E> entities, int required) {
+    ensureOpen();
+    long next = generation + 1;
+    try {
+      writeSnapshot(entities, next);
+    } catch (IOException e) {
+      throw new PersistenceException("Failed to write repository snapshot", e);
+    }
+    FileChannel previousChannel = channel;
+    Path previousLog = logFile(generation);
+    channel = null; // the snapshot supersedes the current log, which must not be appended to
+    try {
+      openLog(next, (long) LOG_HEADER_SIZE + required);
+      previousChannel.close();
+      Files.deleteIfExists(previousLog);
+    } catch (IOException e) {
+      throw new PersistenceException("Failed to start repository log", e);
+    }
+  }
+
+  private void restore(Consumer<E> onPut, Consumer<E> onDelete) throws IOException {
+    Files.deleteIfExists(config.directory().resolve(SNAPSHOT_TEMP_FILE));
+    Path snapshot = config.directory().resolve(SNAPSHOT_FILE);
+    generation = Files.exists(snapshot) ? readSnapshot(snapshot, onPut) : 0;
+
+    Path current = logFile(generation);
+    try (DirectoryStream<Path> logs =
+        Files.newDirectoryStream(config.directory(), LOG_PREFIX + "*" + LOG_SUFFIX)) {
+      for (Path stale : logs) {
+        if (!stale.getFileName().equals(current.getFileName())) {
+          Files.delete(stale); // superseded by the snapshot
+        }
+      }
+    }
+
+    if (Files.exists(current)) {
+      channel = FileChannel.open(current, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      log = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      int magic = log.limit() < LOG_HEADER_SIZE ? 0 : log.getInt(0);
+      if (magic == LOG_MAGIC) {
+        log.position(replay(onPut, onDelete));
+        return;
+      }
+      if (magic != 0) {
+        throw new PersistenceException("Not a repository log: " + current, null);
+      }
+      // Created, but the header never reached the disk (a crash while compacting or on first
+      // open): records cannot be replayed without it, and the snapshot already covers the rest.
+      channel.close();
+      channel = null;
+      log = null;
+    }
+    openLog(generation, 0);
+  }
+
+  private int replay(Consumer<E> onPut, Consumer<E> onDelete) {
+    int position = LOG_HEADER_SIZE;
+    while (log.limit() - position >= RECORD_HEADER_SIZE) {
+      int length = log.getInt(position);
+      byte type = log.get(position + 4);
+      if ((type != PUT && type != DELETE)
+          || length < 0
+          || length > log.limit() - position - RECORD_HEADER_SIZE) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      log.get(position + RECORD_HEADER_SIZE, payload);
+      crc.reset();
+      crc.update(type);
+      crc.update(payload);
+      if ((int) crc.getValue() != log.getInt(position + 5)) {
+        break;
+      }
+      (type == PUT ? onPut : onDelete).accept(codec.decode(payload));
+      position += RECORD_HEADER_SIZE + length;
+    }
+    return position;
+  }
+
+  private void openLog(long logGeneration, long required) throws IOException {
+    Path file = logFile(logGeneration);
+    long capacity = Math.max(config.logCapacity(), required);
+    if (capacity > Integer.MAX_VALUE) {
+      throw new PersistenceException("Entity too large for the repository log", null);
+    }
+    FileChannel opened =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    MappedByteBuffer mapped = opened.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    mapped.putInt(0, LOG_MAGIC);
+    mapped.force(0, LOG_HEADER_SIZE);
+    mapped.position(LOG_HEADER_SIZE);
+    channel = opened;
+    log = mapped;
+    generation = logGeneration;
+  }
+
+  private void writeSnapshot(Collection<E> entities, long snapshotGeneration) throws IOException {
+    Path temp = config.directory().resolve(SNAPSHOT_TEMP_FILE);
+    try (FileChannel file =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      CheckedOutputStream checked =
+          new CheckedOutputStream(
+              new BufferedOutputStream(Channels.newOutputStream(file), BUFFER_SIZE), new CRC32());
+      DataOutputStream out = new DataOutputStream(checked);
+      out.writeInt(SNAPSHOT_MAGIC);
+      out.writeLong(snapshotGeneration);
+      for (E entity : entities) {
+        byte[] payload = codec.encode(entity);
+        out.writeInt(payload.length);
+        out.write(payload);
+      }
+      out.writeInt(END_OF_SNAPSHOT);
+      out.writeInt((int) checked.getChecksum().getValue());
+      out.flush();
+      file.force(true);
+    }
+    Files.move(
+        temp,
+        config.directory().resolve(SNAPSHOT_FILE),
+        StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private long readSnapshot(Path snapshot, Consumer<E> onPut) throws IOException {
+    try (InputStream file = Files.newInputStream(snapshot)) {
+      CheckedInputStream checked =
+          new CheckedInputStream(new BufferedInputStream(file, BUFFER_SIZE), new CRC32());
+      DataInputStream in = new DataInputStream(checked);
+      if (in.readInt() != SNAPSHOT_MAGIC) {
+        throw new PersistenceException("Not a repository snapshot: " + snapshot, null);
+      }
+      long snapshotGeneration = in.readLong();
+      for (int length = in.readInt(); length != END_OF_SNAPSHOT; length = in.readInt()) {
+        onPut.accept(codec.decode(in.readNBytes(length)));
+      }
+      int expected = (int) checked.getChecksum().getValue();
+      if (in.readInt() != expected) {
+        throw new PersistenceException("Corrupt repository snapshot: " + snapshot, null);
+      }
+      return snapshotGeneration;
+    }
+  }
+
+  private Path logFile(long logGeneration) {
+    return config.directory().resolve(LOG_PREFIX + logGeneration + LOG_SUFFIX);
+  }
+
+  private void ensureOpen() {
+    if (channel == null) {
+      throw new IllegalStateException("Repository is closed");
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import com.marcusprado02.commons.kernel.result.Result;
+import com.marcusprado02.commons.ports.persistence.exception.PersistenceException;
+import com.marcusprado02.commons.ports.serialization.SerializationPort;
+import java.util.Objects;
+
+/**
+ * Converts entities to and from the bytes a durable in-memory repository writes to disk.
+ *
+ * @param <E> the entity type
+ */
+public interface EntityCodec<E> {
+
+  /**
+   * Encodes an entity.
+   *
+   * @param entity the entity
+   * @return the encoded bytes
+   */
+  byte[] encode(E entity);
+
+  /**
+   * Decodes an entity.
+   *
+   * @param bytes bytes produced by {@link #encode(Object)}
+   * @return the entity
+   */
+  E decode(byte[] bytes);
+
+  /**
+   * Creates a codec backed by a serialization port.
+   *
+   * @param port the serialization port
+   * @param type the entity class
+   * @param <E> the entity type
+   * @return a codec that fails with {@link PersistenceException} when the port does
+   */
+  static <E> EntityCodec<E> of(SerializationPort<E> port, Class<E> type) {
+    Objects.requireNonNull(port, "port");
+    Objects.requireNonNull(type, "type");
+    return new EntityCodec<>() {
+      @Override
+      public byte[] encode(E entity) {
+        return valueOf(port.serialize(entity), "encode");
+      }
+
+      @Override
+      public E decode(byte[] bytes) {
+        return valueOf(port.deserialize(bytes, type), "decode");
+      }
+
+      private <T> T valueOf(Result<T> result, String operation) {
+        if (result.isFail()) {
+          throw new PersistenceException(
+              "Failed to "
+                  + operation
+                  + " "
+                  + type.getSimpleName()
+                  + ": "
+                  + result.problemOrNull().message(),
+              null);
+        }
+        return result.getOrNull();
+      }
+    };
+  }
+}
@@ -0,0 +1,73 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads entity fields by name through method handles resolved once per class and field, instead of
+ * reflective lookups on every access.
+ */
+final class FieldAccessor {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<Map<String, MethodHandle>> GETTERS =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private FieldAccessor() {}
+
+  /**
+   * Reads a field, declared by the entity's class or any superclass.
+   *
+   * @param entity the entity
+   * @param fieldName the field name
+   * @return the field value, boxed if primitive
+   * @throws IllegalArgumentException if no such field exists
+   */
+  static Object get(Object entity, String fieldName) {
+    Class<?> type = entity.getClass();
+    MethodHandle getter = GETTERS.get(type).computeIfAbsent(fieldName, name -> getter(type, name));
+    try {
+      return (Object) getter.invokeExact(entity);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new IllegalStateException("Failed to read field: " + fieldName, t);
+    }
+  }
+
+  private static MethodHandle getter(Class<?> type, String fieldName) {
+    Field field = findField(type, fieldName);
+    try {
+      field.setAccessible(true);
+      MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        getter = MethodHandles.dropArguments(getter, 0, Object.class);
+      }
+      return getter.asType(GETTER_TYPE);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalArgumentException("Field not accessible: " + fieldName, e);
+    }
+  }
+
+  private static Field findField(Class<?> type, String fieldName) {
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      try {
+        return current.getDeclaredField(fieldName);
+      } catch (NoSuchFieldException e) {
+        // continue with the superclass
+      }
+    }
+    throw new IllegalArgumentException("Field not found: " + fieldName);
+  }
+}
@@ -8,23 +8,47 @@ import com.marcusprado02.commons.ports.persistence.model.Sort;
 import com.marcusprado02.commons.ports.persistence.specification.SearchCriteria;
 import com.marcusprado02.commons.ports.persistence.specification.SearchFilter;
 import com.marcusprado02.commons.ports.persistence.specification.Specification;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 /**
  * In-memory implementation of {@code PageableRepository} using entity type {@code E} and ID type
  * {@code I}.
  *
+ * <p>Filters and sort orders read entity fields by name. Each {@link SearchFilter} is compiled once
+ * per query and fields are read through cached method handles. Sorted pages keep only the entities
+ * up to the requested page in a bounded heap rather than sorting every match.
+ *
+ * <p>{@link Specification}s are evaluated in memory: the predicate a specification builds through
+ * the JPA criteria API is recorded and applied to each entity. The common comparison, logical,
+ * {@code like}, {@code in} and null-check operations are supported; others fail with {@link
+ * UnsupportedOperationException}.
+ *
+ * <p>Fields that are filtered on often can be indexed with {@link #createIndex(String, IndexType)};
+ * a query then scans only the entities found through the most selective index among its filters,
+ * or, for a specification, among the comparisons it requires of every match. Large scans can be
+ * evaluated in parallel, see {@link #withParallelScanThreshold(int)}.
+ *
  * @param <E> the entity type
  * @param <I> the ID type
  */
 public class InMemoryPageableRepository<E, I> extends BaseInMemoryRepository<E, I>
     implements PageableRepository<E, I> {
 
+  private static final int MAX_INITIAL_HEAP_CAPACITY = 1024;
+
+  private final List<SecondaryIndex<I>> indexes = new CopyOnWriteArrayList<>();
+  private final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+  private volatile int parallelScanThreshold = Integer.MAX_VALUE;
+
   /**
    * Creates a new pageable repository with the given ID extractor.
    *
@@ -34,161 +58,248 @@ public class InMemoryPageableRepository<E, I> extends BaseInMemoryRepository<E,
     super(idExtractor);
   }
 
-  @Override
-  public PageResult<E> findAll(PageRequest pageRequest, Specification<E> specification) {
-    // Specification is not suitable for in-memory without JPA; fall back to unfiltered findAll
-    return findAll(pageRequest);
+  /**
+   * Creates a durable pageable repository, restoring the entities persisted in the configured
+   * directory.
+   *
+   * @param idExtractor the strategy to extract the ID from an entity
+   * @param codec the codec writing entities to disk
+   * @param config where and how to persist entities
+   */
+  public InMemoryPageableRepository(
+      IdExtractor<E, I> idExtractor, EntityCodec<E> codec, PersistenceConfig config) {
+    super(idExtractor, codec, config);
   }
 
-  @Override
-  public PageResult<E> findAll(PageRequest pageRequest, SearchCriteria criteria) {
-    List<E> all = new ArrayList<>(storage.values());
-
-    List<E> filtered =
-        all.stream()
-            .filter(entity -> matchesCriteria(entity, criteria))
-            .collect(Collectors.toList());
-
-    return paginate(filtered, pageRequest);
+  /**
+   * Evaluates filters on a parallel stream when a query scans at least {@code threshold} entities.
+   * Worth it only for large repositories with costly filters; scans are sequential by default.
+   *
+   * @param threshold the minimum number of scanned entities, positive
+   * @return this repository
+   */
+  public InMemoryPageableRepository<E, I> withParallelScanThreshold(int threshold) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("threshold must be positive");
+    }
+    this.parallelScanThreshold = threshold;
+    return this;
   }
 
   /**
-   * Returns a page of all entities without filtering.
+   * Creates a secondary index on a field, replacing any index of the same type on it, and fills it
+   * from the entities already stored. The index is maintained on every save and delete.
    *
-   * @param pageRequest the page request
-   * @return a page result containing entities for the requested page
+   * <p>Create indexes while setting the repository up: entities saved concurrently with this call
+   * may be left out of the new index.
+   *
+   * @param field the name of the indexed field
+   * @param type the kind of index, which determines the filters it serves
    */
-  public PageResult<E> findAll(PageRequest pageRequest) {
-    List<E> all = new ArrayList<>(storage.values());
-    return paginate(all, pageRequest);
+  public void createIndex(String field, IndexType type) {
+    Objects.requireNonNull(field, "field");
+    Objects.requireNonNull(type, "type");
+    SecondaryIndex<I> index = new SecondaryIndex<>(field, type);
+    indexLock.writeLock().lock();
+    try {
+      storage.forEach((id, entity) -> index.add(entity, id));
+      indexes.removeIf(existing -> existing.field().equals(field) && existing.type() == type);
+      indexes.add(index);
+    } finally {
+      indexLock.writeLock().unlock();
+    }
   }
 
   @Override
-  public PageResult<E> search(PageRequest pageRequest, Specification<E> spec, Sort sort) {
-    // Specification is not suitable for in-memory without JPA; apply sorting only
-    List<E> all = new ArrayList<>(storage.values());
-    List<E> sorted = applySorting(all, sort);
-    return paginate(sorted, pageRequest);
-  }
-
-  private boolean matchesCriteria(E entity, SearchCriteria criteria) {
-    if (criteria == null || criteria.filters().isEmpty()) {
-      return true;
+  public E save(E entity) {
+    if (indexes.isEmpty()) {
+      return super.save(entity);
     }
-
-    return criteria.filters().stream().allMatch(filter -> matchesFilter(entity, filter));
-  }
-
-  private boolean matchesFilter(E entity, SearchFilter filter) {
+    I id = idExtractor.getId(entity);
+    indexLock.writeLock().lock();
     try {
-      Object fieldValue = getFieldValue(entity, filter.field());
-      if (fieldValue == null) {
-        return filter.value() == null;
+      E previous = put(id, entity);
+      for (SecondaryIndex<I> index : indexes) {
+        if (previous != null) {
+          index.remove(previous, id);
+        }
+        index.add(entity, id);
       }
-
-      return switch (filter.operator()) {
-        case EQ -> compareEqual(fieldValue, filter.value());
-        case NEQ -> !compareEqual(fieldValue, filter.value());
-        case LIKE -> compareLike(fieldValue, filter.value());
-        case GT -> compareGreaterThan(fieldValue, filter.value());
-        case LT -> compareLessThan(fieldValue, filter.value());
-        case GTE -> compareGreaterThanOrEqual(fieldValue, filter.value());
-        case LTE -> compareLessThanOrEqual(fieldValue, filter.value());
-        case IN -> compareIn(fieldValue, filter.value());
-      };
-    } catch (Exception e) {
-      throw new RuntimeException("Failed to apply filter on field: " + filter.field(), e);
+    } finally {
+      indexLock.writeLock().unlock();
     }
+    return entity;
   }
 
-  private Object getFieldValue(E entity, String fieldName) throws IllegalAccessException {
-    try {
-      Field field = findField(entity.getClass(), fieldName);
-      field.setAccessible(true);
-      return field.get(entity);
-    } catch (NoSuchFieldException e) {
-      throw new IllegalArgumentException("Field not found: " + fieldName, e);
-    }
+  @Override
+  public void delete(E entity) {
+    deleteById(idExtractor.getId(entity));
   }
 
-  private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+  @Override
+  public void deleteById(I id) {
+    if (indexes.isEmpty()) {
+      super.deleteById(id);
+      return;
+    }
+    indexLock.writeLock().lock();
     try {
-      return clazz.getDeclaredField(fieldName);
-    } catch (NoSuchFieldException e) {
-      if (clazz.getSuperclass() != null) {
-        return findField(clazz.getSuperclass(), fieldName);
+      E previous = remove(id);
+      if (previous != null) {
+        for (SecondaryIndex<I> index : indexes) {
+          index.remove(previous, id);
+        }
       }
-      throw e;
+    } finally {
+      indexLock.writeLock().unlock();
     }
   }
 
-  private boolean compareEqual(Object fieldValue, String filterValue) {
-    return fieldValue.toString().equals(filterValue);
+  @Override
+  public PageResult<E> findAll(PageRequest pageRequest, Specification<E> specification) {
+    return search(pageRequest, specification, null);
   }
 
-  private boolean compareLike(Object fieldValue, String filterValue) {
-    String value = fieldValue.toString().toLowerCase();
-    String pattern = filterValue.toLowerCase().replace("%", ".*");
-    return value.matches(pattern);
+  @Override
+  public PageResult<E> findAll(PageRequest pageRequest, SearchCriteria criteria) {
+    List<CompiledFilter> filters = compile(criteria);
+    if (filters.isEmpty()) {
+      return findAll(pageRequest);
+    }
+    List<SecondaryIndex.Lookup> lookups =
+        filters.stream().map(CompiledFilter::lookup).filter(Objects::nonNull).toList();
+    return page(candidates(lookups), entity -> matchesAll(entity, filters), null, pageRequest);
   }
 
-  @SuppressWarnings("unchecked")
-  private boolean compareGreaterThan(Object fieldValue, String filterValue) {
-    if (fieldValue instanceof Comparable comparable) {
-      return comparable.compareTo(convertToType(filterValue, fieldValue.getClass())) > 0;
-    }
-    throw new IllegalArgumentException("Field is not comparable: " + fieldValue.getClass());
+  /**
+   * Returns a page of all entities without filtering.
+   *
+   * @param pageRequest the page request
+   * @return a page result containing entities for the requested page
+   */
+  public PageResult<E> findAll(PageRequest pageRequest) {
+    return page(storage.values(), null, null, pageRequest);
   }
 
-  @SuppressWarnings("unchecked")
-  private boolean compareLessThan(Object fieldValue, String filterValue) {
-    if (fieldValue instanceof Comparable comparable) {
-      return comparable.compareTo(convertToType(filterValue, fieldValue.getClass())) < 0;
+  @Override
+  public PageResult<E> search(PageRequest pageRequest, Specification<E> spec, Sort sort) {
+    Comparator<E> comparator = createComparator(sort);
+    if (spec == null) {
+      return page(storage.values(), null, comparator, pageRequest);
     }
-    throw new IllegalArgumentException("Field is not comparable: " + fieldValue.getClass());
+    SpecificationTranslator.Translation translation = SpecificationTranslator.translate(spec);
+    return page(
+        candidates(translation.lookups()), translation.predicate(), comparator, pageRequest);
   }
 
-  @SuppressWarnings("unchecked")
-  private boolean compareGreaterThanOrEqual(Object fieldValue, String filterValue) {
-    if (fieldValue instanceof Comparable comparable) {
-      return comparable.compareTo(convertToType(filterValue, fieldValue.getClass())) >= 0;
+  private static List<CompiledFilter> compile(SearchCriteria criteria) {
+    if (criteria == null || criteria.filters().isEmpty()) {
+      return List.of();
     }
-    throw new IllegalArgumentException("Field is not comparable: " + fieldValue.getClass());
+    return criteria.filters().stream().map(CompiledFilter::new).toList();
   }
 
-  @SuppressWarnings("unchecked")
-  private boolean compareLessThanOrEqual(Object fieldValue, String filterValue) {
-    if (fieldValue instanceof Comparable comparable) {
-      return comparable.compareTo(convertToType(filterValue, fieldValue.getClass())) <= 0;
+  /** Gets the entities found through the most selective index, or all of them if none applies. */
+  private Collection<E> candidates(List<SecondaryIndex.Lookup> lookups) {
+    if (lookups.isEmpty() || indexes.isEmpty()) {
+      return storage.values();
+    }
+    indexLock.readLock().lock();
+    try {
+      List<I> best = null;
+      for (SecondaryIndex.Lookup lookup : lookups) {
+        for (SecondaryIndex<I> index : indexes) {
+          if (!index.field().equals(lookup.field())) {
+            continue;
+          }
+          List<I> ids = index.candidates(lookup);
+          if (ids != null && (best == null || ids.size() < best.size())) {
+            best = ids;
+          }
+        }
+      }
+      if (best == null) {
+        return storage.values();
+      }
+      List<E> entities = new ArrayList<>(best.size());
+      for (I id : best) {
+        E entity = storage.get(id);
+        if (entity != null) {
+          entities.add(entity);
+        }
+      }
+      return entities;
+    } finally {
+      indexLock.readLock().unlock();
     }
-    throw new IllegalArgumentException("Field is not comparable: " + fieldValue.getClass());
   }
 
-  private boolean compareIn(Object fieldValue, String filterValue) {
-    String[] values = filterValue.split(",");
-    return Arrays.stream(values).map(String::trim).anyMatch(v -> fieldValue.toString().equals(v));
+  /**
+   * Collects the requested page of the entities matching the filter in one pass, keeping only the
+   * entities up to the end of the page when sorting.
+   */
+  private PageResult<E> page(
+      Collection<E> entities,
+      Predicate<Object> filter,
+      Comparator<E> comparator,
+      PageRequest pageRequest) {
+    if (filter != null && entities.size() >= parallelScanThreshold) {
+      entities = entities.parallelStream().filter(filter).toList();
+      filter = null;
+    }
+    long from = (long) pageRequest.page() * pageRequest.size();
+    int limit = (int) Math.min(from + pageRequest.size(), Integer.MAX_VALUE);
+    int total = 0;
+
+    if (comparator == null) {
+      List<E> content = new ArrayList<>();
+      for (E entity : entities) {
+        if (filter == null || filter.test(entity)) {
+          if (total >= from && content.size() < pageRequest.size()) {
+            content.add(entity);
+          }
+          total++;
+        }
+      }
+      return new PageResult<>(content, total, pageRequest.page(), pageRequest.size());
+    }
+
+    // max-heap of the best `limit` entities seen so far, worst on top
+    PriorityQueue<E> heap =
+        new PriorityQueue<>(Math.min(limit, MAX_INITIAL_HEAP_CAPACITY), comparator.reversed());
+    for (E entity : entities) {
+      if (filter != null && !filter.test(entity)) {
+        continue;
+      }
+      total++;
+      if (heap.size() < limit) {
+        heap.add(entity);
+      } else if (comparator.compare(entity, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(entity);
+      }
+    }
+    if (from >= heap.size()) {
+      return new PageResult<>(List.of(), total, pageRequest.page(), pageRequest.size());
+    }
+    List<E> top = new ArrayList<>(heap);
+    top.sort(comparator);
+    return new PageResult<>(
+        top.subList((int) from, top.size()), total, pageRequest.page(), pageRequest.size());
   }
 
-  private Object convertToType(String value, Class<?> targetType) {
-    if (targetType == String.class) {
-      return value;
-    } else if (targetType == Integer.class || targetType == int.class) {
-      return Integer.parseInt(value);
-    } else if (targetType == Long.class || targetType == long.class) {
-      return Long.parseLong(value);
-    } else if (targetType == Double.class || targetType == double.class) {
-      return Double.parseDouble(value);
-    } else if (targetType == Float.class || targetType == float.class) {
-      return Float.parseFloat(value);
-    } else if (targetType == Boolean.class || targetType == boolean.class) {
-      return Boolean.parseBoolean(value);
+  private static boolean matchesAll(Object entity, List<CompiledFilter> filters) {
+    for (CompiledFilter filter : filters) {
+      if (!filter.test(entity)) {
+        return false;
+      }
     }
-    return value;
+    return true;
   }
 
-  private List<E> applySorting(List<E> entities, Sort sort) {
+  private Comparator<E> createComparator(Sort sort) {
     if (sort == null || sort.orders().isEmpty()) {
-      return entities;
+      return null;
     }
 
     Comparator<E> comparator = null;
@@ -202,15 +313,15 @@ public class InMemoryPageableRepository<E, I> extends BaseInMemoryRepository<E,
       }
     }
 
-    return entities.stream().sorted(comparator).collect(Collectors.toList());
+    return comparator;
   }
 
   @SuppressWarnings("unchecked")
   private Comparator<E> createComparator(Order order) {
     return (e1, e2) -> {
       try {
-        Object v1 = getFieldValue(e1, order.field());
-        Object v2 = getFieldValue(e2, order.field());
+        Object v1 = FieldAccessor.get(e1, order.field());
+        Object v2 = FieldAccessor.get(e2, order.field());
 
         if (v1 == null && v2 == null) {
           return 0;
@@ -235,16 +346,4 @@ public class InMemoryPageableRepository<E, I> extends BaseInMemoryRepository<E,
       }
     };
   }
-
-  private PageResult<E> paginate(List<E> entities, PageRequest pageRequest) {
-    int from = pageRequest.page() * pageRequest.size();
-    int to = Math.min(from + pageRequest.size(), entities.size());
-
-    if (from > entities.size()) {
-      return new PageResult<>(List.of(), entities.size(), pageRequest.page(), pageRequest.size());
-    }
-
-    List<E> page = entities.subList(from, to);
-    return new PageResult<>(page, entities.size(), pageRequest.page(), pageRequest.size());
-  }
 }
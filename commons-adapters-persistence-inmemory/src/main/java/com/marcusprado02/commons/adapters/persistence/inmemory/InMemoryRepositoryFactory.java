@@ -17,6 +17,22 @@ public final class InMemoryRepositoryFactory {
     return new BaseInMemoryRepository<>(extractor);
   }
 
+  /**
+   * Creates a durable in-memory {@code Repository}, restoring the entities persisted in the
+   * configured directory.
+   *
+   * @param <E> the entity type
+   * @param <I> the ID type
+   * @param extractor the strategy to extract the ID from an entity
+   * @param codec the codec writing entities to disk
+   * @param config where and how to persist entities
+   * @return a new durable {@code BaseInMemoryRepository}
+   */
+  public static <E, I> BaseInMemoryRepository<E, I> createRepository(
+      IdExtractor<E, I> extractor, EntityCodec<E> codec, PersistenceConfig config) {
+    return new BaseInMemoryRepository<>(extractor, codec, config);
+  }
+
   /**
    * Creates an in-memory {@code PageableRepository}.
    *
@@ -29,4 +45,20 @@ public final class InMemoryRepositoryFactory {
       IdExtractor<E, I> extractor) {
     return new InMemoryPageableRepository<>(extractor);
   }
+
+  /**
+   * Creates a durable in-memory {@code PageableRepository}, restoring the entities persisted in the
+   * configured directory.
+   *
+   * @param <E> the entity type
+   * @param <I> the ID type
+   * @param extractor the strategy to extract the ID from an entity
+   * @param codec the codec writing entities to disk
+   * @param config where and how to persist entities
+   * @return a new durable {@code InMemoryPageableRepository}
+   */
+  public static <E, I> InMemoryPageableRepository<E, I> createPageableRepository(
+      IdExtractor<E, I> extractor, EntityCodec<E> codec, PersistenceConfig config) {
+    return new InMemoryPageableRepository<>(extractor, codec, config);
+  }
 }
@@ -0,0 +1,17 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+/** Kinds of secondary index an {@link InMemoryPageableRepository} can maintain on a field. */
+public enum IndexType {
+
+  /**
+   * Hash index on the string form of the field value; serves {@code EQ} and {@code IN} filters,
+   * which compare that string form.
+   */
+  HASH,
+
+  /**
+   * Sorted index on the field value, which must be {@link Comparable}; serves {@code GT}, {@code
+   * GTE}, {@code LT} and {@code LTE} filters.
+   */
+  SORTED
+}
@@ -0,0 +1,43 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for a durable in-memory repository.
+ *
+ * @param directory Directory holding the snapshot and the write-ahead log; one per repository
+ * @param logCapacity Size in bytes of the memory-mapped log; when it fills up, the entities are
+ *     compacted into a new snapshot and a new log is started
+ * @param syncOnWrite Whether every write is forced to the storage device before it returns; when
+ *     false, writes survive a crash of the process but not of the machine
+ */
+public record PersistenceConfig(Path directory, int logCapacity, boolean syncOnWrite) {
+
+  public static final int DEFAULT_LOG_CAPACITY = 64 * 1024 * 1024;
+  public static final int MIN_LOG_CAPACITY = 4096;
+
+  /** Validates fields on construction. */
+  public PersistenceConfig {
+    if (directory == null) {
+      throw new IllegalArgumentException("directory must not be null");
+    }
+    if (logCapacity < MIN_LOG_CAPACITY) {
+      throw new IllegalArgumentException("logCapacity must be at least " + MIN_LOG_CAPACITY);
+    }
+  }
+
+  /** Creates default configuration in the given directory: a 64 MiB log, without forced writes. */
+  public static PersistenceConfig of(Path directory) {
+    return new PersistenceConfig(directory, DEFAULT_LOG_CAPACITY, false);
+  }
+
+  /** Returns a copy with the given log capacity. */
+  public PersistenceConfig withLogCapacity(int logCapacity) {
+    return new PersistenceConfig(directory, logCapacity, syncOnWrite);
+  }
+
+  /** Returns a copy with forced writes enabled or disabled. */
+  public PersistenceConfig withSyncOnWrite(boolean syncOnWrite) {
+    return new PersistenceConfig(directory, logCapacity, syncOnWrite);
+  }
+}
@@ -0,0 +1,170 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import com.marcusprado02.commons.ports.persistence.specification.FilterOperator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Secondary index from a field value to the IDs of the entities holding it.
+ *
+ * <p>Entities whose field is {@code null} are not indexed, so filters on {@code null} fall back to
+ * a scan. Not thread-safe; {@link InMemoryPageableRepository} guards it with a lock.
+ *
+ * <p>A hash index keys numbers by their {@code double} value, since specifications compare numbers
+ * of different types by value, and everything else by its string form. Lookups may therefore
+ * return entities that do not match; callers always evaluate the filter on the candidates.
+ *
+ * @param <I> the ID type
+ */
+final class SecondaryIndex<I> {
+
+  private final String field;
+  private final IndexType type;
+  private final Map<Object, Set<I>> entries;
+
+  SecondaryIndex(String field, IndexType type) {
+    this.field = field;
+    this.type = type;
+    this.entries = type == IndexType.HASH ? new HashMap<>() : new TreeMap<>();
+  }
+
+  String field() {
+    return field;
+  }
+
+  IndexType type() {
+    return type;
+  }
+
+  void add(Object entity, I id) {
+    Object key = key(entity);
+    if (key != null) {
+      entries.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+    }
+  }
+
+  void remove(Object entity, I id) {
+    Object key = key(entity);
+    if (key == null) {
+      return;
+    }
+    Set<I> ids = entries.get(key);
+    if (ids != null && ids.remove(id) && ids.isEmpty()) {
+      entries.remove(key);
+    }
+  }
+
+  /**
+   * Gets the IDs of the entities that may satisfy a lookup.
+   *
+   * @param lookup the lookup, on this index's field
+   * @return the candidate IDs, or {@code null} if this index cannot serve the lookup
+   */
+  List<I> candidates(Lookup lookup) {
+    return switch (type) {
+      case HASH ->
+          switch (lookup.operator()) {
+            case EQ -> collect(groups(lookupKeys(lookup.value()).stream()));
+            case IN ->
+                collect(
+                    groups(
+                        ((Collection<?>) lookup.value())
+                            .stream()
+                                .flatMap(value -> lookupKeys(value).stream())));
+            default -> null;
+          };
+      case SORTED -> range(lookup);
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<I> range(Lookup lookup) {
+    NavigableMap<Object, Set<I>> sorted = (NavigableMap<Object, Set<I>>) entries;
+    if (sorted.isEmpty()) {
+      return List.of();
+    }
+    Class<?> keyType = sorted.firstKey().getClass();
+    Object bound = lookup.value();
+    if (bound instanceof String text && keyType != String.class) {
+      try {
+        bound = CompiledFilter.convertToType(text, keyType);
+      } catch (RuntimeException e) {
+        return null; // evaluating the filter reports the malformed value
+      }
+    }
+    if (bound.getClass() != keyType) {
+      return null;
+    }
+    return switch (lookup.operator()) {
+      case GT -> collect(sorted.tailMap(bound, false).values());
+      case GTE -> collect(sorted.tailMap(bound, true).values());
+      case LT -> collect(sorted.headMap(bound, false).values());
+      case LTE -> collect(sorted.headMap(bound, true).values());
+      default -> null;
+    };
+  }
+
+  private Object key(Object entity) {
+    Object value = FieldAccessor.get(entity, field);
+    if (value == null) {
+      return null;
+    }
+    if (type == IndexType.HASH) {
+      return value instanceof Number number ? numberKey(number) : value.toString();
+    }
+    if (!(value instanceof Comparable)) {
+      throw new IllegalArgumentException("Field is not comparable: " + field);
+    }
+    return value;
+  }
+
+  /** Gets the hash keys an operand may match: numbers by value, strings also as a number. */
+  private static List<Object> lookupKeys(Object operand) {
+    if (operand instanceof Number number) {
+      return List.of(numberKey(number));
+    }
+    String text = operand.toString();
+    if (operand instanceof String) {
+      try {
+        return List.of(text, numberKey(Double.parseDouble(text.trim())));
+      } catch (NumberFormatException e) {
+        // not a number, so only its string form can match
+      }
+    }
+    return List.of(text);
+  }
+
+  /** Keys a number by its {@code double} value, folding {@code -0.0} into {@code 0.0}. */
+  private static Double numberKey(Number number) {
+    return number.doubleValue() + 0.0;
+  }
+
+  private Collection<Set<I>> groups(Stream<Object> keys) {
+    return keys.distinct().map(key -> entries.getOrDefault(key, Set.of())).toList();
+  }
+
+  private static <I> List<I> collect(Collection<Set<I>> groups) {
+    List<I> ids = new ArrayList<>();
+    for (Set<I> group : groups) {
+      ids.addAll(group);
+    }
+    return ids;
+  }
+
+  /**
+   * A lookup that narrows a query to the entities whose field satisfies it.
+   *
+   * @param field the field name
+   * @param operator the comparison; {@code IN} takes a collection of values
+   * @param value the non-null operand
+   */
+  record Lookup(String field, FilterOperator operator, Object value) {}
+}
@@ -0,0 +1,509 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import com.marcusprado02.commons.ports.persistence.specification.FilterOperator;
+import com.marcusprado02.commons.ports.persistence.specification.Specification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Translates a JPA {@link Specification} into an in-memory predicate over entities.
+ *
+ * <p>The specification is given stand-in {@link Root}, {@link CriteriaQuery} and {@link
+ * CriteriaBuilder} implementations that record the expression tree it builds. Attributes are read
+ * by field name and string operands are converted to the field type as for {@code SearchFilter}s.
+ * Predicates have three values, as in SQL: a comparison involving {@code null} is unknown, {@code
+ * not} keeps it unknown, and only entities for which the specification is true match. Comparisons
+ * of a root attribute with a constant that are top-level conjuncts are also returned as index
+ * lookups.
+ *
+ * <p>Supported: {@code conjunction}, {@code disjunction}, {@code and}, {@code or}, {@code not},
+ * {@code equal}, {@code notEqual}, {@code greaterThan}/{@code gt}, {@code greaterThanOrEqualTo}/
+ * {@code ge}, {@code lessThan}/{@code lt}, {@code lessThanOrEqualTo}/{@code le}, {@code between},
+ * {@code like}/{@code notLike}, {@code isNull}/{@code isNotNull}, {@code isTrue}/{@code isFalse},
+ * {@code in}, {@code lower}, {@code upper}, {@code literal} and nested {@code get} paths. Anything
+ * else fails with {@link UnsupportedOperationException}.
+ */
+final class SpecificationTranslator {
+
+  private SpecificationTranslator() {}
+
+  /**
+   * A specification translated for in-memory evaluation.
+   *
+   * @param predicate whether an entity satisfies the specification
+   * @param lookups index lookups every satisfying entity also satisfies
+   */
+  record Translation(
+      java.util.function.Predicate<Object> predicate, List<SecondaryIndex.Lookup> lookups) {}
+
+  /**
+   * Translates a specification.
+   *
+   * @param specification the specification
+   * @param <E> the entity type
+   * @return the translation
+   */
+  @SuppressWarnings("unchecked")
+  static <E> Translation translate(Specification<E> specification) {
+    Node root = new Node(Kind.ROOT, entity -> entity, null, List::of);
+    Node query = new Node(Kind.QUERY, null, null, List::of);
+    Node builder = new Node(Kind.BUILDER, null, null, List::of);
+    Predicate predicate =
+        specification.toPredicate(
+            (Root<E>) root.proxy, (CriteriaQuery<?>) query.proxy, (CriteriaBuilder) builder.proxy);
+    if (predicate == null) {
+      return new Translation(entity -> true, List.of());
+    }
+    Node node = node(predicate);
+    return new Translation(entity -> isTrue(node.eval.apply(entity)), node.lookups.get());
+  }
+
+  private enum Kind {
+    ROOT(Root.class),
+    PATH(Path.class),
+    EXPRESSION(Expression.class),
+    PREDICATE(Predicate.class),
+    IN(CriteriaBuilder.In.class),
+    QUERY(CriteriaQuery.class),
+    BUILDER(CriteriaBuilder.class);
+
+    private final Class<?> type;
+
+    Kind(Class<?> type) {
+      this.type = type;
+    }
+  }
+
+  /** A recorded expression, exposed to the specification through a proxy. */
+  private static final class Node implements InvocationHandler {
+
+    private final Kind kind;
+    private final Function<Object, Object> eval;
+    private final String attribute;
+    private final Supplier<List<SecondaryIndex.Lookup>> lookups;
+    private final List<Object> values;
+    private final Object proxy;
+
+    /**
+     * Creates a node.
+     *
+     * @param kind what the node stands for
+     * @param eval evaluates the node against an entity
+     * @param attribute the root attribute this node reads, or {@code null}
+     * @param lookups index lookups implied by this node being true
+     */
+    Node(
+        Kind kind,
+        Function<Object, Object> eval,
+        String attribute,
+        Supplier<List<SecondaryIndex.Lookup>> lookups) {
+      this(kind, eval, attribute, lookups, null);
+    }
+
+    /** Creates a node; {@code values} collects the operands of an {@code IN} node. */
+    Node(
+        Kind kind,
+        Function<Object, Object> eval,
+        String attribute,
+        Supplier<List<SecondaryIndex.Lookup>> lookups,
+        List<Object> values) {
+      this.kind = kind;
+      this.eval = eval;
+      this.attribute = attribute;
+      this.lookups = lookups;
+      this.values = values;
+      this.proxy =
+          Proxy.newProxyInstance(kind.type.getClassLoader(), new Class<?>[] {kind.type}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      String name = method.getName();
+      Object[] arguments = args == null ? new Object[0] : args;
+      if (method.getDeclaringClass() == Object.class) {
+        return switch (name) {
+          case "equals" -> proxy == arguments[0];
+          case "hashCode" -> System.identityHashCode(proxy);
+          default -> "InMemory" + kind.type.getSimpleName();
+        };
+      }
+      Object result =
+          switch (kind) {
+            case BUILDER -> builder(name, arguments);
+            case QUERY -> name.equals("distinct") ? proxy : null;
+            default -> expression(name, arguments);
+          };
+      if (result == null) {
+        throw new UnsupportedOperationException(
+            "Not supported by the in-memory repository: "
+                + method.getDeclaringClass().getSimpleName()
+                + "."
+                + name);
+      }
+      return result;
+    }
+
+    private Object expression(String name, Object[] args) {
+      return switch (name) {
+        case "get" ->
+            (kind == Kind.ROOT || kind == Kind.PATH) && args[0] instanceof String field
+                ? path(field)
+                : null;
+        case "isNull" -> predicate(entity -> eval.apply(entity) == null);
+        case "isNotNull" -> predicate(entity -> eval.apply(entity) != null);
+        case "in" -> in(this, flatten(args)).proxy;
+        case "not" -> kind == Kind.PREDICATE || kind == Kind.IN ? negate(this) : null;
+        case "value" -> {
+          if (kind != Kind.IN) {
+            yield null;
+          }
+          values.add(args[0]);
+          yield proxy;
+        }
+        case "alias" -> proxy;
+        default -> null;
+      };
+    }
+
+    private Object path(String field) {
+      Function<Object, Object> owner = eval;
+      return new Node(
+              Kind.PATH,
+              entity -> {
+                Object value = owner.apply(entity);
+                return value == null ? null : FieldAccessor.get(value, field);
+              },
+              kind == Kind.ROOT ? field : null,
+              List::of)
+          .proxy;
+    }
+  }
+
+  private static Object builder(String name, Object[] args) {
+    return switch (name) {
+      case "conjunction" -> predicate(entity -> true);
+      case "disjunction" -> predicate(entity -> false);
+      case "and" -> and(nodes(args));
+      case "or" -> or(nodes(args));
+      case "not" -> negate(node(args[0]));
+      case "equal" -> compare(args[0], args[1], FilterOperator.EQ);
+      case "notEqual" -> compare(args[0], args[1], FilterOperator.NEQ);
+      case "greaterThan", "gt" -> compare(args[0], args[1], FilterOperator.GT);
+      case "greaterThanOrEqualTo", "ge" -> compare(args[0], args[1], FilterOperator.GTE);
+      case "lessThan", "lt" -> compare(args[0], args[1], FilterOperator.LT);
+      case "lessThanOrEqualTo", "le" -> compare(args[0], args[1], FilterOperator.LTE);
+      case "between" ->
+          and(
+              List.of(
+                  node(compare(args[0], args[1], FilterOperator.GTE)),
+                  node(compare(args[0], args[2], FilterOperator.LTE))));
+      case "like" -> like(args, false);
+      case "notLike" -> like(args, true);
+      case "isNull" -> test(args[0], Objects::isNull);
+      case "isNotNull" -> test(args[0], Objects::nonNull);
+      case "isTrue" -> truthTest(args[0], true);
+      case "isFalse" -> truthTest(args[0], false);
+      case "in" -> args.length == 1 ? in(node(args[0]), new ArrayList<>()).proxy : null;
+      case "lower" -> text(args[0], value -> value.toLowerCase(Locale.ROOT));
+      case "upper" -> text(args[0], value -> value.toUpperCase(Locale.ROOT));
+      case "literal" -> {
+        Object value = Objects.requireNonNull(args[0], "literal");
+        yield new Node(Kind.EXPRESSION, entity -> value, null, List::of).proxy;
+      }
+      default -> null;
+    };
+  }
+
+  private static Object predicate(Function<Object, Object> eval) {
+    return new Node(Kind.PREDICATE, eval, null, List::of).proxy;
+  }
+
+  private static Object test(Object arg, java.util.function.Predicate<Object> test) {
+    Function<Object, Object> value = operand(arg);
+    return predicate(entity -> test.test(value.apply(entity)));
+  }
+
+  private static Object truthTest(Object arg, boolean expected) {
+    Function<Object, Object> value = operand(arg);
+    return predicate(
+        entity -> {
+          Object truth = value.apply(entity);
+          return truth == null ? null : Boolean.valueOf(expected).equals(truth);
+        });
+  }
+
+  private static Object and(List<Node> parts) {
+    return new Node(
+            Kind.PREDICATE,
+            entity -> {
+              Boolean result = true;
+              for (Node part : parts) {
+                Object value = part.eval.apply(entity);
+                if (value == null) {
+                  result = null;
+                } else if (!isTrue(value)) {
+                  return false;
+                }
+              }
+              return result;
+            },
+            null,
+            () -> parts.stream().flatMap(part -> part.lookups.get().stream()).toList())
+        .proxy;
+  }
+
+  private static Object or(List<Node> parts) {
+    return predicate(
+        entity -> {
+          Boolean result = false;
+          for (Node part : parts) {
+            Object value = part.eval.apply(entity);
+            if (value == null) {
+              result = null;
+            } else if (isTrue(value)) {
+              return true;
+            }
+          }
+          return result;
+        });
+  }
+
+  private static Object negate(Node node) {
+    return predicate(
+        entity -> {
+          Object value = node.eval.apply(entity);
+          return value == null ? null : !isTrue(value);
+        });
+  }
+
+  private static Object compare(Object left, Object right, FilterOperator operator) {
+    Function<Object, Object> leftValue = operand(left);
+    Function<Object, Object> rightValue = operand(right);
+    String attribute = node(left).attribute;
+    boolean constant = right != null && !isNode(right);
+    return new Node(
+            Kind.PREDICATE,
+            entity -> {
+              Object l = leftValue.apply(entity);
+              Object r = rightValue.apply(entity);
+              if (l == null || r == null) {
+                return null;
+              }
+              return switch (operator) {
+                case EQ -> equalValues(l, r);
+                case NEQ -> !equalValues(l, r);
+                case GT -> compareValues(l, r) > 0;
+                case GTE -> compareValues(l, r) >= 0;
+                case LT -> compareValues(l, r) < 0;
+                case LTE -> compareValues(l, r) <= 0;
+                default -> throw new IllegalArgumentException("Unknown operator: " + operator);
+              };
+            },
+            null,
+            () ->
+                attribute != null && constant && operator != FilterOperator.NEQ
+                    ? List.of(new SecondaryIndex.Lookup(attribute, operator, right))
+                    : List.of())
+        .proxy;
+  }
+
+  private static Node in(Node expression, List<Object> values) {
+    Function<Object, Object> value = expression.eval;
+    String attribute = expression.attribute;
+    return new Node(
+        Kind.IN,
+        entity -> {
+          Object v = value.apply(entity);
+          if (v == null) {
+            return null;
+          }
+          Boolean result = false;
+          for (Object candidate : values) {
+            Object c = isNode(candidate) ? node(candidate).eval.apply(entity) : candidate;
+            if (c == null) {
+              result = null;
+            } else if (equalValues(v, c)) {
+              return true;
+            }
+          }
+          return result;
+        },
+        null,
+        () ->
+            attribute != null
+                    && !values.isEmpty()
+                    && values.stream().noneMatch(c -> c == null || isNode(c))
+                ? List.of(
+                    new SecondaryIndex.Lookup(attribute, FilterOperator.IN, List.copyOf(values)))
+                : List.of(),
+        values);
+  }
+
+  private static Object like(Object[] args, boolean negated) {
+    Function<Object, Object> value = operand(args[0]);
+    Character escape = args.length > 2 ? escapeCharacter(args[2]) : null;
+    Function<Object, Pattern> pattern;
+    if (args[1] instanceof String literal) {
+      Pattern compiled = likePattern(literal, escape);
+      pattern = entity -> compiled;
+    } else {
+      Function<Object, Object> patternValue = operand(args[1]);
+      pattern =
+          entity -> {
+            Object text = patternValue.apply(entity);
+            return text == null ? null : likePattern(text.toString(), escape);
+          };
+    }
+    return predicate(
+        entity -> {
+          Object text = value.apply(entity);
+          Pattern compiled = pattern.apply(entity);
+          if (text == null || compiled == null) {
+            return null;
+          }
+          return compiled.matcher(text.toString()).matches() != negated;
+        });
+  }
+
+  private static Character escapeCharacter(Object arg) {
+    if (arg instanceof Character character) {
+      return character;
+    }
+    throw new UnsupportedOperationException(
+        "Not supported by the in-memory repository: like with an escape expression");
+  }
+
+  /** Converts a SQL LIKE pattern, where {@code %} and {@code _} are wildcards, to a regex. */
+  static Pattern likePattern(String pattern, Character escape) {
+    StringBuilder regex = new StringBuilder(pattern.length() + 8);
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (escape != null && c == escape && i + 1 < pattern.length()) {
+        regex.append(Pattern.quote(String.valueOf(pattern.charAt(++i))));
+      } else if (c == '%') {
+        regex.append(".*");
+      } else if (c == '_') {
+        regex.append('.');
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+    }
+    return Pattern.compile(regex.toString(), Pattern.DOTALL);
+  }
+
+  private static Object text(Object arg, Function<String, String> function) {
+    Function<Object, Object> value = operand(arg);
+    return new Node(
+            Kind.EXPRESSION,
+            entity -> {
+              Object text = value.apply(entity);
+              return text == null ? null : function.apply(text.toString());
+            },
+            null,
+            List::of)
+        .proxy;
+  }
+
+  private static List<Object> flatten(Object[] args) {
+    List<Object> values = new ArrayList<>();
+    for (Object arg : args) {
+      if (arg instanceof Object[] array) {
+        values.addAll(List.of(array));
+      } else if (arg instanceof Collection<?> collection) {
+        values.addAll(collection);
+      } else {
+        values.add(arg);
+      }
+    }
+    return values;
+  }
+
+  private static List<Node> nodes(Object[] args) {
+    List<Node> nodes = new ArrayList<>();
+    for (Object value : flatten(args)) {
+      nodes.add(node(value));
+    }
+    return nodes;
+  }
+
+  private static boolean isNode(Object value) {
+    return value != null
+        && Proxy.isProxyClass(value.getClass())
+        && Proxy.getInvocationHandler(value) instanceof Node;
+  }
+
+  private static Node node(Object value) {
+    if (!isNode(value)) {
+      throw new IllegalArgumentException(
+          "Expression not created by the in-memory repository: " + value);
+    }
+    return (Node) Proxy.getInvocationHandler(value);
+  }
+
+  private static Function<Object, Object> operand(Object value) {
+    return isNode(value) ? node(value).eval : entity -> value;
+  }
+
+  private static boolean isTrue(Object value) {
+    return Boolean.TRUE.equals(value);
+  }
+
+  private static boolean equalValues(Object left, Object right) {
+    if (left instanceof Number && right instanceof Number && left.getClass() != right.getClass()) {
+      return compareNumbers((Number) left, (Number) right) == 0;
+    }
+    return left.equals(coerce(right, left));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compareValues(Object left, Object right) {
+    if (left instanceof Number && right instanceof Number && left.getClass() != right.getClass()) {
+      return compareNumbers((Number) left, (Number) right);
+    }
+    if (left instanceof Comparable comparable) {
+      return comparable.compareTo(coerce(right, left));
+    }
+    throw new IllegalArgumentException("Value is not comparable: " + left.getClass());
+  }
+
+  private static int compareNumbers(Number left, Number right) {
+    if (isIntegral(left) && isIntegral(right)) {
+      return Long.compare(left.longValue(), right.longValue());
+    }
+    return Double.compare(left.doubleValue(), right.doubleValue());
+  }
+
+  private static boolean isIntegral(Number number) {
+    return number instanceof Long
+        || number instanceof Integer
+        || number instanceof Short
+        || number instanceof Byte;
+  }
+
+  /** Converts a string operand to the type of the value it is compared with. */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Object coerce(Object operand, Object value) {
+    if (!(operand instanceof String text) || value instanceof String) {
+      return operand;
+    }
+    if (value instanceof Enum<?> constant) {
+      return Enum.valueOf((Class) constant.getDeclaringClass(), text);
+    }
+    return CompiledFilter.convertToType(text, value.getClass());
+  }
+}
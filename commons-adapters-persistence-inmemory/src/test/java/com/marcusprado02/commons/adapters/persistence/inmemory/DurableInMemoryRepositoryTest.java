@@ -0,0 +1,173 @@
+package com.marcusprado02.commons.adapters.persistence.inmemory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.marcusprado02.commons.ports.persistence.exception.PersistenceException;
+import com.marcusprado02.commons.ports.persistence.model.PageRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurableInMemoryRepositoryTest {
+
+  private static final EntityCodec<Item> CODEC =
+      new EntityCodec<>() {
+        @Override
+        public byte[] encode(Item item) {
+          return (item.id() + "|" + item.name()).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Item decode(byte[] bytes) {
+          String[] parts = new String(bytes, StandardCharsets.UTF_8).split("\\|", 2);
+          return new Item(Long.parseLong(parts[0]), parts[1]);
+        }
+      };
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldRestoreSavesAndDeletesAfterReopen() {
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      repository.save(new Item(1L, "a"));
+      repository.save(new Item(2L, "b"));
+      repository.save(new Item(1L, "a2"));
+      repository.deleteById(2L);
+      repository.deleteById(99L);
+    }
+
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findAll(new PageRequest(0, 10)).content())
+          .containsExactly(new Item(1L, "a2"));
+    }
+  }
+
+  @Test
+  void shouldCompactWhenLogFillsUp() throws IOException {
+    PersistenceConfig config =
+        PersistenceConfig.of(directory).withLogCapacity(PersistenceConfig.MIN_LOG_CAPACITY);
+    try (var repository = open(config)) {
+      for (long i = 0; i < 1_000; i++) {
+        repository.save(new Item(i % 100, "item-" + i));
+      }
+    }
+
+    assertThat(directory.resolve(DurableStore.SNAPSHOT_FILE)).exists();
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.filter(file -> file.toString().endsWith(".log"))).hasSize(1);
+    }
+    try (var repository = open(config)) {
+      assertThat(repository.findAll(new PageRequest(0, 10)).totalElements()).isEqualTo(100);
+      assertThat(repository.findById(42L)).contains(new Item(42L, "item-942"));
+    }
+  }
+
+  @Test
+  void shouldRestoreFromExplicitSnapshotAndLaterWrites() {
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      repository.save(new Item(1L, "a"));
+      repository.snapshot();
+      repository.save(new Item(2L, "b"));
+      repository.delete(new Item(1L, "a"));
+    }
+
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(1L)).isEmpty();
+      assertThat(repository.findById(2L)).contains(new Item(2L, "b"));
+    }
+  }
+
+  @Test
+  void shouldIgnoreTornRecordAtEndOfLog() throws IOException {
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      repository.save(new Item(1L, "a"));
+      repository.save(new Item(2L, "b"));
+    }
+    Path log = logFile();
+    byte[] bytes = Files.readAllBytes(log);
+    int secondPayload = 8 + 9 + 3 + 9; // header, first record, second record header
+    bytes[secondPayload] ^= 0x7f;
+    Files.write(log, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(1L)).contains(new Item(1L, "a"));
+      assertThat(repository.findById(2L)).isEmpty();
+      repository.save(new Item(3L, "c"));
+    }
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(3L)).contains(new Item(3L, "c"));
+    }
+  }
+
+  @Test
+  void shouldReinitializeLogWhoseHeaderNeverReachedDisk() throws IOException {
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      repository.save(new Item(1L, "a"));
+      repository.snapshot();
+    }
+    Path log = logFile();
+    Files.write(log, new byte[(int) Files.size(log)], StandardOpenOption.TRUNCATE_EXISTING);
+
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(1L)).contains(new Item(1L, "a"));
+      repository.save(new Item(2L, "b"));
+    }
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(2L)).contains(new Item(2L, "b"));
+    }
+  }
+
+  @Test
+  void shouldReinitializeEmptyLogOnFirstOpen() throws IOException {
+    Files.createFile(directory.resolve("wal-0.log"));
+
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      repository.save(new Item(1L, "a"));
+    }
+    try (var repository = open(PersistenceConfig.of(directory))) {
+      assertThat(repository.findById(1L)).contains(new Item(1L, "a"));
+    }
+  }
+
+  @Test
+  void shouldRejectLogWithForeignHeader() throws IOException {
+    Files.write(directory.resolve("wal-0.log"), "not a log".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> open(PersistenceConfig.of(directory)))
+        .isInstanceOf(PersistenceException.class)
+        .hasMessageContaining("Not a repository log");
+  }
+
+  @Test
+  void shouldRejectWritesAfterClose() {
+    var repository = open(PersistenceConfig.of(directory));
+    repository.close();
+
+    assertThatThrownBy(() -> repository.save(new Item(1L, "a")))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void shouldRejectLogCapacityBelowMinimum() {
+    assertThatThrownBy(() -> PersistenceConfig.of(directory).withLogCapacity(16))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private Path logFile() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.toString().endsWith(".log")).findFirst().orElseThrow();
+    }
+  }
+
+  private InMemoryPageableRepository<Item, Long> open(PersistenceConfig config) {
+    return InMemoryRepositoryFactory.createPageableRepository(Item::id, CODEC, config);
+  }
+
+  record Item(Long id, String name) {}
+}
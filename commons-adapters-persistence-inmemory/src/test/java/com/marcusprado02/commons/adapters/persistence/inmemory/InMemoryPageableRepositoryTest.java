@@ -7,9 +7,13 @@ import com.marcusprado02.commons.ports.persistence.model.Order;
 import com.marcusprado02.commons.ports.persistence.model.PageRequest;
 import com.marcusprado02.commons.ports.persistence.model.PageResult;
 import com.marcusprado02.commons.ports.persistence.model.Sort;
+import com.marcusprado02.commons.ports.persistence.specification.CriteriaSpecification;
 import com.marcusprado02.commons.ports.persistence.specification.FilterOperator;
+import com.marcusprado02.commons.ports.persistence.specification.PredicateBuilder;
 import com.marcusprado02.commons.ports.persistence.specification.SearchCriteria;
 import com.marcusprado02.commons.ports.persistence.specification.SearchFilter;
+import com.marcusprado02.commons.ports.persistence.specification.Specification;
+import com.marcusprado02.commons.ports.persistence.specification.SpecificationBuilder;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -270,18 +274,14 @@ class InMemoryPageableRepositoryTest {
     assertThat(result.content()).hasSize(5);
   }
 
-  // --- findAll(PageRequest, Specification) delegates to findAll(PageRequest) ---
+  // --- findAll(PageRequest, Specification): a null specification matches everything ---
 
   @Test
   void shouldFindAllWithSpecificationDelegatingToUnfiltered() {
     PageRequest pageRequest = new PageRequest(0, 10);
 
-    // Specification is ignored by the in-memory implementation (delegates to findAll(pageRequest))
     PageResult<TestEntity> result =
-        repository.findAll(
-            pageRequest,
-            (com.marcusprado02.commons.ports.persistence.specification.Specification<TestEntity>)
-                null);
+        repository.findAll(pageRequest, (Specification<TestEntity>) null);
 
     assertThat(result.content()).hasSize(5);
     assertThat(result.totalElements()).isEqualTo(5);
@@ -502,6 +502,273 @@ class InMemoryPageableRepositoryTest {
         .hasMessageContaining("nonExistentField");
   }
 
+  // --- secondary indexes ---
+
+  @Test
+  void shouldServeEqualAndInFiltersFromHashIndex() {
+    repository.createIndex("name", IndexType.HASH);
+    PageRequest pageRequest = new PageRequest(0, 10);
+
+    PageResult<TestEntity> equal =
+        repository.findAll(
+            pageRequest, SearchCriteria.of(SearchFilter.of("name", FilterOperator.EQ, "Bob")));
+    PageResult<TestEntity> in =
+        repository.findAll(
+            pageRequest,
+            SearchCriteria.of(SearchFilter.of("name", FilterOperator.IN, "Alice, Eve, Zoe")));
+
+    assertThat(equal.content()).extracting(TestEntity::id).containsExactly(2L);
+    assertThat(in.content()).extracting(TestEntity::id).containsExactlyInAnyOrder(1L, 5L);
+    assertThat(in.totalElements()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldServeRangeFiltersFromSortedIndex() {
+    repository.createIndex("age", IndexType.SORTED);
+    SearchCriteria criteria =
+        SearchCriteria.of(
+            SearchFilter.of("age", FilterOperator.GTE, "28"),
+            SearchFilter.of("active", FilterOperator.EQ, "true"));
+
+    PageResult<TestEntity> result = repository.findAll(new PageRequest(0, 10), criteria);
+
+    assertThat(result.content()).extracting(TestEntity::id).containsExactlyInAnyOrder(3L, 4L);
+  }
+
+  @Test
+  void shouldKeepIndexesInSyncOnSaveAndDelete() {
+    repository.createIndex("name", IndexType.HASH);
+    repository.createIndex("age", IndexType.SORTED);
+
+    repository.save(new TestEntity(2L, "Robert", 31, "bob@example.com", false));
+    repository.deleteById(3L);
+    repository.save(new TestEntity(6L, "Bob", 40, "bob2@example.com", true));
+
+    PageRequest pageRequest = new PageRequest(0, 10);
+    assertThat(
+            repository
+                .findAll(
+                    pageRequest,
+                    SearchCriteria.of(SearchFilter.of("name", FilterOperator.EQ, "Bob")))
+                .content())
+        .extracting(TestEntity::id)
+        .containsExactly(6L);
+    assertThat(
+            repository
+                .findAll(
+                    pageRequest, SearchCriteria.of(SearchFilter.of("age", FilterOperator.GT, "30")))
+                .content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(2L, 6L);
+  }
+
+  @Test
+  void shouldMatchUnindexedQueriesWhenIndexed() {
+    InMemoryPageableRepository<TestEntity, Long> indexed =
+        new InMemoryPageableRepository<>(TestEntity::id);
+    for (long i = 0; i < 200; i++) {
+      indexed.save(
+          new TestEntity(
+              i, "user-" + (i % 7), (int) (i % 50), "u" + i + "@example.com", i % 2 == 0));
+    }
+    indexed.createIndex("age", IndexType.SORTED);
+    indexed.createIndex("name", IndexType.HASH);
+    InMemoryPageableRepository<TestEntity, Long> scanned =
+        new InMemoryPageableRepository<>(TestEntity::id);
+    indexed.findAll(new PageRequest(0, 200)).content().forEach(scanned::save);
+
+    SearchCriteria criteria =
+        SearchCriteria.of(
+            SearchFilter.of("age", FilterOperator.LT, "20"),
+            SearchFilter.of("name", FilterOperator.IN, "user-1,user-3"));
+    PageRequest pageRequest = new PageRequest(0, 200);
+
+    assertThat(indexed.findAll(pageRequest, criteria).content())
+        .containsExactlyInAnyOrderElementsOf(scanned.findAll(pageRequest, criteria).content());
+  }
+
+  @Test
+  void shouldMatchNumbersOfAnotherTypeWhenHashIndexed() {
+    InMemoryPageableRepository<DoubleEntity, Long> indexed =
+        new InMemoryPageableRepository<>(DoubleEntity::id);
+    InMemoryPageableRepository<DoubleEntity, Long> scanned =
+        new InMemoryPageableRepository<>(DoubleEntity::id);
+    for (long i = 1; i <= 4; i++) {
+      indexed.save(new DoubleEntity(i, i * 5.0));
+      scanned.save(new DoubleEntity(i, i * 5.0));
+    }
+    indexed.createIndex("value", IndexType.HASH);
+    PageRequest pageRequest = new PageRequest(0, 10);
+    List<Specification<DoubleEntity>> specs =
+        List.of(
+            new CriteriaSpecification<>(List.of(PredicateBuilder.equal("value", 10))),
+            new CriteriaSpecification<>(List.of(PredicateBuilder.equal("value", "15"))),
+            (root, query, cb) -> root.get("value").in(5L, 20));
+
+    for (Specification<DoubleEntity> spec : specs) {
+      List<DoubleEntity> expected = scanned.findAll(pageRequest, spec).content();
+      assertThat(expected).isNotEmpty();
+      assertThat(indexed.findAll(pageRequest, spec).content())
+          .containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+
+  // --- sorting keeps only the requested pages ---
+
+  @Test
+  void shouldReturnSortedPagesInOrder() {
+    for (long i = 6; i <= 40; i++) {
+      repository.save(new TestEntity(i, "N" + i, (int) (i * 7 % 41), "n@example.com", true));
+    }
+    Sort sort =
+        Sort.of(new Order("age", Order.Direction.DESC), new Order("id", Order.Direction.ASC));
+    List<TestEntity> expected =
+        repository.findAll(new PageRequest(0, 100)).content().stream()
+            .sorted(
+                java.util.Comparator.comparingInt(TestEntity::age)
+                    .reversed()
+                    .thenComparing(TestEntity::id))
+            .toList();
+
+    PageResult<TestEntity> second = repository.search(new PageRequest(1, 8), null, sort);
+    PageResult<TestEntity> last = repository.search(new PageRequest(4, 8), null, sort);
+
+    assertThat(second.totalElements()).isEqualTo(40);
+    assertThat(second.content()).containsExactlyElementsOf(expected.subList(8, 16));
+    assertThat(last.content()).containsExactlyElementsOf(expected.subList(32, 40));
+    assertThat(repository.search(new PageRequest(5, 8), null, sort).content()).isEmpty();
+  }
+
+  // --- specifications ---
+
+  @Test
+  void shouldFilterBySpecification() {
+    Specification<TestEntity> spec =
+        new CriteriaSpecification<>(
+            List.of(
+                PredicateBuilder.<TestEntity, Integer>greaterThan("age", 24),
+                PredicateBuilder.equal("active", true)));
+
+    PageResult<TestEntity> result = repository.findAll(new PageRequest(0, 10), spec);
+
+    assertThat(result.content()).extracting(TestEntity::id).containsExactlyInAnyOrder(1L, 3L, 4L);
+    assertThat(result.totalElements()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldMatchSearchCriteriaWhenTranslatedToSpecification() {
+    SearchCriteria criteria =
+        SearchCriteria.of(
+            SearchFilter.of("age", FilterOperator.GTE, "25"),
+            SearchFilter.of("name", FilterOperator.IN, "Alice,Bob,Eve"));
+    PageRequest pageRequest = new PageRequest(0, 10);
+
+    PageResult<TestEntity> viaSpecification =
+        repository.findAll(pageRequest, new SpecificationBuilder<TestEntity>().build(criteria));
+
+    assertThat(viaSpecification.content())
+        .containsExactlyInAnyOrderElementsOf(repository.findAll(pageRequest, criteria).content());
+    assertThat(viaSpecification.content()).extracting(TestEntity::id).hasSize(2);
+  }
+
+  @Test
+  void shouldEvaluateLogicalAndStringOperations() {
+    repository.save(new TestEntity(6L, null, 60, "nameless@example.com", false));
+    Specification<TestEntity> likeA =
+        (root, query, cb) -> cb.like(cb.lower(root.get("name")), "a%");
+    Specification<TestEntity> young = (root, query, cb) -> cb.lessThan(root.get("age"), 25);
+    Specification<TestEntity> nameless = (root, query, cb) -> cb.isNull(root.get("name"));
+    Specification<TestEntity> notBobOrEve =
+        (root, query, cb) -> cb.not(root.get("name").in("Bob", "Eve"));
+    PageRequest pageRequest = new PageRequest(0, 10);
+
+    assertThat(repository.findAll(pageRequest, likeA.or(young).or(nameless)).content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(1L, 5L, 6L);
+    assertThat(repository.findAll(pageRequest, notBobOrEve.and(young.not())).content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(1L, 3L, 4L);
+  }
+
+  @Test
+  void shouldKeepComparisonOnNullFieldUnknownUnderNot() {
+    repository.save(new TestEntity(6L, null, 60, "nameless@example.com", false));
+    Specification<TestEntity> notBob =
+        (root, query, cb) -> cb.not(cb.equal(root.get("name"), "Bob"));
+    Specification<TestEntity> notNamedLikeA =
+        (root, query, cb) -> cb.not(cb.like(root.get("name"), "A%"));
+    Specification<TestEntity> bobOrNameless =
+        (root, query, cb) ->
+            cb.or(cb.equal(root.get("name"), "Bob"), cb.isNull(root.get("name")));
+    PageRequest pageRequest = new PageRequest(0, 10);
+
+    assertThat(repository.findAll(pageRequest, notBob).content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(1L, 3L, 4L, 5L);
+    assertThat(repository.findAll(pageRequest, notNamedLikeA).content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(2L, 3L, 4L, 5L);
+    assertThat(repository.findAll(pageRequest, bobOrNameless.not()).content())
+        .extracting(TestEntity::id)
+        .containsExactlyInAnyOrder(1L, 3L, 4L, 5L);
+  }
+
+  @Test
+  void shouldFilterAndSortWithSpecification() {
+    Specification<TestEntity> spec = (root, query, cb) -> cb.between(root.get("age"), 23, 31);
+    Sort sort = Sort.of(new Order("age", Order.Direction.DESC));
+
+    PageResult<TestEntity> result = repository.search(new PageRequest(0, 2), spec, sort);
+
+    assertThat(result.content()).extracting(TestEntity::age).containsExactly(30, 28);
+    assertThat(result.totalElements()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldUseIndexesForSpecificationConjuncts() {
+    repository.createIndex("name", IndexType.HASH);
+    repository.createIndex("age", IndexType.SORTED);
+    Specification<TestEntity> spec =
+        (root, query, cb) ->
+            cb.and(
+                cb.greaterThanOrEqualTo(root.get("age"), 25),
+                root.get("name").in(List.of("Alice", "Diana", "Eve")),
+                cb.or(cb.isTrue(root.get("active")), cb.equal(root.get("age"), 22)));
+
+    PageResult<TestEntity> result = repository.findAll(new PageRequest(0, 10), spec);
+
+    assertThat(result.content()).extracting(TestEntity::id).containsExactlyInAnyOrder(1L, 4L);
+  }
+
+  @Test
+  void shouldRejectUnsupportedCriteriaOperations() {
+    Specification<TestEntity> spec =
+        (root, query, cb) -> cb.greaterThan(cb.sum(root.get("age"), 1), 30);
+
+    assertThatThrownBy(() -> repository.findAll(new PageRequest(0, 10), spec))
+        .isInstanceOf(UnsupportedOperationException.class)
+        .hasMessageContaining("sum");
+  }
+
+  @Test
+  void shouldScanInParallelAboveThreshold() {
+    InMemoryPageableRepository<TestEntity, Long> parallel =
+        new InMemoryPageableRepository<TestEntity, Long>(TestEntity::id)
+            .withParallelScanThreshold(100);
+    for (long i = 0; i < 1_000; i++) {
+      parallel.save(new TestEntity(i, "user-" + i, (int) (i % 60), "u@example.com", i % 3 == 0));
+    }
+    Specification<TestEntity> spec = (root, query, cb) -> cb.isTrue(root.get("active"));
+    Sort sort = Sort.of(new Order("id", Order.Direction.ASC));
+
+    PageResult<TestEntity> result = parallel.search(new PageRequest(2, 10), spec, sort);
+
+    assertThat(result.totalElements()).isEqualTo(334);
+    assertThat(result.content()).extracting(TestEntity::id).startsWith(60L, 63L).hasSize(10);
+    assertThatThrownBy(() -> parallel.withParallelScanThreshold(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   // --- Helper entity records/classes ---
 
   record TestEntity(Long id, String name, int age, String email, boolean active) {}
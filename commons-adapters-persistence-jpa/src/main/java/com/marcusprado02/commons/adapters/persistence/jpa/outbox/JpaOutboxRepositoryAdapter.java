@@ -4,12 +4,17 @@ import com.marcusprado02.commons.adapters.persistence.jpa.shared.JpaQueries;
 import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
 import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
 import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.port.OutboxArchivePort;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -17,9 +22,25 @@ import java.util.Optional;
 /**
  * JPA-backed implementation of {@link
  * com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort}.
+ *
+ * <p>Batch claims lock candidate rows with {@code FOR UPDATE SKIP LOCKED} and transition them with
+ * a single bulk update; batch publish/fail/reschedule transitions are one bulk update each, and
+ * they also filter on {@code locked_by}, so a worker that lost its lease cannot overwrite the
+ * outcome recorded by the worker that claimed the rows next. Expired leases are
+ * released the same way, so a crashed worker's messages return to PENDING without row-by-row work.
+ * Due-message queries filter on {@code (status, next_attempt_at)}, which is indexed.
+ *
+ * <p>Purging deletes published rows in bounded chunks by primary key, oldest {@code published_at}
+ * first, so a large backlog never turns into one long-running delete. For time-partitioned tables
+ * see {@link PostgresOutboxPartitionManager}.
+ *
+ * <p>{@link #appendAll} persists a whole unit of work's messages with one flush; enable JDBC
+ * batching ({@code hibernate.jdbc.batch_size}) to turn that into one batched insert.
  */
 public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
 
+  private static final String LEASE_EXPIRED = "lease expired";
+
   private final EntityManager em;
 
   public JpaOutboxRepositoryAdapter(EntityManager em) {
@@ -31,6 +52,23 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
     em.persist(OutboxJpaMapper.toEntity(message));
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Persists every message, then flushes once so the inserts reach the database together; with
+   * {@code hibernate.jdbc.batch_size} at least the batch size, that is a single JDBC batch.
+   */
+  @Override
+  public void appendAll(Collection<OutboxMessage> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    for (OutboxMessage message : messages) {
+      em.persist(OutboxJpaMapper.toEntity(message));
+    }
+    em.flush();
+  }
+
   @Override
   public List<OutboxMessage> fetchBatch(OutboxStatus status, int limit) {
     int safeLimit = JpaQueries.safeLimit(limit, 100);
@@ -47,6 +85,13 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
     return q.getResultList().stream().map(OutboxJpaMapper::toModel).toList();
   }
 
+  @Override
+  public List<OutboxMessage> fetchDue(Instant now, int limit) {
+    return dueQuery(now).setMaxResults(JpaQueries.safeLimit(limit, 100)).getResultList().stream()
+        .map(OutboxJpaMapper::toModel)
+        .toList();
+  }
+
   @Override
   public boolean markProcessing(OutboxMessageId id, Instant processingAt) {
     try {
@@ -61,7 +106,6 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
 
       e.setStatus(OutboxStatus.PROCESSING);
       e.setProcessingAt(processingAt);
-      e.setAttempts(e.getAttempts() + 1);
       em.merge(e);
       return true;
     } catch (NoResultException e) {
@@ -70,6 +114,170 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
     }
   }
 
+  @Override
+  public List<OutboxMessage> claimBatch(
+      String owner, int limit, Instant claimedAt, Duration leaseDuration) {
+    int safeLimit = JpaQueries.safeLimit(limit, 100);
+
+    List<OutboxMessageEntity> rows =
+        dueQuery(claimedAt)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint(JpaQueries.LOCK_TIMEOUT_HINT, JpaQueries.SKIP_LOCKED)
+            .setMaxResults(safeLimit)
+            .getResultList();
+
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    Instant leaseUntil = claimedAt.plus(leaseDuration);
+    em.createQuery(
+            "update OutboxMessageEntity o "
+                + "set o.status = :processing, o.processingAt = :claimedAt, "
+                + "o.lockedBy = :owner, o.leaseUntil = :leaseUntil, o.nextAttemptAt = null "
+                + "where o.id in :ids")
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .setParameter("claimedAt", claimedAt)
+        .setParameter("owner", owner)
+        .setParameter("leaseUntil", leaseUntil)
+        .setParameter("ids", rows.stream().map(OutboxMessageEntity::getId).toList())
+        .executeUpdate();
+
+    // The bulk update bypasses the persistence context: detach the stale rows so later lookups
+    // reload them, and reflect the new state in the returned models.
+    List<OutboxMessage> claimed = new ArrayList<>(rows.size());
+    for (OutboxMessageEntity e : rows) {
+      em.detach(e);
+      e.setStatus(OutboxStatus.PROCESSING);
+      e.setProcessingAt(claimedAt);
+      e.setLockedBy(owner);
+      e.setLeaseUntil(leaseUntil);
+      e.setNextAttemptAt(null);
+      claimed.add(OutboxJpaMapper.toModel(e));
+    }
+    return claimed;
+  }
+
+  @Override
+  public int markPublishedBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return ownedUpdate(
+            owner,
+            "update OutboxMessageEntity o "
+                + "set o.status = :published, o.publishedAt = :publishedAt, o.lastError = null, "
+                + "o.lockedBy = null, o.leaseUntil = null "
+                + "where o.id in :ids and o.status = :processing")
+        .setParameter("published", OutboxStatus.PUBLISHED)
+        .setParameter("publishedAt", publishedAt)
+        .setParameter("ids", toValues(ids))
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .executeUpdate();
+  }
+
+  @Override
+  public int markFailedBatch(
+      String owner, Collection<OutboxMessageId> ids, String reason, Instant nextAttemptAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return ownedUpdate(
+            owner,
+            "update OutboxMessageEntity o "
+                + "set o.status = :failed, o.attempts = o.attempts + 1, o.lastError = :reason, "
+                + "o.nextAttemptAt = :nextAttemptAt, o.lockedBy = null, o.leaseUntil = null "
+                + "where o.id in :ids and o.status = :processing")
+        .setParameter("failed", OutboxStatus.FAILED)
+        .setParameter("reason", reason)
+        .setParameter("nextAttemptAt", nextAttemptAt)
+        .setParameter("ids", toValues(ids))
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .executeUpdate();
+  }
+
+  @Override
+  public int rescheduleBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant nextAttemptAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return ownedUpdate(
+            owner,
+            "update OutboxMessageEntity o "
+                + "set o.status = :pending, o.processingAt = null, "
+                + "o.nextAttemptAt = :nextAttemptAt, o.lockedBy = null, o.leaseUntil = null "
+                + "where o.id in :ids and o.status = :processing")
+        .setParameter("pending", OutboxStatus.PENDING)
+        .setParameter("nextAttemptAt", nextAttemptAt)
+        .setParameter("ids", toValues(ids))
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .executeUpdate();
+  }
+
+  @Override
+  public int renewLeases(String owner, Collection<OutboxMessageId> ids, Instant leaseUntil) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return em.createQuery(
+            "update OutboxMessageEntity o set o.leaseUntil = :leaseUntil "
+                + "where o.id in :ids and o.status = :processing and o.lockedBy = :owner")
+        .setParameter("leaseUntil", leaseUntil)
+        .setParameter("ids", toValues(ids))
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .setParameter("owner", owner)
+        .executeUpdate();
+  }
+
+  @Override
+  public int releaseExpiredLeases(Instant now, int limit) {
+    int safeLimit = JpaQueries.safeLimit(limit, 100);
+
+    List<OutboxMessageEntity> rows =
+        em.createQuery(
+                "select o from OutboxMessageEntity o "
+                    + "where o.status = :processing and o.leaseUntil < :now "
+                    + "order by o.occurredAt asc",
+                OutboxMessageEntity.class)
+            .setParameter("processing", OutboxStatus.PROCESSING)
+            .setParameter("now", now)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .setHint(JpaQueries.LOCK_TIMEOUT_HINT, JpaQueries.SKIP_LOCKED)
+            .setMaxResults(safeLimit)
+            .getResultList();
+
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    int released =
+        em.createQuery(
+                "update OutboxMessageEntity o "
+                    + "set o.status = :pending, o.processingAt = null, o.lastError = :reason, "
+                    + "o.lockedBy = null, o.leaseUntil = null "
+                    + "where o.id in :ids and o.status = :processing and o.leaseUntil < :now")
+            .setParameter("pending", OutboxStatus.PENDING)
+            .setParameter("reason", LEASE_EXPIRED)
+            .setParameter("ids", rows.stream().map(OutboxMessageEntity::getId).toList())
+            .setParameter("processing", OutboxStatus.PROCESSING)
+            .setParameter("now", now)
+            .executeUpdate();
+    rows.forEach(em::detach);
+    return released;
+  }
+
+  @Override
+  public long countExpiredLeases(Instant now) {
+    return em.createQuery(
+            "select count(o) from OutboxMessageEntity o "
+                + "where o.status = :processing and o.leaseUntil < :now",
+            Long.class)
+        .setParameter("processing", OutboxStatus.PROCESSING)
+        .setParameter("now", now)
+        .getSingleResult();
+  }
+
   @Override
   public void markPublished(OutboxMessageId id, Instant publishedAt) {
     OutboxMessageEntity e = em.find(OutboxMessageEntity.class, id.value());
@@ -114,6 +322,7 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
     }
     e.setStatus(OutboxStatus.PENDING);
     e.setProcessingAt(null);
+    e.setNextAttemptAt(null);
     e.setAttempts(attempts);
     e.setLastError(reason);
     em.merge(e);
@@ -142,4 +351,74 @@ public final class JpaOutboxRepositoryAdapter implements OutboxRepositoryPort {
         .setParameter("olderThan", olderThan)
         .executeUpdate();
   }
+
+  @Override
+  public int deletePublishedOlderThan(Instant olderThan, int limit) {
+    List<String> ids =
+        em.createQuery(
+                "select o.id from OutboxMessageEntity o "
+                    + "where o.status = :status and o.publishedAt < :olderThan "
+                    + "order by o.publishedAt asc",
+                String.class)
+            .setParameter("status", OutboxStatus.PUBLISHED)
+            .setParameter("olderThan", olderThan)
+            .setMaxResults(JpaQueries.safeLimit(limit, 1000))
+            .getResultList();
+    return deletePublished(ids);
+  }
+
+  @Override
+  public int archivePublishedOlderThan(Instant olderThan, int limit, OutboxArchivePort archive) {
+    Objects.requireNonNull(archive, "archive must not be null");
+    List<OutboxMessageEntity> rows =
+        em.createQuery(
+                "select o from OutboxMessageEntity o "
+                    + "where o.status = :status and o.publishedAt < :olderThan "
+                    + "order by o.publishedAt asc",
+                OutboxMessageEntity.class)
+            .setParameter("status", OutboxStatus.PUBLISHED)
+            .setParameter("olderThan", olderThan)
+            .setMaxResults(JpaQueries.safeLimit(limit, 1000))
+            .getResultList();
+
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    archive.archive(rows.stream().map(OutboxJpaMapper::toModel).toList());
+    rows.forEach(em::detach);
+    return deletePublished(rows.stream().map(OutboxMessageEntity::getId).toList());
+  }
+
+  private int deletePublished(List<String> ids) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    return em.createQuery(
+            "delete from OutboxMessageEntity o where o.id in :ids and o.status = :status")
+        .setParameter("ids", ids)
+        .setParameter("status", OutboxStatus.PUBLISHED)
+        .executeUpdate();
+  }
+
+  /** Selects PENDING or FAILED rows whose next attempt is unset or not after {@code now}. */
+  private TypedQuery<OutboxMessageEntity> dueQuery(Instant now) {
+    return em.createQuery(
+            "select o from OutboxMessageEntity o "
+                + "where o.status in :due "
+                + "and (o.nextAttemptAt is null or o.nextAttemptAt <= :now) "
+                + "order by o.occurredAt asc",
+            OutboxMessageEntity.class)
+        .setParameter("due", List.of(OutboxStatus.PENDING, OutboxStatus.FAILED))
+        .setParameter("now", now);
+  }
+
+  /** Creates a bulk update restricted to rows leased to {@code owner}, unless it is null. */
+  private Query ownedUpdate(String owner, String jpql) {
+    Objects.requireNonNull(owner, "owner must not be null");
+    return em.createQuery(jpql + " and o.lockedBy = :owner").setParameter("owner", owner);
+  }
+
+  private static List<String> toValues(Collection<OutboxMessageId> ids) {
+    return ids.stream().map(OutboxMessageId::value).toList();
+  }
 }
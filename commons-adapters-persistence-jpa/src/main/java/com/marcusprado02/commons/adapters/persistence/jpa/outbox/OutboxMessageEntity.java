@@ -18,7 +18,10 @@ import java.time.Instant;
     name = "commons_outbox",
     indexes = {
       @Index(name = "idx_outbox_status", columnList = "status"),
-      @Index(name = "idx_outbox_occurred_at", columnList = "occurredAt")
+      @Index(name = "idx_outbox_occurred_at", columnList = "occurredAt"),
+      @Index(name = "idx_outbox_status_lease", columnList = "status, lease_until"),
+      @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+      @Index(name = "idx_outbox_status_published_at", columnList = "status, published_at")
     })
 public class OutboxMessageEntity {
 
@@ -69,6 +72,15 @@ public class OutboxMessageEntity {
   @Column(name = "last_error", length = 500)
   private String lastError;
 
+  @Column(name = "locked_by", length = 120)
+  private String lockedBy;
+
+  @Column(name = "lease_until")
+  private Instant leaseUntil;
+
+  @Column(name = "next_attempt_at")
+  private Instant nextAttemptAt;
+
   // getters/setters (mínimo)
   public String getId() {
     return id;
@@ -181,4 +193,28 @@ public class OutboxMessageEntity {
   public void setLastError(String lastError) {
     this.lastError = lastError;
   }
+
+  public String getLockedBy() {
+    return lockedBy;
+  }
+
+  public void setLockedBy(String lockedBy) {
+    this.lockedBy = lockedBy;
+  }
+
+  public Instant getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(Instant leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(Instant nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
 }
@@ -0,0 +1,154 @@
+package com.marcusprado02.commons.adapters.persistence.jpa.outbox;
+
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.port.OutboxPartitionPort;
+import jakarta.persistence.EntityManager;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * {@link OutboxPartitionPort} for a PostgreSQL outbox table range-partitioned by day on {@code
+ * occurred_at}.
+ *
+ * <p>Partitions are named {@code <table>_pYYYYMMDD} and cover one UTC day each. The parent table
+ * must be created as partitioned, with the partition key in its primary key:
+ *
+ * <pre>{@code
+ * create table commons_outbox (
+ *   id varchar(64) not null,
+ *   ...
+ *   occurred_at timestamp(6) with time zone not null,
+ *   primary key (id, occurred_at)
+ * ) partition by range (occurred_at);
+ * }</pre>
+ *
+ * <p>A partition is expired once its day and the publication of all its messages lie before the
+ * retention cutoff. Expired partitions are detached, then dropped. Both are catalog operations, so
+ * no rows are deleted one by one and no dead tuples or WAL for them are produced. Like the
+ * repository adapter, this class expects the caller to manage the transaction.
+ */
+public final class PostgresOutboxPartitionManager implements OutboxPartitionPort {
+
+  public static final String DEFAULT_TABLE = "commons_outbox";
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]{0,50}");
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+  private final EntityManager em;
+  private final String table;
+
+  public PostgresOutboxPartitionManager(EntityManager em, String table) {
+    this.em = Objects.requireNonNull(em, "em must not be null");
+    Objects.requireNonNull(table, "table must not be null");
+    if (!IDENTIFIER.matcher(table).matches()) {
+      throw new IllegalArgumentException("table must be a lower-case SQL identifier: " + table);
+    }
+    this.table = table;
+  }
+
+  public PostgresOutboxPartitionManager(EntityManager em) {
+    this(em, DEFAULT_TABLE);
+  }
+
+  @Override
+  public int ensurePartitions(Instant from, Instant until) {
+    Set<String> existing = new HashSet<>(partitions());
+    int created = 0;
+    for (LocalDate day = toDay(from);
+        day.atStartOfDay(ZoneOffset.UTC).toInstant().isBefore(until);
+        day = day.plusDays(1)) {
+      String partition = partitionName(table, day);
+      if (existing.contains(partition)) {
+        continue;
+      }
+      em.createNativeQuery(
+              "create table if not exists "
+                  + partition
+                  + " partition of "
+                  + table
+                  + " for values from ('"
+                  + day.atStartOfDay(ZoneOffset.UTC).toInstant()
+                  + "') to ('"
+                  + day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant()
+                  + "')")
+          .executeUpdate();
+      created++;
+    }
+    return created;
+  }
+
+  @Override
+  public List<String> dropPartitionsOlderThan(Instant olderThan) {
+    List<String> dropped = new ArrayList<>();
+    for (String partition : partitions()) {
+      LocalDate day = partitionDay(table, partition);
+      if (day == null
+          || day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().isAfter(olderThan)
+          || hasRetainedRows(partition, olderThan)) {
+        continue;
+      }
+      em.createNativeQuery("alter table " + table + " detach partition " + partition)
+          .executeUpdate();
+      em.createNativeQuery("drop table " + partition).executeUpdate();
+      dropped.add(partition);
+    }
+    return dropped;
+  }
+
+  /** Returns the names of the partitions currently attached to the outbox table. */
+  @SuppressWarnings("unchecked")
+  public List<String> partitions() {
+    return em.createNativeQuery(
+            "select c.relname from pg_inherits i "
+                + "join pg_class c on c.oid = i.inhrelid "
+                + "join pg_class p on p.oid = i.inhparent "
+                + "where p.relname = ?1 order by c.relname")
+        .setParameter(1, table)
+        .getResultList();
+  }
+
+  /** Returns whether the partition holds a row that is unpublished or published too recently. */
+  private boolean hasRetainedRows(String partition, Instant olderThan) {
+    Object result =
+        em.createNativeQuery(
+                "select exists (select 1 from "
+                    + partition
+                    + " where status <> ?1 or published_at >= ?2)")
+            .setParameter(1, OutboxStatus.PUBLISHED.name())
+            .setParameter(2, olderThan)
+            .getSingleResult();
+    return Boolean.TRUE.equals(result);
+  }
+
+  private static String partitionName(String table, LocalDate day) {
+    return table + "_p" + SUFFIX.format(day);
+  }
+
+  /**
+   * Returns the day a partition covers, or {@code null} if it does not follow the naming scheme.
+   */
+  private static LocalDate partitionDay(String table, String partition) {
+    String prefix = table + "_p";
+    if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 8) {
+      return null;
+    }
+    try {
+      return LocalDate.parse(partition.substring(prefix.length()), SUFFIX);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+
+  private static LocalDate toDay(Instant instant) {
+    return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
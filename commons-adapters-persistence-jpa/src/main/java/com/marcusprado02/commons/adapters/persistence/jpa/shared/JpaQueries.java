@@ -3,6 +3,15 @@ package com.marcusprado02.commons.adapters.persistence.jpa.shared;
 /** Utility methods for common JPA query operations. */
 public final class JpaQueries {
 
+  /** Standard JPA hint controlling how long a pessimistic lock request may wait. */
+  public static final String LOCK_TIMEOUT_HINT = "jakarta.persistence.lock.timeout";
+
+  /**
+   * Lock timeout value that makes Hibernate skip rows locked by other transactions ({@code FOR
+   * UPDATE SKIP LOCKED}) instead of waiting for them.
+   */
+  public static final int SKIP_LOCKED = -2;
+
   private JpaQueries() {}
 
   public static int safeLimit(int value, int fallback) {
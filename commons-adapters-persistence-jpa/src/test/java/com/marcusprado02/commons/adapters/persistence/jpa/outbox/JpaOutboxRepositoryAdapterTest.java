@@ -139,7 +139,7 @@ class JpaOutboxRepositoryAdapterTest {
 
     assertTrue(found.isPresent());
     assertEquals(OutboxStatus.PROCESSING, found.get().status());
-    assertEquals(1, found.get().attempts());
+    assertEquals(0, found.get().attempts());
   }
 
   @Test
@@ -0,0 +1,81 @@
+package com.marcusprado02.commons.adapters.persistence.jpa.outbox;
+
+import com.marcusprado02.commons.adapters.persistence.jpa.factory.JpaRepositoryFactory;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import com.marcusprado02.commons.testkit.contracts.OutboxRepositoryPortContract;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+class JpaOutboxRepositoryContractTest extends OutboxRepositoryPortContract {
+
+  @Container
+  static PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:15.4")
+          .withDatabaseName("testdb")
+          .withUsername("test")
+          .withPassword("test");
+
+  static EntityManagerFactory emf;
+
+  EntityManager em;
+
+  @BeforeAll
+  static void setup() {
+    POSTGRES.start();
+
+    Map<String, Object> props =
+        Map.of(
+            "jakarta.persistence.jdbc.url",
+            POSTGRES.getJdbcUrl(),
+            "jakarta.persistence.jdbc.user",
+            POSTGRES.getUsername(),
+            "jakarta.persistence.jdbc.password",
+            POSTGRES.getPassword(),
+            "jakarta.persistence.jdbc.driver",
+            "org.postgresql.Driver",
+            "hibernate.hbm2ddl.auto",
+            "create-drop");
+
+    emf = JpaRepositoryFactory.createEntityManagerFactory("test-pu", props);
+  }
+
+  @AfterAll
+  static void teardown() {
+    if (emf != null) emf.close();
+    POSTGRES.stop();
+  }
+
+  @AfterEach
+  void closeEntityManager() {
+    if (em != null) em.close();
+  }
+
+  @Override
+  protected OutboxRepositoryPort createRepository() {
+    em = JpaRepositoryFactory.createEntityManager(emf);
+    return new JpaOutboxRepositoryAdapter(em);
+  }
+
+  @Override
+  protected void cleanupRepository() {
+    inTransaction(() -> em.createQuery("delete from OutboxMessageEntity").executeUpdate());
+  }
+
+  @Override
+  protected <T> T inTransaction(Supplier<T> action) {
+    em.getTransaction().begin();
+    T result = action.get();
+    em.getTransaction().commit();
+    em.clear();
+    return result;
+  }
+}
@@ -0,0 +1,99 @@
+package com.marcusprado02.commons.adapters.persistence.jpa.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.marcusprado02.commons.adapters.persistence.jpa.outbox.PostgresOutboxPartitionManager;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PostgresOutboxPartitionManagerTest {
+
+  private EntityManager em;
+  private final List<String> statements = new ArrayList<>();
+  private List<String> attached;
+  private Set<String> withRetainedRows;
+
+  @BeforeEach
+  void setUp() {
+    em = mock(EntityManager.class);
+    attached = List.of();
+    withRetainedRows = Set.of();
+    when(em.createNativeQuery(anyString()))
+        .thenAnswer(invocation -> query(invocation.getArgument(0)));
+  }
+
+  @Test
+  void shouldRejectUnsafeTableName() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new PostgresOutboxPartitionManager(em, "outbox; drop table users"));
+  }
+
+  @Test
+  void shouldCreateMissingDailyPartitions() {
+    attached = List.of("commons_outbox_p20260110");
+    var manager = new PostgresOutboxPartitionManager(em);
+
+    int created =
+        manager.ensurePartitions(
+            Instant.parse("2026-01-10T12:00:00Z"), Instant.parse("2026-01-13T00:00:00Z"));
+
+    assertEquals(2, created);
+    assertEquals(
+        List.of(
+            "create table if not exists commons_outbox_p20260111 partition of commons_outbox"
+                + " for values from ('2026-01-11T00:00:00Z') to ('2026-01-12T00:00:00Z')",
+            "create table if not exists commons_outbox_p20260112 partition of commons_outbox"
+                + " for values from ('2026-01-12T00:00:00Z') to ('2026-01-13T00:00:00Z')"),
+        statements.stream().filter(s -> s.startsWith("create")).toList());
+  }
+
+  @Test
+  void shouldDropOnlyExpiredPartitionsPublishedBeforeCutoff() {
+    attached =
+        List.of(
+            "commons_outbox_default",
+            "commons_outbox_p20260101",
+            "commons_outbox_p20260102",
+            "commons_outbox_p20260109");
+    withRetainedRows = Set.of("commons_outbox_p20260102");
+    var manager = new PostgresOutboxPartitionManager(em);
+
+    List<String> dropped = manager.dropPartitionsOlderThan(Instant.parse("2026-01-03T00:00:00Z"));
+
+    assertEquals(List.of("commons_outbox_p20260101"), dropped);
+    assertEquals(
+        List.of(
+            "alter table commons_outbox detach partition commons_outbox_p20260101",
+            "drop table commons_outbox_p20260101"),
+        statements.stream().filter(s -> s.startsWith("alter") || s.startsWith("drop")).toList());
+    assertTrue(
+        statements.contains(
+            "select exists (select 1 from commons_outbox_p20260102"
+                + " where status <> ?1 or published_at >= ?2)"));
+  }
+
+  private Query query(String sql) {
+    statements.add(sql);
+    Query query = mock(Query.class);
+    when(query.setParameter(anyInt(), any())).thenReturn(query);
+    when(query.getResultList()).thenAnswer(invocation -> attached);
+    when(query.getSingleResult())
+        .thenAnswer(
+            invocation -> withRetainedRows.stream().anyMatch(p -> sql.contains("from " + p + " ")));
+    return query;
+  }
+}
@@ -0,0 +1,312 @@
+package com.marcusprado02.commons.adapters.resilience4j;
+
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit applying a {@link ConcurrencyLimitPolicy}: calls take a permit while the number
+ * in flight is below the limit, and each completed call feeds its latency, or its failure, to the
+ * policy's algorithm, which moves the limit.
+ *
+ * <p>A call rejected by another resilience component (open circuit breaker, full bulkhead, rate
+ * limit) says nothing about the downstream and is not sampled. Any other failure, timeouts
+ * included, counts as a drop. The limit is published as the {@code commons.resilience
+ * .concurrency.limit} gauge whenever it changes.
+ */
+final class AdaptiveConcurrencyLimiter {
+
+  static final String METRIC_LIMIT = "commons.resilience.concurrency.limit";
+
+  private final String name;
+  private final ConcurrencyLimitPolicy policy;
+  private final LimitAlgorithm algorithm;
+  private final long maxWaitNanos;
+  private final MetricsFacade metrics;
+  private final LongSupplier clock;
+  private final Map<String, String> attrs;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitAvailable = lock.newCondition();
+
+  // guarded by lock
+  private double estimate;
+  private int limit;
+  private int inFlight;
+  private int waiting;
+  private long rejected;
+
+  /**
+   * Creates a limiter.
+   *
+   * @param name operation name reported in metrics and rejections
+   * @param policy concurrency limit policy
+   * @param metrics metrics facade
+   * @param clock nanosecond time source
+   */
+  AdaptiveConcurrencyLimiter(
+      String name, ConcurrencyLimitPolicy policy, MetricsFacade metrics, LongSupplier clock) {
+    this.name = name;
+    this.policy = policy;
+    this.algorithm =
+        switch (policy.algorithm()) {
+          case AIMD -> new Aimd();
+          case VEGAS -> new Vegas();
+          case GRADIENT -> new Gradient();
+        };
+    this.maxWaitNanos = policy.maxWaitDuration().toNanos();
+    this.metrics = metrics;
+    this.clock = clock;
+    this.attrs = Map.of("name", name);
+    this.estimate = policy.initialLimit();
+    this.limit = policy.initialLimit();
+  }
+
+  /** Returns a supplier running the action under a permit, waiting up to the policy's limit. */
+  <T> Supplier<T> decorate(Supplier<T> action) {
+    return () -> {
+      long startedAt = acquire(maxWaitNanos);
+      T result;
+      try {
+        result = action.get();
+      } catch (Throwable t) {
+        release(startedAt, t);
+        throw t;
+      }
+      release(startedAt, null);
+      return result;
+    };
+  }
+
+  /**
+   * Returns a supplier running the action under a permit until its stage completes. It does not
+   * wait: a call over the limit gets a failed stage.
+   */
+  <T> Supplier<CompletionStage<T>> decorateCompletionStage(Supplier<CompletionStage<T>> action) {
+    return () -> {
+      long startedAt;
+      try {
+        startedAt = acquire(0);
+      } catch (ConcurrencyLimitExceededException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      CompletionStage<T> stage;
+      try {
+        stage = action.get();
+      } catch (Throwable t) {
+        release(startedAt, t);
+        return CompletableFuture.failedFuture(t);
+      }
+      return stage.whenComplete((result, error) -> release(startedAt, error));
+    };
+  }
+
+  /** Returns the current limit and the calls in flight, waiting and rejected. */
+  Resilience4jExecutor.ConcurrencyLimitStatus status(String key) {
+    lock.lock();
+    try {
+      return new Resilience4jExecutor.ConcurrencyLimitStatus(
+          key,
+          name,
+          policy.algorithm().name(),
+          limit,
+          policy.minLimit(),
+          policy.maxLimit(),
+          inFlight,
+          waiting,
+          rejected);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Takes a permit, waiting up to the given time for one; returns when the call started. */
+  private long acquire(long waitNanos) {
+    lock.lock();
+    try {
+      if (inFlight >= limit) {
+        await(waitNanos);
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+    return clock.getAsLong();
+  }
+
+  private void await(long waitNanos) {
+    long remaining = waitNanos;
+    waiting++;
+    try {
+      while (inFlight >= limit) {
+        if (remaining <= 0) {
+          throw reject();
+        }
+        remaining = permitAvailable.awaitNanos(remaining);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw reject();
+    } finally {
+      waiting--;
+    }
+  }
+
+  private ConcurrencyLimitExceededException reject() {
+    rejected++;
+    return new ConcurrencyLimitExceededException(name, limit);
+  }
+
+  /** Returns a permit, sampling the call unless another resilience component rejected it. */
+  private void release(long startedAt, Throwable failure) {
+    long rtt = clock.getAsLong() - startedAt;
+    Throwable cause =
+        (failure instanceof CompletionException && failure.getCause() != null)
+            ? failure.getCause()
+            : failure;
+    boolean sampled =
+        !(cause instanceof CallNotPermittedException
+            || cause instanceof BulkheadFullException
+            || cause instanceof RequestNotPermitted
+            || cause instanceof ConcurrencyLimitExceededException);
+    int previous;
+    int updated;
+    lock.lock();
+    try {
+      previous = limit;
+      if (sampled) {
+        estimate =
+            Math.clamp(
+                algorithm.update(estimate, rtt, inFlight, cause != null),
+                policy.minLimit(),
+                policy.maxLimit());
+        limit = (int) estimate;
+      }
+      inFlight--;
+      updated = limit;
+      if (updated > previous) {
+        permitAvailable.signalAll();
+      } else if (inFlight < updated) {
+        permitAvailable.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (updated != previous) {
+      metrics.recordGauge(METRIC_LIMIT, updated, attrs);
+    }
+  }
+
+  /** Moves the limit estimate after a call; called under the lock. */
+  private interface LimitAlgorithm {
+
+    /**
+     * Returns the new limit estimate.
+     *
+     * @param limit current estimate
+     * @param rttNanos latency of the call
+     * @param inFlight calls in flight when it completed, itself included
+     * @param dropped whether it failed
+     * @return the new estimate, before clamping to the policy's bounds
+     */
+    double update(double limit, long rttNanos, int inFlight, boolean dropped);
+  }
+
+  private static final class Aimd implements LimitAlgorithm {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+      if (dropped) {
+        return limit * BACKOFF_RATIO;
+      }
+      // Only grow a limit that is being used, or an idle caller would ratchet it up to the max.
+      return (inFlight * 2 >= limit) ? limit + 1 : limit;
+    }
+  }
+
+  private static final class Vegas implements LimitAlgorithm {
+
+    /** Samples after which the no-load latency is re-measured, in case the downstream slowed. */
+    private static final int PROBE_INTERVAL = 1_000;
+
+    private long noLoadRtt = Long.MAX_VALUE;
+    private int samples;
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+      if (++samples >= PROBE_INTERVAL) {
+        samples = 0;
+        noLoadRtt = rttNanos;
+      }
+      noLoadRtt = Math.max(1, Math.min(noLoadRtt, rttNanos));
+      double log = Math.max(1, Math.log10(limit));
+      if (dropped) {
+        return limit - log;
+      }
+      if (inFlight * 2 < limit) {
+        return limit;
+      }
+      double queued = Math.ceil(limit * (1 - (double) noLoadRtt / Math.max(1, rttNanos)));
+      if (queued <= log) {
+        return limit + 6 * log;
+      }
+      if (queued < 3 * log) {
+        return limit + log;
+      }
+      if (queued > 6 * log) {
+        return limit - log;
+      }
+      return limit;
+    }
+  }
+
+  private static final class Gradient implements LimitAlgorithm {
+
+    private static final double SHORT_WEIGHT = 2.0 / (10 + 1);
+    private static final double LONG_WEIGHT = 2.0 / (600 + 1);
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private double shortRtt;
+    private double longRtt;
+
+    @Override
+    public double update(double limit, long rttNanos, int inFlight, boolean dropped) {
+      if (longRtt == 0) {
+        shortRtt = rttNanos;
+        longRtt = rttNanos;
+      } else {
+        shortRtt += SHORT_WEIGHT * (rttNanos - shortRtt);
+        longRtt += LONG_WEIGHT * (rttNanos - longRtt);
+      }
+      // A long-lasting latency drop would keep the gradient pinned at 1; let the baseline follow.
+      if (longRtt > 2 * shortRtt) {
+        longRtt *= 0.95;
+      }
+      double target;
+      if (dropped) {
+        target = limit * MIN_GRADIENT;
+      } else if (inFlight * 2 < limit) {
+        return limit;
+      } else {
+        double gradient =
+            Math.clamp(TOLERANCE * longRtt / Math.max(1, shortRtt), MIN_GRADIENT, 1.0);
+        // Leave room for a queue of about sqrt(limit) calls, so the limit can probe upwards.
+        target = limit * gradient + Math.sqrt(limit);
+      }
+      return limit * (1 - SMOOTHING) + target * SMOOTHING;
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.marcusprado02.commons.adapters.resilience4j;
+
+/** Thrown when a call is rejected because an adaptive concurrency limit is reached. */
+public final class ConcurrencyLimitExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates the exception.
+   *
+   * @param name operation name
+   * @param limit the limit in effect when the call was rejected
+   */
+  public ConcurrencyLimitExceededException(String name, int limit) {
+    super("Concurrency limit of " + limit + " reached for '" + name + "'", null, false, false);
+  }
+}
@@ -1,8 +1,8 @@
 package com.marcusprado02.commons.adapters.resilience4j;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.marcusprado02.commons.app.observability.MetricsFacade;
 import com.marcusprado02.commons.app.resilience.CachePolicy;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
 import com.marcusprado02.commons.app.resilience.FallbackStrategy;
 import com.marcusprado02.commons.app.resilience.RateLimiterPolicy;
 import com.marcusprado02.commons.app.resilience.ResilienceExecutor;
@@ -13,7 +13,6 @@ import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.decorators.Decorators;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -27,32 +26,78 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
-/** Resilience4jExecutor implementation. */
+/**
+ * Resilience4jExecutor implementation.
+ *
+ * <p>Each (name, policy set) is compiled once into a cached pipeline holding its resilience
+ * components and metric attributes, so a call only looks the pipeline up and runs the action
+ * through it.
+ *
+ * <p>A {@code TimeoutPolicy} limits each attempt, so a timeout counts as a circuit breaker failure
+ * and is retried. It never moves a synchronous call to another thread: the action runs on the
+ * caller's thread, which is interrupted when the timeout expires, and the attempt then fails with a
+ * {@link TimeoutException}. An action that ignores interrupts runs to completion before failing.
+ * Asynchronous attempts time out by completing the {@link CompletableFuture} returned by the action
+ * exceptionally. See {@link ResilientCache} for how {@code supplyCached} applies a {@code
+ * CachePolicy}; its background reloads run on virtual threads. A {@code ConcurrencyLimitPolicy}
+ * applies an {@link AdaptiveConcurrencyLimiter} to each attempt, between the bulkhead and the
+ * circuit breaker, so its limit follows the latency and failures of the protected call itself;
+ * asynchronous calls over the limit are rejected without waiting. Timeouts and asynchronous retry
+ * backoffs are scheduled on the given scheduler, by default one shared daemon thread, which must
+ * only run short tasks.
+ */
 public final class Resilience4jExecutor implements ResilienceExecutor {
 
   private static final String METRIC_CALLS = "commons.resilience.calls";
-  private static final String METRIC_CACHE = "commons.resilience.cache";
+  private static final Executor REFRESHER =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("commons-resilience-refresh-", 0).factory());
+  private static final ResiliencePolicySet NO_POLICIES =
+      new ResiliencePolicySet(null, null, null, null, null, null);
 
   private final MetricsFacade metrics;
+  private final ScheduledExecutorService scheduler;
   private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, Retry> retries = new ConcurrentHashMap<>();
   private final ConcurrentMap<String, TimeLimiter> timeLimiters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, com.github.benmanes.caffeine.cache.Cache<Object, Object>>
-      caches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ResilientCache> caches = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, AdaptiveConcurrencyLimiter> concurrencyLimiters =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<PipelineKey, Pipeline> pipelines = new ConcurrentHashMap<>();
 
   public Resilience4jExecutor() {
     this(MetricsFacade.noop());
   }
 
   public Resilience4jExecutor(MetricsFacade metrics) {
+    this(metrics, null);
+  }
+
+  /**
+   * Creates an executor scheduling timeouts and asynchronous retries on the given scheduler.
+   *
+   * @param metrics metrics facade, or {@code null} for none
+   * @param scheduler scheduler for timeouts and retry backoffs, or {@code null} for the shared one
+   */
+  public Resilience4jExecutor(MetricsFacade metrics, ScheduledExecutorService scheduler) {
     this.metrics = (metrics == null) ? MetricsFacade.noop() : metrics;
+    this.scheduler = (scheduler == null) ? SharedScheduler.INSTANCE : scheduler;
   }
 
   /** Executes the circuitBreakerStatuses operation. */
@@ -85,6 +130,42 @@ public final class Resilience4jExecutor implements ResilienceExecutor {
       int failedCalls,
       int successfulCalls) {}
 
+  /**
+   * Returns the state of every adaptive concurrency limiter created so far.
+   *
+   * @return limiter status snapshots, sorted by key
+   */
+  public List<ConcurrencyLimitStatus> concurrencyLimitStatuses() {
+    return concurrencyLimiters.entrySet().stream()
+        .map(entry -> entry.getValue().status(entry.getKey()))
+        .sorted(Comparator.comparing(ConcurrencyLimitStatus::key))
+        .toList();
+  }
+
+  /**
+   * State of one adaptive concurrency limiter.
+   *
+   * @param key limiter key: operation name and policy
+   * @param name operation name
+   * @param algorithm limit algorithm
+   * @param limit current limit
+   * @param minLimit lowest limit
+   * @param maxLimit highest limit
+   * @param inFlight calls holding a permit
+   * @param waiting calls waiting for a permit
+   * @param rejectedCalls calls rejected since the limiter was created
+   */
+  public record ConcurrencyLimitStatus(
+      String key,
+      String name,
+      String algorithm,
+      int limit,
+      int minLimit,
+      int maxLimit,
+      int inFlight,
+      int waiting,
+      long rejectedCalls) {}
+
   @Override
   public void run(String name, ResiliencePolicySet policies, Runnable action) {
     Objects.requireNonNull(action, "action must not be null");
@@ -106,92 +187,333 @@ public final class Resilience4jExecutor implements ResilienceExecutor {
   public <T> T supply(
       String name, ResiliencePolicySet policies, Supplier<T> action, FallbackStrategy<T> fallback) {
     Objects.requireNonNull(action, "action must not be null");
+    FallbackStrategy<T> safeFallback = (fallback == null) ? FallbackStrategy.none() : fallback;
+    return pipeline(name, policies).supply(action, safeFallback);
+  }
 
-    String safeName = (name == null || name.isBlank()) ? "unnamed" : name.trim();
-    ResiliencePolicySet safePolicies =
-        (policies == null) ? new ResiliencePolicySet(null, null, null, null, null, null) : policies;
+  @Override
+  public <T> CompletionStage<T> supplyAsync(
+      String name,
+      ResiliencePolicySet policies,
+      Supplier<CompletionStage<T>> action,
+      FallbackStrategy<T> fallback) {
+    Objects.requireNonNull(action, "action must not be null");
+    FallbackStrategy<T> safeFallback = (fallback == null) ? FallbackStrategy.none() : fallback;
+    return pipeline(name, policies).supplyAsync(action, safeFallback);
+  }
+
+  @Override
+  public <T> T supplyCached(
+      String name,
+      ResiliencePolicySet policies,
+      Object cacheKey,
+      Supplier<T> action,
+      FallbackStrategy<T> fallback) {
+    Objects.requireNonNull(action, "action must not be null");
     FallbackStrategy<T> safeFallback = (fallback == null) ? FallbackStrategy.none() : fallback;
 
-    Supplier<T> decorated =
-        Decorators.ofSupplier(action)
-            .withCircuitBreaker(buildCircuitBreaker(safeName, safePolicies))
-            .withBulkhead(buildBulkhead(safeName, safePolicies))
-            .withRateLimiter(buildRateLimiter(safeName, safePolicies))
-            .withRetry(buildRetry(safeName, safePolicies))
-            .decorate();
-
-    // TimeLimiter funciona melhor com Future/async. Aqui fazemos um wrapper simples.
-    TimeLimiter timeLimiter = buildTimeLimiter(safeName, safePolicies);
-    try {
+    Pipeline pipeline = pipeline(name, policies);
+    if (pipeline.cache == null || cacheKey == null) {
+      return pipeline.supply(action, safeFallback);
+    }
+    return pipeline.cache.get(
+        cacheKey, () -> pipeline.call(action), error -> pipeline.recover(error, safeFallback));
+  }
+
+  private Pipeline pipeline(String name, ResiliencePolicySet policies) {
+    String safeName = (name == null || name.isBlank()) ? "unnamed" : name.trim();
+    ResiliencePolicySet safePolicies = (policies == null) ? NO_POLICIES : policies;
+    PipelineKey key = new PipelineKey(safeName, safePolicies);
+    Pipeline pipeline = pipelines.get(key);
+    return (pipeline != null) ? pipeline : pipelines.computeIfAbsent(key, this::compile);
+  }
+
+  private Pipeline compile(PipelineKey key) {
+    String name = key.name();
+    ResiliencePolicySet policies = key.policies();
+    CachePolicy cachePolicy = policies.cache();
+    ResilientCache cache =
+        (cachePolicy == null)
+            ? null
+            : caches.computeIfAbsent(
+                componentKey(name, cachePolicy),
+                ignored ->
+                    new ResilientCache(name, cachePolicy, metrics, REFRESHER, System::nanoTime));
+    ConcurrencyLimitPolicy limitPolicy = policies.concurrencyLimit();
+    AdaptiveConcurrencyLimiter limiter =
+        (limitPolicy == null)
+            ? null
+            : concurrencyLimiters.computeIfAbsent(
+                componentKey(name, limitPolicy),
+                ignored ->
+                    new AdaptiveConcurrencyLimiter(name, limitPolicy, metrics, System::nanoTime));
+    return new Pipeline(
+        name,
+        buildCircuitBreaker(name, policies),
+        buildBulkhead(name, policies),
+        limiter,
+        buildRateLimiter(name, policies),
+        buildRetry(name, policies),
+        buildTimeLimiter(name, policies),
+        cache);
+  }
+
+  /** Identifies a compiled pipeline; policy records compare by value. */
+  private record PipelineKey(String name, ResiliencePolicySet policies) {}
+
+  /**
+   * The resilience components and metric attributes of one (name, policy set), resolved once so a
+   * call only runs the action through them.
+   */
+  private final class Pipeline {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RateLimiter rateLimiter;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private final Duration timeout;
+    private final ResilientCache cache;
+    private final String name;
+    private final Map<String, String> successAttrs;
+    private final Map<String, String> fallbackAttrs;
+    private final ConcurrentMap<String, Map<String, String>> failureAttrs =
+        new ConcurrentHashMap<>();
+
+    private Pipeline(
+        String name,
+        CircuitBreaker circuitBreaker,
+        Bulkhead bulkhead,
+        AdaptiveConcurrencyLimiter limiter,
+        RateLimiter rateLimiter,
+        Retry retry,
+        TimeLimiter timeLimiter,
+        ResilientCache cache) {
+      this.name = name;
+      this.circuitBreaker = circuitBreaker;
+      this.bulkhead = bulkhead;
+      this.limiter = limiter;
+      this.rateLimiter = rateLimiter;
+      this.retry = retry;
+      this.timeLimiter = timeLimiter;
+      this.timeout =
+          (timeLimiter == null) ? null : timeLimiter.getTimeLimiterConfig().getTimeoutDuration();
+      this.cache = cache;
+      this.successAttrs = Map.of("name", name, "outcome", "success");
+      this.fallbackAttrs = Map.of("name", name, "outcome", "fallback");
+    }
+
+    <T> T supply(Supplier<T> action, FallbackStrategy<T> fallback) {
+      try {
+        return call(action);
+      } catch (Throwable t) {
+        return recover(t, fallback);
+      }
+    }
+
+    /** Runs the action through the components, recording its outcome; failures propagate. */
+    <T> T call(Supplier<T> action) {
+      // Retry outermost; each attempt is timed within the circuit breaker.
+      Supplier<T> attempt = (timeLimiter == null) ? action : () -> supplyWithin(action);
+      Supplier<T> guarded = CircuitBreaker.decorateSupplier(circuitBreaker, attempt);
+      if (limiter != null) {
+        guarded = limiter.decorate(guarded);
+      }
+      Supplier<T> decorated =
+          Retry.decorateSupplier(
+              retry,
+              RateLimiter.decorateSupplier(
+                  rateLimiter, Bulkhead.decorateSupplier(bulkhead, guarded)));
       T result;
-      if (timeLimiter != null) {
-        @SuppressWarnings("unchecked")
-        CompletableFuture<T> future =
-            (CompletableFuture<T>)
-                timeLimiter.executeFutureSupplier(() -> CompletableFuture.supplyAsync(decorated));
-        result = future.join();
-      } else {
+      try {
         result = decorated.get();
+      } catch (RuntimeException | Error e) {
+        recordFailure(e);
+        throw e;
+      } catch (Throwable t) {
+        recordFailure(t);
+        throw new CompletionException(t);
       }
-
-      metrics.incrementCounter(METRIC_CALLS, 1, Map.of("name", safeName, "outcome", "success"));
+      metrics.incrementCounter(METRIC_CALLS, 1, successAttrs);
       return result;
-    } catch (Throwable t) {
-      metrics.incrementCounter(
-          METRIC_CALLS,
-          1,
-          Map.of("name", safeName, "outcome", "failure", "failure_type", failureType(t)));
+    }
 
+    /** Returns the fallback value for a failed call. */
+    <T> T recover(Throwable failure, FallbackStrategy<T> fallback) {
       try {
-        T fallbackValue = safeFallback.recover(unwrapCompletionException(t));
-        metrics.incrementCounter(METRIC_CALLS, 1, Map.of("name", safeName, "outcome", "fallback"));
+        T fallbackValue = fallback.recover(unwrapCompletionException(failure));
+        metrics.incrementCounter(METRIC_CALLS, 1, fallbackAttrs);
         return fallbackValue;
       } catch (Throwable fallbackError) {
         throw asRuntime(unwrapCompletionException(fallbackError));
       }
     }
+
+    <T> CompletionStage<T> supplyAsync(
+        Supplier<CompletionStage<T>> action, FallbackStrategy<T> fallback) {
+      Supplier<CompletionStage<T>> attempt =
+          (timeLimiter == null) ? action : () -> supplyAsyncWithin(action);
+      Supplier<CompletionStage<T>> guarded =
+          CircuitBreaker.decorateCompletionStage(circuitBreaker, attempt);
+      if (limiter != null) {
+        guarded = limiter.decorateCompletionStage(guarded);
+      }
+      Supplier<CompletionStage<T>> decorated =
+          Retry.decorateCompletionStage(
+              retry,
+              scheduler,
+              RateLimiter.decorateCompletionStage(
+                  rateLimiter, Bulkhead.decorateCompletionStage(bulkhead, guarded)));
+
+      CompletionStage<T> stage;
+      try {
+        stage = decorated.get();
+      } catch (Throwable t) {
+        stage = CompletableFuture.failedFuture(t);
+      }
+      CompletableFuture<T> promise = new CompletableFuture<>();
+      stage.whenComplete(
+          (result, error) -> {
+            if (error == null) {
+              metrics.incrementCounter(METRIC_CALLS, 1, successAttrs);
+              promise.complete(result);
+              return;
+            }
+            recordFailure(error);
+            try {
+              T fallbackValue = fallback.recover(unwrapCompletionException(error));
+              metrics.incrementCounter(METRIC_CALLS, 1, fallbackAttrs);
+              promise.complete(fallbackValue);
+            } catch (Throwable fallbackError) {
+              promise.completeExceptionally(unwrapCompletionException(fallbackError));
+            }
+          });
+      return promise;
+    }
+
+    /** Runs the action on the calling thread, interrupting it if the timeout expires. */
+    private <T> T supplyWithin(Supplier<T> decorated) {
+      Deadline deadline = new Deadline(Thread.currentThread());
+      ScheduledFuture<?> timer =
+          scheduler.schedule(deadline, timeout.toNanos(), TimeUnit.NANOSECONDS);
+      T result;
+      try {
+        result = decorated.get();
+      } catch (RuntimeException | Error e) {
+        if (deadline.disarm(timer)) {
+          throw expired(e);
+        }
+        timeLimiter.onError(e);
+        throw e;
+      }
+      if (deadline.disarm(timer)) {
+        throw expired(null);
+      }
+      timeLimiter.onSuccess();
+      return result;
+    }
+
+    /**
+     * Fails a copy of the stage of the action, if still pending, when the timeout expires; the
+     * stage itself belongs to the caller and is left untouched.
+     */
+    private <T> CompletionStage<T> supplyAsyncWithin(Supplier<CompletionStage<T>> action) {
+      CompletableFuture<T> future = action.get().toCompletableFuture().copy();
+      if (!future.isDone()) {
+        ScheduledFuture<?> timer =
+            scheduler.schedule(
+                () ->
+                    future.completeExceptionally(
+                        TimeLimiter.createdTimeoutExceptionWithName(timeLimiter.getName(), null)),
+                timeout.toNanos(),
+                TimeUnit.NANOSECONDS);
+        future.whenComplete((result, error) -> timer.cancel(false));
+      }
+      return future.whenComplete(
+          (result, error) -> {
+            if (error == null) {
+              timeLimiter.onSuccess();
+            } else {
+              timeLimiter.onError(unwrapCompletionException(error));
+            }
+          });
+    }
+
+    private CompletionException expired(Throwable cause) {
+      TimeoutException timeoutException =
+          TimeLimiter.createdTimeoutExceptionWithName(timeLimiter.getName(), cause);
+      timeLimiter.onError(timeoutException);
+      return new CompletionException(timeoutException);
+    }
+
+    private void recordFailure(Throwable t) {
+      metrics.incrementCounter(
+          METRIC_CALLS,
+          1,
+          failureAttrs.computeIfAbsent(
+              failureType(t),
+              type -> Map.of("name", name, "outcome", "failure", "failure_type", type)));
+    }
   }
 
-  @Override
-  public <T> T supplyCached(
-      String name,
-      ResiliencePolicySet policies,
-      Object cacheKey,
-      Supplier<T> action,
-      FallbackStrategy<T> fallback) {
-    Objects.requireNonNull(action, "action must not be null");
+  /**
+   * Interrupts the thread running a timed call when the timeout expires. The interrupt is only
+   * delivered while the call is running, and is cleared again once the call returns.
+   */
+  private static final class Deadline implements Runnable {
 
-    String safeName = (name == null || name.isBlank()) ? "unnamed" : name.trim();
-    ResiliencePolicySet safePolicies =
-        (policies == null) ? new ResiliencePolicySet(null, null, null, null, null, null) : policies;
-    CachePolicy cachePolicy = safePolicies.cache();
-    if (cachePolicy == null || cacheKey == null) {
-      return supply(safeName, safePolicies, action, fallback);
+    private static final int RUNNING = 0;
+    private static final int INTERRUPTING = 1;
+    private static final int EXPIRED = 2;
+    private static final int FINISHED = 3;
+
+    private final Thread caller;
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+    private Deadline(Thread caller) {
+      this.caller = caller;
+    }
+
+    @Override
+    public void run() {
+      if (state.compareAndSet(RUNNING, INTERRUPTING)) {
+        caller.interrupt();
+        state.set(EXPIRED);
+      }
     }
 
-    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
-        caches.computeIfAbsent(
-            safeName,
-            ignored ->
-                Caffeine.newBuilder()
-                    .maximumSize(cachePolicy.maxSize())
-                    .expireAfterWrite(cachePolicy.ttl())
-                    .build());
-
-    Object cachedValue = cache.getIfPresent(cacheKey);
-    if (cachedValue != null) {
-      metrics.incrementCounter(METRIC_CACHE, 1, Map.of("name", safeName, "result", "hit"));
-      @SuppressWarnings("unchecked")
-      T typed = (T) cachedValue;
-      return typed;
+    /** Called by the caller once the call returns; tells whether the timeout expired first. */
+    boolean disarm(ScheduledFuture<?> timer) {
+      if (state.compareAndSet(RUNNING, FINISHED)) {
+        timer.cancel(false);
+        return false;
+      }
+      while (state.get() == INTERRUPTING) {
+        Thread.onSpinWait();
+      }
+      Thread.interrupted();
+      return true;
     }
+  }
 
-    metrics.incrementCounter(METRIC_CACHE, 1, Map.of("name", safeName, "result", "miss"));
-    T computed = supply(safeName, safePolicies, action, fallback);
-    if (computed != null) {
-      cache.put(cacheKey, computed);
+  /** Daemon thread shared by executors created without a scheduler. */
+  private static final class SharedScheduler {
+
+    static final ScheduledExecutorService INSTANCE = create();
+
+    private static ScheduledExecutorService create() {
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "commons-resilience-scheduler");
+                thread.setDaemon(true);
+                return thread;
+              });
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
     }
-    return computed;
   }
 
   private CircuitBreaker buildCircuitBreaker(String name, ResiliencePolicySet policies) {
@@ -295,6 +617,9 @@ public final class Resilience4jExecutor implements ResilienceExecutor {
     if (unwrapped instanceof BulkheadFullException) {
       return "bulkhead_full";
     }
+    if (unwrapped instanceof ConcurrencyLimitExceededException) {
+      return "concurrency_limited";
+    }
     if (unwrapped instanceof RequestNotPermitted) {
       return "rate_limited";
     }
@@ -305,7 +630,7 @@ public final class Resilience4jExecutor implements ResilienceExecutor {
   }
 
   private Throwable unwrapCompletionException(Throwable t) {
-    if (t instanceof java.util.concurrent.CompletionException ce && ce.getCause() != null) {
+    if (t instanceof CompletionException ce && ce.getCause() != null) {
       return ce.getCause();
     }
     return t;
@@ -0,0 +1,170 @@
+package com.marcusprado02.commons.adapters.resilience4j;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import com.marcusprado02.commons.app.resilience.CachePolicy;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Result cache behind {@link Resilience4jExecutor#supplyCached}, applying a {@link CachePolicy}.
+ *
+ * <p>Concurrent loads of one key are collapsed into one: the first caller runs the loader and the
+ * others wait for its result. Entries are kept past their time-to-live for as long as a stale
+ * window allows; a hit within the refresh-ahead or stale-while-revalidate window starts a
+ * background reload, unless one is running already, and a load rejected by an open circuit breaker
+ * falls back to a stale entry within the stale-if-circuit-open window. Fallback values and {@code
+ * null} results are not cached.
+ */
+final class ResilientCache {
+
+  static final String METRIC_CACHE = "commons.resilience.cache";
+  static final String METRIC_LOAD_TIME = "commons.resilience.cache.load_ms";
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final Cache<Object, Entry> entries;
+  private final ConcurrentMap<Object, CompletableFuture<Entry>> loads = new ConcurrentHashMap<>();
+  private final long ttlNanos;
+  private final long refreshAtNanos;
+  private final long staleWhileRevalidateNanos;
+  private final long staleIfCircuitOpenNanos;
+  private final MetricsFacade metrics;
+  private final Executor refresher;
+  private final LongSupplier clock;
+  private final Map<String, String> hitAttrs;
+  private final Map<String, String> staleAttrs;
+  private final Map<String, String> missAttrs;
+  private final Map<String, String> loadSuccessAttrs;
+  private final Map<String, String> loadFailureAttrs;
+
+  /**
+   * Creates a cache.
+   *
+   * @param name operation name reported in metrics
+   * @param policy cache policy
+   * @param metrics metrics facade
+   * @param refresher runs background reloads
+   * @param clock nanosecond time source
+   */
+  ResilientCache(
+      String name,
+      CachePolicy policy,
+      MetricsFacade metrics,
+      Executor refresher,
+      LongSupplier clock) {
+    this.entries =
+        Caffeine.newBuilder()
+            .maximumSize(policy.maxSize())
+            .expireAfterWrite(policy.retention())
+            .build();
+    this.ttlNanos = policy.ttl().toNanos();
+    this.refreshAtNanos =
+        policy.refreshAhead().isZero()
+            ? Long.MAX_VALUE
+            : ttlNanos - policy.refreshAhead().toNanos();
+    this.staleWhileRevalidateNanos = ttlNanos + policy.staleWhileRevalidate().toNanos();
+    this.staleIfCircuitOpenNanos = ttlNanos + policy.staleIfCircuitOpen().toNanos();
+    this.metrics = metrics;
+    this.refresher = refresher;
+    this.clock = clock;
+    this.hitAttrs = Map.of("name", name, "result", "hit");
+    this.staleAttrs = Map.of("name", name, "result", "stale");
+    this.missAttrs = Map.of("name", name, "result", "miss");
+    this.loadSuccessAttrs = Map.of("name", name, "outcome", "success");
+    this.loadFailureAttrs = Map.of("name", name, "outcome", "failure");
+  }
+
+  /**
+   * Returns the cached value for the key, loading it on a miss.
+   *
+   * @param key cache key
+   * @param loader loads the value; fails if the guarded call fails
+   * @param recover produces the fallback value for a failed load
+   * @param <T> value type
+   * @return the cached, loaded or fallback value
+   */
+  <T> T get(Object key, Supplier<T> loader, Function<Throwable, T> recover) {
+    Entry entry = entries.getIfPresent(key);
+    if (entry != null) {
+      long age = clock.getAsLong() - entry.loadedAt();
+      if (age < ttlNanos) {
+        metrics.incrementCounter(METRIC_CACHE, 1, hitAttrs);
+        if (age >= refreshAtNanos) {
+          refresh(key, loader);
+        }
+        return value(entry);
+      }
+      if (age < staleWhileRevalidateNanos) {
+        metrics.incrementCounter(METRIC_CACHE, 1, staleAttrs);
+        refresh(key, loader);
+        return value(entry);
+      }
+    }
+
+    metrics.incrementCounter(METRIC_CACHE, 1, missAttrs);
+    try {
+      return value(load(key, loader).join());
+    } catch (Throwable t) {
+      Throwable cause =
+          (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+      if (entry != null
+          && cause instanceof CallNotPermittedException
+          && clock.getAsLong() - entry.loadedAt() < staleIfCircuitOpenNanos) {
+        metrics.incrementCounter(METRIC_CACHE, 1, staleAttrs);
+        return value(entry);
+      }
+      return recover.apply(cause);
+    }
+  }
+
+  private void refresh(Object key, Supplier<?> loader) {
+    if (!loads.containsKey(key)) {
+      refresher.execute(() -> load(key, loader));
+    }
+  }
+
+  /** Runs the loader unless a load of the key is running already, whose result is returned. */
+  private CompletableFuture<Entry> load(Object key, Supplier<?> loader) {
+    CompletableFuture<Entry> promise = new CompletableFuture<>();
+    CompletableFuture<Entry> running = loads.putIfAbsent(key, promise);
+    if (running != null) {
+      return running;
+    }
+    long start = clock.getAsLong();
+    try {
+      Object value = loader.get();
+      long loadedAt = clock.getAsLong();
+      metrics.recordHistogram(
+          METRIC_LOAD_TIME, (loadedAt - start) / NANOS_PER_MILLI, loadSuccessAttrs);
+      Entry entry = new Entry(value, loadedAt);
+      if (value != null) {
+        entries.put(key, entry);
+      }
+      promise.complete(entry);
+    } catch (Throwable t) {
+      metrics.recordHistogram(
+          METRIC_LOAD_TIME, (clock.getAsLong() - start) / NANOS_PER_MILLI, loadFailureAttrs);
+      promise.completeExceptionally(t);
+    } finally {
+      loads.remove(key, promise);
+    }
+    return promise;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T value(Entry entry) {
+    return (T) entry.value();
+  }
+
+  private record Entry(Object value, long loadedAt) {}
+}
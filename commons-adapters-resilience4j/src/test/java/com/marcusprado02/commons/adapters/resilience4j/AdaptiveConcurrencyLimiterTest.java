@@ -0,0 +1,207 @@
+package com.marcusprado02.commons.adapters.resilience4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy.Algorithm;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final CapturingMetrics metrics = new CapturingMetrics();
+
+  @Test
+  void aimdGrowsWhileUsedAndBacksOffOnFailure() {
+    AdaptiveConcurrencyLimiter limiter =
+        limiter(new ConcurrencyLimitPolicy(Algorithm.AIMD, 2, 1, 10, Duration.ZERO));
+
+    call(limiter, 10);
+    call(limiter, 10);
+    assertEquals(3, limit(limiter), "an idle limit does not grow");
+
+    busyCall(limiter, 3, 10);
+    assertEquals(5, limit(limiter));
+
+    assertThrows(IllegalStateException.class, () -> fail(limiter));
+    assertEquals(4, limit(limiter));
+    assertEquals(List.of(3.0, 4.0, 5.0, 4.0), metrics.limits);
+  }
+
+  @Test
+  void vegasShrinksOnceLatencyQueuesUp() {
+    AdaptiveConcurrencyLimiter limiter =
+        limiter(new ConcurrencyLimitPolicy(Algorithm.VEGAS, 2, 1, 50, Duration.ZERO));
+
+    call(limiter, 10);
+    call(limiter, 10);
+    int grown = limit(limiter);
+    assertTrue(grown > 2, "limit should grow at no-load latency, was " + grown);
+
+    for (int i = 0; i < 20; i++) {
+      busyCall(limiter, limit(limiter), 100);
+    }
+    assertTrue(limit(limiter) < grown, "limit should shrink at 10x latency");
+  }
+
+  @Test
+  void gradientShrinksWhenLatencyRisesAndOnFailures() {
+    AdaptiveConcurrencyLimiter limiter =
+        limiter(new ConcurrencyLimitPolicy(Algorithm.GRADIENT, 20, 4, 100, Duration.ZERO));
+
+    for (int i = 0; i < 5; i++) {
+      busyCall(limiter, 20, 10);
+    }
+    int steady = limit(limiter);
+    assertTrue(steady > 20, "limit should grow at steady latency, was " + steady);
+
+    for (int i = 0; i < 10; i++) {
+      busyCall(limiter, limit(limiter), 50);
+    }
+    int slowed = limit(limiter);
+    assertTrue(slowed < steady, "limit should shrink at 5x latency, was " + slowed);
+
+    for (int i = 0; i < 30; i++) {
+      assertThrows(IllegalStateException.class, () -> fail(limiter));
+    }
+    assertEquals(4, limit(limiter));
+  }
+
+  @Test
+  void callsRejectedByOtherComponentsAreNotSampled() {
+    AdaptiveConcurrencyLimiter limiter =
+        limiter(new ConcurrencyLimitPolicy(Algorithm.AIMD, 2, 1, 10, Duration.ZERO));
+    CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("backend");
+    circuitBreaker.transitionToOpenState();
+    Supplier<String> rejected =
+        limiter.decorate(
+            () -> {
+              throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+            });
+
+    assertThrows(CallNotPermittedException.class, rejected::get);
+    assertEquals(2, limit(limiter));
+    assertEquals(0, limiter.status("k").inFlight());
+  }
+
+  @Test
+  void callOverLimitWaitsForPermitOrIsRejected() throws Exception {
+    AdaptiveConcurrencyLimiter limiter =
+        limiter(new ConcurrencyLimitPolicy(Algorithm.AIMD, 1, 1, 1, Duration.ofSeconds(5)));
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder =
+        new Thread(
+            () ->
+                limiter
+                    .decorate(
+                        () -> {
+                          running.countDown();
+                          await(release);
+                          return "held";
+                        })
+                    .get());
+    holder.start();
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    CompletionStage<String> async =
+        limiter.decorateCompletionStage(() -> CompletableFuture.completedFuture("x")).get();
+    Throwable error = async.handle((result, e) -> e).toCompletableFuture().join();
+    assertInstanceOf(ConcurrencyLimitExceededException.class, error);
+
+    List<String> results = new CopyOnWriteArrayList<>();
+    Thread waiter = new Thread(() -> results.add(limiter.decorate(() -> "waited").get()));
+    waiter.start();
+    while (limiter.status("k").waiting() == 0) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    holder.join(5_000);
+    waiter.join(5_000);
+
+    assertEquals(List.of("waited"), results);
+    Resilience4jExecutor.ConcurrencyLimitStatus status = limiter.status("k");
+    assertEquals(0, status.inFlight());
+    assertEquals(0, status.waiting());
+    assertEquals(1, status.rejectedCalls());
+  }
+
+  private AdaptiveConcurrencyLimiter limiter(ConcurrencyLimitPolicy policy) {
+    return new AdaptiveConcurrencyLimiter("svc", policy, metrics, clock::get);
+  }
+
+  private void call(AdaptiveConcurrencyLimiter limiter, long millis) {
+    busyCall(limiter, 1, millis);
+  }
+
+  /** Runs nested calls, all taking the given latency, so that {@code inFlight} overlap. */
+  private void busyCall(AdaptiveConcurrencyLimiter limiter, int inFlight, long millis) {
+    limiter
+        .decorate(
+            () -> {
+              if (inFlight > 1) {
+                busyCall(limiter, inFlight - 1, millis);
+              } else {
+                clock.addAndGet(millis * MILLI);
+              }
+              return "ok";
+            })
+        .get();
+  }
+
+  private static void fail(AdaptiveConcurrencyLimiter limiter) {
+    limiter
+        .decorate(
+            () -> {
+              throw new IllegalStateException("boom");
+            })
+        .get();
+  }
+
+  private static int limit(AdaptiveConcurrencyLimiter limiter) {
+    return limiter.status("k").limit();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class CapturingMetrics implements MetricsFacade {
+
+    private final List<Double> limits = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void incrementCounter(String name, long delta, Map<String, String> attributes) {
+      // not needed in these tests
+    }
+
+    @Override
+    public void recordHistogram(String name, double value, Map<String, String> attributes) {
+      // not needed in these tests
+    }
+
+    @Override
+    public void recordGauge(String name, double value, Map<String, String> attributes) {
+      limits.add(value);
+    }
+  }
+}
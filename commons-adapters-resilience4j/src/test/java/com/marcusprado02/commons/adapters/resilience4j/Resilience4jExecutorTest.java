@@ -6,6 +6,7 @@ import com.marcusprado02.commons.app.observability.MetricsFacade;
 import com.marcusprado02.commons.app.resilience.BulkheadPolicy;
 import com.marcusprado02.commons.app.resilience.CachePolicy;
 import com.marcusprado02.commons.app.resilience.CircuitBreakerPolicy;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
 import com.marcusprado02.commons.app.resilience.FallbackStrategy;
 import com.marcusprado02.commons.app.resilience.RateLimiterPolicy;
 import com.marcusprado02.commons.app.resilience.ResiliencePolicySet;
@@ -15,8 +16,12 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
@@ -338,6 +343,25 @@ class Resilience4jExecutorTest {
     assertEquals("ok", result);
   }
 
+  @Test
+  void equalPolicySetsReuseCompiledPipeline() {
+    CapturingMetrics metrics = new CapturingMetrics();
+    Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
+
+    executor.supply(
+        "pipe",
+        new ResiliencePolicySet(null, null, new CircuitBreakerPolicy(50f, 10), null, null, null),
+        () -> "ok");
+    executor.supply(
+        "pipe",
+        new ResiliencePolicySet(null, null, new CircuitBreakerPolicy(50f, 10), null, null, null),
+        () -> "ok");
+
+    assertEquals(1, executor.circuitBreakerStatuses().size());
+    assertEquals(2, executor.circuitBreakerStatuses().get(0).successfulCalls());
+    assertSame(metrics.counters.get(0).attributes(), metrics.counters.get(1).attributes());
+  }
+
   // ── circuitBreakerStatuses() ─────────────────────────────────────────────────
 
   @Test
@@ -445,18 +469,19 @@ class Resilience4jExecutorTest {
   }
 
   @Test
-  void supplyWithTimeLimiterTakesTimeLimiterCodePath() {
-    // The production TimeLimiter branch executes executeFutureSupplier which returns T directly.
-    // The subsequent cast to CompletableFuture<T> causes a ClassCastException that is caught
-    // and routed through the fallback path.
+  void supplyWithTimeLimiterRunsOnCallerThread() {
     Resilience4jExecutor executor = new Resilience4jExecutor();
     ResiliencePolicySet policies =
         new ResiliencePolicySet(
             null, new TimeoutPolicy(Duration.ofSeconds(5)), null, null, null, null);
-    // With FallbackStrategy.value the ClassCastException is recovered and "fallback" is returned
+    Thread caller = Thread.currentThread();
     String result =
-        executor.supply("tl-ok", policies, () -> "ok", FallbackStrategy.value("fallback"));
-    assertEquals("fallback", result);
+        executor.supply(
+            "tl-ok",
+            policies,
+            () -> Thread.currentThread() == caller ? "ok" : "other-thread",
+            FallbackStrategy.value("fallback"));
+    assertEquals("ok", result);
   }
 
   // ── failureType() — circuit breaker open ─────────────────────────────────────
@@ -494,20 +519,183 @@ class Resilience4jExecutorTest {
   // ── failureType() — TimeoutException ─────────────────────────────────────────
 
   @Test
-  void failureTypeTimeLimiterPathIsExercised() {
-    // The TimeLimiter path in production always results in a ClassCastException because
-    // executeFutureSupplier returns T but the code casts it to CompletableFuture<T>.
-    // The ClassCastException is caught and the fallback is invoked, exercising that branch.
+  void failureTypeTimeoutInterruptsCaller() {
     CapturingMetrics metrics = new CapturingMetrics();
     Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
     ResiliencePolicySet policies =
         new ResiliencePolicySet(
             null, new TimeoutPolicy(Duration.ofMillis(50)), null, null, null, null);
+    AtomicBoolean interrupted = new AtomicBoolean();
+    long start = System.nanoTime();
     String result =
-        executor.supply("tl-timeout", policies, () -> "value", FallbackStrategy.value("fallback"));
+        executor.supply(
+            "tl-timeout",
+            policies,
+            () -> {
+              try {
+                Thread.sleep(5_000);
+                return "value";
+              } catch (InterruptedException e) {
+                interrupted.set(true);
+                throw new IllegalStateException(e);
+              }
+            },
+            FallbackStrategy.value("fallback"));
+
     assertEquals("fallback", result);
-    // ClassCastException is caught and recorded as a failure
-    assertTrue(metrics.hasAnyFailureType("ClassCastException"));
+    assertTrue(interrupted.get());
+    assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+    assertFalse(Thread.currentThread().isInterrupted());
+    assertTrue(metrics.hasAnyFailureType("timeout"));
+  }
+
+  @Test
+  void timeoutWithoutFallbackThrows() {
+    Resilience4jExecutor executor = new Resilience4jExecutor();
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            null, new TimeoutPolicy(Duration.ofMillis(20)), null, null, null, null);
+    RuntimeException thrown =
+        assertThrows(
+            RuntimeException.class,
+            () ->
+                executor.supply(
+                    "tl-throw",
+                    policies,
+                    () -> {
+                      long deadline = System.nanoTime() + Duration.ofMillis(100).toNanos();
+                      while (System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                      }
+                      return "late";
+                    }));
+    assertInstanceOf(TimeoutException.class, thrown.getCause());
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  // ── supplyAsync() ────────────────────────────────────────────────────────────
+
+  @Test
+  void supplyAsyncCompletesWithResult() throws Exception {
+    CapturingMetrics metrics = new CapturingMetrics();
+    Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            null, new TimeoutPolicy(Duration.ofSeconds(5)), null, null, null, null);
+
+    String result =
+        executor
+            .supplyAsync("async-ok", policies, () -> CompletableFuture.completedFuture("ok"))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("ok", result);
+    assertTrue(
+        metrics.hasCounter(
+            "commons.resilience.calls", Map.of("name", "async-ok", "outcome", "success")));
+  }
+
+  @Test
+  void supplyAsyncTimesOutWithoutCompletingCallersFuture() throws Exception {
+    CapturingMetrics metrics = new CapturingMetrics();
+    Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            null, new TimeoutPolicy(Duration.ofMillis(50)), null, null, null, null);
+    CompletableFuture<String> pending = new CompletableFuture<>();
+
+    String result =
+        executor
+            .supplyAsync("async-timeout", policies, () -> pending, FallbackStrategy.value("fb"))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("fb", result);
+    assertFalse(pending.isDone());
+    assertTrue(metrics.hasAnyFailureType("timeout"));
+  }
+
+  @Test
+  void supplyAsyncRetriesFailedStages() throws Exception {
+    Resilience4jExecutor executor = new Resilience4jExecutor();
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            new RetryPolicy(3, Duration.ofMillis(1), null), null, null, null, null, null);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        executor
+            .supplyAsync(
+                "async-retry",
+                policies,
+                () ->
+                    attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new IllegalStateException("boom"))
+                        : CompletableFuture.completedFuture("ok"))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("ok", result);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  void supplyAsyncFailsWithCauseWithoutFallback() {
+    Resilience4jExecutor executor = new Resilience4jExecutor();
+    CompletableFuture<String> result =
+        executor
+            .<String>supplyAsync(
+                "async-fail",
+                null,
+                () -> {
+                  throw new IllegalStateException("boom");
+                })
+            .toCompletableFuture();
+
+    ExecutionException thrown =
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(IllegalStateException.class, thrown.getCause());
+  }
+
+  @Test
+  void concurrencyLimitRejectsCallsOverLimitAndReportsStatus() throws Exception {
+    CapturingMetrics metrics = new CapturingMetrics();
+    Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            new RetryPolicy(1, Duration.ofMillis(1), null),
+            null,
+            null,
+            null,
+            null,
+            null,
+            new ConcurrencyLimitPolicy(
+                ConcurrencyLimitPolicy.Algorithm.AIMD, 1, 1, 1, Duration.ZERO));
+    CompletableFuture<String> pending = new CompletableFuture<>();
+
+    CompletableFuture<String> held =
+        executor.supplyAsync("limited", policies, () -> pending).toCompletableFuture();
+    String rejected =
+        executor
+            .supplyAsync(
+                "limited",
+                policies,
+                () -> CompletableFuture.completedFuture("ok"),
+                FallbackStrategy.value("fb"))
+            .toCompletableFuture()
+            .get(5, TimeUnit.SECONDS);
+
+    assertEquals("fb", rejected);
+    assertTrue(metrics.hasAnyFailureType("concurrency_limited"));
+    Resilience4jExecutor.ConcurrencyLimitStatus status = executor.concurrencyLimitStatuses().get(0);
+    assertEquals("limited", status.name());
+    assertEquals("AIMD", status.algorithm());
+    assertEquals(1, status.inFlight());
+    assertEquals(1, status.rejectedCalls());
+
+    pending.complete("done");
+    assertEquals("done", held.get(5, TimeUnit.SECONDS));
+    assertEquals(0, executor.concurrencyLimitStatuses().get(0).inFlight());
   }
 
   // ── asRuntime() — checked exception path ─────────────────────────────────────
@@ -533,17 +721,21 @@ class Resilience4jExecutorTest {
 
   @Test
   void supplyWithTimeLimiterCodePathRecordsFailure() {
-    // Exercises the TimeLimiter code path — ClassCastException is always thrown because
-    // executeFutureSupplier returns T (not CompletableFuture<T>) and the cast fails.
     CapturingMetrics metrics = new CapturingMetrics();
     Resilience4jExecutor executor = new Resilience4jExecutor(metrics);
     ResiliencePolicySet policies =
         new ResiliencePolicySet(
             null, new TimeoutPolicy(Duration.ofSeconds(5)), null, null, null, null);
     String result =
-        executor.supply("tl-fail", policies, () -> "value", FallbackStrategy.value("fallback"));
+        executor.supply(
+            "tl-fail",
+            policies,
+            () -> {
+              throw new IllegalArgumentException("bad");
+            },
+            FallbackStrategy.value("fallback"));
     assertEquals("fallback", result);
-    assertTrue(metrics.hasAnyFailureType("ClassCastException"));
+    assertTrue(metrics.hasAnyFailureType("IllegalArgumentException"));
   }
 
   private static final class CapturingMetrics implements MetricsFacade {
@@ -0,0 +1,178 @@
+package com.marcusprado02.commons.adapters.resilience4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import com.marcusprado02.commons.app.resilience.CachePolicy;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ResilientCacheTest {
+
+  private static final Duration TTL = Duration.ofSeconds(10);
+  private static final Function<Throwable, String> RECOVER = error -> "fallback";
+
+  private final AtomicLong clock = new AtomicLong();
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final CapturingMetrics metrics = new CapturingMetrics();
+
+  @Test
+  void concurrentMissesShareOneLoad() throws Exception {
+    ResilientCache cache = cache(new CachePolicy(10, TTL));
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<String> loader =
+        () -> {
+          loads.incrementAndGet();
+          loading.countDown();
+          await(release);
+          return "v";
+        };
+
+    List<String> results = new CopyOnWriteArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Thread thread = new Thread(() -> results.add(cache.get("k", loader, RECOVER)));
+      thread.start();
+      threads.add(thread);
+      if (i == 0) {
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+      }
+    }
+    for (Thread follower : threads.subList(1, 4)) {
+      while (follower.getState() != Thread.State.WAITING) {
+        Thread.onSpinWait();
+      }
+    }
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join(5_000);
+    }
+
+    assertEquals(List.of("v", "v", "v", "v"), results);
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void hitWithinRefreshAheadWindowReloadsInBackground() {
+    ResilientCache cache = cache(new CachePolicy(10, TTL).withRefreshAhead(Duration.ofSeconds(2)));
+    AtomicInteger version = new AtomicInteger();
+    Supplier<String> loader = () -> "v" + version.incrementAndGet();
+
+    assertEquals("v1", cache.get("k", loader, RECOVER));
+    clock.set(Duration.ofSeconds(7).toNanos());
+    assertEquals("v1", cache.get("k", loader, RECOVER));
+    assertTrue(refreshes.isEmpty());
+
+    clock.set(Duration.ofSeconds(9).toNanos());
+    assertEquals("v1", cache.get("k", loader, RECOVER));
+    assertEquals(1, refreshes.size());
+    refreshes.remove(0).run();
+
+    assertEquals("v2", cache.get("k", loader, RECOVER));
+    assertEquals(3, metrics.count("hit"));
+  }
+
+  @Test
+  void expiredEntryIsServedStaleWhileRevalidating() {
+    ResilientCache cache =
+        cache(new CachePolicy(10, TTL).withStaleWhileRevalidate(Duration.ofSeconds(5)));
+    AtomicInteger version = new AtomicInteger();
+    Supplier<String> loader = () -> "v" + version.incrementAndGet();
+
+    cache.get("k", loader, RECOVER);
+    clock.set(Duration.ofSeconds(12).toNanos());
+    assertEquals("v1", cache.get("k", loader, RECOVER));
+    assertEquals(1, metrics.count("stale"));
+    refreshes.remove(0).run();
+    assertEquals("v2", cache.get("k", loader, RECOVER));
+
+    clock.set(Duration.ofSeconds(40).toNanos());
+    assertEquals("v3", cache.get("k", loader, RECOVER));
+    assertEquals(2, metrics.count("miss"));
+  }
+
+  @Test
+  void openCircuitServesStaleEntryWithinWindow() {
+    ResilientCache cache =
+        cache(new CachePolicy(10, TTL).withStaleIfCircuitOpen(Duration.ofMinutes(1)));
+    CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("backend");
+    circuitBreaker.transitionToOpenState();
+    Supplier<String> rejected =
+        () -> {
+          throw CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+        };
+
+    cache.get("k", () -> "v1", RECOVER);
+    clock.set(Duration.ofSeconds(30).toNanos());
+    assertEquals("v1", cache.get("k", rejected, RECOVER));
+
+    clock.set(Duration.ofSeconds(90).toNanos());
+    assertEquals("fallback", cache.get("k", rejected, RECOVER));
+  }
+
+  @Test
+  void failedLoadIsNotCachedAndRecordsLoadTime() {
+    ResilientCache cache = cache(new CachePolicy(10, TTL));
+    Supplier<String> failing =
+        () -> {
+          clock.addAndGet(Duration.ofMillis(3).toNanos());
+          throw new IllegalStateException("boom");
+        };
+
+    assertEquals("fallback", cache.get("k", failing, RECOVER));
+    assertEquals("v", cache.get("k", () -> "v", RECOVER));
+    assertEquals(2, metrics.count("miss"));
+    assertEquals(List.of(3.0, 0.0), metrics.loadTimes);
+  }
+
+  private ResilientCache cache(CachePolicy policy) {
+    return new ResilientCache("svc", policy, metrics, refreshes::add, clock::get);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class CapturingMetrics implements MetricsFacade {
+
+    private final List<String> results = new CopyOnWriteArrayList<>();
+    private final List<Double> loadTimes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void incrementCounter(String name, long delta, Map<String, String> attributes) {
+      results.add(attributes.get("result"));
+    }
+
+    @Override
+    public void recordHistogram(String name, double value, Map<String, String> attributes) {
+      loadTimes.add(value);
+    }
+
+    @Override
+    public void recordGauge(String name, double value, Map<String, String> attributes) {
+      // not needed in these tests
+    }
+
+    long count(String result) {
+      return results.stream().filter(result::equals).count();
+    }
+  }
+}
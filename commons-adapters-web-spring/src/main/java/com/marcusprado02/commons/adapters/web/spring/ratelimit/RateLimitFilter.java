@@ -1,5 +1,7 @@
 package com.marcusprado02.commons.adapters.web.spring.ratelimit;
 
+import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
+import com.marcusprado02.commons.app.ratelimiting.RateLimiter;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,6 +11,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
@@ -39,8 +44,25 @@ import org.slf4j.LoggerFactory;
  * }
  * }</pre>
  *
- * <p><strong>Note:</strong> This is a simple in-memory implementation. For distributed systems, use
- * Redis-based rate limiting (e.g., Bucket4j with Redis).
+ * <p>To enforce several limits at once, such as per user, per tenant and per route, back the filter
+ * with a {@link RateLimiter} and declare one key per limit. All of them are checked with a single
+ * {@link RateLimiter#tryConsumeAll(Map)} call, which a {@code RedisRateLimiter} evaluates in one
+ * round trip; a request is let through only if every limit admits it.
+ *
+ * <pre>{@code
+ * RateLimitFilter filter = RateLimitFilter.builder()
+ *     .rateLimiter(redisRateLimiter)
+ *     .key("user", request -> request.getRemoteUser())
+ *     .key("tenant", request -> request.getHeader("X-Tenant-Id"))
+ *     .key("route", HttpServletRequest::getRequestURI)
+ *     .build();
+ * }</pre>
+ *
+ * <p>Keys are prefixed with their name, and a key whose extractor returns {@code null} is skipped.
+ *
+ * <p><strong>Note:</strong> Without a {@link RateLimiter}, this is a simple in-memory
+ * implementation. For distributed systems, use Redis-based rate limiting (e.g., {@code
+ * RedisRateLimiter}).
  */
 public final class RateLimitFilter implements Filter {
 
@@ -50,13 +72,22 @@ public final class RateLimitFilter implements Filter {
   private final Duration window;
   private final Function<HttpServletRequest, String> keyExtractor;
   private final Map<String, TokenBucket> buckets;
+  private final RateLimiter rateLimiter;
+  private final List<KeyDimension> dimensions;
 
   private RateLimitFilter(
-      int limit, Duration window, Function<HttpServletRequest, String> keyExtractor) {
+      int limit,
+      Duration window,
+      Function<HttpServletRequest, String> keyExtractor,
+      RateLimiter rateLimiter,
+      List<KeyDimension> dimensions) {
     this.limit = limit;
     this.window = window;
     this.keyExtractor = keyExtractor;
     this.buckets = new ConcurrentHashMap<>();
+    this.rateLimiter = rateLimiter;
+    this.dimensions =
+        dimensions.isEmpty() ? List.of(new KeyDimension(null, keyExtractor, 1)) : dimensions;
   }
 
   public static Builder builder() {
@@ -71,6 +102,11 @@ public final class RateLimitFilter implements Filter {
     HttpServletRequest httpRequest = (HttpServletRequest) request;
     HttpServletResponse httpResponse = (HttpServletResponse) response;
 
+    if (rateLimiter != null) {
+      filterWithRateLimiter(httpRequest, httpResponse, chain);
+      return;
+    }
+
     String key = keyExtractor.apply(httpRequest);
     TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit, window));
 
@@ -83,18 +119,68 @@ public final class RateLimitFilter implements Filter {
       httpResponse.setHeader("Retry-After", String.valueOf(bucket.getSecondsUntilRefill()));
       httpResponse.setHeader("X-RateLimit-Limit", String.valueOf(limit));
       httpResponse.setHeader("X-RateLimit-Remaining", "0");
-      httpResponse.setContentType("application/json");
-      httpResponse
-          .getWriter()
-          .write(
-              """
-          {
-            "status": 429,
-            "code": "RATE_LIMIT_EXCEEDED",
-            "message": "Rate limit exceeded. Please try again later."
-          }
-          """);
+      writeRejection(httpResponse);
+    }
+  }
+
+  private void filterWithRateLimiter(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws IOException, ServletException {
+    Map<String, Long> tokensByKey = new LinkedHashMap<>();
+    for (KeyDimension dimension : dimensions) {
+      String value = dimension.extractor().apply(request);
+      if (value != null) {
+        String key = dimension.name() == null ? value : dimension.name() + ":" + value;
+        tokensByKey.merge(key, dimension.tokens(), Long::sum);
+      }
+    }
+    if (tokensByKey.isEmpty()) {
+      chain.doFilter(request, response);
+      return;
     }
+
+    Map<String, RateLimitResult> results = rateLimiter.tryConsumeAll(tokensByKey);
+    RateLimitResult tightest = null;
+    long retryAfterSeconds = 0;
+    boolean allowed = true;
+    for (Map.Entry<String, RateLimitResult> entry : results.entrySet()) {
+      RateLimitResult result = entry.getValue();
+      if (tightest == null || result.remainingTokens() < tightest.remainingTokens()) {
+        tightest = result;
+      }
+      if (!result.isAllowed()) {
+        allowed = false;
+        log.warn("Rate limit exceeded for key: {}", entry.getKey());
+        long seconds = result.getRetryAfter().map(d -> (d.toMillis() + 999) / 1000).orElse(0L);
+        retryAfterSeconds = Math.max(retryAfterSeconds, seconds);
+      }
+    }
+
+    response.setHeader("X-RateLimit-Limit", String.valueOf(rateLimiter.getConfig().getCapacity()));
+    response.setHeader("X-RateLimit-Remaining", String.valueOf(tightest.remainingTokens()));
+    response.setHeader(
+        "X-RateLimit-Reset", String.valueOf(tightest.getRefillTime().getEpochSecond()));
+    if (allowed) {
+      chain.doFilter(request, response);
+    } else {
+      response.setStatus(429); // Too Many Requests
+      response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+      writeRejection(response);
+    }
+  }
+
+  private static void writeRejection(HttpServletResponse response) throws IOException {
+    response.setContentType("application/json");
+    response
+        .getWriter()
+        .write(
+            """
+        {
+          "status": 429,
+          "code": "RATE_LIMIT_EXCEEDED",
+          "message": "Rate limit exceeded. Please try again later."
+        }
+        """);
   }
 
   private void setRateLimitHeaders(HttpServletResponse response, TokenBucket bucket) {
@@ -108,6 +194,8 @@ public final class RateLimitFilter implements Filter {
     private int limit = 60;
     private Duration window = Duration.ofMinutes(1);
     private Function<HttpServletRequest, String> keyExtractor = HttpServletRequest::getRemoteAddr;
+    private RateLimiter rateLimiter;
+    private final List<KeyDimension> dimensions = new ArrayList<>();
 
     private Builder() {}
 
@@ -153,11 +241,66 @@ public final class RateLimitFilter implements Filter {
       return this;
     }
 
+    /**
+     * Delegates limiting to the given rate limiter instead of the built-in in-memory buckets; its
+     * configuration then takes the place of {@link #limit(int)} and {@link #window(Duration)}.
+     *
+     * @param rateLimiter non-null rate limiter
+     * @return this builder
+     */
+    public Builder rateLimiter(RateLimiter rateLimiter) {
+      if (rateLimiter == null) {
+        throw new IllegalArgumentException("Rate limiter must not be null");
+      }
+      this.rateLimiter = rateLimiter;
+      return this;
+    }
+
+    /**
+     * Adds a limit keyed by the given extractor, consuming one token per request. Requires {@link
+     * #rateLimiter(RateLimiter)}; when no key is added, {@link #keyExtractor(Function)} is used.
+     *
+     * @param name non-empty name prefixed to the extracted key
+     * @param extractor non-null key extractor; a {@code null} key skips this limit
+     * @return this builder
+     */
+    public Builder key(String name, Function<HttpServletRequest, String> extractor) {
+      return key(name, extractor, 1);
+    }
+
+    /**
+     * Adds a limit keyed by the given extractor. Requires {@link #rateLimiter(RateLimiter)}.
+     *
+     * @param name non-empty name prefixed to the extracted key
+     * @param extractor non-null key extractor; a {@code null} key skips this limit
+     * @param tokens positive number of tokens consumed per request
+     * @return this builder
+     */
+    public Builder key(String name, Function<HttpServletRequest, String> extractor, long tokens) {
+      if (name == null || name.isEmpty()) {
+        throw new IllegalArgumentException("Key name must not be empty");
+      }
+      if (extractor == null) {
+        throw new IllegalArgumentException("Key extractor must not be null");
+      }
+      if (tokens <= 0) {
+        throw new IllegalArgumentException("Tokens must be positive");
+      }
+      dimensions.add(new KeyDimension(name, extractor, tokens));
+      return this;
+    }
+
     public RateLimitFilter build() {
-      return new RateLimitFilter(limit, window, keyExtractor);
+      if (rateLimiter == null && !dimensions.isEmpty()) {
+        throw new IllegalStateException("Keys require a rate limiter");
+      }
+      return new RateLimitFilter(limit, window, keyExtractor, rateLimiter, List.copyOf(dimensions));
     }
   }
 
+  private record KeyDimension(
+      String name, Function<HttpServletRequest, String> extractor, long tokens) {}
+
   private static final class TokenBucket {
     private final int capacity;
     private final long refillIntervalMillis;
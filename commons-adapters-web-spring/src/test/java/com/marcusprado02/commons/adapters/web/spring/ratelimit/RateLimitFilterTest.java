@@ -0,0 +1,106 @@
+package com.marcusprado02.commons.adapters.web.spring.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
+import com.marcusprado02.commons.app.ratelimiting.impl.InMemoryRateLimiter;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+  private final InMemoryRateLimiter limiter =
+      new InMemoryRateLimiter(RateLimitConfig.of(2, Duration.ofHours(1)));
+
+  private final RateLimitFilter filter =
+      RateLimitFilter.builder()
+          .rateLimiter(limiter)
+          .key("user", request -> request.getRemoteUser())
+          .key("tenant", request -> request.getHeader("X-Tenant-Id"))
+          .build();
+
+  @AfterEach
+  void tearDown() {
+    limiter.close();
+  }
+
+  @Test
+  void shouldRejectRequestWhenOneOfSeveralLimitsIsExhausted() throws Exception {
+    assertThat(send("alice", "acme").getStatus()).isEqualTo(200);
+    assertThat(send("bob", "acme").getStatus()).isEqualTo(200);
+
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    filter.doFilter(request("carol", "acme"), rejected, chain);
+
+    assertThat(rejected.getStatus()).isEqualTo(429);
+    assertThat(chain.getRequest()).isNull();
+    assertThat(Long.parseLong(rejected.getHeader("Retry-After"))).isPositive();
+    assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+    assertThat(rejected.getContentAsString()).contains("RATE_LIMIT_EXCEEDED");
+    assertThat(limiter.probe("user:carol").remainingTokens()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldReportTightestLimitInHeaders() throws Exception {
+    send("alice", "acme");
+
+    MockHttpServletResponse response = send("bob", "acme");
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("2");
+    assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+  }
+
+  @Test
+  void shouldSkipKeysWithoutValue() throws Exception {
+    send("alice", "acme");
+    send("bob", "acme");
+
+    MockHttpServletResponse response = send("carol", null);
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("1");
+    assertThat(limiter.probe("tenant:acme").remainingTokens()).isZero();
+  }
+
+  @Test
+  void shouldPassRequestWhenNoKeyHasValue() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request(null, null), response, chain);
+
+    assertThat(chain.getRequest()).isNotNull();
+    assertThat(response.getHeader("X-RateLimit-Remaining")).isNull();
+  }
+
+  @Test
+  void shouldRequireRateLimiterForKeys() {
+    RateLimitFilter.Builder builder = RateLimitFilter.builder().key("user", r -> r.getRemoteUser());
+
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Keys require a rate limiter");
+  }
+
+  private MockHttpServletResponse send(String user, String tenant) throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request(user, tenant), response, new MockFilterChain());
+    return response;
+  }
+
+  private static MockHttpServletRequest request(String user, String tenant) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+    request.setRemoteUser(user);
+    if (tenant != null) {
+      request.addHeader("X-Tenant-Id", tenant);
+    }
+    return request;
+  }
+}
@@ -0,0 +1,46 @@
+package com.marcusprado02.commons.app.domainevents;
+
+/**
+ * Configuration for asynchronous dispatch by a {@link DomainEventBus}.
+ *
+ * @param queueCapacity Maximum number of events published but not yet handled; publishing beyond it
+ *     applies the backpressure policy
+ * @param backpressure What publishing does while the queue is full
+ */
+public record AsyncDispatchConfig(int queueCapacity, Backpressure backpressure) {
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+  /** What publishing does while the queue is full. */
+  public enum Backpressure {
+    /** The publisher waits until an event has been handled. */
+    BLOCK,
+    /** The event is rejected with a {@link java.util.concurrent.RejectedExecutionException}. */
+    REJECT
+  }
+
+  /** Validates fields on construction. */
+  public AsyncDispatchConfig {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("queueCapacity must be positive");
+    }
+    if (backpressure == null) {
+      throw new IllegalArgumentException("backpressure must not be null");
+    }
+  }
+
+  /** Creates default configuration: up to 10,000 queued events, blocking publishers beyond. */
+  public static AsyncDispatchConfig defaults() {
+    return new AsyncDispatchConfig(DEFAULT_QUEUE_CAPACITY, Backpressure.BLOCK);
+  }
+
+  /** Returns a copy with the given queue capacity. */
+  public AsyncDispatchConfig withQueueCapacity(int queueCapacity) {
+    return new AsyncDispatchConfig(queueCapacity, backpressure);
+  }
+
+  /** Returns a copy with the given backpressure policy. */
+  public AsyncDispatchConfig withBackpressure(Backpressure backpressure) {
+    return new AsyncDispatchConfig(queueCapacity, backpressure);
+  }
+}
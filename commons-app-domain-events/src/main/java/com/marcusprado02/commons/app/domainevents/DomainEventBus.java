@@ -1,9 +1,19 @@
 package com.marcusprado02.commons.app.domainevents;
 
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +26,20 @@ import org.slf4j.LoggerFactory;
  * <p><strong>Thread Safety:</strong> This event bus is thread-safe and can be used in concurrent
  * environments.
  *
+ * <p><strong>Asynchronous Dispatch:</strong> By default, interceptors and handlers run on the
+ * publishing thread. A bus created with an {@link AsyncDispatchConfig} instead queues each event
+ * and returns; interceptors and handlers run on an executor, virtual threads unless another is
+ * given. Events of the same aggregate (same {@link DomainEvent#aggregateType()} and {@link
+ * DomainEvent#aggregateId()}) are handled one at a time in publication order, while events of
+ * different aggregates, and the handlers of a single event, run in parallel. At most {@link
+ * AsyncDispatchConfig#queueCapacity()} events wait or run at once; beyond that, publishing blocks
+ * or is rejected according to {@link AsyncDispatchConfig#backpressure()}. {@link
+ * #publishAsync(DomainEvent)} tells when an event has been handled.
+ *
+ * <p>Handlers and interceptors may publish to the bus they run on, but never wait for queue space:
+ * the event they would wait for may be their own, so a full queue rejects their events even with
+ * {@link AsyncDispatchConfig.Backpressure#BLOCK}. They must not call {@link #close()}.
+ *
  * <p><strong>Usage:</strong>
  *
  * <pre>{@code
@@ -32,21 +56,72 @@ import org.slf4j.LoggerFactory;
  * // Or publish from aggregate
  * Order order = ...; // aggregate root
  * eventBus.publishAll(order.pullDomainEvents());
+ *
+ * // Or dispatch asynchronously, without blocking the publisher on slow handlers
+ * DomainEventBus asyncBus = new DomainEventBus(AsyncDispatchConfig.defaults());
+ * asyncBus.publishAsync(orderCreatedEvent).thenRun(() -> log.info("Handled"));
  * }</pre>
  */
-public final class DomainEventBus {
+public final class DomainEventBus implements AutoCloseable {
 
   private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
 
+  /** Events an aggregate's lane handles before yielding its thread to other lanes. */
+  private static final int EVENTS_PER_TURN = 64;
+
   private final DomainEventHandlerRegistry registry;
   private final DomainEventDispatcher dispatcher;
   private final List<DomainEventInterceptor> interceptors;
+  private final AsyncDispatchConfig asyncConfig;
+  private final Executor executor;
+  private final ExecutorService ownedExecutor;
+  private final Semaphore queueSlots;
+  private final ConcurrentMap<String, Lane> lanes;
+  private final ThreadLocal<Boolean> handling = new ThreadLocal<>();
+  private volatile boolean closed;
 
   /** Creates a new DomainEventBus with an empty handler registry and no interceptors. */
   public DomainEventBus() {
+    this(null, null, null);
+  }
+
+  /**
+   * Creates a new DomainEventBus dispatching asynchronously on virtual threads.
+   *
+   * @param asyncConfig asynchronous dispatch configuration
+   */
+  public DomainEventBus(AsyncDispatchConfig asyncConfig) {
+    this(
+        Objects.requireNonNull(asyncConfig, "asyncConfig"),
+        null,
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("domain-events-", 0).factory()));
+  }
+
+  /**
+   * Creates a new DomainEventBus dispatching asynchronously on the given executor.
+   *
+   * <p>The executor is not shut down by {@link #close()}.
+   *
+   * @param asyncConfig asynchronous dispatch configuration
+   * @param executor executor running interceptors and handlers
+   */
+  public DomainEventBus(AsyncDispatchConfig asyncConfig, Executor executor) {
+    this(
+        Objects.requireNonNull(asyncConfig, "asyncConfig"),
+        Objects.requireNonNull(executor, "executor"),
+        null);
+  }
+
+  private DomainEventBus(
+      AsyncDispatchConfig asyncConfig, Executor executor, ExecutorService ownedExecutor) {
     this.registry = new DomainEventHandlerRegistry();
     this.dispatcher = new DomainEventDispatcher(registry);
     this.interceptors = new CopyOnWriteArrayList<>();
+    this.asyncConfig = asyncConfig;
+    this.ownedExecutor = ownedExecutor;
+    this.executor = ownedExecutor != null ? ownedExecutor : executor;
+    this.queueSlots = asyncConfig == null ? null : new Semaphore(asyncConfig.queueCapacity());
+    this.lanes = asyncConfig == null ? null : new ConcurrentHashMap<>();
   }
 
   /**
@@ -83,11 +158,61 @@ public final class DomainEventBus {
   /**
    * Publishes a single domain event.
    *
+   * <p>When dispatching asynchronously, the event is queued and this method returns without waiting
+   * for handlers; interceptor failures are then logged.
+   *
    * @param event the event to publish
+   * @throws RejectedExecutionException if dispatching asynchronously and the event cannot be queued,
+   *     including when a handler publishes while the queue is full
    */
   public void publish(DomainEvent event) {
     Objects.requireNonNull(event, "event");
 
+    if (asyncConfig != null) {
+      enqueue(event)
+          .exceptionally(
+              e -> {
+                log.error(
+                    "Failed to publish event {}: {}",
+                    event.getClass().getSimpleName(),
+                    e.getMessage(),
+                    e);
+                return null;
+              });
+      return;
+    }
+    publishNow(event);
+  }
+
+  /**
+   * Publishes a single domain event, completing once all handlers have processed it.
+   *
+   * <p>Handler failures are logged and do not fail the returned stage; interceptor failures and,
+   * when dispatching asynchronously, an event that cannot be queued do. Without asynchronous
+   * dispatch, the event is handled before this method returns.
+   *
+   * @param event the event to publish
+   * @return stage completing after the event has been handled
+   */
+  public CompletionStage<Void> publishAsync(DomainEvent event) {
+    Objects.requireNonNull(event, "event");
+
+    if (asyncConfig != null) {
+      try {
+        return enqueue(event);
+      } catch (RejectedExecutionException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+    try {
+      publishNow(event);
+      return CompletableFuture.completedFuture(null);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void publishNow(DomainEvent event) {
     // Pre-publish interceptors
     for (DomainEventInterceptor interceptor : interceptors) {
       interceptor.beforePublish(event);
@@ -123,9 +248,235 @@ public final class DomainEventBus {
     return registry.size();
   }
 
+  /**
+   * Returns the number of events published but not yet handled.
+   *
+   * @return queued event count, always {@code 0} without asynchronous dispatch
+   */
+  public int queuedEvents() {
+    return asyncConfig == null ? 0 : asyncConfig.queueCapacity() - queueSlots.availablePermits();
+  }
+
   /** Clears all registered handlers and interceptors. */
   public void clear() {
     registry.clear();
     interceptors.clear();
   }
+
+  /**
+   * Stops accepting events, waits for queued events to be handled and shuts down the default
+   * executor. Does nothing without asynchronous dispatch.
+   *
+   * @throws IllegalStateException if called by a handler or interceptor of this bus, which would
+   *     wait for its own event to be handled
+   */
+  @Override
+  public void close() {
+    if (asyncConfig == null || closed) {
+      return;
+    }
+    if (isHandling()) {
+      throw new IllegalStateException("Event bus cannot be closed by its own handlers");
+    }
+    closed = true;
+    queueSlots.acquireUninterruptibly(asyncConfig.queueCapacity());
+    queueSlots.release(asyncConfig.queueCapacity());
+    if (ownedExecutor != null) {
+      ownedExecutor.close();
+    }
+  }
+
+  private CompletableFuture<Void> enqueue(DomainEvent event) {
+    if (closed) {
+      throw new RejectedExecutionException("Event bus is closed");
+    }
+    if (asyncConfig.backpressure() == AsyncDispatchConfig.Backpressure.BLOCK && !isHandling()) {
+      try {
+        queueSlots.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+      }
+    } else if (!queueSlots.tryAcquire()) {
+      throw new RejectedExecutionException(
+          "Event queue is full (" + asyncConfig.queueCapacity() + " events)");
+    }
+    if (closed) {
+      queueSlots.release();
+      throw new RejectedExecutionException("Event bus is closed");
+    }
+
+    Pending pending = new Pending(event, new CompletableFuture<>());
+    String key = orderingKey(event);
+    if (key == null) {
+      Lane lane = new Lane(null);
+      lane.queue.add(pending);
+      lane.scheduled = true;
+      schedule(lane);
+      return pending.result();
+    }
+    while (true) {
+      Lane lane = lanes.computeIfAbsent(key, Lane::new);
+      boolean start;
+      synchronized (lane) {
+        if (lane.retired) {
+          continue;
+        }
+        lane.queue.add(pending);
+        start = !lane.scheduled;
+        lane.scheduled = true;
+      }
+      if (start) {
+        schedule(lane);
+      }
+      return pending.result();
+    }
+  }
+
+  /** Tells whether the current thread is running a handler or interceptor of this bus. */
+  private boolean isHandling() {
+    return handling.get() != null;
+  }
+
+  /** Runs part of handling an event, marking the thread so that the bus never blocks it. */
+  private void runHandling(Runnable task) {
+    if (isHandling()) {
+      task.run();
+      return;
+    }
+    handling.set(Boolean.TRUE);
+    try {
+      task.run();
+    } finally {
+      handling.remove();
+    }
+  }
+
+  private static String orderingKey(DomainEvent event) {
+    String aggregateId = event.aggregateId();
+    return aggregateId == null ? null : event.aggregateType() + ':' + aggregateId;
+  }
+
+  private void schedule(Lane lane) {
+    try {
+      executor.execute(lane);
+    } catch (RejectedExecutionException e) {
+      // Executor shut down or saturated: keep events moving on the caller's thread.
+      lane.run();
+    }
+  }
+
+  /**
+   * Runs interceptors and handlers for an event.
+   *
+   * @return {@code null} if the event has been handled, or a stage completing once it has
+   */
+  private CompletableFuture<Void> dispatch(Pending pending) {
+    DomainEvent event = pending.event();
+    try {
+      for (DomainEventInterceptor interceptor : interceptors) {
+        interceptor.beforePublish(event);
+      }
+    } catch (RuntimeException e) {
+      queueSlots.release();
+      pending.result().completeExceptionally(e);
+      return null;
+    }
+
+    List<DomainEventHandler<?>> handlers = registry.getHandlers(event.getClass());
+    if (handlers.size() <= 1) {
+      for (DomainEventHandler<?> handler : handlers) {
+        dispatcher.invoke(handler, event);
+      }
+      complete(pending);
+      return null;
+    }
+
+    // Fan out: the first handler runs here, the others in parallel on the executor.
+    CompletableFuture<?>[] others = new CompletableFuture<?>[handlers.size() - 1];
+    for (int i = 1; i < handlers.size(); i++) {
+      DomainEventHandler<?> handler = handlers.get(i);
+      try {
+        others[i - 1] =
+            CompletableFuture.runAsync(
+                () -> runHandling(() -> dispatcher.invoke(handler, event)), executor);
+      } catch (RejectedExecutionException e) {
+        dispatcher.invoke(handler, event);
+        others[i - 1] = CompletableFuture.completedFuture(null);
+      }
+    }
+    dispatcher.invoke(handlers.get(0), event);
+    CompletableFuture<Void> all = CompletableFuture.allOf(others);
+    if (all.isDone()) {
+      complete(pending);
+      return null;
+    }
+    return all.thenRun(() -> runHandling(() -> complete(pending)));
+  }
+
+  private void complete(Pending pending) {
+    RuntimeException failure = null;
+    try {
+      for (DomainEventInterceptor interceptor : interceptors) {
+        interceptor.afterPublish(pending.event());
+      }
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    queueSlots.release();
+    if (failure == null) {
+      pending.result().complete(null);
+    } else {
+      pending.result().completeExceptionally(failure);
+    }
+  }
+
+  /** An event waiting to be handled, and the stage completed once it has been. */
+  private record Pending(DomainEvent event, CompletableFuture<Void> result) {}
+
+  /**
+   * Events of one aggregate, handled in order by at most one thread at a time. A lane is scheduled
+   * while it has events and retired once it runs out; a retired lane is never reused.
+   */
+  private final class Lane implements Runnable {
+    private final String key;
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>(); // guarded by this
+    private boolean scheduled; // guarded by this
+    private boolean retired; // guarded by this
+
+    Lane(String key) {
+      this.key = key;
+    }
+
+    @Override
+    public void run() {
+      runHandling(this::drain);
+    }
+
+    private void drain() {
+      for (int i = 0; i < EVENTS_PER_TURN; i++) {
+        Pending next;
+        synchronized (this) {
+          next = queue.poll();
+          if (next == null) {
+            scheduled = false;
+            retired = true;
+          }
+        }
+        if (next == null) {
+          if (key != null) {
+            lanes.remove(key, this);
+          }
+          return;
+        }
+        CompletableFuture<Void> inFlight = dispatch(next);
+        if (inFlight != null) {
+          // Resume once the event's handlers are done, keeping its successors behind it.
+          inFlight.whenComplete((ignored, e) -> schedule(this));
+          return;
+        }
+      }
+      schedule(this);
+    }
+  }
 }
@@ -51,26 +51,41 @@ public final class DomainEventDispatcher {
     Class<? extends DomainEvent> eventType = event.getClass();
     List<DomainEventHandler<?>> handlers = registry.getHandlers(eventType);
 
-    log.debug("Dispatching event {} to {} handler(s)", eventType.getSimpleName(), handlers.size());
+    if (log.isDebugEnabled()) {
+      log.debug(
+          "Dispatching event {} to {} handler(s)", eventType.getSimpleName(), handlers.size());
+    }
 
     for (DomainEventHandler<?> handler : handlers) {
-      try {
-        @SuppressWarnings("unchecked")
-        DomainEventHandler<DomainEvent> typedHandler = (DomainEventHandler<DomainEvent>) handler;
-        typedHandler.handle(event);
+      invoke(handler, event);
+    }
+  }
+
+  /**
+   * Invokes a single handler, logging rather than propagating its failure.
+   *
+   * @param handler the handler to invoke
+   * @param event the event to handle
+   */
+  void invoke(DomainEventHandler<?> handler, DomainEvent event) {
+    try {
+      @SuppressWarnings("unchecked")
+      DomainEventHandler<DomainEvent> typedHandler = (DomainEventHandler<DomainEvent>) handler;
+      typedHandler.handle(event);
+      if (log.isTraceEnabled()) {
         log.trace(
             "Handler {} processed event {}",
             handler.getClass().getSimpleName(),
-            eventType.getSimpleName());
-      } catch (Exception e) {
-        log.error(
-            "Handler {} failed to process event {}: {}",
-            handler.getClass().getSimpleName(),
-            eventType.getSimpleName(),
-            e.getMessage(),
-            e);
-        // Continue processing other handlers
+            event.getClass().getSimpleName());
       }
+    } catch (Exception e) {
+      log.error(
+          "Handler {} failed to process event {}: {}",
+          handler.getClass().getSimpleName(),
+          event.getClass().getSimpleName(),
+          e.getMessage(),
+          e);
+      // Continue processing other handlers
     }
   }
 
@@ -3,9 +3,8 @@ package com.marcusprado02.commons.app.domainevents;
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,7 +12,13 @@ import org.slf4j.LoggerFactory;
  * Registry for domain event handlers.
  *
  * <p>Maintains a mapping of event types to their handlers and provides methods to register and
- * retrieve handlers.
+ * retrieve handlers. A handler registered for a type receives events of that type and of all its
+ * subtypes, so a handler for an interface or a base class sees every event implementing or
+ * extending it.
+ *
+ * <p>The handlers of each concrete event class are resolved on first use and kept in a dispatch
+ * table of immutable lists, in registration order; {@link #getHandlers(Class)} is then a single map
+ * lookup. Registering or unregistering a handler discards the table.
  *
  * <p><strong>Thread Safety:</strong> This registry is thread-safe and can be used in concurrent
  * environments.
@@ -35,7 +40,11 @@ public final class DomainEventHandlerRegistry {
 
   private static final Logger log = LoggerFactory.getLogger(DomainEventHandlerRegistry.class);
 
-  private final Map<Class<? extends DomainEvent>, List<DomainEventHandler<?>>> handlers =
+  /** Registrations in order; replaced, never mutated. Guarded by this for writes. */
+  private volatile List<Registration> registrations = List.of();
+
+  /** Resolved handlers per concrete event class; replaced whenever registrations change. */
+  private volatile ConcurrentMap<Class<?>, List<DomainEventHandler<?>>> dispatchTable =
       new ConcurrentHashMap<>();
 
   /**
@@ -46,7 +55,11 @@ public final class DomainEventHandlerRegistry {
    */
   public <T extends DomainEvent> void register(DomainEventHandler<T> handler) {
     Class<T> eventType = handler.eventType();
-    handlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(handler);
+    synchronized (this) {
+      List<Registration> updated = new ArrayList<>(registrations);
+      updated.add(new Registration(eventType, handler));
+      replace(updated);
+    }
     log.debug(
         "Registered handler {} for event type {}",
         handler.getClass().getSimpleName(),
@@ -61,9 +74,15 @@ public final class DomainEventHandlerRegistry {
    */
   public <T extends DomainEvent> void unregister(DomainEventHandler<T> handler) {
     Class<T> eventType = handler.eventType();
-    List<DomainEventHandler<?>> eventHandlers = handlers.get(eventType);
-    if (eventHandlers != null) {
-      eventHandlers.remove(handler);
+    boolean removed;
+    synchronized (this) {
+      List<Registration> updated = new ArrayList<>(registrations);
+      removed = updated.remove(new Registration(eventType, handler));
+      if (removed) {
+        replace(updated);
+      }
+    }
+    if (removed) {
       log.debug(
           "Unregistered handler {} for event type {}",
           handler.getClass().getSimpleName(),
@@ -72,29 +91,37 @@ public final class DomainEventHandlerRegistry {
   }
 
   /**
-   * Gets all handlers for a specific event type.
+   * Gets all handlers for a specific event type, including those registered for its supertypes.
    *
    * @param eventType the event type
-   * @return list of handlers (empty if none registered)
+   * @return immutable list of handlers in registration order (empty if none registered)
    */
   public List<DomainEventHandler<?>> getHandlers(Class<? extends DomainEvent> eventType) {
-    return new ArrayList<>(handlers.getOrDefault(eventType, List.of()));
+    ConcurrentMap<Class<?>, List<DomainEventHandler<?>>> table = dispatchTable;
+    List<DomainEventHandler<?>> handlers = table.get(eventType);
+    if (handlers == null) {
+      // Resolved against the registrations current when the table was read, or later ones; a
+      // table replaced meanwhile is discarded along with whatever is cached in it.
+      handlers = table.computeIfAbsent(eventType, this::resolve);
+    }
+    return handlers;
   }
 
   /**
-   * Checks if there are any handlers registered for the given event type.
+   * Checks if there are any handlers registered for the given event type or its supertypes.
    *
    * @param eventType the event type
    * @return true if at least one handler is registered
    */
   public boolean hasHandlers(Class<? extends DomainEvent> eventType) {
-    List<DomainEventHandler<?>> eventHandlers = handlers.get(eventType);
-    return eventHandlers != null && !eventHandlers.isEmpty();
+    return !getHandlers(eventType).isEmpty();
   }
 
   /** Clears all registered handlers. */
   public void clear() {
-    handlers.clear();
+    synchronized (this) {
+      replace(List.of());
+    }
     log.debug("Cleared all event handlers");
   }
 
@@ -104,6 +131,24 @@ public final class DomainEventHandlerRegistry {
    * @return total handler count
    */
   public int size() {
-    return handlers.values().stream().mapToInt(List::size).sum();
+    return registrations.size();
   }
+
+  /** Publishes new registrations, then a fresh table, so no stale resolution outlives them. */
+  private void replace(List<Registration> updated) {
+    registrations = List.copyOf(updated);
+    dispatchTable = new ConcurrentHashMap<>();
+  }
+
+  private List<DomainEventHandler<?>> resolve(Class<?> eventType) {
+    List<DomainEventHandler<?>> handlers = new ArrayList<>();
+    for (Registration registration : registrations) {
+      if (registration.eventType().isAssignableFrom(eventType)) {
+        handlers.add(registration.handler());
+      }
+    }
+    return List.copyOf(handlers);
+  }
+
+  private record Registration(Class<?> eventType, DomainEventHandler<?> handler) {}
 }
@@ -6,8 +6,19 @@ import static org.mockito.Mockito.*;
 import com.marcusprado02.commons.kernel.ddd.entity.AggregateSnapshot;
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
 import com.marcusprado02.commons.kernel.ddd.id.UuidIdentifier;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -133,6 +144,196 @@ class DomainEventBusTest {
     assertEquals(0, eventBus.handlerCount());
   }
 
+  @Test
+  void shouldPublishWithoutWaitingForHandlersWhenAsync() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    try (DomainEventBus asyncBus = new DomainEventBus(AsyncDispatchConfig.defaults())) {
+      asyncBus.register(handler(event -> await(release)));
+
+      CompletableFuture<Void> handled =
+          asyncBus.publishAsync(new AggregateEvent("order-1", 1)).toCompletableFuture();
+      assertFalse(handled.isDone());
+      assertEquals(1, asyncBus.queuedEvents());
+
+      release.countDown();
+      handled.get(5, TimeUnit.SECONDS);
+      assertEquals(0, asyncBus.queuedEvents());
+    }
+  }
+
+  @Test
+  void shouldKeepPerAggregateOrderWhenAsync() throws Exception {
+    Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+    try (DomainEventBus asyncBus = new DomainEventBus(AsyncDispatchConfig.defaults())) {
+      asyncBus.register(
+          handler(
+              event ->
+                  seen.computeIfAbsent(
+                          event.aggregateId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                      .add(event.sequence())));
+
+      List<CompletableFuture<Void>> results = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        for (String aggregate : List.of("a", "b", "c")) {
+          results.add(
+              asyncBus.publishAsync(new AggregateEvent(aggregate, i)).toCompletableFuture());
+        }
+      }
+      CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    }
+
+    for (String aggregate : List.of("a", "b", "c")) {
+      List<Integer> sequence = seen.get(aggregate);
+      assertEquals(500, sequence.size());
+      for (int i = 0; i < 500; i++) {
+        assertEquals(i, sequence.get(i), "Event order of aggregate " + aggregate);
+      }
+    }
+  }
+
+  @Test
+  void shouldRunHandlersOfOneEventInParallelWhenAsync() throws Exception {
+    CyclicBarrier bothRunning = new CyclicBarrier(2);
+    try (DomainEventBus asyncBus = new DomainEventBus(AsyncDispatchConfig.defaults())) {
+      asyncBus.register(handler(event -> awaitBarrier(bothRunning)));
+      asyncBus.register(handler(event -> awaitBarrier(bothRunning)));
+
+      asyncBus
+          .publishAsync(new AggregateEvent("order-1", 1))
+          .toCompletableFuture()
+          .get(5, TimeUnit.SECONDS);
+      assertEquals(0, bothRunning.getNumberWaiting());
+      assertFalse(bothRunning.isBroken());
+    }
+  }
+
+  @Test
+  void shouldRejectWhenQueueIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AsyncDispatchConfig config =
+        AsyncDispatchConfig.defaults()
+            .withQueueCapacity(1)
+            .withBackpressure(AsyncDispatchConfig.Backpressure.REJECT);
+    try (DomainEventBus asyncBus = new DomainEventBus(config)) {
+      asyncBus.register(handler(event -> await(release)));
+
+      CompletableFuture<Void> first =
+          asyncBus.publishAsync(new AggregateEvent("order-1", 1)).toCompletableFuture();
+      CompletableFuture<Void> second =
+          asyncBus.publishAsync(new AggregateEvent("order-2", 1)).toCompletableFuture();
+
+      CompletionException rejected = assertThrows(CompletionException.class, second::join);
+      assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+      assertThrows(
+          RejectedExecutionException.class,
+          () -> asyncBus.publish(new AggregateEvent("order-3", 1)));
+
+      release.countDown();
+      first.get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void shouldRejectInsteadOfBlockingWhenHandlerPublishesToFullQueue() throws Exception {
+    AsyncDispatchConfig config = AsyncDispatchConfig.defaults().withQueueCapacity(1);
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    try (DomainEventBus asyncBus = new DomainEventBus(config)) {
+      asyncBus.register(
+          handler(
+              event -> {
+                if (event.sequence() == 1) {
+                  try {
+                    asyncBus.publish(new AggregateEvent("order-2", 2));
+                  } catch (RejectedExecutionException e) {
+                    failures.add(e);
+                  }
+                  try {
+                    asyncBus.close();
+                  } catch (IllegalStateException e) {
+                    failures.add(e);
+                  }
+                }
+              }));
+
+      asyncBus
+          .publishAsync(new AggregateEvent("order-1", 1))
+          .toCompletableFuture()
+          .get(5, TimeUnit.SECONDS);
+    }
+
+    assertEquals(2, failures.size());
+    assertInstanceOf(RejectedExecutionException.class, failures.get(0));
+    assertInstanceOf(IllegalStateException.class, failures.get(1));
+  }
+
+  @Test
+  void shouldFailStageWhenInterceptorFails() {
+    eventBus.registerInterceptor(
+        new DomainEventInterceptor() {
+          @Override
+          public void beforePublish(DomainEvent event) {
+            throw new IllegalStateException("boom");
+          }
+        });
+
+    CompletionException failure =
+        assertThrows(
+            CompletionException.class,
+            () ->
+                eventBus
+                    .publishAsync(new AggregateEvent("order-1", 1))
+                    .toCompletableFuture()
+                    .join());
+    assertInstanceOf(IllegalStateException.class, failure.getCause());
+  }
+
+  @Test
+  void shouldDrainQueuedEventsOnClose() {
+    AtomicInteger handled = new AtomicInteger();
+    DomainEventBus asyncBus = new DomainEventBus(AsyncDispatchConfig.defaults());
+    asyncBus.register(handler(event -> handled.incrementAndGet()));
+    for (int i = 0; i < 100; i++) {
+      asyncBus.publish(new AggregateEvent("order-" + (i % 7), i));
+    }
+
+    asyncBus.close();
+
+    assertEquals(100, handled.get());
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> asyncBus.publish(new AggregateEvent("order-1", 100)));
+  }
+
+  private static DomainEventHandler<AggregateEvent> handler(Consumer<AggregateEvent> action) {
+    return new DomainEventHandler<>() {
+      @Override
+      public void handle(AggregateEvent event) {
+        action.accept(event);
+      }
+
+      @Override
+      public Class<AggregateEvent> eventType() {
+        return AggregateEvent.class;
+      }
+    };
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void awaitBarrier(CyclicBarrier barrier) {
+    try {
+      barrier.await(5, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private TestEvent createTestEvent(String data) {
     return new TestEvent(mockSnapshot(), data);
   }
@@ -174,6 +375,33 @@ class DomainEventBusTest {
     }
   }
 
+  record AggregateEvent(String aggregateId, int sequence) implements DomainEvent {
+    @Override
+    public com.marcusprado02.commons.kernel.ddd.event.EventId eventId() {
+      return com.marcusprado02.commons.kernel.ddd.event.EventId.newId();
+    }
+
+    @Override
+    public java.time.Instant occurredAt() {
+      return java.time.Instant.now();
+    }
+
+    @Override
+    public String aggregateType() {
+      return "Order";
+    }
+
+    @Override
+    public long aggregateVersion() {
+      return sequence;
+    }
+
+    @Override
+    public com.marcusprado02.commons.kernel.ddd.event.EventMetadata metadata() {
+      return com.marcusprado02.commons.kernel.ddd.event.EventMetadata.empty();
+    }
+  }
+
   static class TestId extends UuidIdentifier {
     public TestId(String value) {
       super(value);
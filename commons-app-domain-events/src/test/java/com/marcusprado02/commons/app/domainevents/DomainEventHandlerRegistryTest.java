@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.marcusprado02.commons.kernel.ddd.entity.AggregateSnapshot;
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
 import com.marcusprado02.commons.kernel.ddd.id.UuidIdentifier;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -67,6 +68,31 @@ class DomainEventHandlerRegistryTest {
     assertFalse(registry.hasHandlers(AnotherTestEvent.class));
   }
 
+  @Test
+  void shouldIncludeHandlersRegisteredForSupertypes() {
+    AllEventsHandler allEvents = new AllEventsHandler();
+    TestEventHandler testEvents = new TestEventHandler();
+    registry.register(allEvents);
+    registry.register(testEvents);
+
+    assertEquals(List.of(allEvents, testEvents), registry.getHandlers(TestEvent.class));
+    assertEquals(List.of(allEvents), registry.getHandlers(AnotherTestEvent.class));
+    assertTrue(registry.hasHandlers(AnotherTestEvent.class));
+  }
+
+  @Test
+  void shouldCacheResolvedHandlersUntilRegistrationsChange() {
+    registry.register(new TestEventHandler());
+    List<DomainEventHandler<?>> resolved = registry.getHandlers(TestEvent.class);
+
+    assertSame(resolved, registry.getHandlers(TestEvent.class));
+    assertThrows(UnsupportedOperationException.class, () -> resolved.add(new TestEventHandler()));
+
+    registry.register(new AllEventsHandler());
+    assertEquals(2, registry.getHandlers(TestEvent.class).size());
+    assertEquals(1, resolved.size());
+  }
+
   // Test event
   record TestEvent(AggregateSnapshot<TestId> aggregate, String data) implements DomainEvent {
     @Override
@@ -151,6 +177,16 @@ class DomainEventHandlerRegistryTest {
     }
   }
 
+  static class AllEventsHandler implements DomainEventHandler<DomainEvent> {
+    @Override
+    public void handle(DomainEvent event) {}
+
+    @Override
+    public Class<DomainEvent> eventType() {
+      return DomainEvent.class;
+    }
+  }
+
   static class AnotherTestEventHandler implements DomainEventHandler<AnotherTestEvent> {
     @Override
     public void handle(AnotherTestEvent event) {
@@ -10,6 +10,9 @@ public final class IdempotencyHttp {
 
   public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
 
+  /** Header set on responses replayed from a previous execution instead of being re-processed. */
+  public static final String IDEMPOTENCY_REPLAYED_HEADER = "Idempotency-Replayed";
+
   private IdempotencyHttp() {}
 
   /**
@@ -0,0 +1,29 @@
+package com.marcusprado02.commons.app.idempotency.http;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Completed HTTP response kept for replaying to duplicates of an idempotent request.
+ *
+ * @param status HTTP status code
+ * @param headers Response headers, in the order they were written
+ * @param body Response body; not copied, so callers must not modify it after construction
+ */
+public record IdempotentHttpResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+  /** Validates fields and copies the headers on construction. */
+  public IdempotentHttpResponse {
+    if (status < 100 || status > 599) {
+      throw new IllegalArgumentException("status must be a valid HTTP status code");
+    }
+    Objects.requireNonNull(headers, "headers must not be null");
+    Objects.requireNonNull(body, "body must not be null");
+    Map<String, List<String>> copy = new LinkedHashMap<>();
+    headers.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+    headers = Collections.unmodifiableMap(copy);
+  }
+}
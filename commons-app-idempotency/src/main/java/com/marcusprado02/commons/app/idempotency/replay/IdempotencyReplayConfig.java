@@ -0,0 +1,50 @@
+package com.marcusprado02.commons.app.idempotency.replay;
+
+import java.time.Duration;
+
+/**
+ * Configuration for replaying the results of idempotent executions to duplicates.
+ *
+ * @param coalesce Whether duplicates arriving while the original is still running on this node wait
+ *     for it and share its result, instead of being reported as in progress
+ * @param awaitTimeout How long a coalesced duplicate waits for the original before giving up
+ * @param maxEntries Upper bound on cached results; the least recently used is evicted first, and
+ *     {@code 0} disables caching
+ * @param ttl How long a cached result is replayed; never longer than the key's own TTL
+ */
+public record IdempotencyReplayConfig(
+    boolean coalesce, Duration awaitTimeout, int maxEntries, Duration ttl) {
+
+  public static final Duration DEFAULT_AWAIT_TIMEOUT = Duration.ofSeconds(10);
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+  public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+  /** Validates fields on construction. */
+  public IdempotencyReplayConfig {
+    if (awaitTimeout == null || awaitTimeout.isNegative() || awaitTimeout.isZero()) {
+      throw new IllegalArgumentException("awaitTimeout must be positive");
+    }
+    if (maxEntries < 0) {
+      throw new IllegalArgumentException("maxEntries must not be negative");
+    }
+    if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("ttl must be positive");
+    }
+  }
+
+  /** Creates default configuration: coalescing on, up to 10,000 results cached for 5 minutes. */
+  public static IdempotencyReplayConfig defaults() {
+    return new IdempotencyReplayConfig(
+        true, DEFAULT_AWAIT_TIMEOUT, DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+  }
+
+  /** Returns a copy with coalescing switched on or off. */
+  public IdempotencyReplayConfig withCoalesce(boolean coalesce) {
+    return new IdempotencyReplayConfig(coalesce, awaitTimeout, maxEntries, ttl);
+  }
+
+  /** Returns a copy with the given cache bound. */
+  public IdempotencyReplayConfig withMaxEntries(int maxEntries) {
+    return new IdempotencyReplayConfig(coalesce, awaitTimeout, maxEntries, ttl);
+  }
+}
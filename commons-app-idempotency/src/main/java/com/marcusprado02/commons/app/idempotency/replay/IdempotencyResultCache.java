@@ -0,0 +1,107 @@
+package com.marcusprado02.commons.app.idempotency.replay;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, node-local cache of completed idempotent results, so replays are served without
+ * re-executing the action or reading the store.
+ *
+ * <p>Holds at most {@code maxEntries} results and evicts the least recently used first. Each entry
+ * expires after its own TTL and is dropped when next looked up. The cache is a shortcut only: the
+ * store stays the source of truth, so a result missing here still resolves as a duplicate.
+ *
+ * @param <V> Cached result type
+ */
+public final class IdempotencyResultCache<V> {
+
+  private final Clock clock;
+  private final int maxEntries;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<String, Entry<V>> entries;
+
+  public IdempotencyResultCache(int maxEntries) {
+    this(maxEntries, Clock.systemUTC());
+  }
+
+  /** Creates a cache holding up to {@code maxEntries} results. */
+  public IdempotencyResultCache(int maxEntries, Clock clock) {
+    if (maxEntries <= 0) {
+      throw new IllegalArgumentException("maxEntries must be positive");
+    }
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.maxEntries = maxEntries;
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+            return size() > IdempotencyResultCache.this.maxEntries;
+          }
+        };
+  }
+
+  /** Returns the cached result for the key, if present and not expired. */
+  public Optional<V> get(IdempotencyKey key) {
+    Objects.requireNonNull(key, "key must not be null");
+
+    long now = clock.millis();
+    lock.lock();
+    try {
+      Entry<V> entry = entries.get(key.value());
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (entry.expiresAt <= now) {
+        entries.remove(key.value());
+        return Optional.empty();
+      }
+      return Optional.of(entry.value);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Caches a result for the key, replacing any previous one. */
+  public void put(IdempotencyKey key, V value, Duration ttl) {
+    Objects.requireNonNull(key, "key must not be null");
+    Objects.requireNonNull(value, "value must not be null");
+    Objects.requireNonNull(ttl, "ttl must not be null");
+
+    long expiresAt = clock.millis() + ttl.toMillis();
+    lock.lock();
+    try {
+      entries.put(key.value(), new Entry<>(value, expiresAt));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Removes the cached result for the key, if any. */
+  public void invalidate(IdempotencyKey key) {
+    Objects.requireNonNull(key, "key must not be null");
+    lock.lock();
+    try {
+      entries.remove(key.value());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Returns the number of cached results, including expired ones not yet looked up again. */
+  public int size() {
+    lock.lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private record Entry<V>(V value, long expiresAt) {}
+}
@@ -0,0 +1,94 @@
+package com.marcusprado02.commons.app.idempotency.replay;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Node-local registry of idempotent executions in progress, letting concurrent duplicates of a key
+ * wait for the original and share its outcome instead of being rejected.
+ *
+ * <p>The first caller to {@link #begin} a key leads: it runs the action and must finish its call
+ * with {@link #complete} or {@link #fail}. Callers arriving before that follow, and {@link #await}
+ * the leader's outcome.
+ *
+ * @param <V> Shared outcome type
+ */
+public final class InFlightRequests<V> {
+
+  private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight =
+      new ConcurrentHashMap<>();
+
+  /** Joins the execution in progress for the key, or starts leading a new one. */
+  public Call<V> begin(IdempotencyKey key) {
+    Objects.requireNonNull(key, "key must not be null");
+
+    CompletableFuture<V> future = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key.value(), future);
+    return existing == null ? new Call<>(key, future, true) : new Call<>(key, existing, false);
+  }
+
+  /** Publishes the leader's outcome to its followers and ends the call. */
+  public void complete(Call<V> call, V outcome) {
+    end(call);
+    call.future.complete(outcome);
+  }
+
+  /** Publishes the leader's failure to its followers and ends the call. */
+  public void fail(Call<V> call, Throwable failure) {
+    end(call);
+    call.future.completeExceptionally(failure);
+  }
+
+  /**
+   * Waits for the leader's outcome. Returns empty if it does not finish within the timeout; a
+   * failure of the leader is rethrown as is when unchecked.
+   */
+  public Optional<V> await(Call<V> call, Duration timeout) {
+    Objects.requireNonNull(timeout, "timeout must not be null");
+    try {
+      return Optional.ofNullable(call.future.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
+    } catch (TimeoutException ex) {
+      return Optional.empty();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /** Returns the number of keys currently executing. */
+  public int size() {
+    return inFlight.size();
+  }
+
+  private void end(Call<V> call) {
+    if (!call.leader) {
+      throw new IllegalStateException("only the leading call can finish: " + call.key.value());
+    }
+    inFlight.remove(call.key.value(), call.future);
+  }
+
+  /**
+   * A caller's participation in an execution.
+   *
+   * @param key Idempotency key
+   * @param future Outcome of the execution
+   * @param leader Whether this caller runs the action
+   */
+  public record Call<V>(IdempotencyKey key, CompletableFuture<V> future, boolean leader) {}
+}
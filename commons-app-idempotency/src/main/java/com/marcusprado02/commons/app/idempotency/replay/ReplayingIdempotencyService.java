@@ -0,0 +1,119 @@
+package com.marcusprado02.commons.app.idempotency.replay;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.service.IdempotencyResult;
+import com.marcusprado02.commons.app.idempotency.service.IdempotencyService;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link IdempotencyService} decorator that serves duplicates with the original execution's value.
+ *
+ * <p>With {@link IdempotencyReplayConfig#coalesce()}, a duplicate arriving while the original is
+ * still running on this node waits for it and shares its value, or its exception, rather than
+ * coming back as in progress. Completed values are kept in a bounded {@link IdempotencyResultCache}
+ * and replayed without running the action or reading the store. Both are node-local: duplicates
+ * reaching another node still resolve through the store as before.
+ *
+ * <p>Replayed results have {@link IdempotencyResult#replayed()} set. Values are shared as is, so
+ * they should be immutable.
+ */
+public final class ReplayingIdempotencyService implements IdempotencyService {
+
+  private final IdempotencyService delegate;
+  private final IdempotencyReplayConfig config;
+  private final IdempotencyResultCache<IdempotencyResult<?>> cache;
+  private final InFlightRequests<IdempotencyResult<?>> inFlight = new InFlightRequests<>();
+
+  public ReplayingIdempotencyService(IdempotencyService delegate) {
+    this(delegate, IdempotencyReplayConfig.defaults());
+  }
+
+  /** Creates a decorator with the given coalescing and cache settings. */
+  public ReplayingIdempotencyService(IdempotencyService delegate, IdempotencyReplayConfig config) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.cache =
+        config.maxEntries() == 0 ? null : new IdempotencyResultCache<>(config.maxEntries());
+  }
+
+  @Override
+  public <T> IdempotencyResult<T> execute(IdempotencyKey key, Duration ttl, Supplier<T> action) {
+    return execute(key, ttl, action, ignored -> null);
+  }
+
+  @Override
+  public <T> IdempotencyResult<T> execute(
+      IdempotencyKey key, Duration ttl, Supplier<T> action, Function<T, String> resultRefMapper) {
+
+    Objects.requireNonNull(key, "key must not be null");
+    Objects.requireNonNull(action, "action must not be null");
+    Objects.requireNonNull(resultRefMapper, "resultRefMapper must not be null");
+
+    if (cache != null) {
+      Optional<IdempotencyResult<?>> cached = cache.get(key);
+      if (cached.isPresent()) {
+        return cast(cached.get());
+      }
+    }
+    if (!config.coalesce()) {
+      return run(key, ttl, action, resultRefMapper).result();
+    }
+
+    InFlightRequests.Call<IdempotencyResult<?>> call = inFlight.begin(key);
+    if (!call.leader()) {
+      return inFlight
+          .await(call, config.awaitTimeout())
+          .<IdempotencyResult<T>>map(ReplayingIdempotencyService::cast)
+          .orElseGet(() -> new IdempotencyResult<>(false, null, null));
+    }
+    try {
+      Outcome<T> outcome = run(key, ttl, action, resultRefMapper);
+      inFlight.complete(call, outcome.replay() != null ? outcome.replay() : outcome.result());
+      return outcome.result();
+    } catch (RuntimeException | Error ex) {
+      inFlight.fail(call, ex);
+      throw ex;
+    }
+  }
+
+  private <T> Outcome<T> run(
+      IdempotencyKey key, Duration ttl, Supplier<T> action, Function<T, String> resultRefMapper) {
+    String[] resultRef = new String[1];
+    IdempotencyResult<T> result =
+        delegate.execute(
+            key,
+            ttl,
+            action,
+            value -> {
+              resultRef[0] = resultRefMapper.apply(value);
+              return resultRef[0];
+            });
+    if (!result.executed()) {
+      return new Outcome<>(result, null);
+    }
+    IdempotencyResult<T> replay = IdempotencyResult.replay(resultRef[0], result.value());
+    if (cache != null) {
+      cache.put(key, replay, cacheTtl(ttl));
+    }
+    return new Outcome<>(result, replay);
+  }
+
+  private Duration cacheTtl(Duration ttl) {
+    if (ttl == null || ttl.isNegative() || ttl.isZero() || ttl.compareTo(config.ttl()) > 0) {
+      return config.ttl();
+    }
+    return ttl;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> IdempotencyResult<T> cast(IdempotencyResult<?> result) {
+    return (IdempotencyResult<T>) result;
+  }
+
+  /** Result returned to the leader, and the replay shared with duplicates if it executed. */
+  private record Outcome<T>(IdempotencyResult<T> result, IdempotencyResult<T> replay) {}
+}
@@ -2,11 +2,18 @@ package com.marcusprado02.commons.app.idempotency.service;
 
 import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
 import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.replay.IdempotencyReplayConfig;
+import com.marcusprado02.commons.app.idempotency.replay.ReplayingIdempotencyService;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.function.Supplier;
 
-/** Default implementation of {@link IdempotentExecutor} backed by an {@link IdempotencyService}. */
+/**
+ * Default implementation of {@link IdempotentExecutor} backed by an {@link IdempotencyService}.
+ *
+ * <p>Given an {@link IdempotencyReplayConfig}, duplicates are served with the original's value
+ * through a {@link ReplayingIdempotencyService}, instead of only its result reference.
+ */
 public final class DefaultIdempotentExecutor implements IdempotentExecutor {
 
   private final IdempotencyService service;
@@ -20,6 +27,15 @@ public final class DefaultIdempotentExecutor implements IdempotentExecutor {
     this.service = new DefaultIdempotencyService(store, defaultTtl);
   }
 
+  /** Creates an executor that replays completed and in-flight results to duplicates. */
+  public DefaultIdempotentExecutor(
+      IdempotencyStorePort store, Duration defaultTtl, IdempotencyReplayConfig replay) {
+    Objects.requireNonNull(store, "store must not be null");
+    Objects.requireNonNull(replay, "replay must not be null");
+    this.service =
+        new ReplayingIdempotencyService(new DefaultIdempotencyService(store, defaultTtl), replay);
+  }
+
   @Override
   public <T> IdempotencyResult<T> execute(IdempotencyKey key, Duration ttl, Supplier<T> action) {
     return service.execute(key, ttl, action);
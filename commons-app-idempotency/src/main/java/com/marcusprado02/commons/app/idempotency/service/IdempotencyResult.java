@@ -1,4 +1,20 @@
 package com.marcusprado02.commons.app.idempotency.service;
 
-/** Result of an idempotent execution, indicating whether the action was newly executed. */
-public record IdempotencyResult<T>(boolean executed, String existingResultRef, T value) {}
+/**
+ * Result of an idempotent execution, indicating whether the action was newly executed.
+ *
+ * <p>A duplicate is {@code replayed} when it shares the value of the original execution, either by
+ * waiting on it or from a response cache, instead of only learning its {@code existingResultRef}.
+ */
+public record IdempotencyResult<T>(
+    boolean executed, String existingResultRef, T value, boolean replayed) {
+
+  public IdempotencyResult(boolean executed, String existingResultRef, T value) {
+    this(executed, existingResultRef, value, false);
+  }
+
+  /** Returns a result for a duplicate served with the original execution's value. */
+  public static <T> IdempotencyResult<T> replay(String resultRef, T value) {
+    return new IdempotencyResult<>(false, resultRef, value, true);
+  }
+}
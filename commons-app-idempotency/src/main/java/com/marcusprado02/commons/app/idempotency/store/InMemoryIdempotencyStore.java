@@ -4,47 +4,108 @@ import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
 import com.marcusprado02.commons.app.idempotency.model.IdempotencyRecord;
 import com.marcusprado02.commons.app.idempotency.model.IdempotencyStatus;
 import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import java.lang.ref.WeakReference;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
-/** In-memory implementation of {@link IdempotencyStorePort} for testing and simple deployments. */
-public final class InMemoryIdempotencyStore implements IdempotencyStorePort {
+/**
+ * In-memory implementation of {@link IdempotencyStorePort} for testing and single-node deployments.
+ *
+ * <p>Keys are spread over independently locked shards. Each shard indexes its keys by expiry time
+ * in a priority queue, so expired keys are removed oldest first without scanning the whole map: in
+ * the background every {@link InMemoryIdempotencyStoreConfig#expiryInterval()}, and a few at a time
+ * on every acquire. Keys that are never looked up again therefore do not accumulate.
+ *
+ * <p>The store holds at most {@link InMemoryIdempotencyStoreConfig#maxEntries()} keys. When a shard
+ * is full, the key closest to expiry is evicted, which may let a late duplicate of that request
+ * through; size the cap for the expected keys per TTL. Expirations and evictions are counted in
+ * {@link #stats()}.
+ *
+ * <p>Acquiring a key allocates a single entry; records are only materialized by {@link #find}. Call
+ * {@link #close()} to stop background expiry; stores that become unreachable stop it on their own.
+ */
+public final class InMemoryIdempotencyStore implements IdempotencyStorePort, AutoCloseable {
 
   private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
 
+  /** Expired keys removed inline per acquire, bounding the cost a single caller pays. */
+  private static final int INLINE_EXPIRY_BUDGET = 4;
+
+  /** Expired keys removed per lock hold while sweeping, so acquires are not stalled. */
+  private static final int SWEEP_CHUNK = 1024;
+
+  private static final ScheduledExecutorService EXPIRY =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("idempotency-expiry").daemon(true).factory());
+
   private final Clock clock;
-  private final ConcurrentMap<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+  private final Shard[] shards;
+  private final int shardMask;
+  private final LongAdder expired = new LongAdder();
+  private final LongAdder evicted = new LongAdder();
+  private final ScheduledFuture<?> expiryTask;
 
   public InMemoryIdempotencyStore() {
     this(Clock.systemUTC());
   }
 
   public InMemoryIdempotencyStore(Clock clock) {
+    this(clock, InMemoryIdempotencyStoreConfig.defaults());
+  }
+
+  /** Creates a store with the given sharding, capacity and expiry settings. */
+  public InMemoryIdempotencyStore(Clock clock, InMemoryIdempotencyStoreConfig config) {
     this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    Objects.requireNonNull(config, "config must not be null");
+
+    int shardCount = Integer.highestOneBit(config.shards() - 1) << 1;
+    shardCount = Math.max(shardCount, 1);
+    int capacity = Math.max(1, (config.maxEntries() + shardCount - 1) / shardCount);
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard(capacity);
+    }
+    this.shardMask = shardCount - 1;
+    this.expiryTask =
+        config.expiryInterval().isZero()
+            ? null
+            : ExpiryTask.schedule(this, config.expiryInterval());
   }
 
   @Override
   public Optional<IdempotencyRecord> find(IdempotencyKey key) {
     Objects.requireNonNull(key, "key must not be null");
 
-    Instant now = clock.instant();
-    IdempotencyRecord record = records.get(key.value());
-    if (record == null) {
-      return Optional.empty();
+    long now = clock.millis();
+    Shard shard = shardFor(key.value());
+    shard.lock.lock();
+    try {
+      Entry entry = shard.entries.get(key.value());
+      if (entry == null) {
+        return Optional.empty();
+      }
+      if (entry.isExpired(now)) {
+        shard.entries.remove(key.value());
+        expired.increment();
+        return Optional.empty();
+      }
+      return Optional.of(entry.toRecord());
+    } finally {
+      shard.lock.unlock();
     }
-
-    if (isExpired(record, now)) {
-      records.remove(key.value(), record);
-      return Optional.empty();
-    }
-
-    return Optional.of(record);
   }
 
   @Override
@@ -52,63 +113,220 @@ public final class InMemoryIdempotencyStore implements IdempotencyStorePort {
     Objects.requireNonNull(key, "key must not be null");
     Objects.requireNonNull(ttl, "ttl must not be null");
 
-    Duration safeTtl = ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL : ttl;
-
-    Instant now = clock.instant();
-    Instant expiresAt = now.plus(safeTtl);
-
-    AtomicBoolean acquired = new AtomicBoolean(false);
-    records.compute(
-        key.value(),
-        (k, existing) -> {
-          if (existing == null || isExpired(existing, now)) {
-            acquired.set(true);
-            return new IdempotencyRecord(
-                key, IdempotencyStatus.IN_PROGRESS, now, now, expiresAt, null, null);
-          }
-          return existing;
-        });
-
-    return acquired.get();
+    long ttlMillis =
+        ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL.toMillis() : Math.max(1, ttl.toMillis());
+    long now = clock.millis();
+    Shard shard = shardFor(key.value());
+    shard.lock.lock();
+    try {
+      Entry existing = shard.entries.get(key.value());
+      if (existing != null && !existing.isExpired(now)) {
+        return false;
+      }
+      expire(shard, now, INLINE_EXPIRY_BUDGET);
+      if (existing == null && shard.entries.size() >= shard.capacity) {
+        evictClosestToExpiry(shard);
+      }
+      Entry entry = new Entry(key, now, now + ttlMillis);
+      if (shard.entries.put(key.value(), entry) != null) {
+        expired.increment();
+      }
+      shard.expiry.add(entry);
+      return true;
+    } finally {
+      shard.lock.unlock();
+    }
   }
 
   @Override
   public void markCompleted(IdempotencyKey key, String resultRef) {
     Objects.requireNonNull(key, "key must not be null");
-
-    Instant now = clock.instant();
-    records.computeIfPresent(
-        key.value(),
-        (k, existing) ->
-            new IdempotencyRecord(
-                existing.key(),
-                IdempotencyStatus.COMPLETED,
-                existing.createdAt(),
-                now,
-                existing.expiresAt(),
-                resultRef,
-                null));
+    update(key, IdempotencyStatus.COMPLETED, resultRef, null);
   }
 
   @Override
   public void markFailed(IdempotencyKey key, String reason) {
     Objects.requireNonNull(key, "key must not be null");
+    update(key, IdempotencyStatus.FAILED, null, reason);
+  }
+
+  /** Returns the current number of keys and the expiry and eviction counters. */
+  public Stats stats() {
+    long size = 0;
+    for (Shard shard : shards) {
+      shard.lock.lock();
+      try {
+        size += shard.entries.size();
+      } finally {
+        shard.lock.unlock();
+      }
+    }
+    return new Stats(size, expired.sum(), evicted.sum());
+  }
+
+  /** Removes every expired key now instead of waiting for the next background sweep. */
+  public void expireNow() {
+    long now = clock.millis();
+    for (Shard shard : shards) {
+      int removed;
+      do {
+        shard.lock.lock();
+        try {
+          removed = expire(shard, now, SWEEP_CHUNK);
+        } finally {
+          shard.lock.unlock();
+        }
+      } while (removed == SWEEP_CHUNK);
+    }
+  }
+
+  /** Stops background expiry. The store remains usable, expiring keys on the write path only. */
+  @Override
+  public void close() {
+    if (expiryTask != null) {
+      expiryTask.cancel(false);
+    }
+  }
+
+  private void update(
+      IdempotencyKey key, IdempotencyStatus status, String resultRef, String error) {
+    long now = clock.millis();
+    Shard shard = shardFor(key.value());
+    shard.lock.lock();
+    try {
+      Entry entry = shard.entries.get(key.value());
+      if (entry == null) {
+        return;
+      }
+      entry.status = status;
+      entry.updatedAt = now;
+      if (status == IdempotencyStatus.COMPLETED) {
+        entry.resultRef = resultRef;
+        entry.lastError = null;
+      } else {
+        entry.lastError = error;
+      }
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  /**
+   * Removes up to {@code budget} expired keys from the head of the shard's expiry index. Index
+   * nodes of keys that were re-acquired after expiring are stale and dropped without counting.
+   */
+  private int expire(Shard shard, long now, int budget) {
+    int removed = 0;
+    Entry head;
+    while (removed < budget && (head = shard.expiry.peek()) != null && head.isExpired(now)) {
+      shard.expiry.poll();
+      if (shard.entries.remove(head.key.value(), head)) {
+        expired.increment();
+      }
+      removed++;
+    }
+    return removed;
+  }
+
+  private void evictClosestToExpiry(Shard shard) {
+    Entry head;
+    while ((head = shard.expiry.poll()) != null) {
+      if (shard.entries.remove(head.key.value(), head)) {
+        evicted.increment();
+        return;
+      }
+    }
+  }
+
+  private Shard shardFor(String key) {
+    int h = key.hashCode();
+    return shards[(h ^ (h >>> 16)) & shardMask];
+  }
+
+  /**
+   * Store occupancy and removal counters.
+   *
+   * @param size Keys currently stored, including expired keys not yet swept
+   * @param expired Keys removed because their TTL passed
+   * @param evicted Live keys removed to stay within the key cap
+   */
+  public record Stats(long size, long expired, long evicted) {}
+
+  private static final class Shard {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final PriorityQueue<Entry> expiry =
+        new PriorityQueue<>(Comparator.comparingLong(e -> e.expiresAt));
+    private final int capacity;
+
+    private Shard(int capacity) {
+      this.capacity = capacity;
+    }
+  }
 
-    Instant now = clock.instant();
-    records.computeIfPresent(
-        key.value(),
-        (k, existing) ->
-            new IdempotencyRecord(
-                existing.key(),
-                IdempotencyStatus.FAILED,
-                existing.createdAt(),
-                now,
-                existing.expiresAt(),
-                existing.resultRef(),
-                reason));
-  }
-
-  private static boolean isExpired(IdempotencyRecord record, Instant now) {
-    return record.expiresAt() != null && !record.expiresAt().isAfter(now);
+  /** Mutable record state; guarded by the owning shard's lock. */
+  private static final class Entry {
+    private final IdempotencyKey key;
+    private final long createdAt;
+    private final long expiresAt;
+    private IdempotencyStatus status = IdempotencyStatus.IN_PROGRESS;
+    private long updatedAt;
+    private String resultRef;
+    private String lastError;
+
+    private Entry(IdempotencyKey key, long createdAt, long expiresAt) {
+      this.key = key;
+      this.createdAt = createdAt;
+      this.updatedAt = createdAt;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(long now) {
+      return expiresAt <= now;
+    }
+
+    private IdempotencyRecord toRecord() {
+      return new IdempotencyRecord(
+          key,
+          status,
+          Instant.ofEpochMilli(createdAt),
+          Instant.ofEpochMilli(updatedAt),
+          Instant.ofEpochMilli(expiresAt),
+          resultRef,
+          lastError);
+    }
+  }
+
+  /**
+   * Periodic sweep holding its store weakly, so a store dropped without {@link #close()} is still
+   * garbage collected and its sweep cancelled.
+   */
+  private static final class ExpiryTask implements Runnable {
+    private final WeakReference<InMemoryIdempotencyStore> store;
+    private volatile ScheduledFuture<?> future;
+
+    private ExpiryTask(InMemoryIdempotencyStore store) {
+      this.store = new WeakReference<>(store);
+    }
+
+    static ScheduledFuture<?> schedule(InMemoryIdempotencyStore store, Duration interval) {
+      ExpiryTask task = new ExpiryTask(store);
+      long millis = interval.toMillis();
+      task.future = EXPIRY.scheduleWithFixedDelay(task, millis, millis, TimeUnit.MILLISECONDS);
+      return task.future;
+    }
+
+    @Override
+    public void run() {
+      InMemoryIdempotencyStore target = store.get();
+      if (target == null) {
+        ScheduledFuture<?> scheduled = future;
+        if (scheduled != null) {
+          scheduled.cancel(false);
+        }
+        return;
+      }
+      target.expireNow();
+    }
   }
 }
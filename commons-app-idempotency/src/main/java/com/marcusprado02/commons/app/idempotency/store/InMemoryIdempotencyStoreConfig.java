@@ -0,0 +1,44 @@
+package com.marcusprado02.commons.app.idempotency.store;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link InMemoryIdempotencyStore}.
+ *
+ * @param shards Number of independently locked shards; rounded up to a power of two
+ * @param maxEntries Upper bound on stored keys across all shards; once a shard is full, the key
+ *     closest to expiry is evicted to make room
+ * @param expiryInterval How often expired keys are swept in the background; {@link Duration#ZERO}
+ *     leaves expiry to the write path
+ */
+public record InMemoryIdempotencyStoreConfig(int shards, int maxEntries, Duration expiryInterval) {
+
+  public static final int DEFAULT_MAX_ENTRIES = 1_000_000;
+  public static final Duration DEFAULT_EXPIRY_INTERVAL = Duration.ofSeconds(1);
+
+  /** Validates fields on construction. */
+  public InMemoryIdempotencyStoreConfig {
+    if (shards <= 0) {
+      throw new IllegalArgumentException("shards must be positive");
+    }
+    if (maxEntries < shards) {
+      throw new IllegalArgumentException("maxEntries must be >= shards");
+    }
+    if (expiryInterval == null || expiryInterval.isNegative()) {
+      throw new IllegalArgumentException("expiryInterval must not be negative");
+    }
+  }
+
+  /** Creates default configuration: one million keys, swept every second. */
+  public static InMemoryIdempotencyStoreConfig defaults() {
+    return new InMemoryIdempotencyStoreConfig(
+        Runtime.getRuntime().availableProcessors() * 4,
+        DEFAULT_MAX_ENTRIES,
+        DEFAULT_EXPIRY_INTERVAL);
+  }
+
+  /** Returns a copy with the given key cap. */
+  public InMemoryIdempotencyStoreConfig withMaxEntries(int maxEntries) {
+    return new InMemoryIdempotencyStoreConfig(shards, maxEntries, expiryInterval);
+  }
+}
@@ -0,0 +1,215 @@
+package com.marcusprado02.commons.app.idempotency.store;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyRecord;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyStatus;
+import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+/**
+ * Redis-backed implementation of {@link IdempotencyStorePort}.
+ *
+ * <p>Each key is stored as a hash holding the record fields, with a native Redis TTL, so expired
+ * keys are removed by Redis and never need to be swept. Every operation is a single round trip:
+ * {@link #tryAcquire}, {@link #markCompleted} and {@link #markFailed} each run one Lua script
+ * atomically on the server, and {@link #find} is a single {@code HGETALL}. Updates keep the TTL set
+ * when the key was acquired.
+ *
+ * <p>Scripts are invoked by SHA and loaded on first use, or again after a {@code SCRIPT FLUSH} or
+ * failover. Redis errors are propagated: a store that cannot be reached must not let duplicates
+ * through.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * UnifiedJedis jedis = new JedisPooled("localhost", 6379);
+ * IdempotencyStorePort store = new RedisIdempotencyStore(jedis);
+ * }</pre>
+ *
+ * <p><strong>Redis Key Pattern</strong>: {@code <keyPrefix>:<idempotencyKey>}
+ */
+public final class RedisIdempotencyStore implements IdempotencyStorePort {
+
+  public static final String DEFAULT_KEY_PREFIX = "idempotency";
+
+  private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+  private static final String STATUS = "s";
+  private static final String CREATED_AT = "c";
+  private static final String UPDATED_AT = "u";
+  private static final String EXPIRES_AT = "e";
+  private static final String RESULT_REF = "r";
+  private static final String LAST_ERROR = "x";
+
+  /** KEYS[1] = key; ARGV = now, expiresAt, ttlMillis. */
+  private static final Script ACQUIRE =
+      new Script(
+          """
+          if redis.call('exists', KEYS[1]) == 1 then return 0 end
+          redis.call('hset', KEYS[1], 's', 'IN_PROGRESS', 'c', ARGV[1], 'u', ARGV[1], 'e', ARGV[2])
+          redis.call('pexpire', KEYS[1], ARGV[3])
+          return 1
+          """);
+
+  /** KEYS[1] = key; ARGV = now, [resultRef]. */
+  private static final Script COMPLETE =
+      new Script(
+          """
+          if redis.call('exists', KEYS[1]) == 0 then return 0 end
+          redis.call('hset', KEYS[1], 's', 'COMPLETED', 'u', ARGV[1])
+          redis.call('hdel', KEYS[1], 'x')
+          if ARGV[2] then
+            redis.call('hset', KEYS[1], 'r', ARGV[2])
+          else
+            redis.call('hdel', KEYS[1], 'r')
+          end
+          return 1
+          """);
+
+  /** KEYS[1] = key; ARGV = now, [reason]. */
+  private static final Script FAIL =
+      new Script(
+          """
+          if redis.call('exists', KEYS[1]) == 0 then return 0 end
+          redis.call('hset', KEYS[1], 's', 'FAILED', 'u', ARGV[1])
+          if ARGV[2] then
+            redis.call('hset', KEYS[1], 'x', ARGV[2])
+          else
+            redis.call('hdel', KEYS[1], 'x')
+          end
+          return 1
+          """);
+
+  private final UnifiedJedis jedis;
+  private final String keyPrefix;
+  private final Clock clock;
+
+  public RedisIdempotencyStore(UnifiedJedis jedis) {
+    this(jedis, DEFAULT_KEY_PREFIX, Clock.systemUTC());
+  }
+
+  public RedisIdempotencyStore(UnifiedJedis jedis, String keyPrefix) {
+    this(jedis, keyPrefix, Clock.systemUTC());
+  }
+
+  /** Creates a store writing keys under {@code keyPrefix}, timestamping records with the clock. */
+  public RedisIdempotencyStore(UnifiedJedis jedis, String keyPrefix, Clock clock) {
+    this.jedis = Objects.requireNonNull(jedis, "jedis must not be null");
+    Objects.requireNonNull(keyPrefix, "keyPrefix must not be null");
+    if (keyPrefix.isBlank()) {
+      throw new IllegalArgumentException("keyPrefix must not be blank");
+    }
+    this.keyPrefix = keyPrefix + ":";
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+  }
+
+  @Override
+  public Optional<IdempotencyRecord> find(IdempotencyKey key) {
+    Objects.requireNonNull(key, "key must not be null");
+
+    Map<String, String> fields = jedis.hgetAll(redisKey(key));
+    if (fields == null || fields.isEmpty() || !fields.containsKey(STATUS)) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new IdempotencyRecord(
+            key,
+            IdempotencyStatus.valueOf(fields.get(STATUS)),
+            instant(fields.get(CREATED_AT)),
+            instant(fields.get(UPDATED_AT)),
+            instant(fields.get(EXPIRES_AT)),
+            fields.get(RESULT_REF),
+            fields.get(LAST_ERROR)));
+  }
+
+  @Override
+  public boolean tryAcquire(IdempotencyKey key, Duration ttl) {
+    Objects.requireNonNull(key, "key must not be null");
+    Objects.requireNonNull(ttl, "ttl must not be null");
+
+    long ttlMillis =
+        ttl.isNegative() || ttl.isZero() ? DEFAULT_TTL.toMillis() : Math.max(1, ttl.toMillis());
+    long now = clock.millis();
+    Object acquired =
+        run(
+            ACQUIRE,
+            redisKey(key),
+            Long.toString(now),
+            Long.toString(now + ttlMillis),
+            Long.toString(ttlMillis));
+    return Long.valueOf(1L).equals(acquired);
+  }
+
+  @Override
+  public void markCompleted(IdempotencyKey key, String resultRef) {
+    Objects.requireNonNull(key, "key must not be null");
+    run(COMPLETE, redisKey(key), Long.toString(clock.millis()), resultRef);
+  }
+
+  @Override
+  public void markFailed(IdempotencyKey key, String reason) {
+    Objects.requireNonNull(key, "key must not be null");
+    run(FAIL, redisKey(key), Long.toString(clock.millis()), reason);
+  }
+
+  private Object run(Script script, String key, String... args) {
+    List<String> keys = List.of(key);
+    List<String> argv = arguments(args);
+    try {
+      return jedis.evalsha(script.sha, keys, argv);
+    } catch (JedisNoScriptException ex) {
+      // EVAL caches the script, so later calls go back to EVALSHA
+      return jedis.eval(script.source, keys, argv);
+    }
+  }
+
+  /** Trailing {@code null} arguments are omitted, so scripts see them as absent. */
+  private static List<String> arguments(String... args) {
+    int length = args.length;
+    while (length > 0 && args[length - 1] == null) {
+      length--;
+    }
+    return Arrays.asList(args).subList(0, length);
+  }
+
+  private String redisKey(IdempotencyKey key) {
+    return keyPrefix + key.value();
+  }
+
+  private static Instant instant(String epochMillis) {
+    return epochMillis == null ? null : Instant.ofEpochMilli(Long.parseLong(epochMillis));
+  }
+
+  private static final class Script {
+    private final String source;
+    private final String sha;
+
+    private Script(String source) {
+      this.source = source;
+      this.sha = sha1(source);
+    }
+
+    private static String sha1(String source) {
+      try {
+        byte[] digest =
+            MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException("SHA-1 not available", ex);
+      }
+    }
+  }
+}
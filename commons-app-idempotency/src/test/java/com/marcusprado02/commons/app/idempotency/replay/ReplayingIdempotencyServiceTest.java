@@ -0,0 +1,219 @@
+package com.marcusprado02.commons.app.idempotency.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyRecord;
+import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.service.DefaultIdempotencyService;
+import com.marcusprado02.commons.app.idempotency.service.IdempotencyResult;
+import com.marcusprado02.commons.app.idempotency.store.InMemoryIdempotencyStore;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReplayingIdempotencyServiceTest {
+
+  private static final Duration TTL = Duration.ofMinutes(1);
+  private static final IdempotencyKey KEY = new IdempotencyKey("order:1");
+
+  private final CountingStore store = new CountingStore(new InMemoryIdempotencyStore());
+  private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldShareOriginalResultWithConcurrentDuplicates() throws Exception {
+    ReplayingIdempotencyService service = service(IdempotencyReplayConfig.defaults());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger executions = new AtomicInteger();
+
+    Future<IdempotencyResult<String>> original =
+        pool.submit(
+            () ->
+                service.execute(
+                    KEY,
+                    TTL,
+                    () -> {
+                      executions.incrementAndGet();
+                      started.countDown();
+                      await(release);
+                      return "order-1";
+                    },
+                    value -> "/orders/" + value));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    Future<IdempotencyResult<String>> duplicate =
+        pool.submit(() -> service.execute(KEY, TTL, () -> "unexpected", value -> value));
+    Thread.sleep(50);
+    release.countDown();
+
+    IdempotencyResult<String> first = original.get(2, TimeUnit.SECONDS);
+    IdempotencyResult<String> second = duplicate.get(2, TimeUnit.SECONDS);
+
+    assertTrue(first.executed());
+    assertFalse(second.executed());
+    assertTrue(second.replayed());
+    assertEquals("order-1", second.value());
+    assertEquals("/orders/order-1", second.existingResultRef());
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  void shouldReplayCompletedResultWithoutReadingStore() {
+    ReplayingIdempotencyService service = service(IdempotencyReplayConfig.defaults());
+    service.execute(KEY, TTL, () -> "order-1");
+    int storeCalls = store.calls.get();
+
+    IdempotencyResult<String> replay = service.execute(KEY, TTL, () -> "unexpected");
+
+    assertTrue(replay.replayed());
+    assertEquals("order-1", replay.value());
+    assertEquals(storeCalls, store.calls.get());
+  }
+
+  @Test
+  void shouldPropagateOriginalFailureToWaitingDuplicates() throws Exception {
+    ReplayingIdempotencyService service = service(IdempotencyReplayConfig.defaults());
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<IdempotencyResult<String>> original =
+        pool.submit(
+            () ->
+                service.execute(
+                    KEY,
+                    TTL,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      throw new IllegalStateException("payment declined");
+                    }));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+    Future<IdempotencyResult<String>> duplicate =
+        pool.submit(() -> service.execute(KEY, TTL, () -> "unexpected"));
+    Thread.sleep(50);
+    release.countDown();
+
+    Exception failure = assertThrows(Exception.class, () -> duplicate.get(2, TimeUnit.SECONDS));
+    assertEquals("payment declined", failure.getCause().getMessage());
+    assertThrows(Exception.class, () -> original.get(2, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldReportInProgressWhenCoalescingDisabled() throws Exception {
+    ReplayingIdempotencyService service =
+        service(IdempotencyReplayConfig.defaults().withCoalesce(false));
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Future<IdempotencyResult<String>> original =
+        pool.submit(
+            () ->
+                service.execute(
+                    KEY,
+                    TTL,
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return "order-1";
+                    }));
+    assertTrue(started.await(2, TimeUnit.SECONDS));
+
+    IdempotencyResult<String> duplicate = service.execute(KEY, TTL, () -> "unexpected");
+    release.countDown();
+
+    assertFalse(duplicate.executed());
+    assertFalse(duplicate.replayed());
+    assertNull(duplicate.value());
+    assertTrue(original.get(2, TimeUnit.SECONDS).executed());
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() {
+    ReplayingIdempotencyService service =
+        service(IdempotencyReplayConfig.defaults().withMaxEntries(0));
+    service.execute(KEY, TTL, () -> "order-1");
+
+    IdempotencyResult<String> duplicate = service.execute(KEY, TTL, () -> "unexpected");
+
+    assertFalse(duplicate.executed());
+    assertFalse(duplicate.replayed());
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedResult() {
+    IdempotencyResultCache<String> cache = new IdempotencyResultCache<>(2);
+    IdempotencyKey a = new IdempotencyKey("a");
+    IdempotencyKey b = new IdempotencyKey("b");
+    cache.put(a, "A", TTL);
+    cache.put(b, "B", TTL);
+    cache.get(a);
+
+    cache.put(new IdempotencyKey("c"), "C", TTL);
+
+    assertSame("A", cache.get(a).orElseThrow());
+    assertTrue(cache.get(b).isEmpty());
+    assertEquals(2, cache.size());
+  }
+
+  private ReplayingIdempotencyService service(IdempotencyReplayConfig config) {
+    return new ReplayingIdempotencyService(new DefaultIdempotencyService(store, TTL), config);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(2, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class CountingStore implements IdempotencyStorePort {
+    private final IdempotencyStorePort delegate;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CountingStore(IdempotencyStorePort delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(IdempotencyKey key) {
+      calls.incrementAndGet();
+      return delegate.find(key);
+    }
+
+    @Override
+    public boolean tryAcquire(IdempotencyKey key, Duration ttl) {
+      calls.incrementAndGet();
+      return delegate.tryAcquire(key, ttl);
+    }
+
+    @Override
+    public void markCompleted(IdempotencyKey key, String resultRef) {
+      calls.incrementAndGet();
+      delegate.markCompleted(key, resultRef);
+    }
+
+    @Override
+    public void markFailed(IdempotencyKey key, String reason) {
+      calls.incrementAndGet();
+      delegate.markFailed(key, reason);
+    }
+  }
+}
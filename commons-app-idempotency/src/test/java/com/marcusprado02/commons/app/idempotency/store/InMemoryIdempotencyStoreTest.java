@@ -0,0 +1,198 @@
+package com.marcusprado02.commons.app.idempotency.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyRecord;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyStatus;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class InMemoryIdempotencyStoreTest {
+
+  private static final Duration TTL = Duration.ofSeconds(10);
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T00:00:00Z"));
+
+  @Test
+  void shouldAcquireOnceUntilExpiry() {
+    InMemoryIdempotencyStore store = store(16, 1000);
+    IdempotencyKey key = new IdempotencyKey("order:1");
+
+    assertTrue(store.tryAcquire(key, TTL));
+    assertFalse(store.tryAcquire(key, TTL));
+
+    clock.advance(TTL);
+
+    assertTrue(store.tryAcquire(key, TTL));
+    assertEquals(1, store.stats().expired());
+  }
+
+  @Test
+  void shouldRecordCompletionAndFailure() {
+    InMemoryIdempotencyStore store = store(4, 100);
+    IdempotencyKey completed = new IdempotencyKey("order:1");
+    IdempotencyKey failed = new IdempotencyKey("order:2");
+    store.tryAcquire(completed, TTL);
+    store.tryAcquire(failed, TTL);
+
+    clock.advance(Duration.ofSeconds(1));
+    store.markCompleted(completed, "ref:1");
+    store.markFailed(failed, "boom");
+
+    IdempotencyRecord done = store.find(completed).orElseThrow();
+    assertEquals(IdempotencyStatus.COMPLETED, done.status());
+    assertEquals("ref:1", done.resultRef());
+    assertEquals(clock.instant(), done.updatedAt());
+    assertEquals(done.createdAt().plus(TTL), done.expiresAt());
+
+    IdempotencyRecord error = store.find(failed).orElseThrow();
+    assertEquals(IdempotencyStatus.FAILED, error.status());
+    assertEquals("boom", error.lastError());
+  }
+
+  @Test
+  void shouldExpireKeysThatAreNeverLookedUpAgain() {
+    InMemoryIdempotencyStore store = store(4, 10_000);
+    for (int i = 0; i < 5_000; i++) {
+      store.tryAcquire(new IdempotencyKey("req:" + i), TTL);
+    }
+
+    clock.advance(TTL);
+    store.expireNow();
+
+    assertEquals(0, store.stats().size());
+    assertEquals(5_000, store.stats().expired());
+  }
+
+  @Test
+  void shouldKeepMemoryFlatUnderStreamOfUniqueKeys() {
+    InMemoryIdempotencyStore store = store(4, 100_000);
+    for (int i = 0; i < 50_000; i++) {
+      store.tryAcquire(new IdempotencyKey("req:" + i), TTL);
+      clock.advance(Duration.ofMillis(1));
+    }
+
+    // 10s TTL at one key per millisecond: about 10k keys live, the rest expired inline
+    assertTrue(store.stats().size() <= 10_000 + 4 * 4);
+    assertEquals(0, store.stats().evicted());
+  }
+
+  @Test
+  void shouldEvictKeyClosestToExpiryWhenFull() {
+    InMemoryIdempotencyStore store = store(1, 2);
+    store.tryAcquire(new IdempotencyKey("a"), Duration.ofSeconds(5));
+    store.tryAcquire(new IdempotencyKey("b"), Duration.ofSeconds(50));
+
+    assertTrue(store.tryAcquire(new IdempotencyKey("c"), Duration.ofSeconds(50)));
+
+    assertTrue(store.find(new IdempotencyKey("a")).isEmpty());
+    assertTrue(store.find(new IdempotencyKey("b")).isPresent());
+    assertEquals(new InMemoryIdempotencyStore.Stats(2, 0, 1), store.stats());
+  }
+
+  @Test
+  void shouldGrantEachKeyToExactlyOneConcurrentCaller() throws Exception {
+    InMemoryIdempotencyStore store = new InMemoryIdempotencyStore();
+    int threads = 8;
+    CyclicBarrier barrier = new CyclicBarrier(threads);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Integer>> results = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        Callable<Integer> acquireAll =
+            () -> {
+              barrier.await();
+              int acquired = 0;
+              for (int i = 0; i < 1_000; i++) {
+                if (store.tryAcquire(new IdempotencyKey("key:" + i), TTL)) {
+                  acquired++;
+                }
+              }
+              return acquired;
+            };
+        results.add(pool.submit(acquireAll));
+      }
+      int total = 0;
+      for (Future<Integer> result : results) {
+        total += result.get();
+      }
+      assertEquals(1_000, total);
+    } finally {
+      pool.shutdownNow();
+      store.close();
+    }
+  }
+
+  @Test
+  void shouldSweepInBackground() throws Exception {
+    try (InMemoryIdempotencyStore store =
+        new InMemoryIdempotencyStore(
+            clock, new InMemoryIdempotencyStoreConfig(2, 100, Duration.ofMillis(10)))) {
+      store.tryAcquire(new IdempotencyKey("order:1"), TTL);
+      clock.advance(TTL);
+
+      long deadline = System.currentTimeMillis() + 2_000;
+      while (store.stats().size() > 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+
+      assertEquals(0, store.stats().size());
+    }
+  }
+
+  @Test
+  void shouldRejectInvalidConfig() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new InMemoryIdempotencyStoreConfig(0, 10, Duration.ZERO));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new InMemoryIdempotencyStoreConfig(8, 4, Duration.ZERO));
+  }
+
+  private InMemoryIdempotencyStore store(int shards, int maxEntries) {
+    return new InMemoryIdempotencyStore(
+        clock, new InMemoryIdempotencyStoreConfig(shards, maxEntries, Duration.ZERO));
+  }
+
+  private static final class MutableClock extends Clock {
+    private volatile Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneId.of("UTC");
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.marcusprado02.commons.app.idempotency.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyRecord;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyStatus;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+class RedisIdempotencyStoreTest {
+
+  private static final Instant NOW = Instant.parse("2026-03-01T00:00:00Z");
+  private static final IdempotencyKey KEY = new IdempotencyKey("order:1");
+
+  private UnifiedJedis jedis;
+  private RedisIdempotencyStore store;
+
+  @BeforeEach
+  void setUp() {
+    jedis = mock(UnifiedJedis.class);
+    store = new RedisIdempotencyStore(jedis, "idem", Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  @Test
+  void shouldAcquireInSingleScriptCallWithNativeTtl() {
+    when(jedis.evalsha(anyString(), anyList(), anyList())).thenReturn(1L, 0L);
+
+    assertTrue(store.tryAcquire(KEY, Duration.ofSeconds(30)));
+    assertFalse(store.tryAcquire(KEY, Duration.ofSeconds(30)));
+
+    long now = NOW.toEpochMilli();
+    verify(jedis, times(2))
+        .evalsha(
+            anyString(),
+            eq(List.of("idem:order:1")),
+            eq(List.of(Long.toString(now), Long.toString(now + 30_000), "30000")));
+    verifyNoMoreInteractions(jedis);
+  }
+
+  @Test
+  void shouldLoadScriptWhenServerDoesNotKnowIt() throws Exception {
+    when(jedis.evalsha(anyString(), anyList(), anyList()))
+        .thenThrow(new JedisNoScriptException("NOSCRIPT"));
+    when(jedis.eval(anyString(), anyList(), anyList())).thenReturn(1L);
+
+    assertTrue(store.tryAcquire(KEY, Duration.ofSeconds(30)));
+
+    ArgumentCaptor<String> sha = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<String> source = ArgumentCaptor.forClass(String.class);
+    verify(jedis).evalsha(sha.capture(), anyList(), anyList());
+    verify(jedis).eval(source.capture(), anyList(), anyList());
+    byte[] digest =
+        MessageDigest.getInstance("SHA-1")
+            .digest(source.getValue().getBytes(StandardCharsets.UTF_8));
+    assertEquals(HexFormat.of().formatHex(digest), sha.getValue());
+  }
+
+  @Test
+  void shouldOmitAbsentResultRefAndReason() {
+    store.markCompleted(KEY, "ref:1");
+    store.markCompleted(KEY, null);
+    store.markFailed(KEY, null);
+
+    String now = Long.toString(NOW.toEpochMilli());
+    verify(jedis).evalsha(anyString(), eq(List.of("idem:order:1")), eq(List.of(now, "ref:1")));
+    verify(jedis, times(2)).evalsha(anyString(), eq(List.of("idem:order:1")), eq(List.of(now)));
+  }
+
+  @Test
+  void shouldMapStoredHashToRecord() {
+    long created = NOW.toEpochMilli();
+    when(jedis.hgetAll("idem:order:1"))
+        .thenReturn(
+            Map.of(
+                "s", "COMPLETED",
+                "c", Long.toString(created),
+                "u", Long.toString(created + 5),
+                "e", Long.toString(created + 30_000),
+                "r", "ref:1"));
+
+    IdempotencyRecord record = store.find(KEY).orElseThrow();
+
+    assertEquals(IdempotencyStatus.COMPLETED, record.status());
+    assertEquals(NOW, record.createdAt());
+    assertEquals(NOW.plusMillis(5), record.updatedAt());
+    assertEquals(NOW.plusSeconds(30), record.expiresAt());
+    assertEquals("ref:1", record.resultRef());
+    assertEquals(null, record.lastError());
+  }
+
+  @Test
+  void shouldReturnEmptyForMissingOrExpiredKey() {
+    when(jedis.hgetAll("idem:order:1")).thenReturn(Map.of());
+
+    assertTrue(store.find(KEY).isEmpty());
+  }
+
+  @Test
+  void shouldRejectBlankKeyPrefix() {
+    assertThrows(IllegalArgumentException.class, () -> new RedisIdempotencyStore(jedis, " "));
+  }
+}
@@ -0,0 +1,144 @@
+package com.marcusprado02.commons.app.outbox;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event-driven driver for an {@link OutboxProcessor}, with adaptive polling as the fallback.
+ *
+ * <p>The poller runs on its own thread and drains the outbox while batches come back full. Once the
+ * outbox runs dry it waits for a {@link #signal()} (typically fired by {@link
+ * DefaultOutboxPublisher} through {@link OutboxNotifier} after a commit) or for the current idle
+ * delay, whichever comes first. The idle delay starts at {@code minDelay} and doubles after every
+ * empty batch up to {@code maxDelay}, so an idle outbox is queried rarely while new messages are
+ * published within milliseconds of being committed.
+ *
+ * <p>Signals are never lost: one raised while a batch is running makes the next wait return
+ * immediately.
+ */
+public final class AdaptiveOutboxPoller implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(AdaptiveOutboxPoller.class);
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+  private final OutboxProcessor processor;
+  private final int batchSize;
+  private final long minDelayMillis;
+  private final long maxDelayMillis;
+  private final Semaphore wakeups = new Semaphore(0);
+
+  private volatile boolean running;
+  private Thread thread;
+
+  /**
+   * Creates a new AdaptiveOutboxPoller instance.
+   *
+   * @param processor Processor to drive
+   * @param batchSize Maximum number of messages claimed per pass
+   * @param minDelay Idle delay after a non-full batch
+   * @param maxDelay Upper bound for the idle delay while the outbox stays empty
+   */
+  public AdaptiveOutboxPoller(
+      OutboxProcessor processor, int batchSize, Duration minDelay, Duration maxDelay) {
+    this.processor = Objects.requireNonNull(processor, "processor must not be null");
+    Objects.requireNonNull(minDelay, "minDelay must not be null");
+    Objects.requireNonNull(maxDelay, "maxDelay must not be null");
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    if (minDelay.isNegative() || minDelay.isZero()) {
+      throw new IllegalArgumentException("minDelay must be positive");
+    }
+    if (maxDelay.compareTo(minDelay) < 0) {
+      throw new IllegalArgumentException("maxDelay must be >= minDelay");
+    }
+    this.batchSize = batchSize;
+    this.minDelayMillis = minDelay.toMillis();
+    this.maxDelayMillis = maxDelay.toMillis();
+  }
+
+  /** Starts the polling thread. Calling it again while running has no effect. */
+  public synchronized void start() {
+    if (thread != null) {
+      return;
+    }
+    running = true;
+    thread = Thread.ofVirtual().name("outbox-poller").start(this::run);
+  }
+
+  /** Wakes the poller so it processes the outbox now instead of after its idle delay. */
+  public void signal() {
+    if (wakeups.availablePermits() == 0) {
+      wakeups.release();
+    }
+  }
+
+  /** Stops the polling thread, letting the batch in progress finish. */
+  @Override
+  public void close() {
+    Thread current;
+    synchronized (this) {
+      current = thread;
+      thread = null;
+      running = false;
+    }
+    if (current == null) {
+      return;
+    }
+    wakeups.release();
+    try {
+      current.join(SHUTDOWN_TIMEOUT);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Computes the wait before the next pass.
+   *
+   * @param claimed Messages claimed by the last pass, or {@link OutboxProcessor#UNKNOWN_CLAIMED}
+   * @param currentDelay Delay used before the last pass, in milliseconds
+   * @return {@code 0} after a full batch, {@code minDelay} after a partial or unknown one,
+   *     otherwise the current delay doubled and capped at {@code maxDelay}
+   */
+  long nextDelayMillis(int claimed, long currentDelay) {
+    if (claimed >= batchSize) {
+      return 0;
+    }
+    if (claimed != 0) {
+      return minDelayMillis;
+    }
+    return Math.min(Math.max(currentDelay * 2, minDelayMillis), maxDelayMillis);
+  }
+
+  private void run() {
+    long delay = 0;
+    while (running) {
+      int claimed;
+      try {
+        claimed = processor.drainBatch(batchSize);
+      } catch (RuntimeException ex) {
+        log.warn("Outbox poll failed", ex);
+        claimed = 0;
+      }
+
+      delay = nextDelayMillis(claimed, delay);
+      if (delay == 0 || !running) {
+        continue;
+      }
+      try {
+        if (wakeups.tryAcquire(delay, TimeUnit.MILLISECONDS)) {
+          wakeups.drainPermits();
+          delay = 0;
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.marcusprado02.commons.app.outbox;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link OutboundPublisher} whose sends complete asynchronously, when the broker acknowledges them.
+ *
+ * <p>{@link DefaultOutboxProcessor} detects this variant and pipelines publishes: it keeps up to
+ * {@link com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig#maxInFlight()} sends
+ * outstanding and records outcomes as acknowledgements arrive, instead of paying one broker round
+ * trip per message. Pipelining only spans different aggregates: the processor sends the next
+ * message of an aggregate once the previous one was acknowledged, so per-aggregate order does not
+ * depend on the order in which implementations deliver concurrent sends.
+ */
+public interface AsyncOutboundPublisher extends OutboundPublisher {
+
+  /**
+   * Send a serialized payload with headers to the outside world.
+   *
+   * @param topic the destination topic or channel
+   * @param body the binary payload
+   * @param headers the context headers
+   * @return stage completed when the broker acknowledged the message, or completed exceptionally
+   *     when the send failed
+   */
+  CompletionStage<Void> publishAsync(String topic, byte[] body, Map<String, String> headers);
+
+  /** Blocking publish: sends and waits for the acknowledgement. */
+  @Override
+  default void publish(String topic, byte[] body, Map<String, String> headers) {
+    try {
+      publishAsync(topic, body, headers).toCompletableFuture().join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+}
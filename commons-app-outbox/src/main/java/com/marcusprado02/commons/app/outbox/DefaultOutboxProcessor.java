@@ -4,42 +4,124 @@ import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
 import com.marcusprado02.commons.app.outbox.metrics.NoOpOutboxMetrics;
 import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
 import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
-import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
 import com.marcusprado02.commons.app.outbox.retry.ExponentialBackoffStrategy;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
-/** DefaultOutboxProcessor implementation. */
-public final class DefaultOutboxProcessor implements OutboxProcessor {
+/**
+ * DefaultOutboxProcessor implementation.
+ *
+ * <p>With {@link OutboxProcessorConfig#concurrency()} greater than one, each fetched batch is
+ * partitioned by {@code (topic, aggregateId)} across that many workers. Messages sharing a
+ * partition key always land on the same worker and are published in fetch order, while unrelated
+ * keys are published in parallel. The repository must therefore tolerate concurrent calls.
+ *
+ * <p>Every repository call runs through the {@link OutboxTransactionRunner} as its own unit of
+ * work. Workers do not inherit the caller's transaction, so with a repository that needs one, such
+ * as the JPA adapter, pass a runner that opens a transaction per call.
+ *
+ * <p>Once a message fails, the rest of its aggregate in the batch is handed back with {@link
+ * OutboxRepositoryPort#rescheduleBatch} to the failed message's retry time instead of being
+ * published, so later events never overtake an earlier one that has not been delivered.
+ *
+ * <p>Each pass claims its batch through {@link OutboxRepositoryPort#claimBatch} under a
+ * per-instance owner id, then records outcomes with the set-based, owner-scoped {@link
+ * OutboxRepositoryPort#markPublishedBatch} and {@link OutboxRepositoryPort#markFailedBatch}, so a
+ * batch costs a handful of repository round trips instead of two per message, and outcomes for
+ * messages whose lease has passed to another processor are dropped.
+ *
+ * <p>Claims are leased for {@link OutboxProcessorConfig#leaseDuration()}. Once half the lease has
+ * elapsed, a worker renews the leases of its whole partition, so slow batches are not handed to
+ * {@link OutboxLeaseReaper} while this processor is still alive.
+ *
+ * <p>With an {@link AsyncOutboundPublisher}, publishes are pipelined: up to {@link
+ * OutboxProcessorConfig#maxInFlight()} sends are outstanding at once, and successful messages are
+ * marked PUBLISHED in chunks as their acknowledgements arrive. Pipelining only spans different
+ * aggregates: a message is sent after the previous message of its aggregate was acknowledged. A
+ * send that is not acknowledged within {@link OutboxProcessorConfig#ackTimeout()} is recorded as
+ * failed with reason {@code TimeoutException}, which frees its in-flight slot.
+ *
+ * <p>Parallel processors own a worker pool; call {@link #close()} to release it.
+ */
+public final class DefaultOutboxProcessor implements OutboxProcessor, AutoCloseable {
+
+  /** Consecutive failures after which a topic is skipped for the rest of a partition. */
+  private static final int TOPIC_FAILURE_THRESHOLD = 2;
+
+  /** How often a worker waiting for broker acks wakes up to renew its leases. */
+  private static final Duration ACK_POLL_INTERVAL = Duration.ofMillis(100);
 
   private final OutboxRepositoryPort repository;
   private final OutboundPublisher outbound;
+  private final AsyncOutboundPublisher asyncOutbound;
+  private final Semaphore inFlight;
   private final OutboxProcessorConfig config;
   private final ExponentialBackoffStrategy backoffStrategy;
   private final OutboxMetrics metrics;
   private final CircuitBreakerWrapper circuitBreaker;
+  private final ExecutorService workers;
+  private final OutboxTransactionRunner transactions;
+  private final String ownerId;
 
-  /** Creates a new DefaultOutboxProcessor instance. */
+  /** Creates a new DefaultOutboxProcessor instance whose repository calls run in a transaction. */
   public DefaultOutboxProcessor(
       OutboxRepositoryPort repository,
       OutboundPublisher outbound,
       OutboxProcessorConfig config,
-      OutboxMetrics metrics) {
+      OutboxMetrics metrics,
+      OutboxTransactionRunner transactions) {
     this.repository = Objects.requireNonNull(repository, "repository must not be null");
+    this.transactions = Objects.requireNonNull(transactions, "transactions must not be null");
     this.outbound = Objects.requireNonNull(outbound, "outbound must not be null");
+    this.asyncOutbound = outbound instanceof AsyncOutboundPublisher async ? async : null;
     this.config = Objects.requireNonNull(config, "config must not be null");
+    this.inFlight = new Semaphore(config.maxInFlight());
     this.backoffStrategy = new ExponentialBackoffStrategy(config);
     this.metrics = metrics != null ? metrics : NoOpOutboxMetrics.INSTANCE;
     this.circuitBreaker = new CircuitBreakerWrapper.NoOp();
+    this.workers = config.isParallel() ? createWorkers(config) : null;
+    this.ownerId = "outbox-" + UUID.randomUUID();
+  }
+
+  /** Creates a new DefaultOutboxProcessor instance calling the repository directly. */
+  public DefaultOutboxProcessor(
+      OutboxRepositoryPort repository,
+      OutboundPublisher outbound,
+      OutboxProcessorConfig config,
+      OutboxMetrics metrics) {
+    this(repository, outbound, config, metrics, OutboxTransactionRunner.DIRECT);
   }
 
   public DefaultOutboxProcessor(OutboxRepositoryPort repository, OutboundPublisher outbound) {
     this(repository, outbound, OutboxProcessorConfig.defaults(), NoOpOutboxMetrics.INSTANCE);
   }
 
+  /** Returns the owner id under which this processor claims messages. */
+  public String ownerId() {
+    return ownerId;
+  }
+
   @Override
   public void processAll() {
     processBatch(config.batchSize());
@@ -47,48 +129,230 @@ public final class DefaultOutboxProcessor implements OutboxProcessor {
 
   @Override
   public void processBatch(int batchSize) {
+    drainBatch(batchSize);
+  }
+
+  @Override
+  public int drainBatch(int batchSize) {
     if (batchSize <= 0) {
       throw new IllegalArgumentException("batchSize must be positive");
     }
 
     long batchStart = System.currentTimeMillis();
 
-    List<OutboxMessage> pending = repository.fetchBatch(OutboxStatus.PENDING, batchSize);
+    Instant claimedAt = Instant.now();
+    List<OutboxMessage> claimed =
+        transactions.inTransaction(
+            () -> repository.claimBatch(ownerId, batchSize, claimedAt, config.leaseDuration()));
+
+    if (claimed.isEmpty()) {
+      return 0;
+    }
+
+    Instant leaseUntil = claimedAt.plus(config.leaseDuration());
+    int processed =
+        workers == null
+            ? processPartition(0, claimed, leaseUntil)
+            : processInParallel(claimed, leaseUntil);
+
+    long batchDuration = System.currentTimeMillis() - batchStart;
+    metrics.recordBatchProcessing(processed, batchDuration);
+    return claimed.size();
+  }
+
+  /** Shuts down the worker pool of a parallel processor. No-op for sequential processors. */
+  @Override
+  public void close() {
+    if (workers != null) {
+      workers.shutdown();
+    }
+  }
+
+  private int processInParallel(List<OutboxMessage> batch, Instant leaseUntil) {
+    int concurrency = config.concurrency();
+    List<List<OutboxMessage>> partitions = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    for (OutboxMessage msg : batch) {
+      partitions.get(Math.floorMod(partitionHash(msg), concurrency)).add(msg);
+    }
 
-    if (pending.isEmpty()) {
-      return;
+    List<Future<Integer>> results = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      List<OutboxMessage> partition = partitions.get(i);
+      if (!partition.isEmpty()) {
+        int workerId = i;
+        results.add(workers.submit(() -> processPartition(workerId, partition, leaseUntil)));
+      }
     }
 
     int processed = 0;
-    for (OutboxMessage msg : pending) {
-      if (processMessage(msg)) {
-        processed++;
+    RuntimeException failure = null;
+    for (Future<Integer> result : results) {
+      try {
+        processed += result.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for outbox workers", ex);
+      } catch (ExecutionException ex) {
+        if (failure == null) {
+          failure =
+              ex.getCause() instanceof RuntimeException re
+                  ? re
+                  : new IllegalStateException("Outbox worker failed", ex.getCause());
+        }
       }
     }
+    if (failure != null) {
+      throw failure;
+    }
+    return processed;
+  }
 
-    long batchDuration = System.currentTimeMillis() - batchStart;
-    metrics.recordBatchProcessing(processed, batchDuration);
+  private int processPartition(int workerId, List<OutboxMessage> partition, Instant leaseUntil) {
+    long start = System.currentTimeMillis();
+    PartitionRun run = new PartitionRun(partition, leaseUntil);
+
+    if (asyncOutbound != null) {
+      publishPipelined(run);
+    } else {
+      for (OutboxMessage msg : partition) {
+        run.heartbeat();
+        if (run.deferIfBlocked(msg)) {
+          continue;
+        }
+        try {
+          publishWithMetrics(msg);
+          run.succeeded(msg);
+        } catch (Exception ex) {
+          run.failed(msg, ex);
+        }
+      }
+    }
+    run.flush();
+
+    metrics.recordWorkerThroughput(workerId, run.published, System.currentTimeMillis() - start);
+    return run.published;
   }
 
-  private boolean processMessage(OutboxMessage msg) {
-    Instant processingAt = Instant.now();
-    boolean marked = repository.markProcessing(msg.id(), processingAt);
+  /**
+   * Publishes a partition through the async publisher, keeping at most {@code maxInFlight} sends
+   * outstanding across all workers and recording outcomes as acknowledgements arrive.
+   *
+   * <p>Each aggregate has at most one send outstanding: its next message is only sent once the
+   * previous one was acknowledged, and is deferred instead if that one failed.
+   */
+  private void publishPipelined(PartitionRun run) {
+    BlockingQueue<Ack> acks = new LinkedBlockingQueue<>();
+    Map<AggregateKey, ArrayDeque<OutboxMessage>> pending = new LinkedHashMap<>();
+    for (OutboxMessage msg : run.partition) {
+      pending.computeIfAbsent(AggregateKey.of(msg), k -> new ArrayDeque<>()).add(msg);
+    }
+    ArrayDeque<AggregateKey> ready = new ArrayDeque<>(pending.keySet());
+    int outstanding = 0;
+
+    while (!ready.isEmpty() || outstanding > 0) {
+      run.heartbeat();
+      Ack ack;
+      if (ready.isEmpty()) {
+        try {
+          ack = acks.poll(ACK_POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for broker acks", ex);
+        }
+      } else {
+        ack = acks.poll();
+      }
+      for (; ack != null; ack = acks.poll()) {
+        apply(ack, run);
+        outstanding--;
+        AggregateKey aggregate = AggregateKey.of(ack.message());
+        if (!pending.get(aggregate).isEmpty()) {
+          ready.add(aggregate);
+        }
+      }
+
+      AggregateKey aggregate = ready.poll();
+      if (aggregate == null) {
+        continue;
+      }
+      ArrayDeque<OutboxMessage> queue = pending.get(aggregate);
+      OutboxMessage msg = queue.poll();
+      if (run.deferIfBlocked(msg)) {
+        for (OutboxMessage rest = queue.poll(); rest != null; rest = queue.poll()) {
+          run.deferIfBlocked(rest);
+        }
+        continue;
+      }
+
+      acquireInFlightSlot();
+      outstanding++;
+      long sendStart = System.currentTimeMillis();
+      CompletableFuture<Void> sent;
+      try {
+        // Time out a copy, so the publisher's own future is never completed from here.
+        sent =
+            asyncOutbound
+                .publishAsync(msg.topic(), msg.payload().body(), msg.headers())
+                .toCompletableFuture()
+                .copy()
+                .orTimeout(config.ackTimeout().toMillis(), TimeUnit.MILLISECONDS);
+      } catch (RuntimeException ex) {
+        sent = CompletableFuture.failedFuture(ex);
+      }
+      sent.whenComplete(
+          (ignored, error) -> {
+            inFlight.release();
+            acks.add(new Ack(msg, error, System.currentTimeMillis() - sendStart));
+          });
 
-    if (!marked) {
-      return false;
+      if (run.pendingPublished() >= config.maxInFlight()) {
+        run.flushPublished();
+      }
     }
+  }
 
+  private void acquireInFlightSlot() {
     try {
-      publishWithMetrics(msg);
-      repository.markPublished(msg.id(), Instant.now());
-      metrics.recordPublished(msg.topic());
-      return true;
-    } catch (Exception ex) {
-      handleFailure(msg, ex);
-      return false;
+      inFlight.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for an in-flight slot", ex);
+    }
+  }
+
+  private void apply(Ack ack, PartitionRun run) {
+    metrics.recordLatency(ack.message().topic(), ack.latencyMillis());
+    if (ack.error() == null) {
+      run.succeeded(ack.message());
+    } else {
+      Throwable cause =
+          ack.error() instanceof CompletionException && ack.error().getCause() != null
+              ? ack.error().getCause()
+              : ack.error();
+      run.failed(ack.message(), cause);
     }
   }
 
+  private static List<OutboxMessageId> ids(List<OutboxMessage> messages) {
+    return messages.stream().map(OutboxMessage::id).toList();
+  }
+
+  private static int partitionHash(OutboxMessage msg) {
+    return 31 * Objects.hashCode(msg.topic()) + Objects.hashCode(msg.aggregateId());
+  }
+
+  private static ExecutorService createWorkers(OutboxProcessorConfig config) {
+    if (config.useVirtualThreads()) {
+      return Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("outbox-worker-", 0).factory());
+    }
+    return Executors.newFixedThreadPool(
+        config.concurrency(), Thread.ofPlatform().name("outbox-worker-", 0).daemon(true).factory());
+  }
+
   private void publishWithMetrics(OutboxMessage msg) {
     long start = System.currentTimeMillis();
     try {
@@ -109,16 +373,149 @@ public final class DefaultOutboxProcessor implements OutboxProcessor {
     }
   }
 
-  private void handleFailure(OutboxMessage msg, Exception ex) {
+  /**
+   * Records a failed publication and returns when it may be tried again.
+   *
+   * <p>Failures with the same reason and attempt count share one jittered retry time, so each group
+   * is written with a single {@link OutboxRepositoryPort#markFailedBatch} call.
+   */
+  private Instant handleFailure(
+      OutboxMessage msg, Throwable ex, Map<Failure, FailureGroup> failed) {
     int nextAttempts = msg.attempts() + 1;
     String reason = ex.getClass().getSimpleName();
+    Instant now = Instant.now();
 
     if (nextAttempts >= config.maxAttempts()) {
-      repository.markDead(msg.id(), reason, nextAttempts);
+      transactions.inTransaction(() -> repository.markDead(msg.id(), reason, nextAttempts));
       metrics.recordDead(msg.topic());
-    } else {
-      repository.markFailed(msg.id(), reason, nextAttempts);
-      metrics.recordFailed(msg.topic(), reason);
+      return backoffStrategy.calculateJitteredRetry(0, now);
+    }
+
+    FailureGroup group =
+        failed.computeIfAbsent(
+            new Failure(reason, msg.attempts()),
+            f -> new FailureGroup(backoffStrategy.calculateJitteredRetry(f.attempts(), now)));
+    group.ids.add(msg.id());
+    metrics.recordFailed(msg.topic(), reason);
+    return group.retryAt;
+  }
+
+  private record Failure(String reason, int attempts) {}
+
+  private record Ack(OutboxMessage message, Throwable error, long latencyMillis) {}
+
+  /** Unit of ordering: messages sharing a topic and aggregate are delivered in fetch order. */
+  private record AggregateKey(String topic, String aggregateId) {
+    static AggregateKey of(OutboxMessage msg) {
+      return new AggregateKey(msg.topic(), msg.aggregateId());
+    }
+  }
+
+  /** Outcome bookkeeping for one partition, written back with set-based repository calls. */
+  private final class PartitionRun {
+    private final List<OutboxMessage> partition;
+    private final List<OutboxMessage> succeeded = new ArrayList<>();
+    private final Map<Failure, FailureGroup> failed = new HashMap<>();
+    private final Map<String, Integer> consecutiveFailures = new HashMap<>();
+    private final Map<String, Instant> failingTopics = new HashMap<>();
+    private final Map<AggregateKey, Instant> failedAggregates = new HashMap<>();
+    private final Map<Instant, List<OutboxMessage>> deferred = new HashMap<>();
+    private final Duration lease = config.leaseDuration();
+    private Instant renewAt;
+    private int published;
+
+    private PartitionRun(List<OutboxMessage> partition, Instant leaseUntil) {
+      this.partition = partition;
+      this.renewAt = leaseUntil.minus(lease.dividedBy(2));
+    }
+
+    /**
+     * Renews the partition's leases once half the lease has elapsed. Outcomes are recorded late, so
+     * claimed messages are still PROCESSING and must stay out of the reaper's reach.
+     */
+    void heartbeat() {
+      Instant now = Instant.now();
+      if (now.isAfter(renewAt)) {
+        Instant leaseUntil = now.plus(lease);
+        transactions.inTransaction(
+            () -> repository.renewLeases(ownerId, ids(partition), leaseUntil));
+        renewAt = now.plus(lease.dividedBy(2));
+      }
+    }
+
+    /**
+     * Defers the message if an earlier message of its aggregate failed in this run, or its topic is
+     * failing. Aggregate deferrals share the failed message's retry time, so they are claimed again
+     * no earlier than the message they must follow.
+     */
+    boolean deferIfBlocked(OutboxMessage msg) {
+      Instant retryAt = failedAggregates.get(AggregateKey.of(msg));
+      if (retryAt == null) {
+        retryAt = failingTopics.get(msg.topic());
+      }
+      if (retryAt == null) {
+        return false;
+      }
+      deferred.computeIfAbsent(retryAt, t -> new ArrayList<>()).add(msg);
+      return true;
+    }
+
+    void succeeded(OutboxMessage msg) {
+      succeeded.add(msg);
+      consecutiveFailures.remove(msg.topic());
+    }
+
+    void failed(OutboxMessage msg, Throwable ex) {
+      Instant retryAt = handleFailure(msg, ex, failed);
+      failedAggregates.putIfAbsent(AggregateKey.of(msg), retryAt);
+      if (consecutiveFailures.merge(msg.topic(), 1, Integer::sum) >= TOPIC_FAILURE_THRESHOLD) {
+        failingTopics.put(msg.topic(), retryAt);
+      }
+    }
+
+    int pendingPublished() {
+      return succeeded.size();
+    }
+
+    void flushPublished() {
+      if (succeeded.isEmpty()) {
+        return;
+      }
+      List<OutboxMessageId> ids = ids(succeeded);
+      transactions.inTransaction(
+          () -> repository.markPublishedBatch(ownerId, ids, Instant.now()));
+      for (OutboxMessage msg : succeeded) {
+        metrics.recordPublished(msg.topic());
+      }
+      published += succeeded.size();
+      succeeded.clear();
+    }
+
+    void flush() {
+      flushPublished();
+      failed.forEach(
+          (failure, group) ->
+              transactions.inTransaction(
+                  () ->
+                      repository.markFailedBatch(
+                          ownerId, group.ids, failure.reason(), group.retryAt)));
+      deferred.forEach(
+          (retryAt, messages) -> {
+            transactions.inTransaction(
+                () -> repository.rescheduleBatch(ownerId, ids(messages), retryAt));
+            for (OutboxMessage msg : messages) {
+              metrics.recordDeferred(msg.topic());
+            }
+          });
+    }
+  }
+
+  private static final class FailureGroup {
+    private final Instant retryAt;
+    private final List<OutboxMessageId> ids = new ArrayList<>();
+
+    private FailureGroup(Instant retryAt) {
+      this.retryAt = retryAt;
     }
   }
 
@@ -8,20 +8,36 @@ import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
 import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
 import com.marcusprado02.commons.kernel.ddd.time.ClockProvider;
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
-/** DefaultOutboxPublisher implementation. */
+/**
+ * DefaultOutboxPublisher implementation.
+ *
+ * <p>After appending an aggregate's events the configured {@link OutboxNotifier} is told how many
+ * messages were added, so an event-driven processor can pick them up without waiting for a poll.
+ *
+ * <p>Events of several aggregates can be appended together with {@link #publishFromAll}, typically
+ * through an {@link OutboxUnitOfWork}, costing one batched insert per transaction.
+ */
 public final class DefaultOutboxPublisher implements OutboxPublisher {
 
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
   private final OutboxRepositoryPort repository;
   private final OutboxSerializer serializer;
   private final OutboxMetadataEnricher enricher;
   private final ClockProvider clock;
+  private final OutboxNotifier notifier;
 
   /** Creates a new DefaultOutboxPublisher instance. */
   public DefaultOutboxPublisher(
@@ -29,54 +45,101 @@ public final class DefaultOutboxPublisher implements OutboxPublisher {
       OutboxSerializer serializer,
       OutboxMetadataEnricher enricher,
       ClockProvider clock) {
+    this(repository, serializer, enricher, clock, OutboxNotifier.NOOP);
+  }
+
+  /** Creates a new DefaultOutboxPublisher instance that signals {@code notifier} on append. */
+  public DefaultOutboxPublisher(
+      OutboxRepositoryPort repository,
+      OutboxSerializer serializer,
+      OutboxMetadataEnricher enricher,
+      ClockProvider clock,
+      OutboxNotifier notifier) {
     this.repository = Objects.requireNonNull(repository, "repository");
     this.serializer = Objects.requireNonNull(serializer, "serializer");
     this.enricher = Objects.requireNonNull(enricher, "enricher");
     this.clock = Objects.requireNonNull(clock, "clock");
+    this.notifier = Objects.requireNonNull(notifier, "notifier");
   }
 
   @Override
   public void publishFrom(AggregateRoot<?> aggregate) {
     Objects.requireNonNull(aggregate, "aggregate");
+    publishFromAll(List.of(aggregate));
+  }
 
-    Instant now = clock.now();
-
-    // metadata enriched from tenant/correlation/actor
-    Map<String, Object> enrichmentMap = enricher.enrich();
-
-    // Convert enrichment metadata to string headers
-    Map<String, String> headers = new LinkedHashMap<>();
-    enrichmentMap.forEach(
-        (k, v) -> {
-          if (v != null) {
-            headers.put(k, String.valueOf(v));
-          }
-        });
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Metadata is enriched once for the whole batch, every event is serialized into one reused
+   * buffer, and all messages are appended with a single {@link OutboxRepositoryPort#appendAll}
+   * call.
+   */
+  @Override
+  public void publishFromAll(Collection<? extends AggregateRoot<?>> aggregates) {
+    Objects.requireNonNull(aggregates, "aggregates");
 
-    for (DomainEvent event : aggregate.pullDomainEvents()) {
-      // serialize event to JSON string
-      String json = serializer.serialize(event);
-      byte[] body = json.getBytes(StandardCharsets.UTF_8);
+    List<OutboxMessage> messages = new ArrayList<>();
+    Map<String, String> headers = null;
+    Instant now = null;
+    ByteArrayOutputStream buffer = null;
 
-      // determine topic name (default: fully qualified class name)
-      String topic = event.getClass().getName();
+    for (AggregateRoot<?> aggregate : aggregates) {
+      List<DomainEvent> events = aggregate.pullDomainEvents();
+      if (events.isEmpty()) {
+        continue;
+      }
+      if (headers == null) {
+        now = clock.now();
+        headers = headers();
+        buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+      }
+      String aggregateType = aggregate.getClass().getSimpleName();
+      String aggregateId = aggregate.id().toString();
+      for (DomainEvent event : events) {
+        buffer.reset();
+        try {
+          serializer.serialize(event, buffer);
+        } catch (IOException e) {
+          throw new UncheckedIOException(
+              "Failed to serialize outbox event: " + event.getClass().getName(), e);
+        }
 
-      OutboxPayload payload = new OutboxPayload("application/json", body);
+        // determine topic name (default: fully qualified class name)
+        String topic = event.getClass().getName();
 
-      OutboxMessage msg =
-          new OutboxMessage(
-              new OutboxMessageId(UUID.randomUUID().toString()),
-              aggregate.getClass().getSimpleName(),
-              aggregate.id().toString(),
-              event.getClass().getSimpleName(),
-              topic,
-              payload,
-              Map.copyOf(headers),
-              now,
-              OutboxStatus.PENDING,
-              0);
+        messages.add(
+            new OutboxMessage(
+                new OutboxMessageId(UUID.randomUUID().toString()),
+                aggregateType,
+                aggregateId,
+                event.getClass().getSimpleName(),
+                topic,
+                new OutboxPayload("application/json", buffer.toByteArray()),
+                headers,
+                now,
+                OutboxStatus.PENDING,
+                0));
+      }
+    }
 
-      repository.append(msg);
+    if (!messages.isEmpty()) {
+      repository.appendAll(messages);
+      notifier.messagesAppended(messages.size());
     }
   }
+
+  /** Converts enrichment metadata (tenant/correlation/actor) to string headers. */
+  private Map<String, String> headers() {
+    Map<String, String> headers = new LinkedHashMap<>();
+    enricher
+        .enrich()
+        .forEach(
+            (k, v) -> {
+              if (v != null) {
+                headers.put(k, String.valueOf(v));
+              }
+            });
+    return Map.copyOf(headers);
+  }
 }
@@ -0,0 +1,86 @@
+package com.marcusprado02.commons.app.outbox;
+
+import com.marcusprado02.commons.app.outbox.metrics.NoOpOutboxMetrics;
+import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Returns messages stuck in PROCESSING to PENDING once their lease has expired.
+ *
+ * <p>A message stays PROCESSING if the worker that claimed it dies before recording an outcome.
+ * Running {@link #reap()} periodically (for example from a scheduler) releases such messages in
+ * bulk, {@code batchSize} rows per repository call, so another processor can claim them again.
+ * Each call runs in its own transaction through the {@link OutboxTransactionRunner}, so the rows it
+ * released are committed, and unlocked, before the next chunk.
+ */
+public final class OutboxLeaseReaper {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+
+  private final OutboxRepositoryPort repository;
+  private final OutboxMetrics metrics;
+  private final int batchSize;
+  private final Clock clock;
+  private final OutboxTransactionRunner transactions;
+
+  public OutboxLeaseReaper(
+      OutboxRepositoryPort repository,
+      OutboxMetrics metrics,
+      int batchSize,
+      Clock clock,
+      OutboxTransactionRunner transactions) {
+    this.repository = Objects.requireNonNull(repository, "repository must not be null");
+    this.metrics = metrics != null ? metrics : NoOpOutboxMetrics.INSTANCE;
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.transactions = Objects.requireNonNull(transactions, "transactions must not be null");
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    this.batchSize = batchSize;
+  }
+
+  public OutboxLeaseReaper(
+      OutboxRepositoryPort repository, OutboxMetrics metrics, int batchSize, Clock clock) {
+    this(repository, metrics, batchSize, clock, OutboxTransactionRunner.DIRECT);
+  }
+
+  public OutboxLeaseReaper(OutboxRepositoryPort repository, OutboxMetrics metrics, int batchSize) {
+    this(repository, metrics, batchSize, Clock.systemUTC());
+  }
+
+  public OutboxLeaseReaper(OutboxRepositoryPort repository) {
+    this(repository, NoOpOutboxMetrics.INSTANCE, DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Release all messages whose lease expired before now.
+   *
+   * @return Number of messages returned to PENDING
+   */
+  public int reap() {
+    Instant now = clock.instant();
+    int total = 0;
+    int released;
+    do {
+      released = transactions.inTransaction(() -> repository.releaseExpiredLeases(now, batchSize));
+      total += released;
+    } while (released == batchSize);
+
+    if (total > 0) {
+      metrics.recordLeasesReleased(total);
+    }
+    return total;
+  }
+
+  /**
+   * Count messages whose lease has expired and that are waiting to be reaped.
+   *
+   * @return Number of stuck messages
+   */
+  public long countStuck() {
+    return repository.countExpiredLeases(clock.instant());
+  }
+}
@@ -0,0 +1,22 @@
+package com.marcusprado02.commons.app.outbox;
+
+/**
+ * Callback fired after messages were appended to the outbox.
+ *
+ * <p>Lets a processor react to new work instead of waiting for its next poll. Implementations
+ * running inside a transaction should defer the signal until the transaction commits, otherwise the
+ * processor may look for rows it cannot see yet.
+ */
+@FunctionalInterface
+public interface OutboxNotifier {
+
+  /** Notifier that does nothing; processors rely on polling alone. */
+  OutboxNotifier NOOP = count -> {};
+
+  /**
+   * Signal that messages were appended.
+   *
+   * @param count Number of messages appended
+   */
+  void messagesAppended(int count);
+}
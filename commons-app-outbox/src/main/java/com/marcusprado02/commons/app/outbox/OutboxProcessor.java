@@ -3,6 +3,9 @@ package com.marcusprado02.commons.app.outbox;
 /** OutboxProcessor contract. */
 public interface OutboxProcessor {
 
+  /** Returned by {@link #drainBatch(int)} when the processor cannot tell how many it claimed. */
+  int UNKNOWN_CLAIMED = -1;
+
   /** Process pending messages using the processor's configured batch size. */
   void processAll();
 
@@ -17,4 +20,19 @@ public interface OutboxProcessor {
   default void processBatch(int batchSize) {
     processAll();
   }
+
+  /**
+   * Process at most {@code batchSize} due messages and report how many were claimed.
+   *
+   * <p>Lets callers such as {@link AdaptiveOutboxPoller} tell a full batch (more work is likely
+   * waiting) from an empty one. Default implementation delegates to {@link #processBatch(int)} and
+   * returns {@link #UNKNOWN_CLAIMED}, which callers treat like a partial batch.
+   *
+   * @param batchSize maximum number of messages to process
+   * @return number of messages claimed in this pass, or {@link #UNKNOWN_CLAIMED}
+   */
+  default int drainBatch(int batchSize) {
+    processBatch(batchSize);
+    return UNKNOWN_CLAIMED;
+  }
 }
@@ -1,9 +1,24 @@
 package com.marcusprado02.commons.app.outbox;
 
 import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
+import java.util.Collection;
 
 /** OutboxPublisher contract. */
 public interface OutboxPublisher {
 
   void publishFrom(AggregateRoot<?> aggregate);
+
+  /**
+   * Drains the pending events of all given aggregates into the outbox.
+   *
+   * <p>Default implementation publishes one aggregate at a time; implementations should override it
+   * to append all events in a single batch.
+   *
+   * @param aggregates aggregates touched in the current unit of work
+   */
+  default void publishFromAll(Collection<? extends AggregateRoot<?>> aggregates) {
+    for (AggregateRoot<?> aggregate : aggregates) {
+      publishFrom(aggregate);
+    }
+  }
 }
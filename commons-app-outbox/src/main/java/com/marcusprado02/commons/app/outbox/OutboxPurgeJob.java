@@ -0,0 +1,160 @@
+package com.marcusprado02.commons.app.outbox;
+
+import com.marcusprado02.commons.app.outbox.config.OutboxPurgeConfig;
+import com.marcusprado02.commons.app.outbox.metrics.NoOpOutboxMetrics;
+import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
+import com.marcusprado02.commons.app.outbox.port.OutboxArchivePort;
+import com.marcusprado02.commons.app.outbox.port.OutboxPartitionPort;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Removes published messages older than the configured retention from the outbox.
+ *
+ * <p>Rows are deleted, or archived then deleted when an {@link OutboxArchivePort} is given, in
+ * chunks of {@link OutboxPurgeConfig#batchSize()}. The job owns its transactions: each chunk runs
+ * in its own short transaction through the {@link OutboxTransactionRunner}, so it is committed, and
+ * its locks released, before the next one starts. Chunks are paced to stay under {@link
+ * OutboxPurgeConfig#maxRowsPerSecond()}, and every chunk is reported through {@link
+ * OutboxMetrics#recordPurged} so progress on a large backlog is visible.
+ *
+ * <p>When an {@link OutboxPartitionPort} is given, upcoming partitions are created and expired
+ * partitions are dropped, each step in its own transaction, before the row-based purge, which then
+ * only has to deal with the rows left in partitions that could not be dropped. Retention is
+ * measured from {@code publishedAt} in both cases: a partition is only dropped once every message
+ * in it was published before the cutoff, even though partitions are laid out by {@code
+ * occurredAt}.
+ */
+public final class OutboxPurgeJob {
+
+  /** How far ahead partitions are created, so inserts never hit a missing partition. */
+  public static final Duration PARTITION_LOOKAHEAD = Duration.ofDays(3);
+
+  private final OutboxRepositoryPort repository;
+  private final OutboxPurgeConfig config;
+  private final OutboxArchivePort archive;
+  private final OutboxPartitionPort partitions;
+  private final OutboxMetrics metrics;
+  private final Clock clock;
+  private final OutboxTransactionRunner transactions;
+
+  /**
+   * Creates a purge job.
+   *
+   * @param repository Outbox repository
+   * @param config Retention, chunk size and rate limit
+   * @param archive Archive receiving rows before deletion, or {@code null} to just delete them
+   * @param partitions Partition manager, or {@code null} if the outbox table is not partitioned
+   * @param metrics Metrics sink
+   * @param clock Clock the retention is measured against
+   * @param transactions Runs each chunk and partition step in its own transaction
+   */
+  public OutboxPurgeJob(
+      OutboxRepositoryPort repository,
+      OutboxPurgeConfig config,
+      OutboxArchivePort archive,
+      OutboxPartitionPort partitions,
+      OutboxMetrics metrics,
+      Clock clock,
+      OutboxTransactionRunner transactions) {
+    this.repository = Objects.requireNonNull(repository, "repository must not be null");
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    this.archive = archive;
+    this.partitions = partitions;
+    this.metrics = metrics != null ? metrics : NoOpOutboxMetrics.INSTANCE;
+    this.clock = Objects.requireNonNull(clock, "clock must not be null");
+    this.transactions = Objects.requireNonNull(transactions, "transactions must not be null");
+  }
+
+  /**
+   * Creates a purge job whose repository calls manage their own transactions.
+   *
+   * @param repository Outbox repository
+   * @param config Retention, chunk size and rate limit
+   * @param archive Archive receiving rows before deletion, or {@code null} to just delete them
+   * @param partitions Partition manager, or {@code null} if the outbox table is not partitioned
+   * @param metrics Metrics sink
+   * @param clock Clock the retention is measured against
+   */
+  public OutboxPurgeJob(
+      OutboxRepositoryPort repository,
+      OutboxPurgeConfig config,
+      OutboxArchivePort archive,
+      OutboxPartitionPort partitions,
+      OutboxMetrics metrics,
+      Clock clock) {
+    this(repository, config, archive, partitions, metrics, clock, OutboxTransactionRunner.DIRECT);
+  }
+
+  public OutboxPurgeJob(OutboxRepositoryPort repository, OutboxPurgeConfig config) {
+    this(repository, config, null, null, NoOpOutboxMetrics.INSTANCE, Clock.systemUTC());
+  }
+
+  /**
+   * Purge all published messages older than the retention.
+   *
+   * <p>Stops early, keeping the interrupt flag, if the calling thread is interrupted while pacing.
+   *
+   * @return Number of rows deleted or archived; dropped partitions are not counted
+   */
+  public int purge() {
+    Instant now = clock.instant();
+    Instant cutoff = now.minus(config.retention());
+
+    if (partitions != null) {
+      transactions.inTransaction(
+          () -> partitions.ensurePartitions(now, now.plus(PARTITION_LOOKAHEAD)));
+      List<String> dropped =
+          transactions.inTransaction(() -> partitions.dropPartitionsOlderThan(cutoff));
+      if (!dropped.isEmpty()) {
+        metrics.recordPartitionsDropped(dropped.size());
+      }
+    }
+
+    int total = 0;
+    while (true) {
+      long start = System.nanoTime();
+      int purged = transactions.inTransaction(() -> purgeChunk(cutoff));
+      if (purged > 0) {
+        metrics.recordPurged(purged, archive != null);
+        total += purged;
+      }
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+      if (purged != config.batchSize() || !pause(purged, elapsedMillis)) {
+        return total;
+      }
+    }
+  }
+
+  private int purgeChunk(Instant cutoff) {
+    return archive != null
+        ? repository.archivePublishedOlderThan(cutoff, config.batchSize(), archive)
+        : repository.deletePublishedOlderThan(cutoff, config.batchSize());
+  }
+
+  private boolean pause(int rows, long elapsedMillis) {
+    long millis = pauseMillis(rows, elapsedMillis, config.maxRowsPerSecond());
+    if (millis <= 0) {
+      return true;
+    }
+    try {
+      Thread.sleep(millis);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** Returns how long to wait after a chunk so that the purge rate stays under the limit. */
+  static long pauseMillis(int rows, long elapsedMillis, int maxRowsPerSecond) {
+    if (maxRowsPerSecond == 0) {
+      return 0;
+    }
+    return Math.max(0, rows * 1000L / maxRowsPerSecond - elapsedMillis);
+  }
+}
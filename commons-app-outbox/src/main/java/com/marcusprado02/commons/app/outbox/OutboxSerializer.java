@@ -1,8 +1,26 @@
 package com.marcusprado02.commons.app.outbox;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /** OutboxSerializer contract. */
 public interface OutboxSerializer {
 
   /** Serializes the event object for storage in the outbox. */
   String serialize(Object event);
+
+  /**
+   * Serializes the event object as UTF-8 into the given stream.
+   *
+   * <p>Lets callers reuse one buffer across events. Default implementation encodes {@link
+   * #serialize(Object)}; implementations that can write bytes directly should override it.
+   *
+   * @param event event to serialize
+   * @param out stream receiving the serialized event
+   * @throws IOException if writing to the stream fails
+   */
+  default void serialize(Object event, OutputStream out) throws IOException {
+    out.write(serialize(event).getBytes(StandardCharsets.UTF_8));
+  }
 }
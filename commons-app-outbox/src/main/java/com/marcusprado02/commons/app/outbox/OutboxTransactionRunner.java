@@ -0,0 +1,46 @@
+package com.marcusprado02.commons.app.outbox;
+
+import java.util.function.Supplier;
+
+/**
+ * Demarcates the transactions in which background outbox components call the repository.
+ *
+ * <p>Processors, reapers and purge jobs run on scheduler or worker threads that have no transaction
+ * of their own, while repositories such as the JPA adapter need one for their bulk updates. Each
+ * unit of work passed to {@link #inTransaction(Supplier)} should commit on its own, even if the
+ * calling thread already has a transaction, so that claims are visible to other workers before
+ * their outcomes are written.
+ */
+public interface OutboxTransactionRunner {
+
+  /** Runner that calls the work directly, for repositories that manage their own transactions. */
+  OutboxTransactionRunner DIRECT =
+      new OutboxTransactionRunner() {
+        @Override
+        public <T> T inTransaction(Supplier<T> work) {
+          return work.get();
+        }
+      };
+
+  /**
+   * Run the work in its own transaction, committing it before returning.
+   *
+   * @param work Repository calls making up the unit of work
+   * @param <T> Result type
+   * @return Result of the work
+   */
+  <T> T inTransaction(Supplier<T> work);
+
+  /**
+   * Run the work in its own transaction, committing it before returning.
+   *
+   * @param work Repository calls making up the unit of work
+   */
+  default void inTransaction(Runnable work) {
+    inTransaction(
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+}
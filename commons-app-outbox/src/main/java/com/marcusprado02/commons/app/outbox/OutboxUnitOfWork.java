@@ -0,0 +1,87 @@
+package com.marcusprado02.commons.app.outbox;
+
+import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Collects the aggregates touched in one unit of work and forwards their events to the outbox in a
+ * single batch.
+ *
+ * <p>Track each aggregate as it is loaded or created, then call {@link #flush()} inside the same
+ * transaction, just before it commits: the pending events of every tracked aggregate are drained
+ * and appended together, so they are captured exactly when the aggregate changes are, at the cost
+ * of one batched insert. Each aggregate is tracked once, however often it is passed in.
+ *
+ * <p>Not thread-safe: use one instance per unit of work.
+ *
+ * <p><strong>Usage:</strong>
+ *
+ * <pre>{@code
+ * OutboxUnitOfWork unitOfWork = new OutboxUnitOfWork(outboxPublisher);
+ * Order order = unitOfWork.track(orderRepository.findById(orderId));
+ * Customer customer = unitOfWork.track(customerRepository.findById(customerId));
+ * order.confirm();
+ * customer.recordPurchase(order);
+ * unitOfWork.flush(); // still inside the transaction
+ * }</pre>
+ */
+public final class OutboxUnitOfWork {
+
+  private final OutboxPublisher publisher;
+  private final List<AggregateRoot<?>> aggregates = new ArrayList<>();
+  private final Set<AggregateRoot<?>> tracked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public OutboxUnitOfWork(OutboxPublisher publisher) {
+    this.publisher = Objects.requireNonNull(publisher, "publisher");
+  }
+
+  /**
+   * Tracks an aggregate whose events are to be forwarded on {@link #flush()}.
+   *
+   * @param aggregate aggregate touched in this unit of work
+   * @param <A> aggregate type
+   * @return the aggregate, for chaining
+   */
+  public <A extends AggregateRoot<?>> A track(A aggregate) {
+    Objects.requireNonNull(aggregate, "aggregate");
+    if (tracked.add(aggregate)) {
+      aggregates.add(aggregate);
+    }
+    return aggregate;
+  }
+
+  /**
+   * Returns the number of aggregates tracked since the last flush.
+   *
+   * @return tracked aggregate count
+   */
+  public int size() {
+    return aggregates.size();
+  }
+
+  /**
+   * Drains the pending events of all tracked aggregates into the outbox with one batch, then stops
+   * tracking them.
+   */
+  public void flush() {
+    if (aggregates.isEmpty()) {
+      return;
+    }
+    try {
+      publisher.publishFromAll(aggregates);
+    } finally {
+      clear();
+    }
+  }
+
+  /** Stops tracking all aggregates without forwarding their events. */
+  public void clear() {
+    aggregates.clear();
+    tracked.clear();
+  }
+}
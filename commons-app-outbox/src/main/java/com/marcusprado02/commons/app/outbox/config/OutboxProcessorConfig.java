@@ -11,6 +11,14 @@ import java.time.Duration;
  * @param maxBackoff Maximum backoff duration for exponential backoff retry
  * @param backoffMultiplier Multiplier for exponential backoff (e.g., 2.0 for doubling)
  * @param useCircuitBreaker Whether to use circuit breaker for publishing
+ * @param concurrency Number of parallel workers a batch is partitioned across (1 = sequential)
+ * @param useVirtualThreads Whether parallel workers run on virtual threads instead of a fixed
+ *     platform thread pool
+ * @param leaseDuration How long a claimed batch stays leased to this processor
+ * @param maxInFlight Maximum number of unacknowledged publishes per processor when the outbound
+ *     publisher is an {@link com.marcusprado02.commons.app.outbox.AsyncOutboundPublisher}
+ * @param ackTimeout How long an async publish may wait for its broker acknowledgement before the
+ *     message is marked FAILED
  */
 public record OutboxProcessorConfig(
     int batchSize,
@@ -18,13 +26,22 @@ public record OutboxProcessorConfig(
     Duration initialBackoff,
     Duration maxBackoff,
     double backoffMultiplier,
-    boolean useCircuitBreaker) {
+    boolean useCircuitBreaker,
+    int concurrency,
+    boolean useVirtualThreads,
+    Duration leaseDuration,
+    int maxInFlight,
+    Duration ackTimeout) {
 
   public static final int DEFAULT_BATCH_SIZE = 100;
   public static final int DEFAULT_MAX_ATTEMPTS = 5;
   public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
   public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(5);
   public static final double DEFAULT_BACKOFF_MULTIPLIER = 2.0;
+  public static final int DEFAULT_CONCURRENCY = 1;
+  public static final Duration DEFAULT_LEASE_DURATION = Duration.ofMinutes(5);
+  public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+  public static final Duration DEFAULT_ACK_TIMEOUT = Duration.ofSeconds(30);
 
   /** Validates fields on construction. */
   public OutboxProcessorConfig {
@@ -43,6 +60,65 @@ public record OutboxProcessorConfig(
     if (backoffMultiplier <= 1.0) {
       throw new IllegalArgumentException("backoffMultiplier must be > 1.0");
     }
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("concurrency must be positive");
+    }
+    if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero()) {
+      throw new IllegalArgumentException("leaseDuration must be positive");
+    }
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive");
+    }
+    if (ackTimeout == null || ackTimeout.isNegative() || ackTimeout.isZero()) {
+      throw new IllegalArgumentException("ackTimeout must be positive");
+    }
+  }
+
+  /** Creates a configuration with the default acknowledgement timeout. */
+  public OutboxProcessorConfig(
+      int batchSize,
+      int maxAttempts,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      double backoffMultiplier,
+      boolean useCircuitBreaker,
+      int concurrency,
+      boolean useVirtualThreads,
+      Duration leaseDuration,
+      int maxInFlight) {
+    this(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        concurrency,
+        useVirtualThreads,
+        leaseDuration,
+        maxInFlight,
+        DEFAULT_ACK_TIMEOUT);
+  }
+
+  /** Creates a sequential configuration (single worker). */
+  public OutboxProcessorConfig(
+      int batchSize,
+      int maxAttempts,
+      Duration initialBackoff,
+      Duration maxBackoff,
+      double backoffMultiplier,
+      boolean useCircuitBreaker) {
+    this(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        DEFAULT_CONCURRENCY,
+        true,
+        DEFAULT_LEASE_DURATION,
+        DEFAULT_MAX_IN_FLIGHT);
   }
 
   /** Executes the defaults operation. */
@@ -55,4 +131,94 @@ public record OutboxProcessorConfig(
         DEFAULT_BACKOFF_MULTIPLIER,
         false);
   }
+
+  /**
+   * Returns a copy of this configuration that processes batches with the given number of workers.
+   *
+   * @param concurrency number of parallel workers
+   * @param useVirtualThreads whether workers run on virtual threads
+   * @return the new configuration
+   */
+  public OutboxProcessorConfig withConcurrency(int concurrency, boolean useVirtualThreads) {
+    return new OutboxProcessorConfig(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        concurrency,
+        useVirtualThreads,
+        leaseDuration,
+        maxInFlight,
+        ackTimeout);
+  }
+
+  /**
+   * Returns a copy of this configuration with the given claim lease duration.
+   *
+   * @param leaseDuration how long a claimed batch stays leased
+   * @return the new configuration
+   */
+  public OutboxProcessorConfig withLeaseDuration(Duration leaseDuration) {
+    return new OutboxProcessorConfig(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        concurrency,
+        useVirtualThreads,
+        leaseDuration,
+        maxInFlight,
+        ackTimeout);
+  }
+
+  /**
+   * Returns a copy of this configuration with the given in-flight window for async publishers.
+   *
+   * @param maxInFlight maximum number of unacknowledged publishes
+   * @return the new configuration
+   */
+  public OutboxProcessorConfig withMaxInFlight(int maxInFlight) {
+    return new OutboxProcessorConfig(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        concurrency,
+        useVirtualThreads,
+        leaseDuration,
+        maxInFlight,
+        ackTimeout);
+  }
+
+  /**
+   * Returns a copy of this configuration with the given broker acknowledgement timeout.
+   *
+   * @param ackTimeout how long an async publish may stay unacknowledged
+   * @return the new configuration
+   */
+  public OutboxProcessorConfig withAckTimeout(Duration ackTimeout) {
+    return new OutboxProcessorConfig(
+        batchSize,
+        maxAttempts,
+        initialBackoff,
+        maxBackoff,
+        backoffMultiplier,
+        useCircuitBreaker,
+        concurrency,
+        useVirtualThreads,
+        leaseDuration,
+        maxInFlight,
+        ackTimeout);
+  }
+
+  /** Returns whether batches are split across more than one worker. */
+  public boolean isParallel() {
+    return concurrency > 1;
+  }
 }
@@ -0,0 +1,41 @@
+package com.marcusprado02.commons.app.outbox.config;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link com.marcusprado02.commons.app.outbox.OutboxPurgeJob}.
+ *
+ * @param retention How long published messages are kept before being purged
+ * @param batchSize Maximum number of rows deleted or archived per repository call
+ * @param maxRowsPerSecond Upper bound on the purge rate; {@code 0} disables throttling
+ */
+public record OutboxPurgeConfig(Duration retention, int batchSize, int maxRowsPerSecond) {
+
+  public static final Duration DEFAULT_RETENTION = Duration.ofDays(7);
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  public static final int DEFAULT_MAX_ROWS_PER_SECOND = 5000;
+
+  /** Validates fields on construction. */
+  public OutboxPurgeConfig {
+    if (retention == null || retention.isNegative()) {
+      throw new IllegalArgumentException("retention must not be negative");
+    }
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive");
+    }
+    if (maxRowsPerSecond < 0) {
+      throw new IllegalArgumentException("maxRowsPerSecond must not be negative");
+    }
+  }
+
+  /** Creates default configuration: purge rows published more than 7 days ago. */
+  public static OutboxPurgeConfig defaults() {
+    return new OutboxPurgeConfig(
+        DEFAULT_RETENTION, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ROWS_PER_SECOND);
+  }
+
+  /** Returns a copy with the given retention. */
+  public OutboxPurgeConfig withRetention(Duration retention) {
+    return new OutboxPurgeConfig(retention, batchSize, maxRowsPerSecond);
+  }
+}
@@ -21,4 +21,19 @@ public final class NoOpOutboxMetrics implements OutboxMetrics {
 
   @Override
   public void recordBatchProcessing(int batchSize, long durationMillis) {}
+
+  @Override
+  public void recordWorkerThroughput(int workerId, int processed, long durationMillis) {}
+
+  @Override
+  public void recordLeasesReleased(int count) {}
+
+  @Override
+  public void recordDeferred(String topic) {}
+
+  @Override
+  public void recordPurged(int count, boolean archived) {}
+
+  @Override
+  public void recordPartitionsDropped(int count) {}
 }
@@ -40,4 +40,45 @@ public interface OutboxMetrics {
    * @param durationMillis Time taken to process batch in milliseconds
    */
   void recordBatchProcessing(int batchSize, long durationMillis);
+
+  /**
+   * Record the share of a batch handled by a single worker.
+   *
+   * <p>Sequential processors report everything as worker {@code 0}. Default implementation does
+   * nothing so existing implementations keep compiling.
+   *
+   * @param workerId Worker index, in {@code [0, concurrency)}
+   * @param processed Number of messages the worker published
+   * @param durationMillis Time the worker spent on its share of the batch in milliseconds
+   */
+  default void recordWorkerThroughput(int workerId, int processed, long durationMillis) {}
+
+  /**
+   * Record messages whose expired lease was released back to PENDING.
+   *
+   * @param count Number of messages released
+   */
+  default void recordLeasesReleased(int count) {}
+
+  /**
+   * Record a message handed back unattempted because its topic failed earlier in the batch.
+   *
+   * @param topic Message topic
+   */
+  default void recordDeferred(String topic) {}
+
+  /**
+   * Record a chunk of published messages removed from the outbox by the purge job.
+   *
+   * @param count Number of messages removed
+   * @param archived Whether the messages were archived before being deleted
+   */
+  default void recordPurged(int count, boolean archived) {}
+
+  /**
+   * Record outbox partitions dropped by the purge job.
+   *
+   * @param count Number of partitions dropped
+   */
+  default void recordPartitionsDropped(int count) {}
 }
@@ -42,4 +42,25 @@ public record OutboxMessage(
         attempts,
         0);
   }
+
+  /** Returns a copy of this message with the given status. */
+  public OutboxMessage withStatus(OutboxStatus newStatus) {
+    return withStatus(newStatus, attempts);
+  }
+
+  /** Returns a copy of this message with the given status and attempt count. */
+  public OutboxMessage withStatus(OutboxStatus newStatus, int newAttempts) {
+    return new OutboxMessage(
+        id,
+        aggregateType,
+        aggregateId,
+        eventType,
+        topic,
+        payload,
+        headers,
+        occurredAt,
+        newStatus,
+        newAttempts,
+        priority);
+  }
 }
@@ -0,0 +1,16 @@
+package com.marcusprado02.commons.app.outbox.port;
+
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import java.util.List;
+
+/**
+ * Destination for published outbox messages moved out of the outbox table, such as an archive table
+ * or object storage.
+ *
+ * <p>Called with one chunk at a time, oldest first. Throwing keeps the chunk in the outbox.
+ */
+@FunctionalInterface
+public interface OutboxArchivePort {
+
+  void archive(List<OutboxMessage> messages);
+}
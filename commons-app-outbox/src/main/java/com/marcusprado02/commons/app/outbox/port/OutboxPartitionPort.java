@@ -0,0 +1,36 @@
+package com.marcusprado02.commons.app.outbox.port;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Management of a time-partitioned outbox table.
+ *
+ * <p>With the outbox table range-partitioned by {@code occurredAt}, old messages are removed by
+ * dropping whole partitions instead of deleting rows one by one, which avoids long-running deletes
+ * and table bloat.
+ */
+public interface OutboxPartitionPort {
+
+  /**
+   * Create the partitions covering {@code [from, until)} that do not exist yet.
+   *
+   * @param from Start of the range
+   * @param until End of the range (exclusive)
+   * @return Number of partitions created
+   */
+  int ensurePartitions(Instant from, Instant until);
+
+  /**
+   * Drop partitions whose range ends at or before {@code olderThan} and that only hold messages
+   * published before {@code olderThan}.
+   *
+   * <p>Partitions are laid out by {@code occurredAt}, but retention is measured from {@code
+   * publishedAt}, as for the row-based purge: a partition still holding an unpublished message, or
+   * one published at or after {@code olderThan}, is kept whatever its age.
+   *
+   * @param olderThan Upper bound of the partitions to drop, and of their publication times
+   * @return Names of the dropped partitions
+   */
+  List<String> dropPartitionsOlderThan(Instant olderThan);
+}
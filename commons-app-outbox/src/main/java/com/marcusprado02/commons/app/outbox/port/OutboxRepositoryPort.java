@@ -3,7 +3,10 @@ package com.marcusprado02.commons.app.outbox.port;
 import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
 import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
 import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +29,20 @@ import java.util.Optional;
  *
  * <p>Thread Safety: Implementations must handle concurrent access to prevent duplicate processing.
  * Use optimistic locking or SELECT FOR UPDATE when transitioning to PROCESSING.
+ *
+ * <p>Set-based operations ({@link #claimBatch}, {@link #markPublishedBatch}, {@link
+ * #markFailedBatch}, {@link #rescheduleBatch}) have default implementations built on the per-id
+ * transitions. Database-backed adapters should override them so a whole batch costs a constant
+ * number of round trips.
+ *
+ * <p>Batch outcomes are scoped to the worker that claimed the messages: adapters that track leases
+ * only touch messages still leased to the given owner, so a worker whose lease expired, and whose
+ * messages were claimed again by another worker, cannot overwrite the new owner's outcome.
+ *
+ * <p>Retry scheduling: a failed message carries a {@code nextAttemptAt}. Messages are <em>due</em>
+ * when they are PENDING or FAILED and {@code nextAttemptAt} is unset or not after the reference
+ * time; {@link #fetchDue} and {@link #claimBatch} only return due messages, so messages waiting out
+ * a backoff never occupy batch slots.
  */
 public interface OutboxRepositoryPort {
 
@@ -36,6 +53,20 @@ public interface OutboxRepositoryPort {
    */
   void append(OutboxMessage message);
 
+  /**
+   * Append several new messages to the outbox, in order.
+   *
+   * <p>Default implementation appends one message at a time. Database-backed adapters should
+   * override it to write all messages in a single batched insert.
+   *
+   * @param messages Messages with PENDING status
+   */
+  default void appendAll(Collection<OutboxMessage> messages) {
+    for (OutboxMessage message : messages) {
+      append(message);
+    }
+  }
+
   /**
    * Fetch a batch of messages with given status.
    *
@@ -54,6 +85,11 @@ public interface OutboxRepositoryPort {
    * <p>Must be atomic and handle concurrency. Only one worker should successfully mark a message as
    * PROCESSING.
    *
+   * <p>Must not change the attempt counter: attempts are counted when a failure is recorded. The
+   * default {@link #claimBatch} is built on this method and the default {@link #markFailedBatch}
+   * increments the counter, so an implementation that also counted here would count every failure
+   * twice.
+   *
    * @param id Message ID
    * @param processingAt Timestamp when processing started
    * @return true if successfully marked, false if already processing by another worker
@@ -97,6 +133,161 @@ public interface OutboxRepositoryPort {
    */
   void markRetryable(OutboxMessageId id, String reason, int attempts);
 
+  /**
+   * Fetch up to {@code limit} messages that are due at {@code now}, oldest first.
+   *
+   * <p>Default implementation has no notion of scheduling and returns PENDING messages.
+   *
+   * @param now Reference timestamp
+   * @param limit Maximum number of messages
+   * @return Due messages, empty if none found
+   */
+  default List<OutboxMessage> fetchDue(Instant now, int limit) {
+    return fetchBatch(OutboxStatus.PENDING, limit);
+  }
+
+  /**
+   * Atomically claim up to {@code limit} due messages for a single worker.
+   *
+   * <p>Claimed messages transition to PROCESSING and are leased to {@code owner} until {@code
+   * claimedAt + leaseDuration}. Rows already locked or claimed by another worker must be skipped,
+   * never waited on (SELECT ... FOR UPDATE SKIP LOCKED semantics), so concurrent workers always
+   * receive disjoint batches. Claiming does not change the attempt counter; the default
+   * implementation relies on {@link #markProcessing} honouring the same rule.
+   *
+   * @param owner Identifier of the claiming worker
+   * @param limit Maximum number of messages to claim
+   * @param claimedAt Timestamp when processing started
+   * @param leaseDuration How long the claim stays valid
+   * @return Claimed messages in PROCESSING status, oldest first
+   */
+  default List<OutboxMessage> claimBatch(
+      String owner, int limit, Instant claimedAt, Duration leaseDuration) {
+    List<OutboxMessage> claimed = new ArrayList<>();
+    for (OutboxMessage message : fetchDue(claimedAt, limit)) {
+      if (markProcessing(message.id(), claimedAt)) {
+        claimed.add(message.withStatus(OutboxStatus.PROCESSING));
+      }
+    }
+    return claimed;
+  }
+
+  /**
+   * Transition a set of messages still leased to {@code owner} from PROCESSING to PUBLISHED.
+   *
+   * <p>Messages that are no longer PROCESSING, or are leased to another owner, are left untouched.
+   * Default implementation does not track owners and publishes every PROCESSING message.
+   *
+   * @param owner Identifier of the worker holding the lease
+   * @param ids Message IDs
+   * @param publishedAt Timestamp when published
+   * @return Number of messages transitioned
+   */
+  default int markPublishedBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      Optional<OutboxMessage> message = findById(id);
+      if (message.isPresent() && message.get().status() == OutboxStatus.PROCESSING) {
+        markPublished(id, publishedAt);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Transition a set of messages still leased to {@code owner} from PROCESSING to FAILED,
+   * incrementing each attempt counter by one, and schedule their next attempt.
+   *
+   * <p>Messages that are no longer PROCESSING, or are leased to another owner, are left untouched.
+   * Default implementation does not track owners and ignores {@code nextAttemptAt}.
+   *
+   * @param owner Identifier of the worker holding the lease
+   * @param ids Message IDs
+   * @param reason Failure reason shared by all messages
+   * @param nextAttemptAt Earliest time the messages become due again, or {@code null} for now
+   * @return Number of messages transitioned
+   */
+  default int markFailedBatch(
+      String owner, Collection<OutboxMessageId> ids, String reason, Instant nextAttemptAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      Optional<OutboxMessage> message = findById(id);
+      if (message.isPresent() && message.get().status() == OutboxStatus.PROCESSING) {
+        markFailed(id, reason, message.get().attempts() + 1);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Return a set of PROCESSING messages still leased to {@code owner} to PENDING without counting
+   * an attempt, not to be retried before {@code nextAttemptAt}.
+   *
+   * <p>Used to hand back messages that were claimed but not attempted, for example because their
+   * topic is failing. Messages leased to another owner are left untouched. Default implementation
+   * does not track owners and ignores {@code nextAttemptAt}.
+   *
+   * @param owner Identifier of the worker holding the lease
+   * @param ids Message IDs
+   * @param nextAttemptAt Earliest time the messages become due again
+   * @return Number of messages transitioned
+   */
+  default int rescheduleBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant nextAttemptAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      Optional<OutboxMessage> message = findById(id);
+      if (message.isPresent() && message.get().status() == OutboxStatus.PROCESSING) {
+        markRetryable(id, "deferred", message.get().attempts());
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  /**
+   * Extend the lease of messages still being processed by {@code owner} (heartbeat).
+   *
+   * <p>Only PROCESSING messages leased to {@code owner} are extended. Implementations that do not
+   * track leases return {@code 0}.
+   *
+   * @param owner Identifier of the worker holding the lease
+   * @param ids Message IDs
+   * @param leaseUntil New lease deadline
+   * @return Number of leases extended
+   */
+  default int renewLeases(String owner, Collection<OutboxMessageId> ids, Instant leaseUntil) {
+    return 0;
+  }
+
+  /**
+   * Return up to {@code limit} PROCESSING messages whose lease expired before {@code now} to
+   * PENDING, clearing owner and lease.
+   *
+   * <p>Recovers messages claimed by a worker that crashed before recording an outcome. Attempt
+   * counters are not changed. Implementations that do not track leases return {@code 0}.
+   *
+   * @param now Reference timestamp
+   * @param limit Maximum number of messages to release
+   * @return Number of messages released
+   */
+  default int releaseExpiredLeases(Instant now, int limit) {
+    return 0;
+  }
+
+  /**
+   * Count PROCESSING messages whose lease expired before {@code now}.
+   *
+   * @param now Reference timestamp
+   * @return Number of stuck messages; {@code 0} if the implementation does not track leases
+   */
+  default long countExpiredLeases(Instant now) {
+    return 0;
+  }
+
   /**
    * Find message by ID.
    *
@@ -122,4 +313,37 @@ public interface OutboxRepositoryPort {
    * @return Number of deleted messages
    */
   int deletePublishedOlderThan(Instant olderThan);
+
+  /**
+   * Delete at most {@code limit} published messages older than given timestamp, oldest first.
+   *
+   * <p>Bounded counterpart of {@link #deletePublishedOlderThan(Instant)} for purging large tables
+   * in short transactions. The default implementation cannot bound the delete and falls back to the
+   * unbounded variant.
+   *
+   * @param olderThan Delete messages published before this timestamp
+   * @param limit Maximum number of messages to delete
+   * @return Number of deleted messages
+   */
+  default int deletePublishedOlderThan(Instant olderThan, int limit) {
+    return deletePublishedOlderThan(olderThan);
+  }
+
+  /**
+   * Hand at most {@code limit} published messages older than given timestamp to {@code archive},
+   * oldest first, then delete them.
+   *
+   * <p>Messages are deleted only if {@code archive} returns normally, so an archive failure leaves
+   * the chunk in place for the next run.
+   *
+   * @param olderThan Archive messages published before this timestamp
+   * @param limit Maximum number of messages to archive
+   * @param archive Destination of the archived messages
+   * @return Number of archived messages
+   * @throws UnsupportedOperationException if the implementation cannot archive
+   */
+  default int archivePublishedOlderThan(Instant olderThan, int limit, OutboxArchivePort archive) {
+    throw new UnsupportedOperationException(
+        getClass().getSimpleName() + " does not support archiving");
+  }
 }
@@ -4,18 +4,25 @@ import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Exponential backoff strategy for retry delays.
  *
  * <p>Calculates next retry time based on attempt count: delay = initialBackoff * (multiplier ^
  * attempts), capped at maxBackoff.
+ *
+ * <p>{@link #calculateJitteredRetry} additionally subtracts a random share of up to {@code jitter}
+ * of the delay, so messages that failed together do not all come due at the same instant.
  */
 public final class ExponentialBackoffStrategy {
 
+  public static final double DEFAULT_JITTER = 0.2;
+
   private final Duration initialBackoff;
   private final Duration maxBackoff;
   private final double multiplier;
+  private final double jitter;
 
   public ExponentialBackoffStrategy(OutboxProcessorConfig config) {
     this(config.initialBackoff(), config.maxBackoff(), config.backoffMultiplier());
@@ -24,9 +31,19 @@ public final class ExponentialBackoffStrategy {
   /** Creates a new ExponentialBackoffStrategy instance. */
   public ExponentialBackoffStrategy(
       Duration initialBackoff, Duration maxBackoff, double multiplier) {
+    this(initialBackoff, maxBackoff, multiplier, DEFAULT_JITTER);
+  }
+
+  /** Creates a new ExponentialBackoffStrategy instance with the given jitter factor. */
+  public ExponentialBackoffStrategy(
+      Duration initialBackoff, Duration maxBackoff, double multiplier, double jitter) {
     this.initialBackoff = Objects.requireNonNull(initialBackoff, "initialBackoff must not be null");
     this.maxBackoff = Objects.requireNonNull(maxBackoff, "maxBackoff must not be null");
     this.multiplier = multiplier;
+    if (jitter < 0.0 || jitter > 1.0) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
+    this.jitter = jitter;
   }
 
   /**
@@ -56,4 +73,18 @@ public final class ExponentialBackoffStrategy {
     long maxDelayMillis = maxBackoff.toMillis();
     return Math.min(delay, maxDelayMillis);
   }
+
+  /**
+   * Calculate a jittered next retry time.
+   *
+   * @param currentAttempt Current attempt number (0-based)
+   * @param baseTime Base time to add delay to
+   * @return Next retry time, between {@code (1 - jitter)} and {@code 1} times the full delay
+   */
+  public Instant calculateJitteredRetry(int currentAttempt, Instant baseTime) {
+    long delayMillis = calculateDelayMillis(currentAttempt);
+    long spread = (long) (delayMillis * jitter);
+    long offset = spread > 0 ? ThreadLocalRandom.current().nextLong(spread + 1) : 0;
+    return baseTime.plusMillis(delayMillis - offset);
+  }
 }
@@ -0,0 +1,343 @@
+package com.marcusprado02.commons.app.outbox.store;
+
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.port.OutboxArchivePort;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory implementation of {@link OutboxRepositoryPort} for testing and simple deployments.
+ *
+ * <p>State transitions are serialized on the repository instance, which gives claims the same "each
+ * message goes to exactly one worker" guarantee a database adapter gets from row locks.
+ */
+public final class InMemoryOutboxRepository implements OutboxRepositoryPort {
+
+  private static final Comparator<Entry> OLDEST_FIRST =
+      Comparator.comparing((Entry e) -> e.message().occurredAt())
+          .thenComparingLong(Entry::sequence);
+
+  private static final String LEASE_EXPIRED = "lease expired";
+
+  private final ConcurrentMap<OutboxMessageId, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  @Override
+  public void append(OutboxMessage message) {
+    Objects.requireNonNull(message, "message must not be null");
+    entries.put(
+        message.id(), new Entry(message, sequence.incrementAndGet(), null, null, null, null, null));
+  }
+
+  @Override
+  public List<OutboxMessage> fetchBatch(OutboxStatus status, int limit) {
+    return entries.values().stream()
+        .filter(e -> e.message().status() == status)
+        .sorted(OLDEST_FIRST)
+        .limit(Math.max(limit, 0))
+        .map(Entry::message)
+        .toList();
+  }
+
+  @Override
+  public List<OutboxMessage> fetchDue(Instant now, int limit) {
+    return due(now, limit).stream().map(Entry::message).toList();
+  }
+
+  @Override
+  public synchronized boolean markProcessing(OutboxMessageId id, Instant processingAt) {
+    Entry entry = entries.get(id);
+    if (entry == null || entry.message().status() != OutboxStatus.PENDING) {
+      return false;
+    }
+    entries.put(id, entry.with(entry.message().withStatus(OutboxStatus.PROCESSING)));
+    return true;
+  }
+
+  @Override
+  public synchronized List<OutboxMessage> claimBatch(
+      String owner, int limit, Instant claimedAt, Duration leaseDuration) {
+    Objects.requireNonNull(owner, "owner must not be null");
+    Instant leaseUntil = claimedAt.plus(leaseDuration);
+
+    List<Entry> candidates = due(claimedAt, limit);
+    List<OutboxMessage> claimed = new ArrayList<>(candidates.size());
+    for (Entry entry : candidates) {
+      OutboxMessage message = entry.message().withStatus(OutboxStatus.PROCESSING);
+      entries.put(
+          message.id(),
+          new Entry(message, entry.sequence(), owner, leaseUntil, null, entry.lastError(), null));
+      claimed.add(message);
+    }
+    return claimed;
+  }
+
+  @Override
+  public void markPublished(OutboxMessageId id, Instant publishedAt) {
+    entries.computeIfPresent(
+        id,
+        (k, e) ->
+            new Entry(
+                e.message().withStatus(OutboxStatus.PUBLISHED),
+                e.sequence(),
+                null,
+                null,
+                publishedAt,
+                null,
+                null));
+  }
+
+  @Override
+  public int markPublishedBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+    return publishProcessing(
+        Objects.requireNonNull(owner, "owner must not be null"), ids, publishedAt);
+  }
+
+  private synchronized int publishProcessing(
+      String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      if (isProcessing(id, owner)) {
+        markPublished(id, publishedAt);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  public void markFailed(OutboxMessageId id, String reason, int attempts) {
+    transition(id, OutboxStatus.FAILED, reason, attempts, null);
+  }
+
+  @Override
+  public int markFailedBatch(
+      String owner, Collection<OutboxMessageId> ids, String reason, Instant nextAttemptAt) {
+    return failProcessing(
+        Objects.requireNonNull(owner, "owner must not be null"), ids, reason, nextAttemptAt);
+  }
+
+  private synchronized int failProcessing(
+      String owner, Collection<OutboxMessageId> ids, String reason, Instant nextAttemptAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      if (isProcessing(id, owner)) {
+        int attempts = entries.get(id).message().attempts() + 1;
+        transition(id, OutboxStatus.FAILED, reason, attempts, nextAttemptAt);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  public int rescheduleBatch(
+      String owner, Collection<OutboxMessageId> ids, Instant nextAttemptAt) {
+    return rescheduleProcessing(
+        Objects.requireNonNull(owner, "owner must not be null"), ids, nextAttemptAt);
+  }
+
+  private synchronized int rescheduleProcessing(
+      String owner, Collection<OutboxMessageId> ids, Instant nextAttemptAt) {
+    int updated = 0;
+    for (OutboxMessageId id : ids) {
+      if (isProcessing(id, owner)) {
+        Entry entry = entries.get(id);
+        transition(
+            id, OutboxStatus.PENDING, entry.lastError(), entry.message().attempts(), nextAttemptAt);
+        updated++;
+      }
+    }
+    return updated;
+  }
+
+  @Override
+  public void markDead(OutboxMessageId id, String reason, int attempts) {
+    transition(id, OutboxStatus.DEAD, reason, attempts, null);
+  }
+
+  @Override
+  public void markRetryable(OutboxMessageId id, String reason, int attempts) {
+    transition(id, OutboxStatus.PENDING, reason, attempts, null);
+  }
+
+  @Override
+  public synchronized int renewLeases(
+      String owner, Collection<OutboxMessageId> ids, Instant leaseUntil) {
+    int renewed = 0;
+    for (OutboxMessageId id : ids) {
+      Entry entry = entries.get(id);
+      if (entry != null
+          && entry.message().status() == OutboxStatus.PROCESSING
+          && owner.equals(entry.owner())) {
+        entries.put(
+            id,
+            new Entry(
+                entry.message(),
+                entry.sequence(),
+                owner,
+                leaseUntil,
+                entry.publishedAt(),
+                entry.lastError(),
+                entry.nextAttemptAt()));
+        renewed++;
+      }
+    }
+    return renewed;
+  }
+
+  @Override
+  public synchronized int releaseExpiredLeases(Instant now, int limit) {
+    List<Entry> expired =
+        entries.values().stream()
+            .filter(e -> isLeaseExpired(e, now))
+            .sorted(OLDEST_FIRST)
+            .limit(Math.max(limit, 0))
+            .toList();
+    for (Entry entry : expired) {
+      entries.put(
+          entry.message().id(),
+          new Entry(
+              entry.message().withStatus(OutboxStatus.PENDING),
+              entry.sequence(),
+              null,
+              null,
+              null,
+              LEASE_EXPIRED,
+              null));
+    }
+    return expired.size();
+  }
+
+  @Override
+  public long countExpiredLeases(Instant now) {
+    return entries.values().stream().filter(e -> isLeaseExpired(e, now)).count();
+  }
+
+  @Override
+  public Optional<OutboxMessage> findById(OutboxMessageId id) {
+    return Optional.ofNullable(entries.get(id)).map(Entry::message);
+  }
+
+  @Override
+  public long countByStatus(OutboxStatus status) {
+    return entries.values().stream().filter(e -> e.message().status() == status).count();
+  }
+
+  @Override
+  public int deletePublishedOlderThan(Instant olderThan) {
+    int deleted = 0;
+    for (Entry entry : entries.values()) {
+      if (entry.message().status() == OutboxStatus.PUBLISHED
+          && entry.publishedAt() != null
+          && entry.publishedAt().isBefore(olderThan)
+          && entries.remove(entry.message().id(), entry)) {
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  @Override
+  public synchronized int deletePublishedOlderThan(Instant olderThan, int limit) {
+    List<Entry> expired = publishedBefore(olderThan, limit);
+    expired.forEach(e -> entries.remove(e.message().id(), e));
+    return expired.size();
+  }
+
+  @Override
+  public synchronized int archivePublishedOlderThan(
+      Instant olderThan, int limit, OutboxArchivePort archive) {
+    Objects.requireNonNull(archive, "archive must not be null");
+    List<Entry> expired = publishedBefore(olderThan, limit);
+    if (expired.isEmpty()) {
+      return 0;
+    }
+    archive.archive(expired.stream().map(Entry::message).toList());
+    expired.forEach(e -> entries.remove(e.message().id(), e));
+    return expired.size();
+  }
+
+  private List<Entry> due(Instant now, int limit) {
+    return entries.values().stream()
+        .filter(e -> isDue(e, now))
+        .sorted(OLDEST_FIRST)
+        .limit(Math.max(limit, 0))
+        .toList();
+  }
+
+  private List<Entry> publishedBefore(Instant olderThan, int limit) {
+    return entries.values().stream()
+        .filter(
+            e ->
+                e.message().status() == OutboxStatus.PUBLISHED
+                    && e.publishedAt() != null
+                    && e.publishedAt().isBefore(olderThan))
+        .sorted(Comparator.comparing(Entry::publishedAt))
+        .limit(Math.max(limit, 0))
+        .toList();
+  }
+
+  private static boolean isDue(Entry entry, Instant now) {
+    OutboxStatus status = entry.message().status();
+    return (status == OutboxStatus.PENDING || status == OutboxStatus.FAILED)
+        && (entry.nextAttemptAt() == null || !entry.nextAttemptAt().isAfter(now));
+  }
+
+  /** Whether the message is PROCESSING and, unless {@code owner} is null, leased to it. */
+  private boolean isProcessing(OutboxMessageId id, String owner) {
+    Entry entry = entries.get(id);
+    return entry != null
+        && entry.message().status() == OutboxStatus.PROCESSING
+        && owner.equals(entry.owner());
+  }
+
+  private static boolean isLeaseExpired(Entry entry, Instant now) {
+    return entry.message().status() == OutboxStatus.PROCESSING
+        && entry.leaseUntil() != null
+        && entry.leaseUntil().isBefore(now);
+  }
+
+  private void transition(
+      OutboxMessageId id, OutboxStatus status, String reason, int attempts, Instant nextAttemptAt) {
+    entries.computeIfPresent(
+        id,
+        (k, e) ->
+            new Entry(
+                e.message().withStatus(status, attempts),
+                e.sequence(),
+                null,
+                null,
+                e.publishedAt(),
+                reason,
+                nextAttemptAt));
+  }
+
+  /** Stored message plus the bookkeeping columns a database adapter keeps next to it. */
+  private record Entry(
+      OutboxMessage message,
+      long sequence,
+      String owner,
+      Instant leaseUntil,
+      Instant publishedAt,
+      String lastError,
+      Instant nextAttemptAt) {
+
+    Entry with(OutboxMessage updated) {
+      return new Entry(updated, sequence, owner, leaseUntil, publishedAt, lastError, nextAttemptAt);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.marcusprado02.commons.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveOutboxPollerTest {
+
+  @Test
+  void shouldBackOffWhileOutboxIsEmpty() {
+    AdaptiveOutboxPoller poller = poller(draining(batchSize -> 0), 100, 1000);
+
+    assertEquals(100, poller.nextDelayMillis(0, 0));
+    assertEquals(200, poller.nextDelayMillis(0, 100));
+    assertEquals(1000, poller.nextDelayMillis(0, 800));
+    assertEquals(1000, poller.nextDelayMillis(0, 1000));
+  }
+
+  @Test
+  void shouldDrainWithoutDelayWhileBatchesAreFull() {
+    AdaptiveOutboxPoller poller = poller(draining(batchSize -> 0), 100, 1000);
+
+    assertEquals(0, poller.nextDelayMillis(10, 800));
+    assertEquals(100, poller.nextDelayMillis(3, 800));
+  }
+
+  @Test
+  void shouldTreatUnknownClaimCountAsPartialBatch() {
+    OutboxProcessor legacy =
+        new OutboxProcessor() {
+          @Override
+          public void processAll() {}
+        };
+    AdaptiveOutboxPoller poller = poller(legacy, 100, 1000);
+
+    assertEquals(OutboxProcessor.UNKNOWN_CLAIMED, legacy.drainBatch(10));
+    assertEquals(100, poller.nextDelayMillis(OutboxProcessor.UNKNOWN_CLAIMED, 0));
+    assertEquals(100, poller.nextDelayMillis(OutboxProcessor.UNKNOWN_CLAIMED, 800));
+  }
+
+  @Test
+  void shouldProcessImmediatelyWhenSignalled() throws InterruptedException {
+    AtomicInteger passes = new AtomicInteger();
+    CountDownLatch secondPass = new CountDownLatch(2);
+    OutboxProcessor processor =
+        draining(
+            batchSize -> {
+              passes.incrementAndGet();
+              secondPass.countDown();
+              return 0;
+            });
+
+    try (AdaptiveOutboxPoller poller = poller(processor, 60_000, 60_000)) {
+      poller.start();
+      awaitPasses(passes, 1);
+
+      poller.signal();
+
+      assertTrue(secondPass.await(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void shouldKeepPollingAfterProcessorFailure() throws InterruptedException {
+    CountDownLatch passes = new CountDownLatch(3);
+    OutboxProcessor failing =
+        draining(
+            batchSize -> {
+              passes.countDown();
+              throw new IllegalStateException("database down");
+            });
+
+    try (AdaptiveOutboxPoller poller = poller(failing, 1, 5)) {
+      poller.start();
+
+      assertTrue(passes.await(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void shouldRejectInvalidDelays() {
+    assertThrows(IllegalArgumentException.class, () -> poller(draining(batchSize -> 0), 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> poller(draining(batchSize -> 0), 10, 5));
+  }
+
+  private static AdaptiveOutboxPoller poller(
+      OutboxProcessor processor, long minDelayMillis, long maxDelayMillis) {
+    return new AdaptiveOutboxPoller(
+        processor, 10, Duration.ofMillis(minDelayMillis), Duration.ofMillis(maxDelayMillis));
+  }
+
+  private static OutboxProcessor draining(IntUnaryOperator drain) {
+    return new OutboxProcessor() {
+      @Override
+      public void processAll() {
+        drainBatch(10);
+      }
+
+      @Override
+      public int drainBatch(int batchSize) {
+        return drain.applyAsInt(batchSize);
+      }
+    };
+  }
+
+  private static void awaitPasses(AtomicInteger passes, int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (passes.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, passes.get());
+  }
+}
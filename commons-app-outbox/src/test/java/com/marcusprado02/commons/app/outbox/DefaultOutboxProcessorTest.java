@@ -11,13 +11,24 @@ import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
 import com.marcusprado02.commons.app.outbox.model.OutboxPayload;
 import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -209,9 +220,9 @@ class DefaultOutboxProcessorTest {
         new DefaultOutboxProcessor(
             repository, publisher, OutboxProcessorConfig.defaults(), metrics);
 
-    repository.append(createMessage("msg-ok-1", OutboxStatus.PENDING));
-    repository.append(createMessage("msg-fail", OutboxStatus.PENDING));
-    repository.append(createMessage("msg-ok-2", OutboxStatus.PENDING));
+    repository.append(createMessage("msg-ok-1", "order-1", OutboxStatus.PENDING));
+    repository.append(createMessage("msg-fail", "order-2", OutboxStatus.PENDING));
+    repository.append(createMessage("msg-ok-2", "order-3", OutboxStatus.PENDING));
 
     processor.processAll();
 
@@ -255,6 +266,374 @@ class DefaultOutboxProcessorTest {
     assertEquals(0, metrics.deadCount);
   }
 
+  @Test
+  void shouldRecordOutcomesWithBatchTransitions() {
+    AtomicInteger claims = new AtomicInteger();
+    AtomicInteger publishedBatches = new AtomicInteger();
+    AtomicInteger failedBatches = new AtomicInteger();
+    InMemoryOutboxRepository store =
+        new InMemoryOutboxRepository() {
+          @Override
+          public List<OutboxMessage> claimBatch(
+              String owner, int limit, Instant claimedAt, Duration leaseDuration) {
+            claims.incrementAndGet();
+            return super.claimBatch(owner, limit, claimedAt, leaseDuration);
+          }
+
+          @Override
+          public int markPublishedBatch(
+              String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+            publishedBatches.incrementAndGet();
+            return super.markPublishedBatch(owner, ids, publishedAt);
+          }
+
+          @Override
+          public int markFailedBatch(
+              String owner, Collection<OutboxMessageId> ids, String reason, Instant nextAttemptAt) {
+            failedBatches.incrementAndGet();
+            return super.markFailedBatch(owner, ids, reason, nextAttemptAt);
+          }
+        };
+    publisher =
+        new TestOutboundPublisher() {
+          @Override
+          public void publish(String topic, byte[] body, Map<String, String> headers) {
+            if ("fail".equals(headers.get("seq"))) {
+              throw new IllegalStateException("broker down");
+            }
+            publishedCount++;
+          }
+        };
+    processor =
+        new DefaultOutboxProcessor(store, publisher, OutboxProcessorConfig.defaults(), metrics);
+
+    for (int i = 0; i < 5; i++) {
+      store.append(createMessage("ok-" + i, "order-" + i, OutboxStatus.PENDING));
+    }
+    store.append(createMessage("msg-fail", "order-x", OutboxStatus.PENDING));
+    store.append(createMessage("other-fail", "order-y", OutboxStatus.PENDING));
+
+    processor.processAll();
+
+    assertEquals(1, claims.get());
+    assertEquals(1, publishedBatches.get());
+    assertEquals(1, failedBatches.get());
+    assertEquals(5, store.countByStatus(OutboxStatus.PUBLISHED));
+    assertEquals(2, store.countByStatus(OutboxStatus.FAILED));
+    assertEquals(1, store.findById(new OutboxMessageId("msg-fail")).orElseThrow().attempts());
+  }
+
+  @Test
+  void shouldScheduleRetryAfterBackoff() {
+    var scheduled = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    publisher.shouldFail = true;
+    OutboxProcessorConfig config =
+        new OutboxProcessorConfig(10, 5, Duration.ofMinutes(1), Duration.ofMinutes(5), 2.0, false);
+    processor = new DefaultOutboxProcessor(scheduled, publisher, config, metrics);
+    scheduled.append(createMessage("msg-1", OutboxStatus.PENDING));
+
+    processor.processAll();
+    processor.processAll();
+
+    assertEquals(1, metrics.failedCount);
+    assertEquals(
+        OutboxStatus.FAILED, scheduled.findById(new OutboxMessageId("msg-1")).get().status());
+    assertTrue(scheduled.fetchDue(Instant.now(), 10).isEmpty());
+    assertEquals(1, scheduled.fetchDue(Instant.now().plus(Duration.ofMinutes(1)), 10).size());
+  }
+
+  @Test
+  void shouldKeepHealthyTopicsFlowingWhileAnotherTopicFails() {
+    var scheduled = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    List<String> attemptedTopics = new CopyOnWriteArrayList<>();
+    OutboundPublisher perTopic =
+        (topic, body, headers) -> {
+          attemptedTopics.add(topic);
+          if (topic.equals("payments")) {
+            throw new IllegalStateException("broker down");
+          }
+        };
+    processor =
+        new DefaultOutboxProcessor(scheduled, perTopic, OutboxProcessorConfig.defaults(), metrics);
+    for (int i = 0; i < 4; i++) {
+      scheduled.append(createTopicMessage("pay-" + i, "payments"));
+      scheduled.append(createTopicMessage("ord-" + i, "orders.created"));
+    }
+
+    processor.processAll();
+    processor.processAll();
+
+    assertEquals(2, attemptedTopics.stream().filter("payments"::equals).count());
+    assertEquals(4, scheduled.countByStatus(OutboxStatus.PUBLISHED));
+    assertEquals(2, scheduled.countByStatus(OutboxStatus.FAILED));
+    assertEquals(2, scheduled.countByStatus(OutboxStatus.PENDING));
+    assertEquals(0, scheduled.findById(new OutboxMessageId("pay-3")).orElseThrow().attempts());
+  }
+
+  @Test
+  void shouldRenewLeasesWhileWorkingThroughSlowBatch() {
+    var leased = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    for (int i = 0; i < 4; i++) {
+      leased.append(createMessage("msg-" + i, OutboxStatus.PENDING));
+    }
+    AtomicInteger reaped = new AtomicInteger();
+    OutboundPublisher slow =
+        (topic, body, headers) -> {
+          try {
+            Thread.sleep(30);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          reaped.addAndGet(leased.releaseExpiredLeases(Instant.now(), 10));
+        };
+    OutboxProcessorConfig config =
+        OutboxProcessorConfig.defaults().withLeaseDuration(Duration.ofMillis(50));
+
+    new DefaultOutboxProcessor(leased, slow, config, metrics).processAll();
+
+    assertEquals(0, reaped.get());
+    assertEquals(4, leased.countByStatus(OutboxStatus.PUBLISHED));
+  }
+
+  @Test
+  void shouldPipelineAsyncPublishesWithinInFlightWindow() {
+    var pipelined = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    for (int i = 0; i < 20; i++) {
+      pipelined.append(createMessage("msg-" + i, "order-" + (i % 8), OutboxStatus.PENDING));
+    }
+    DelayedAckPublisher broker = new DelayedAckPublisher(Set.of());
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withMaxInFlight(4);
+
+    try (broker) {
+      new DefaultOutboxProcessor(pipelined, broker, config, metrics).processBatch(20);
+    }
+
+    assertEquals(20, pipelined.countByStatus(OutboxStatus.PUBLISHED));
+    assertEquals(20, metrics.publishedCount);
+    assertTrue(broker.maxInFlight.get() <= 4);
+    assertTrue(broker.maxInFlight.get() > 1);
+  }
+
+  @Test
+  void shouldRecordFailedAcksFromAsyncPublisher() {
+    var pipelined = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    pipelined.append(createTopicMessage("ok-1", "orders.created"));
+    pipelined.append(createTopicMessage("nok-1", "payments"));
+    DelayedAckPublisher broker = new DelayedAckPublisher(Set.of("payments"));
+
+    try (broker) {
+      new DefaultOutboxProcessor(pipelined, broker, OutboxProcessorConfig.defaults(), metrics)
+          .processAll();
+    }
+
+    assertEquals(
+        OutboxStatus.PUBLISHED, pipelined.findById(new OutboxMessageId("ok-1")).get().status());
+    OutboxMessage failed = pipelined.findById(new OutboxMessageId("nok-1")).orElseThrow();
+    assertEquals(OutboxStatus.FAILED, failed.status());
+    assertEquals(1, failed.attempts());
+    assertEquals(1, metrics.failedCount);
+  }
+
+  @Test
+  void shouldDeferRestOfAggregateAfterFailure() {
+    var scheduled = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    List<String> attempted = new CopyOnWriteArrayList<>();
+    OutboundPublisher failFirst =
+        (topic, body, headers) -> {
+          attempted.add(headers.get("aggregateId") + "/" + headers.get("seq"));
+          if ("1".equals(headers.get("seq"))) {
+            throw new IllegalStateException("broker down");
+          }
+        };
+    processor =
+        new DefaultOutboxProcessor(scheduled, failFirst, OutboxProcessorConfig.defaults(), metrics);
+    scheduled.append(createMessage("a-1", "order-a", OutboxStatus.PENDING));
+    scheduled.append(createMessage("a-2", "order-a", OutboxStatus.PENDING));
+    scheduled.append(createMessage("b-2", "order-b", OutboxStatus.PENDING));
+
+    processor.processAll();
+
+    assertEquals(List.of("order-a/1", "order-b/2"), attempted);
+    assertEquals(
+        OutboxStatus.FAILED, scheduled.findById(new OutboxMessageId("a-1")).get().status());
+    OutboxMessage deferred = scheduled.findById(new OutboxMessageId("a-2")).orElseThrow();
+    assertEquals(OutboxStatus.PENDING, deferred.status());
+    assertEquals(0, deferred.attempts());
+    assertTrue(scheduled.fetchDue(Instant.now(), 10).isEmpty());
+  }
+
+  @Test
+  void shouldNotPipelineMessagesOfFailedAggregate() {
+    var pipelined = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    pipelined.append(createMessage("a-1", "order-a", OutboxStatus.PENDING));
+    pipelined.append(createMessage("a-2", "order-a", OutboxStatus.PENDING));
+    pipelined.append(createMessage("b-1", "order-b", OutboxStatus.PENDING));
+    List<String> sent = new CopyOnWriteArrayList<>();
+    AsyncOutboundPublisher broker =
+        (topic, body, headers) -> {
+          String id = headers.get("aggregateId") + "/" + headers.get("seq");
+          sent.add(id);
+          return id.equals("order-a/1")
+              ? CompletableFuture.failedFuture(new IllegalStateException("nack"))
+              : CompletableFuture.completedFuture(null);
+        };
+
+    new DefaultOutboxProcessor(pipelined, broker, OutboxProcessorConfig.defaults(), metrics)
+        .processAll();
+
+    assertFalse(sent.contains("order-a/2"));
+    assertTrue(sent.contains("order-b/1"));
+    assertEquals(
+        OutboxStatus.FAILED, pipelined.findById(new OutboxMessageId("a-1")).get().status());
+    assertEquals(
+        OutboxStatus.PENDING, pipelined.findById(new OutboxMessageId("a-2")).get().status());
+    assertEquals(
+        OutboxStatus.PUBLISHED, pipelined.findById(new OutboxMessageId("b-1")).get().status());
+  }
+
+  @Test
+  void shouldFailSendsWhoseAckNeverArrives() {
+    var pipelined = new com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository();
+    pipelined.append(createMessage("lost-1", "order-a", OutboxStatus.PENDING));
+    pipelined.append(createMessage("ok-1", "order-b", OutboxStatus.PENDING));
+    AsyncOutboundPublisher broker =
+        (topic, body, headers) ->
+            "order-a".equals(headers.get("aggregateId"))
+                ? new CompletableFuture<>()
+                : CompletableFuture.completedFuture(null);
+    OutboxProcessorConfig config =
+        OutboxProcessorConfig.defaults().withMaxInFlight(1).withAckTimeout(Duration.ofMillis(50));
+
+    DefaultOutboxProcessor timed = new DefaultOutboxProcessor(pipelined, broker, config, metrics);
+    timed.processAll();
+
+    OutboxMessage lost = pipelined.findById(new OutboxMessageId("lost-1")).orElseThrow();
+    assertEquals(OutboxStatus.FAILED, lost.status());
+    assertEquals(1, lost.attempts());
+    assertEquals(
+        OutboxStatus.PUBLISHED, pipelined.findById(new OutboxMessageId("ok-1")).get().status());
+    assertEquals(1, metrics.failedCount);
+  }
+
+  @Test
+  void shouldPublishAllMessagesWithParallelWorkers() {
+    ConcurrentOutboundPublisher concurrent = new ConcurrentOutboundPublisher();
+    ConcurrentWorkerMetrics workerMetrics = new ConcurrentWorkerMetrics();
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withConcurrency(4, true);
+
+    for (int i = 0; i < 40; i++) {
+      repository.append(createMessage("msg-" + i, "order-" + (i % 8), OutboxStatus.PENDING));
+    }
+
+    try (DefaultOutboxProcessor parallel =
+        new DefaultOutboxProcessor(repository, concurrent, config, workerMetrics)) {
+      parallel.processAll();
+    }
+
+    assertEquals(40, concurrent.published.size());
+    assertEquals(40, repository.countByStatus(OutboxStatus.PUBLISHED));
+    assertEquals(40, workerMetrics.processed.get());
+    assertTrue(workerMetrics.workerIds.stream().allMatch(id -> id >= 0 && id < 4));
+  }
+
+  @Test
+  void shouldPreserveOrderPerAggregateWithParallelWorkers() {
+    ConcurrentOutboundPublisher concurrent = new ConcurrentOutboundPublisher();
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withConcurrency(3, false);
+    OrderedOutboxRepository ordered = new OrderedOutboxRepository();
+
+    for (int i = 0; i < 30; i++) {
+      ordered.append(createMessage("msg-" + i, "order-" + (i % 5), OutboxStatus.PENDING));
+    }
+
+    try (DefaultOutboxProcessor parallel =
+        new DefaultOutboxProcessor(ordered, concurrent, config, metrics)) {
+      parallel.processAll();
+    }
+
+    Map<String, List<Integer>> sequenceByAggregate = new ConcurrentHashMap<>();
+    for (Map<String, String> headers : concurrent.published) {
+      sequenceByAggregate
+          .computeIfAbsent(headers.get("aggregateId"), k -> new ArrayList<>())
+          .add(Integer.parseInt(headers.get("seq")));
+    }
+    assertEquals(5, sequenceByAggregate.size());
+    sequenceByAggregate.values().forEach(seq -> assertEquals(seq.stream().sorted().toList(), seq));
+  }
+
+  @Test
+  void shouldRecordWorkerOutcomesInsideTransactions() {
+    ThreadLocal<Boolean> inTransaction = ThreadLocal.withInitial(() -> false);
+    AtomicInteger transactions = new AtomicInteger();
+    OutboxTransactionRunner runner =
+        new OutboxTransactionRunner() {
+          @Override
+          public <T> T inTransaction(Supplier<T> work) {
+            transactions.incrementAndGet();
+            inTransaction.set(true);
+            try {
+              return work.get();
+            } finally {
+              inTransaction.set(false);
+            }
+          }
+        };
+    List<String> outsideTransaction = new CopyOnWriteArrayList<>();
+    InMemoryOutboxRepository transactional =
+        new InMemoryOutboxRepository() {
+          @Override
+          public int markPublishedBatch(
+              String owner, Collection<OutboxMessageId> ids, Instant publishedAt) {
+            if (!inTransaction.get()) {
+              outsideTransaction.add(Thread.currentThread().getName());
+            }
+            return super.markPublishedBatch(owner, ids, publishedAt);
+          }
+        };
+    for (int i = 0; i < 20; i++) {
+      transactional.append(createMessage("msg-" + i, "order-" + (i % 4), OutboxStatus.PENDING));
+    }
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withConcurrency(2, false);
+
+    try (DefaultOutboxProcessor parallel =
+        new DefaultOutboxProcessor(
+            transactional, new ConcurrentOutboundPublisher(), config, metrics, runner)) {
+      parallel.processAll();
+    }
+
+    assertEquals(20, transactional.countByStatus(OutboxStatus.PUBLISHED));
+    assertTrue(outsideTransaction.isEmpty(), "Outcomes recorded outside a transaction");
+    assertTrue(transactions.get() >= 3, "Claim plus one outcome update per worker");
+  }
+
+  private OutboxMessage createMessage(String id, String aggregateId, OutboxStatus status) {
+    return new OutboxMessage(
+        new OutboxMessageId(id),
+        "Order",
+        aggregateId,
+        "OrderCreated",
+        "orders.created",
+        new OutboxPayload("application/json", new byte[0]),
+        Map.of("aggregateId", aggregateId, "seq", id.substring(id.indexOf('-') + 1)),
+        Instant.now(),
+        status,
+        0);
+  }
+
+  private OutboxMessage createTopicMessage(String id, String topic) {
+    return new OutboxMessage(
+        new OutboxMessageId(id),
+        "Order",
+        "order-" + id,
+        "OrderCreated",
+        topic,
+        new OutboxPayload("application/json", new byte[0]),
+        Map.of(),
+        Instant.now(),
+        OutboxStatus.PENDING,
+        0);
+  }
+
   private OutboxMessage createMessage(String id, OutboxStatus status) {
     return new OutboxMessage(
         new OutboxMessageId(id),
@@ -397,6 +776,92 @@ class DefaultOutboxProcessorTest {
     }
   }
 
+  /** Repository that hands out PENDING messages in insertion order. */
+  static class OrderedOutboxRepository extends InMemoryOutboxRepository {
+    private final List<OutboxMessageId> insertionOrder = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void append(OutboxMessage message) {
+      super.append(message);
+      insertionOrder.add(message.id());
+    }
+
+    @Override
+    public List<OutboxMessage> fetchBatch(OutboxStatus status, int limit) {
+      return insertionOrder.stream()
+          .map(id -> findById(id).orElseThrow())
+          .filter(msg -> msg.status() == status)
+          .limit(limit)
+          .toList();
+    }
+  }
+
+  static class ConcurrentOutboundPublisher implements OutboundPublisher {
+    final List<Map<String, String>> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String topic, byte[] body, Map<String, String> headers) {
+      published.add(headers);
+    }
+  }
+
+  static class ConcurrentWorkerMetrics extends TestOutboxMetrics {
+    final AtomicInteger processed = new AtomicInteger();
+    final Set<Integer> workerIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public synchronized void recordPublished(String topic) {
+      super.recordPublished(topic);
+    }
+
+    @Override
+    public synchronized void recordLatency(String topic, long durationMillis) {
+      super.recordLatency(topic, durationMillis);
+    }
+
+    @Override
+    public void recordWorkerThroughput(int workerId, int processed, long durationMillis) {
+      this.processed.addAndGet(processed);
+      workerIds.add(workerId);
+    }
+  }
+
+  /** Broker stub that acknowledges each send on another thread after a short delay. */
+  static class DelayedAckPublisher implements AsyncOutboundPublisher, AutoCloseable {
+    private final Set<String> failingTopics;
+    private final ScheduledExecutorService acker = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    DelayedAckPublisher(Set<String> failingTopics) {
+      this.failingTopics = failingTopics;
+    }
+
+    @Override
+    public CompletionStage<Void> publishAsync(
+        String topic, byte[] body, Map<String, String> headers) {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      CompletableFuture<Void> ack = new CompletableFuture<>();
+      acker.schedule(
+          () -> {
+            inFlight.decrementAndGet();
+            if (failingTopics.contains(topic)) {
+              ack.completeExceptionally(new IllegalStateException("nack"));
+            } else {
+              ack.complete(null);
+            }
+          },
+          5,
+          TimeUnit.MILLISECONDS);
+      return ack;
+    }
+
+    @Override
+    public void close() {
+      acker.shutdownNow();
+    }
+  }
+
   static class TestOutboundPublisher implements OutboundPublisher {
     int publishedCount = 0;
     boolean shouldFail = false;
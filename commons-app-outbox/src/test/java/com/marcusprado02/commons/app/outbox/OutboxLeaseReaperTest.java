@@ -0,0 +1,133 @@
+package com.marcusprado02.commons.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
+import com.marcusprado02.commons.app.outbox.model.OutboxPayload;
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutboxLeaseReaperTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final Duration LEASE = Duration.ofMinutes(5);
+
+  private InMemoryOutboxRepository repository;
+  private ReleasedCounter metrics;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryOutboxRepository();
+    metrics = new ReleasedCounter();
+  }
+
+  @Test
+  void shouldReleaseExpiredLeasesInChunks() {
+    for (int i = 0; i < 5; i++) {
+      repository.append(createMessage("msg-" + i));
+    }
+    repository.claimBatch("crashed-worker", 5, NOW.minus(LEASE.multipliedBy(2)), LEASE);
+    OutboxLeaseReaper reaper = reaper(2);
+
+    assertEquals(5, reaper.countStuck());
+    assertEquals(5, reaper.reap());
+
+    assertEquals(0, reaper.countStuck());
+    assertEquals(5, repository.countByStatus(OutboxStatus.PENDING));
+    assertEquals(5, metrics.released);
+  }
+
+  @Test
+  void shouldLeaveLiveClaimsAlone() {
+    repository.append(createMessage("msg-1"));
+    repository.claimBatch("live-worker", 1, NOW, LEASE);
+
+    assertEquals(0, reaper(10).reap());
+
+    assertEquals(1, repository.countByStatus(OutboxStatus.PROCESSING));
+    assertEquals(0, metrics.released);
+  }
+
+  @Test
+  void shouldReleaseEachChunkInItsOwnTransaction() {
+    for (int i = 0; i < 5; i++) {
+      repository.append(createMessage("msg-" + i));
+    }
+    repository.claimBatch("crashed-worker", 5, NOW.minus(LEASE.multipliedBy(2)), LEASE);
+    List<Integer> committedChunks = new ArrayList<>();
+    OutboxTransactionRunner transactions =
+        new OutboxTransactionRunner() {
+          @Override
+          public <T> T inTransaction(Supplier<T> work) {
+            T result = work.get();
+            committedChunks.add((Integer) result);
+            return result;
+          }
+        };
+
+    new OutboxLeaseReaper(repository, metrics, 2, Clock.fixed(NOW, ZoneOffset.UTC), transactions)
+        .reap();
+
+    assertEquals(List.of(2, 2, 1), committedChunks);
+  }
+
+  @Test
+  void shouldRejectNonPositiveBatchSize() {
+    assertThrows(IllegalArgumentException.class, () -> reaper(0));
+  }
+
+  private OutboxLeaseReaper reaper(int batchSize) {
+    return new OutboxLeaseReaper(repository, metrics, batchSize, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private static OutboxMessage createMessage(String id) {
+    return new OutboxMessage(
+        new OutboxMessageId(id),
+        "Order",
+        "order-1",
+        "OrderCreated",
+        "orders.created",
+        new OutboxPayload("application/json", new byte[0]),
+        Map.of(),
+        NOW.minus(Duration.ofHours(1)),
+        OutboxStatus.PENDING,
+        0);
+  }
+
+  private static final class ReleasedCounter implements OutboxMetrics {
+    int released;
+
+    @Override
+    public void recordPublished(String topic) {}
+
+    @Override
+    public void recordFailed(String topic, String reason) {}
+
+    @Override
+    public void recordDead(String topic) {}
+
+    @Override
+    public void recordLatency(String topic, long durationMillis) {}
+
+    @Override
+    public void recordBatchProcessing(int batchSize, long durationMillis) {}
+
+    @Override
+    public void recordLeasesReleased(int count) {
+      released += count;
+    }
+  }
+}
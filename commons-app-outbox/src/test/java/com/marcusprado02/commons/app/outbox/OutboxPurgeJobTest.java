@@ -0,0 +1,208 @@
+package com.marcusprado02.commons.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.marcusprado02.commons.app.outbox.config.OutboxPurgeConfig;
+import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
+import com.marcusprado02.commons.app.outbox.model.OutboxPayload;
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.port.OutboxArchivePort;
+import com.marcusprado02.commons.app.outbox.port.OutboxPartitionPort;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutboxPurgeJobTest {
+
+  private static final Instant NOW = Instant.parse("2026-01-10T12:00:00Z");
+  private static final Duration RETENTION = Duration.ofDays(7);
+
+  private InMemoryOutboxRepository repository;
+  private PurgeCounter metrics;
+
+  @BeforeEach
+  void setUp() {
+    repository = new InMemoryOutboxRepository();
+    metrics = new PurgeCounter();
+  }
+
+  @Test
+  void shouldDeleteExpiredMessagesInChunks() {
+    publish(5, NOW.minus(RETENTION).minusSeconds(60));
+    publish(2, NOW.minus(Duration.ofDays(1)));
+
+    int purged = job(2, null, null).purge();
+
+    assertEquals(5, purged);
+    assertEquals(List.of(2, 2, 1), metrics.chunks);
+    assertEquals(2, repository.countByStatus(OutboxStatus.PUBLISHED));
+  }
+
+  @Test
+  void shouldArchiveBeforeDeleting() {
+    publish(3, NOW.minus(RETENTION).minusSeconds(60));
+    List<OutboxMessage> archived = new ArrayList<>();
+
+    int purged = job(10, archived::addAll, null).purge();
+
+    assertEquals(3, purged);
+    assertEquals(3, archived.size());
+    assertEquals(3, metrics.archived);
+    assertEquals(0, repository.countByStatus(OutboxStatus.PUBLISHED));
+  }
+
+  @Test
+  void shouldKeepChunkWhenArchiveFails() {
+    publish(2, NOW.minus(RETENTION).minusSeconds(60));
+
+    OutboxPurgeJob job =
+        job(
+            10,
+            messages -> {
+              throw new IllegalStateException("archive unavailable");
+            },
+            null);
+
+    assertThrows(IllegalStateException.class, job::purge);
+    assertEquals(2, repository.countByStatus(OutboxStatus.PUBLISHED));
+  }
+
+  @Test
+  void shouldRunEachChunkInItsOwnTransaction() {
+    publish(5, NOW.minus(RETENTION).minusSeconds(60));
+    List<Integer> committedChunks = new ArrayList<>();
+    OutboxTransactionRunner transactions =
+        new OutboxTransactionRunner() {
+          @Override
+          public <T> T inTransaction(Supplier<T> work) {
+            T result = work.get();
+            committedChunks.add((Integer) result);
+            return result;
+          }
+        };
+
+    new OutboxPurgeJob(
+            repository,
+            new OutboxPurgeConfig(RETENTION, 2, 0),
+            null,
+            null,
+            metrics,
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            transactions)
+        .purge();
+
+    assertEquals(List.of(2, 2, 1), committedChunks);
+  }
+
+  @Test
+  void shouldDropExpiredPartitionsBeforePurgingRows() {
+    List<Instant> cutoffs = new ArrayList<>();
+    OutboxPartitionPort partitions =
+        new OutboxPartitionPort() {
+          @Override
+          public int ensurePartitions(Instant from, Instant until) {
+            return 0;
+          }
+
+          @Override
+          public List<String> dropPartitionsOlderThan(Instant olderThan) {
+            cutoffs.add(olderThan);
+            return List.of("commons_outbox_p20260101", "commons_outbox_p20260102");
+          }
+        };
+
+    job(10, null, partitions).purge();
+
+    assertEquals(List.of(NOW.minus(RETENTION)), cutoffs);
+    assertEquals(2, metrics.partitionsDropped);
+  }
+
+  @Test
+  void shouldPaceChunksToRateLimit() {
+    assertEquals(500, OutboxPurgeJob.pauseMillis(1000, 0, 2000));
+    assertEquals(300, OutboxPurgeJob.pauseMillis(1000, 200, 2000));
+    assertEquals(0, OutboxPurgeJob.pauseMillis(1000, 800, 2000));
+    assertEquals(0, OutboxPurgeJob.pauseMillis(1000, 0, 0));
+  }
+
+  private OutboxPurgeJob job(
+      int batchSize, OutboxArchivePort archive, OutboxPartitionPort partitions) {
+    return new OutboxPurgeJob(
+        repository,
+        new OutboxPurgeConfig(RETENTION, batchSize, 0),
+        archive,
+        partitions,
+        metrics,
+        Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private void publish(int count, Instant publishedAt) {
+    List<OutboxMessageId> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      OutboxMessage message = createMessage("msg-" + publishedAt.toEpochMilli() + "-" + i);
+      repository.append(message);
+      ids.add(message.id());
+    }
+    repository.claimBatch("worker", count, publishedAt, Duration.ofMinutes(1));
+    repository.markPublishedBatch("worker", ids, publishedAt);
+  }
+
+  private static OutboxMessage createMessage(String id) {
+    return new OutboxMessage(
+        new OutboxMessageId(id),
+        "Order",
+        "order-1",
+        "OrderCreated",
+        "orders.created",
+        new OutboxPayload("application/json", new byte[0]),
+        Map.of(),
+        NOW.minus(Duration.ofDays(30)),
+        OutboxStatus.PENDING,
+        0);
+  }
+
+  private static final class PurgeCounter implements OutboxMetrics {
+    final List<Integer> chunks = new ArrayList<>();
+    int archived;
+    int partitionsDropped;
+
+    @Override
+    public void recordPublished(String topic) {}
+
+    @Override
+    public void recordFailed(String topic, String reason) {}
+
+    @Override
+    public void recordDead(String topic) {}
+
+    @Override
+    public void recordLatency(String topic, long durationMillis) {}
+
+    @Override
+    public void recordBatchProcessing(int batchSize, long durationMillis) {}
+
+    @Override
+    public void recordPurged(int count, boolean archived) {
+      chunks.add(count);
+      if (archived) {
+        this.archived += count;
+      }
+    }
+
+    @Override
+    public void recordPartitionsDropped(int count) {
+      partitionsDropped += count;
+    }
+  }
+}
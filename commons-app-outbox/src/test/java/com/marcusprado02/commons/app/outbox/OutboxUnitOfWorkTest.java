@@ -0,0 +1,187 @@
+package com.marcusprado02.commons.app.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
+import com.marcusprado02.commons.kernel.ddd.audit.ActorId;
+import com.marcusprado02.commons.kernel.ddd.audit.AuditStamp;
+import com.marcusprado02.commons.kernel.ddd.context.CorrelationProvider;
+import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
+import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
+import com.marcusprado02.commons.kernel.ddd.event.EventId;
+import com.marcusprado02.commons.kernel.ddd.event.EventMetadata;
+import com.marcusprado02.commons.kernel.ddd.tenant.TenantId;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutboxUnitOfWorkTest {
+
+  private InMemoryOutboxRepository store;
+  private List<List<OutboxMessage>> batches;
+  private AtomicInteger enrichments;
+  private AtomicInteger notified;
+  private DefaultOutboxPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    store = new InMemoryOutboxRepository();
+    batches = new ArrayList<>();
+    enrichments = new AtomicInteger();
+    notified = new AtomicInteger();
+    OutboxMetadataEnricher enricher =
+        new OutboxMetadataEnricher(
+            () -> {
+              enrichments.incrementAndGet();
+              return TenantId.of("acme");
+            },
+            new CorrelationProvider() {
+              @Override
+              public String correlationId() {
+                return "corr-1";
+              }
+
+              @Override
+              public String causationId() {
+                return "cause-1";
+              }
+            },
+            ActorId::system);
+    publisher =
+        new DefaultOutboxPublisher(
+            recordingBatches(),
+            event -> "{\"id\":\"" + ((DomainEvent) event).aggregateId() + "\"}",
+            enricher,
+            Instant::now,
+            notified::addAndGet);
+  }
+
+  @Test
+  void shouldAppendEventsOfAllTrackedAggregatesInOneBatch() {
+    OutboxUnitOfWork unitOfWork = new OutboxUnitOfWork(publisher);
+    TestAggregate order = unitOfWork.track(aggregate("order-1"));
+    TestAggregate customer = unitOfWork.track(aggregate("customer-1"));
+    order.change();
+    order.change();
+    customer.change();
+
+    unitOfWork.flush();
+
+    assertEquals(1, batches.size());
+    List<OutboxMessage> batch = batches.get(0);
+    assertEquals(3, batch.size());
+    assertEquals("order-1", batch.get(0).aggregateId());
+    assertEquals("customer-1", batch.get(2).aggregateId());
+    assertEquals(
+        "{\"id\":\"customer-1\"}",
+        new String(batch.get(2).payload().body(), StandardCharsets.UTF_8));
+    assertSame(batch.get(0).headers(), batch.get(2).headers());
+    assertEquals(1, enrichments.get());
+    assertEquals(3, notified.get());
+    assertEquals(0, unitOfWork.size());
+    assertTrue(order.peekDomainEvents().isEmpty());
+  }
+
+  @Test
+  void shouldTrackEachAggregateOnce() {
+    OutboxUnitOfWork unitOfWork = new OutboxUnitOfWork(publisher);
+    TestAggregate order = aggregate("order-1");
+    unitOfWork.track(order);
+    unitOfWork.track(order);
+    order.change();
+
+    assertEquals(1, unitOfWork.size());
+    unitOfWork.flush();
+
+    assertEquals(1, batches.get(0).size());
+  }
+
+  @Test
+  void shouldNotAppendWhenNoEventsArePending() {
+    OutboxUnitOfWork unitOfWork = new OutboxUnitOfWork(publisher);
+    unitOfWork.track(aggregate("order-1"));
+
+    unitOfWork.flush();
+
+    assertTrue(batches.isEmpty());
+    assertEquals(0, enrichments.get());
+    assertEquals(0, notified.get());
+  }
+
+  @Test
+  void shouldDropTrackedAggregatesOnClear() {
+    OutboxUnitOfWork unitOfWork = new OutboxUnitOfWork(publisher);
+    unitOfWork.track(aggregate("order-1")).change();
+
+    unitOfWork.clear();
+    unitOfWork.flush();
+
+    assertTrue(batches.isEmpty());
+  }
+
+  private static TestAggregate aggregate(String id) {
+    return new TestAggregate(id);
+  }
+
+  static final class TestAggregate extends AggregateRoot<String> {
+    TestAggregate(String id) {
+      super(id, TenantId.of("acme"), AuditStamp.of(Instant.now(), ActorId.system()));
+    }
+
+    void change() {
+      recordEvent(new TestEvent(id()));
+    }
+  }
+
+  record TestEvent(EventId eventId, Instant occurredAt, String aggregateId) implements DomainEvent {
+    TestEvent(String aggregateId) {
+      this(EventId.newId(), Instant.now(), aggregateId);
+    }
+
+    @Override
+    public String aggregateType() {
+      return "TestAggregate";
+    }
+
+    @Override
+    public long aggregateVersion() {
+      return 0;
+    }
+
+    @Override
+    public EventMetadata metadata() {
+      return EventMetadata.empty();
+    }
+  }
+
+  /** Records each {@code appendAll} batch before storing it. */
+  private OutboxRepositoryPort recordingBatches() {
+    return (OutboxRepositoryPort)
+        Proxy.newProxyInstance(
+            OutboxRepositoryPort.class.getClassLoader(),
+            new Class<?>[] {OutboxRepositoryPort.class},
+            (proxy, method, args) -> {
+              if (method.getName().equals("appendAll")) {
+                @SuppressWarnings("unchecked")
+                Collection<OutboxMessage> messages = (Collection<OutboxMessage>) args[0];
+                batches.add(List.copyOf(messages));
+              }
+              try {
+                return method.invoke(store, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+  }
+}
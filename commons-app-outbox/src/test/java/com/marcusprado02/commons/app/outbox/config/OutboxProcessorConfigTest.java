@@ -3,6 +3,7 @@ package com.marcusprado02.commons.app.outbox.config;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Duration;
 import org.junit.jupiter.api.Test;
@@ -82,4 +83,29 @@ class OutboxProcessorConfigTest {
             new OutboxProcessorConfig(
                 100, 5, Duration.ofSeconds(1), Duration.ofMinutes(5), 0.5, false));
   }
+
+  @Test
+  void shouldDefaultToSequentialProcessing() {
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults();
+
+    assertEquals(OutboxProcessorConfig.DEFAULT_CONCURRENCY, config.concurrency());
+    assertFalse(config.isParallel());
+  }
+
+  @Test
+  void shouldCreateParallelConfig() {
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withConcurrency(8, false);
+
+    assertEquals(8, config.concurrency());
+    assertFalse(config.useVirtualThreads());
+    assertTrue(config.isParallel());
+    assertEquals(OutboxProcessorConfig.DEFAULT_BATCH_SIZE, config.batchSize());
+  }
+
+  @Test
+  void shouldRejectInvalidConcurrency() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> OutboxProcessorConfig.defaults().withConcurrency(0, true));
+  }
 }
@@ -1,6 +1,8 @@
 package com.marcusprado02.commons.app.outbox.retry;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
@@ -58,4 +60,25 @@ class ExponentialBackoffStrategyTest {
     long delay = strategy.calculateDelayMillis(0);
     assertTrue(delay > 0);
   }
+
+  @Test
+  void shouldKeepJitteredRetryWithinJitterWindow() {
+    ExponentialBackoffStrategy strategy =
+        new ExponentialBackoffStrategy(Duration.ofSeconds(1), Duration.ofMinutes(5), 2.0, 0.5);
+    Instant base = Instant.parse("2026-02-13T10:00:00Z");
+
+    for (int i = 0; i < 100; i++) {
+      Instant next = strategy.calculateJitteredRetry(2, base);
+      assertFalse(next.isBefore(base.plusSeconds(2)));
+      assertFalse(next.isAfter(base.plusSeconds(4)));
+    }
+  }
+
+  @Test
+  void shouldRejectJitterOutsideUnitRange() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            new ExponentialBackoffStrategy(Duration.ofSeconds(1), Duration.ofMinutes(5), 2.0, 1.5));
+  }
 }
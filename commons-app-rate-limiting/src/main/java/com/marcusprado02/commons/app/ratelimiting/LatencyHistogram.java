@@ -0,0 +1,109 @@
+package com.marcusprado02.commons.app.ratelimiting;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with bounded relative error, in the style of HdrHistogram.
+ *
+ * <p>Values are recorded in nanoseconds into log-linear buckets: values below 32 are counted
+ * exactly, and every power-of-two range above is split into 32 equal buckets, so any reported
+ * quantile is within about 3% of the true value. The whole {@code long} range fits in a fixed
+ * array, so recording is one index computation, one atomic increment and two striped additions,
+ * with no allocation and no lock.
+ *
+ * <p>Quantiles are computed from a consistent-enough view of the counts: values recorded while a
+ * quantile is being read may or may not be included.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos latency in nanoseconds; negative values are recorded as zero
+   */
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    counts.incrementAndGet(indexOf(value));
+    count.increment();
+    sum.add(value);
+  }
+
+  /** Gets the number of recorded values. */
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * Gets the mean of recorded values.
+   *
+   * @return mean in nanoseconds, or {@code 0} if nothing was recorded
+   */
+  public double mean() {
+    long n = count.sum();
+    return n == 0 ? 0.0 : (double) sum.sum() / n;
+  }
+
+  /**
+   * Gets the value below which the given fraction of recorded values fall.
+   *
+   * @param quantile fraction between 0.0 and 1.0, e.g. {@code 0.99} for p99
+   * @return value in nanoseconds, or {@code 0} if nothing was recorded
+   * @throws IllegalArgumentException if quantile is outside [0.0, 1.0]
+   */
+  public long valueAtQuantile(double quantile) {
+    if (quantile < 0.0 || quantile > 1.0) {
+      throw new IllegalArgumentException("Quantile must be between 0.0 and 1.0");
+    }
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return midpointOf(i);
+      }
+    }
+    return midpointOf(BUCKETS - 1);
+  }
+
+  /** Clears all recorded values. */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+  }
+
+  static long midpointOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+    return lowest + ((1L << shift) >>> 1);
+  }
+}
@@ -0,0 +1,28 @@
+package com.marcusprado02.commons.app.ratelimiting;
+
+/**
+ * Algorithm a rate limiter uses to enforce a {@link RateLimitConfig}.
+ *
+ * <p>All three admit at most {@link RateLimitConfig#getCapacity()} tokens at once and sustain
+ * {@link RateLimitConfig#getRatePerSecond()} over time; they differ in state kept per key and in
+ * how admissions are spread within a window.
+ */
+public enum RateLimitAlgorithm {
+
+  /** Token bucket with greedy refill: bursts up to the capacity, then the refill rate. */
+  TOKEN_BUCKET,
+
+  /**
+   * Generic cell rate algorithm: keeps only the theoretical arrival time per key. Admits exactly
+   * what {@link #TOKEN_BUCKET} admits, with the least state, and is evaluated natively by the
+   * distributed limiters, including batches of keys in one round trip.
+   */
+  GCRA,
+
+  /**
+   * Sliding window counter: at most the capacity in any window of {@code capacity / rate},
+   * estimated from the current and previous fixed windows. Smooths out the burst a token bucket
+   * allows right after refilling.
+   */
+  SLIDING_WINDOW
+}
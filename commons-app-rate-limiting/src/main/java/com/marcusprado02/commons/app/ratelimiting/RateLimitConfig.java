@@ -30,18 +30,52 @@ import java.util.Objects;
  *     .refillRate(10)
  *     .refillPeriod(Duration.ofMinutes(1))
  *     .build();
+ *
+ * // 1000 requests per second shared by all nodes, each leasing 100 at a time
+ * RateLimitConfig config = RateLimitConfig.builder()
+ *     .capacity(1000)
+ *     .refillRate(1000)
+ *     .refillPeriod(Duration.ofSeconds(1))
+ *     .leaseFraction(0.1)
+ *     .leaseDuration(Duration.ofMillis(500))
+ *     .build();
  * }</pre>
+ *
+ * <p><strong>Leasing</strong> applies to distributed rate limiters. With a lease fraction above
+ * zero, each node takes that share of the capacity from the shared store in one round trip and
+ * serves requests for the key locally until the lease is used up or expires, refreshing it in the
+ * background as it runs low. Larger leases and longer lease durations save more round trips; the
+ * price is accuracy, as up to one lease per node may be admitted late, or forfeited unused when it
+ * expires. Leasing is off by default.
+ *
+ * <p>The {@linkplain RateLimitAlgorithm algorithm} defaults to {@link
+ * RateLimitAlgorithm#TOKEN_BUCKET}.
  */
 public class RateLimitConfig {
 
+  /** Lease duration used when leasing is enabled without one. */
+  public static final Duration DEFAULT_LEASE_DURATION = Duration.ofSeconds(1);
+
   private final long capacity;
   private final long refillRate;
   private final Duration refillPeriod;
+  private final double leaseFraction;
+  private final Duration leaseDuration;
+  private final RateLimitAlgorithm algorithm;
 
-  private RateLimitConfig(long capacity, long refillRate, Duration refillPeriod) {
+  private RateLimitConfig(
+      long capacity,
+      long refillRate,
+      Duration refillPeriod,
+      double leaseFraction,
+      Duration leaseDuration,
+      RateLimitAlgorithm algorithm) {
     this.capacity = capacity;
     this.refillRate = refillRate;
     this.refillPeriod = refillPeriod;
+    this.leaseFraction = leaseFraction;
+    this.leaseDuration = leaseDuration;
+    this.algorithm = algorithm;
   }
 
   /**
@@ -146,6 +180,38 @@ public class RateLimitConfig {
     return refillPeriod;
   }
 
+  /** Gets the algorithm used to enforce this configuration. */
+  public RateLimitAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  /** Gets the share of the capacity each node leases at a time; {@code 0} disables leasing. */
+  public double getLeaseFraction() {
+    return leaseFraction;
+  }
+
+  /** Gets how long leased tokens may be served locally before they are forfeited. */
+  public Duration getLeaseDuration() {
+    return leaseDuration;
+  }
+
+  /** Returns whether nodes lease tokens instead of consuming them from the store one by one. */
+  public boolean isLeasingEnabled() {
+    return leaseFraction > 0;
+  }
+
+  /**
+   * Calculates the number of tokens leased at a time.
+   *
+   * @return tokens per lease, at least 1 when leasing is enabled, or 0 when it is disabled
+   */
+  public long getLeaseSize() {
+    if (!isLeasingEnabled()) {
+      return 0;
+    }
+    return Math.max(1, (long) (capacity * leaseFraction));
+  }
+
   /**
    * Calculates the refill rate per second.
    *
@@ -184,19 +250,31 @@ public class RateLimitConfig {
     RateLimitConfig that = (RateLimitConfig) o;
     return capacity == that.capacity
         && refillRate == that.refillRate
-        && Objects.equals(refillPeriod, that.refillPeriod);
+        && Objects.equals(refillPeriod, that.refillPeriod)
+        && Double.compare(leaseFraction, that.leaseFraction) == 0
+        && Objects.equals(leaseDuration, that.leaseDuration)
+        && algorithm == that.algorithm;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(capacity, refillRate, refillPeriod);
+    return Objects.hash(
+        capacity, refillRate, refillPeriod, leaseFraction, leaseDuration, algorithm);
   }
 
   @Override
   public String toString() {
+    String algorithmPart =
+        algorithm == RateLimitAlgorithm.TOKEN_BUCKET ? "" : ", algorithm=" + algorithm;
+    if (!isLeasingEnabled()) {
+      return String.format(
+          "RateLimitConfig{capacity=%d, refillRate=%d, refillPeriod=%s%s}",
+          capacity, refillRate, refillPeriod, algorithmPart);
+    }
     return String.format(
-        "RateLimitConfig{capacity=%d, refillRate=%d, refillPeriod=%s}",
-        capacity, refillRate, refillPeriod);
+        "RateLimitConfig{capacity=%d, refillRate=%d, refillPeriod=%s, leaseFraction=%s,"
+            + " leaseDuration=%s%s}",
+        capacity, refillRate, refillPeriod, leaseFraction, leaseDuration, algorithmPart);
   }
 
   /** Builder for {@link RateLimitConfig}. */
@@ -204,6 +282,9 @@ public class RateLimitConfig {
     private long capacity;
     private long refillRate;
     private Duration refillPeriod;
+    private double leaseFraction;
+    private Duration leaseDuration = DEFAULT_LEASE_DURATION;
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
 
     private Builder() {}
 
@@ -249,6 +330,48 @@ public class RateLimitConfig {
       return this;
     }
 
+    /**
+     * Sets the algorithm used to enforce the limit.
+     *
+     * @param algorithm rate limiting algorithm (defaults to token bucket)
+     * @return this builder
+     */
+    public Builder algorithm(RateLimitAlgorithm algorithm) {
+      if (algorithm == null) {
+        throw new IllegalArgumentException("Algorithm must not be null");
+      }
+      this.algorithm = algorithm;
+      return this;
+    }
+
+    /**
+     * Sets the share of the capacity each node leases from the shared store at a time.
+     *
+     * @param leaseFraction fraction between 0.0 (no leasing, the default) and 1.0
+     * @return this builder
+     */
+    public Builder leaseFraction(double leaseFraction) {
+      if (!(leaseFraction >= 0.0 && leaseFraction <= 1.0)) {
+        throw new IllegalArgumentException("Lease fraction must be between 0.0 and 1.0");
+      }
+      this.leaseFraction = leaseFraction;
+      return this;
+    }
+
+    /**
+     * Sets how long leased tokens may be served locally before they are forfeited.
+     *
+     * @param leaseDuration lease duration (must be positive)
+     * @return this builder
+     */
+    public Builder leaseDuration(Duration leaseDuration) {
+      if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero()) {
+        throw new IllegalArgumentException("Lease duration must be positive");
+      }
+      this.leaseDuration = leaseDuration;
+      return this;
+    }
+
     /**
      * Builds the rate limit configuration.
      *
@@ -265,7 +388,8 @@ public class RateLimitConfig {
       if (refillPeriod == null) {
         throw new IllegalStateException("Refill period must be set");
       }
-      return new RateLimitConfig(capacity, refillRate, refillPeriod);
+      return new RateLimitConfig(
+          capacity, refillRate, refillPeriod, leaseFraction, leaseDuration, algorithm);
     }
   }
 }
@@ -1,5 +1,7 @@
 package com.marcusprado02.commons.app.ratelimiting;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -36,6 +38,10 @@ import java.util.concurrent.CompletableFuture;
  *
  * // Check capacity without consuming
  * RateLimitResult result = rateLimiter.probe("user789");
+ *
+ * // Several limits at once: user, tenant and route
+ * Map<String, RateLimitResult> results = rateLimiter.tryConsumeAll(
+ *     Map.of("user:123", 1L, "tenant:acme", 1L, "route:/orders", 1L));
  * }</pre>
  */
 public interface RateLimiter {
@@ -68,6 +74,64 @@ public interface RateLimiter {
    */
   RateLimitResult tryConsume(String key, long tokens);
 
+  /**
+   * Attempts to consume a single token, reporting only whether it was allowed.
+   *
+   * @param key unique identifier for the rate limiting bucket
+   * @return {@code true} if the token was consumed
+   */
+  default boolean tryAcquire(String key) {
+    return tryAcquire(key, 1);
+  }
+
+  /**
+   * Attempts to consume the specified number of tokens, reporting only whether they were allowed.
+   *
+   * <p>Same semantics as {@link #tryConsume(String, long)} for callers that do not need the
+   * remaining capacity. Implementations may answer without building a {@link RateLimitResult},
+   * which makes this the cheapest way to guard a hot path.
+   *
+   * @param key unique identifier for the rate limiting bucket
+   * @param tokens number of tokens to consume (must be > 0)
+   * @return {@code true} if the tokens were consumed
+   * @throws IllegalArgumentException if tokens <= 0
+   */
+  default boolean tryAcquire(String key, long tokens) {
+    return tryConsume(key, tokens).isAllowed();
+  }
+
+  /**
+   * Attempts to consume tokens from several buckets in one call.
+   *
+   * <p>The request is allowed only if every bucket can supply its tokens. Implementations that
+   * support it treat the call as a unit: if any bucket is rejected, no tokens are consumed from any
+   * bucket and every result is rejected. Distributed implementations may also check all buckets in
+   * a single round trip. The default implementation consumes bucket by bucket in iteration order
+   * and stops at the first rejection, keeping the tokens already consumed from earlier buckets.
+   *
+   * @param tokensByKey tokens to consume per bucket key (each must be > 0)
+   * @return result per key, in the iteration order of the argument; the request is allowed if all
+   *     results present are allowed
+   * @throws IllegalArgumentException if the map is empty, or a key or token count is invalid
+   */
+  default Map<String, RateLimitResult> tryConsumeAll(Map<String, Long> tokensByKey) {
+    if (tokensByKey == null || tokensByKey.isEmpty()) {
+      throw new IllegalArgumentException("Keys cannot be null or empty");
+    }
+    Map<String, RateLimitResult> results = new LinkedHashMap<>();
+    for (Map.Entry<String, Long> entry : tokensByKey.entrySet()) {
+      if (entry.getValue() == null) {
+        throw new IllegalArgumentException("Tokens must be positive");
+      }
+      RateLimitResult result = tryConsume(entry.getKey(), entry.getValue());
+      results.put(entry.getKey(), result);
+      if (!result.isAllowed()) {
+        break;
+      }
+    }
+    return results;
+  }
+
   /**
    * Probes the bucket to get current capacity without consuming any tokens.
    *
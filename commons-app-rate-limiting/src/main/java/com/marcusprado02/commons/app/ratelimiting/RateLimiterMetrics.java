@@ -0,0 +1,85 @@
+package com.marcusprado02.commons.app.ratelimiting;
+
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Exports {@link RateLimiterStats} of a rate limiter through a {@link MetricsFacade}.
+ *
+ * <p>Nothing is recorded per request: the limiter keeps counting in its own striped counters, and
+ * each call to {@link #export()} takes one snapshot and reports the requests decided since the
+ * previous export as counter increments, plus the active buckets and response time percentiles as
+ * gauges. Response time series are told apart by a single {@code statistic} attribute, one of
+ * {@code mean}, {@code p50}, {@code p99} and {@code p999}. Attribute maps are built once, so
+ * exporting allocates nothing beyond the snapshot. Call it from a scheduler at the desired
+ * reporting interval.
+ *
+ * <p>Example usage:
+ *
+ * <pre>{@code
+ * RateLimiterMetrics exporter = new RateLimiterMetrics("api", rateLimiter, metricsFacade);
+ * scheduler.scheduleAtFixedRate(exporter::export, 10, 10, TimeUnit.SECONDS);
+ * }</pre>
+ */
+public final class RateLimiterMetrics {
+
+  public static final String METRIC_REQUESTS = "commons.ratelimit.requests";
+  public static final String METRIC_ACTIVE_BUCKETS = "commons.ratelimit.buckets.active";
+  public static final String METRIC_RESPONSE_TIME = "commons.ratelimit.response_time_ms";
+
+  private final RateLimiter rateLimiter;
+  private final MetricsFacade metrics;
+  private final Map<String, String> allowedAttrs;
+  private final Map<String, String> rejectedAttrs;
+  private final Map<String, String> limiterAttrs;
+  private final Map<String, String> meanAttrs;
+  private final Map<String, String> p50Attrs;
+  private final Map<String, String> p99Attrs;
+  private final Map<String, String> p999Attrs;
+  private long exportedAllowed;
+  private long exportedRejected;
+
+  /**
+   * Creates an exporter for the given rate limiter.
+   *
+   * @param name name reported in the {@code limiter} attribute
+   * @param rateLimiter rate limiter whose statistics are exported
+   * @param metrics metrics facade to export to
+   */
+  public RateLimiterMetrics(String name, RateLimiter rateLimiter, MetricsFacade metrics) {
+    Objects.requireNonNull(name, "name must not be null");
+    this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
+    this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+    this.allowedAttrs = Map.of("limiter", name, "outcome", "allowed");
+    this.rejectedAttrs = Map.of("limiter", name, "outcome", "rejected");
+    this.limiterAttrs = Map.of("limiter", name);
+    this.meanAttrs = Map.of("limiter", name, "statistic", "mean");
+    this.p50Attrs = Map.of("limiter", name, "statistic", "p50");
+    this.p99Attrs = Map.of("limiter", name, "statistic", "p99");
+    this.p999Attrs = Map.of("limiter", name, "statistic", "p999");
+  }
+
+  /** Takes a statistics snapshot and exports it. */
+  public synchronized void export() {
+    RateLimiterStats stats = rateLimiter.getStats();
+
+    exportedAllowed = increment(stats.allowedRequests(), exportedAllowed, allowedAttrs);
+    exportedRejected = increment(stats.rejectedRequests(), exportedRejected, rejectedAttrs);
+
+    metrics.recordGauge(METRIC_ACTIVE_BUCKETS, stats.activeBuckets(), limiterAttrs);
+    metrics.recordGauge(METRIC_RESPONSE_TIME, stats.averageResponseTimeMs(), meanAttrs);
+    metrics.recordGauge(METRIC_RESPONSE_TIME, stats.p50ResponseTimeMs(), p50Attrs);
+    metrics.recordGauge(METRIC_RESPONSE_TIME, stats.p99ResponseTimeMs(), p99Attrs);
+    metrics.recordGauge(METRIC_RESPONSE_TIME, stats.p999ResponseTimeMs(), p999Attrs);
+  }
+
+  /** Reports the increase since the last export; after a reset, the whole count is new. */
+  private long increment(long current, long exported, Map<String, String> attrs) {
+    long delta = current >= exported ? current - exported : current;
+    if (delta > 0) {
+      metrics.incrementCounter(METRIC_REQUESTS, delta, attrs);
+    }
+    return current;
+  }
+}
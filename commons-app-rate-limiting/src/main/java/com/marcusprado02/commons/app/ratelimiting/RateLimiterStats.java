@@ -1,7 +1,7 @@
 package com.marcusprado02.commons.app.ratelimiting;
 
 import java.time.Instant;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Statistics about rate limiter usage and performance.
@@ -22,8 +22,22 @@ import java.util.concurrent.atomic.AtomicLong;
  * }
  *
  * // Monitor performance
- * log.info("Average response time: {}ms", stats.getAverageResponseTimeMs());
+ * log.info("Response time: mean {}ms, p99 {}ms", stats.averageResponseTimeMs(),
+ *     stats.p99ResponseTimeMs());
  * }</pre>
+ *
+ * <p>Response times are only tracked by implementations that time their calls, such as {@code
+ * RedisRateLimiter}; they are zero otherwise.
+ *
+ * @param totalRequests requests decided since the last reset
+ * @param allowedRequests requests allowed since the last reset
+ * @param rejectedRequests requests rejected since the last reset
+ * @param activeBuckets buckets currently held
+ * @param averageResponseTimeMs mean response time in milliseconds
+ * @param p50ResponseTimeMs median response time in milliseconds
+ * @param p99ResponseTimeMs 99th percentile response time in milliseconds
+ * @param p999ResponseTimeMs 99.9th percentile response time in milliseconds
+ * @param lastResetTime when the counters were last reset
  */
 public record RateLimiterStats(
     long totalRequests,
@@ -31,8 +45,33 @@ public record RateLimiterStats(
     long rejectedRequests,
     long activeBuckets,
     double averageResponseTimeMs,
+    double p50ResponseTimeMs,
+    double p99ResponseTimeMs,
+    double p999ResponseTimeMs,
     Instant lastResetTime) {
 
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  /** Creates statistics without response time percentiles. */
+  public RateLimiterStats(
+      long totalRequests,
+      long allowedRequests,
+      long rejectedRequests,
+      long activeBuckets,
+      double averageResponseTimeMs,
+      Instant lastResetTime) {
+    this(
+        totalRequests,
+        allowedRequests,
+        rejectedRequests,
+        activeBuckets,
+        averageResponseTimeMs,
+        0.0,
+        0.0,
+        0.0,
+        lastResetTime);
+  }
+
   /**
    * Creates empty statistics.
    *
@@ -81,13 +120,18 @@ public record RateLimiterStats(
     return totalRequests > 0;
   }
 
-  /** Mutable builder for collecting rate limiter statistics. */
+  /**
+   * Mutable builder for collecting rate limiter statistics.
+   *
+   * <p>Safe to update from many threads at once: counters are striped {@link LongAdder}s and
+   * response times go into a lock-free {@link LatencyHistogram}, so recording never contends on a
+   * single memory location.
+   */
   public static class Builder {
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong allowedRequests = new AtomicLong(0);
-    private final AtomicLong rejectedRequests = new AtomicLong(0);
-    private final AtomicLong activeBuckets = new AtomicLong(0);
-    private volatile double averageResponseTimeMs = 0.0;
+    private final LongAdder allowedRequests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private volatile long activeBuckets = 0;
     private volatile Instant lastResetTime = Instant.now();
 
     private Builder() {}
@@ -98,8 +142,7 @@ public record RateLimiterStats(
      * @return this builder
      */
     public Builder recordAllowed() {
-      totalRequests.incrementAndGet();
-      allowedRequests.incrementAndGet();
+      allowedRequests.increment();
       return this;
     }
 
@@ -109,8 +152,7 @@ public record RateLimiterStats(
      * @return this builder
      */
     public Builder recordRejected() {
-      totalRequests.incrementAndGet();
-      rejectedRequests.incrementAndGet();
+      rejectedRequests.increment();
       return this;
     }
 
@@ -121,33 +163,41 @@ public record RateLimiterStats(
      * @return this builder
      */
     public Builder activeBuckets(long count) {
-      this.activeBuckets.set(count);
+      this.activeBuckets = count;
       return this;
     }
 
     /**
-     * Updates the average response time.
+     * Records the response time of one request.
      *
-     * @param responseTimeMs new response time measurement
+     * @param responseTimeNanos response time in nanoseconds
      * @return this builder
      */
-    public Builder updateResponseTime(double responseTimeMs) {
-      // Simple exponential moving average
-      this.averageResponseTimeMs = (this.averageResponseTimeMs * 0.9) + (responseTimeMs * 0.1);
+    public Builder recordResponseTime(long responseTimeNanos) {
+      responseTimes.record(responseTimeNanos);
       return this;
     }
 
+    /**
+     * Records the response time of one request.
+     *
+     * @param responseTimeMs response time in milliseconds
+     * @return this builder
+     */
+    public Builder updateResponseTime(double responseTimeMs) {
+      return recordResponseTime((long) (responseTimeMs * NANOS_PER_MILLI));
+    }
+
     /**
      * Resets all counters.
      *
      * @return this builder
      */
     public Builder reset() {
-      totalRequests.set(0);
-      allowedRequests.set(0);
-      rejectedRequests.set(0);
-      activeBuckets.set(0);
-      averageResponseTimeMs = 0.0;
+      allowedRequests.reset();
+      rejectedRequests.reset();
+      responseTimes.reset();
+      activeBuckets = 0;
       lastResetTime = Instant.now();
       return this;
     }
@@ -158,33 +208,38 @@ public record RateLimiterStats(
      * @return statistics record
      */
     public RateLimiterStats build() {
+      long allowed = allowedRequests.sum();
+      long rejected = rejectedRequests.sum();
       return new RateLimiterStats(
-          totalRequests.get(),
-          allowedRequests.get(),
-          rejectedRequests.get(),
-          activeBuckets.get(),
-          averageResponseTimeMs,
+          allowed + rejected,
+          allowed,
+          rejected,
+          activeBuckets,
+          responseTimes.mean() / NANOS_PER_MILLI,
+          responseTimes.valueAtQuantile(0.5) / NANOS_PER_MILLI,
+          responseTimes.valueAtQuantile(0.99) / NANOS_PER_MILLI,
+          responseTimes.valueAtQuantile(0.999) / NANOS_PER_MILLI,
           lastResetTime);
     }
 
     /** Gets current total requests. */
     public long getTotalRequests() {
-      return totalRequests.get();
+      return allowedRequests.sum() + rejectedRequests.sum();
     }
 
     /** Gets current allowed requests. */
     public long getAllowedRequests() {
-      return allowedRequests.get();
+      return allowedRequests.sum();
     }
 
     /** Gets current rejected requests. */
     public long getRejectedRequests() {
-      return rejectedRequests.get();
+      return rejectedRequests.sum();
     }
 
     /** Gets current active buckets count. */
     public long getActiveBuckets() {
-      return activeBuckets.get();
+      return activeBuckets;
     }
   }
 }
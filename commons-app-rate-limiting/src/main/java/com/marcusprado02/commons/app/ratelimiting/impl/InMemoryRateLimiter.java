@@ -1,34 +1,59 @@
 package com.marcusprado02.commons.app.ratelimiting.impl;
 
+import com.marcusprado02.commons.app.ratelimiting.RateLimitAlgorithm;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
 import com.marcusprado02.commons.app.ratelimiting.RateLimiter;
 import com.marcusprado02.commons.app.ratelimiting.RateLimiterStats;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.BucketConfiguration;
-import io.github.bucket4j.ConsumptionProbe;
-import io.github.bucket4j.Refill;
-import io.github.bucket4j.local.LocalBucketBuilder;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
- * In-memory rate limiter implementation using Bucket4j.
+ * In-memory token bucket rate limiter.
  *
  * <p>This implementation stores rate limiting buckets in local memory using ConcurrentHashMap. It
  * provides high performance for single-node applications but does not share state across multiple
  * application instances.
  *
+ * <p>Each bucket is a single {@code long}, updated with one compare-and-set. For {@link
+ * RateLimitAlgorithm#TOKEN_BUCKET} and {@link RateLimitAlgorithm#GCRA}, which admit the same
+ * requests, it is the instant at which the bucket was, or will be, empty: the tokens available at
+ * any time follow from how far that instant lies behind the clock, capped at the capacity, so
+ * refilling needs no bookkeeping. For {@link RateLimitAlgorithm#SLIDING_WINDOW} it packs the
+ * current window and the counts of the current and previous windows, which limits the capacity to
+ * {@value #MAX_WINDOW_CAPACITY}. Either way, a bucket with nothing to remember is indistinguishable
+ * from one that was never created.
+ *
  * <p>Key features:
  *
  * <ul>
- *   <li><strong>High Performance</strong>: Local memory operations with minimal latency
+ *   <li><strong>High Performance</strong>: {@link #tryAcquire(String, long)} decides without
+ *       locking or allocating
  *   <li><strong>Thread Safety</strong>: Concurrent access using lock-free algorithms
- *   <li><strong>Automatic Cleanup</strong>: Optional periodic cleanup of unused buckets
+ *   <li><strong>Idle Eviction</strong>: Full buckets are removed every {@link
+ *       InMemoryRateLimiterConfig#evictionInterval()}, and as soon as there are more than {@link
+ *       InMemoryRateLimiterConfig#maxBuckets()}; since they are full, evicting them never loosens a
+ *       limit
+ *   <li><strong>Batches</strong>: {@link #tryConsumeAll(Map)} consumes from all buckets or, if any
+ *       rejects, gives back what it took from the others
  *   <li><strong>Statistics</strong>: Built-in metrics collection
  * </ul>
  *
+ * <p>Memory is thus bounded by the keys seen within one refill window ({@code capacity / rate}),
+ * not by every key ever seen.
+ *
  * <p>Example usage:
  *
  * <pre>{@code
@@ -44,14 +69,46 @@ import java.util.concurrent.ConcurrentMap;
  * }</pre>
  *
  * <p><strong>Note</strong>: This implementation is suitable for single-node deployments. For
- * distributed rate limiting across multiple nodes, use {@code RedisRateLimiter}.
+ * distributed rate limiting across multiple nodes, use {@code RedisRateLimiter}. Call {@link
+ * #close()} to stop background eviction; limiters that become unreachable stop it on their own.
  */
-public class InMemoryRateLimiter implements RateLimiter {
+public class InMemoryRateLimiter implements RateLimiter, AutoCloseable {
+
+  /** Largest capacity a sliding window can count. */
+  public static final long MAX_WINDOW_CAPACITY = 1_000_000;
+
+  /** State of a bucket that has never been used: full, whatever the clock reads. */
+  private static final long FULL = Long.MIN_VALUE;
+
+  /** State of a bucket being evicted; callers that see it retry with a fresh bucket. */
+  private static final long EVICTED = Long.MAX_VALUE;
+
+  /** Bound on computed durations, leaving headroom for clock arithmetic. */
+  private static final long MAX_NANOS = Long.MAX_VALUE / 4;
+
+  /** Sliding window state: 23 bits of window index, then 20 bits per window count. */
+  private static final int COUNT_BITS = 20;
+
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+  private static final long INDEX_MASK = (1L << 23) - 1;
+
+  private static final ScheduledExecutorService EVICTION =
+      Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("rate-limiter-eviction").daemon(true).factory());
 
   private final RateLimitConfig config;
-  private final BucketConfiguration bucketConfiguration;
-  private final ConcurrentMap<String, Bucket> buckets;
+  private final ConcurrentMap<String, AtomicLong> buckets;
   private final RateLimiterStats.Builder statsBuilder;
+  private final LongSupplier nanoTime;
+  private final long origin;
+  private final long periodNanos;
+  private final long refillRate;
+  private final double nanosPerToken;
+  private final long burstNanos;
+  private final boolean slidingWindow;
+  private final int maxBuckets;
+  private final AtomicBoolean evictionRequested = new AtomicBoolean();
+  private final ScheduledFuture<?> evictionTask;
 
   /**
    * Creates a new in-memory rate limiter with the specified configuration.
@@ -59,47 +116,120 @@ public class InMemoryRateLimiter implements RateLimiter {
    * @param config rate limiting configuration
    */
   public InMemoryRateLimiter(RateLimitConfig config) {
-    this.config = config;
+    this(config, InMemoryRateLimiterConfig.defaults());
+  }
+
+  /**
+   * Creates a new in-memory rate limiter with the specified configuration and eviction settings.
+   *
+   * @param config rate limiting configuration
+   * @param limiterConfig idle bucket eviction settings
+   * @throws IllegalArgumentException if a sliding window capacity exceeds {@link
+   *     #MAX_WINDOW_CAPACITY}
+   */
+  public InMemoryRateLimiter(RateLimitConfig config, InMemoryRateLimiterConfig limiterConfig) {
+    this(config, limiterConfig, System::nanoTime);
+  }
+
+  InMemoryRateLimiter(
+      RateLimitConfig config, InMemoryRateLimiterConfig limiterConfig, LongSupplier nanoTime) {
+    this.config = Objects.requireNonNull(config, "config must not be null");
+    Objects.requireNonNull(limiterConfig, "limiterConfig must not be null");
+    this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime must not be null");
+    this.slidingWindow = config.getAlgorithm() == RateLimitAlgorithm.SLIDING_WINDOW;
+    if (slidingWindow && config.getCapacity() > MAX_WINDOW_CAPACITY) {
+      throw new IllegalArgumentException(
+          "Sliding window capacity must not exceed " + MAX_WINDOW_CAPACITY);
+    }
     this.buckets = new ConcurrentHashMap<>();
     this.statsBuilder = RateLimiterStats.builder();
-    this.bucketConfiguration = createBucketConfiguration(config);
+    this.origin = nanoTime.getAsLong();
+    this.periodNanos = config.getRefillPeriod().toNanos();
+    this.refillRate = config.getRefillRate();
+    this.nanosPerToken = (double) periodNanos / refillRate;
+    this.burstNanos = Math.max(1, nanosFor(config.getCapacity()));
+    this.maxBuckets = limiterConfig.maxBuckets();
+    this.evictionTask =
+        limiterConfig.evictionInterval().isZero()
+            ? null
+            : EvictionTask.schedule(this, limiterConfig.evictionInterval());
   }
 
   @Override
   public RateLimitResult tryConsume(String key, long tokens) {
-    if (key == null || key.isEmpty()) {
-      throw new IllegalArgumentException("Key cannot be null or empty");
+    validate(key, tokens);
+
+    RateLimitResult result = consumeResult(key, tokens, now());
+    if (result.isAllowed()) {
+      statsBuilder.recordAllowed();
+    } else {
+      statsBuilder.recordRejected();
     }
-    if (tokens <= 0) {
-      throw new IllegalArgumentException("Tokens must be positive");
+    return result;
+  }
+
+  @Override
+  public boolean tryAcquire(String key, long tokens) {
+    validate(key, tokens);
+
+    long now = now();
+    boolean allowed =
+        slidingWindow ? consumeWindow(key, tokens, now) >= 0 : consume(key, tokens, now) <= 0;
+    if (allowed) {
+      statsBuilder.recordAllowed();
+    } else {
+      statsBuilder.recordRejected();
+    }
+    return allowed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Keys are consumed one after the other; if one is rejected, the tokens already taken from the
+   * others are given back, so concurrent callers may briefly see them as consumed.
+   */
+  @Override
+  public Map<String, RateLimitResult> tryConsumeAll(Map<String, Long> tokensByKey) {
+    if (tokensByKey == null || tokensByKey.isEmpty()) {
+      throw new IllegalArgumentException("Keys cannot be null or empty");
     }
+    tokensByKey.forEach((key, tokens) -> validate(key, tokens == null ? 0 : tokens));
 
-    long startTime = System.nanoTime();
-    try {
-      Bucket bucket = getBucket(key);
-      ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+    long now = now();
+    Map<String, RateLimitResult> results = new LinkedHashMap<>();
+    boolean rejected = false;
+    for (Map.Entry<String, Long> entry : tokensByKey.entrySet()) {
+      RateLimitResult result = consumeResult(entry.getKey(), entry.getValue(), now);
+      results.put(entry.getKey(), result);
+      if (!result.isAllowed()) {
+        rejected = true;
+        break;
+      }
+    }
+    if (!rejected) {
+      statsBuilder.recordAllowed();
+      return results;
+    }
 
-      RateLimitResult result;
-      if (probe.isConsumed()) {
-        result =
-            RateLimitResult.allowed(
-                tokens,
-                probe.getRemainingTokens(),
-                config.getCapacity(),
-                probe.getNanosToWaitForRefill());
-        statsBuilder.recordAllowed();
-      } else {
+    statsBuilder.recordRejected();
+    Map<String, RateLimitResult> rejections = new LinkedHashMap<>();
+    for (Map.Entry<String, Long> entry : tokensByKey.entrySet()) {
+      String key = entry.getKey();
+      RateLimitResult result = results.get(key);
+      if (result != null && result.isAllowed()) {
+        refund(key, entry.getValue(), now);
         result =
             RateLimitResult.rejected(
-                probe.getRemainingTokens(), config.getCapacity(), probe.getNanosToWaitForRefill());
-        statsBuilder.recordRejected();
+                Math.min(result.remainingTokens() + entry.getValue(), config.getCapacity()),
+                config.getCapacity(),
+                origin + now);
+      } else if (result == null) {
+        result = RateLimitResult.rejected(available(key, now), config.getCapacity(), origin + now);
       }
-
-      return result;
-    } finally {
-      long duration = System.nanoTime() - startTime;
-      statsBuilder.updateResponseTime(duration / 1_000_000.0); // Convert to milliseconds
+      rejections.put(key, result);
     }
+    return rejections;
   }
 
   @Override
@@ -108,14 +238,12 @@ public class InMemoryRateLimiter implements RateLimiter {
       throw new IllegalArgumentException("Key cannot be null or empty");
     }
 
-    Bucket bucket = getBucket(key);
-    long availableTokens = bucket.getAvailableTokens();
-
+    long now = now();
     return RateLimitResult.allowed(
         0, // No tokens consumed
-        availableTokens,
+        available(key, now),
         config.getCapacity(),
-        System.nanoTime()); // Current time as refill time
+        origin + now);
   }
 
   @Override
@@ -155,17 +283,271 @@ public class InMemoryRateLimiter implements RateLimiter {
     buckets.clear();
   }
 
-  private Bucket getBucket(String key) {
-    return buckets.computeIfAbsent(
-        key, k -> new LocalBucketBuilder().addLimit(createBandwidth()).build());
+  /**
+   * Removes every bucket that has refilled completely, instead of waiting for the next background
+   * sweep.
+   *
+   * @return number of buckets removed
+   */
+  public int evictIdle() {
+    long now = now();
+    int[] evicted = new int[1];
+    buckets.forEach(
+        (key, bucket) -> {
+          long state = bucket.get();
+          if (state != EVICTED && isIdle(state, now) && bucket.compareAndSet(state, EVICTED)) {
+            buckets.remove(key, bucket);
+            evicted[0]++;
+          }
+        });
+    return evicted[0];
   }
 
-  private BucketConfiguration createBucketConfiguration(RateLimitConfig config) {
-    return BucketConfiguration.builder().addLimit(createBandwidth()).build();
+  /** Stops background eviction. The limiter remains usable. */
+  @Override
+  public void close() {
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
   }
 
-  private Bandwidth createBandwidth() {
-    return Bandwidth.classic(
-        config.getCapacity(), Refill.greedy(config.getRefillRate(), config.getRefillPeriod()));
+  private RateLimitResult consumeResult(String key, long tokens, long now) {
+    if (slidingWindow) {
+      long state = consumeWindow(key, tokens, now);
+      if (state >= 0) {
+        return RateLimitResult.allowed(
+            tokens, windowAvailable(state, now), config.getCapacity(), origin + now);
+      }
+      return RateLimitResult.rejected(
+          windowAvailable(~state, now),
+          config.getCapacity(),
+          origin + now + windowWait(~state, tokens, now));
+    }
+    long wait = consume(key, tokens, now);
+    if (wait <= 0) {
+      return RateLimitResult.allowed(tokens, tokensIn(-wait), config.getCapacity(), origin + now);
+    }
+    return RateLimitResult.rejected(
+        tokensIn(nanosFor(tokens) - wait), config.getCapacity(), origin + now + wait);
+  }
+
+  /**
+   * Consumes tokens from a token bucket if available.
+   *
+   * @return nanoseconds until the bucket would have held the tokens: zero or negative if they were
+   *     consumed, in which case its negation is the time the remaining tokens took to accumulate
+   */
+  private long consume(String key, long tokens, long now) {
+    long cost = nanosFor(tokens);
+    long full = now - burstNanos;
+    while (true) {
+      AtomicLong bucket = bucketFor(key);
+      long state = bucket.get();
+      if (state == EVICTED) {
+        buckets.remove(key, bucket);
+        continue;
+      }
+      long next = Math.max(state, full) + cost;
+      if (next > now || bucket.compareAndSet(state, next)) {
+        return next - now;
+      }
+    }
+  }
+
+  /**
+   * Counts tokens in a sliding window if the estimated count leaves room for them.
+   *
+   * @return the new state if they were counted, or the complement of the state that rejected them
+   */
+  private long consumeWindow(String key, long tokens, long now) {
+    while (true) {
+      AtomicLong bucket = bucketFor(key);
+      long state = bucket.get();
+      if (state == EVICTED) {
+        buckets.remove(key, bucket);
+        continue;
+      }
+      long current = roll(state, now);
+      long previousCount = (current >>> COUNT_BITS) & COUNT_MASK;
+      long currentCount = current & COUNT_MASK;
+      double estimate = previousCount * weightOfPrevious(now) + currentCount;
+      if (currentCount + tokens > config.getCapacity()
+          || estimate + tokens > config.getCapacity()) {
+        return ~current;
+      }
+      long next = current + tokens;
+      if (bucket.compareAndSet(state, next)) {
+        return next;
+      }
+    }
+  }
+
+  /** Gives back tokens consumed by a batch that was rejected as a whole. */
+  private void refund(String key, long tokens, long now) {
+    AtomicLong bucket = buckets.get(key);
+    if (bucket == null) {
+      return;
+    }
+    long cost = slidingWindow ? tokens : nanosFor(tokens);
+    long index = (now / burstNanos) & INDEX_MASK;
+    while (true) {
+      long state = bucket.get();
+      if (state == EVICTED || state == FULL) {
+        return;
+      }
+      if (slidingWindow && (state >>> (2 * COUNT_BITS) != index || (state & COUNT_MASK) < tokens)) {
+        return;
+      }
+      if (bucket.compareAndSet(state, state - cost)) {
+        return;
+      }
+    }
+  }
+
+  private long available(String key, long now) {
+    AtomicLong bucket = buckets.get(key);
+    long state = bucket == null ? EVICTED : bucket.get();
+    if (state == EVICTED) {
+      return config.getCapacity();
+    }
+    if (slidingWindow) {
+      return windowAvailable(state, now);
+    }
+    return tokensIn(now - Math.max(state, now - burstNanos));
+  }
+
+  private boolean isIdle(long state, long now) {
+    if (slidingWindow) {
+      return (roll(state, now) & ((1L << (2 * COUNT_BITS)) - 1)) == 0;
+    }
+    return state <= now - burstNanos;
+  }
+
+  /** Moves a sliding window state to the window containing {@code now}. */
+  private long roll(long state, long now) {
+    long index = (now / burstNanos) & INDEX_MASK;
+    long elapsed = (index - (state >>> (2 * COUNT_BITS))) & INDEX_MASK;
+    long indexBits = index << (2 * COUNT_BITS);
+    if (elapsed == 0) {
+      return state;
+    }
+    if (elapsed == 1) {
+      return indexBits | ((state & COUNT_MASK) << COUNT_BITS);
+    }
+    return indexBits;
+  }
+
+  /** Share of the previous window that still overlaps the sliding window ending now. */
+  private double weightOfPrevious(long now) {
+    return (double) (burstNanos - now % burstNanos) / burstNanos;
+  }
+
+  private long windowAvailable(long state, long now) {
+    long current = roll(state, now);
+    double estimate =
+        ((current >>> COUNT_BITS) & COUNT_MASK) * weightOfPrevious(now) + (current & COUNT_MASK);
+    return Math.max(0, (long) Math.floor(config.getCapacity() - estimate));
+  }
+
+  /** Time until the sliding window has room for the given tokens. */
+  private long windowWait(long state, long tokens, long now) {
+    long capacity = config.getCapacity();
+    if (tokens > capacity) {
+      return 2 * burstNanos;
+    }
+    long current = roll(state, now);
+    long previousCount = (current >>> COUNT_BITS) & COUNT_MASK;
+    long currentCount = current & COUNT_MASK;
+    long elapsed = now % burstNanos;
+    if (currentCount + tokens <= capacity) {
+      // Wait for enough of the previous window to slide out.
+      double overlap = (double) (capacity - currentCount - tokens) / previousCount;
+      return Math.max(0, (long) Math.ceil(burstNanos * (1 - overlap)) - elapsed);
+    }
+    // Wait for the next window, in which the current count is the one sliding out.
+    double overlap = (double) (capacity - tokens) / currentCount;
+    return burstNanos - elapsed + Math.max(0, (long) Math.ceil(burstNanos * (1 - overlap)));
+  }
+
+  private AtomicLong bucketFor(String key) {
+    AtomicLong bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(slidingWindow ? 0 : FULL));
+    if (buckets.size() > maxBuckets && evictionRequested.compareAndSet(false, true)) {
+      EVICTION.execute(
+          () -> {
+            try {
+              evictIdle();
+            } finally {
+              evictionRequested.set(false);
+            }
+          });
+    }
+    return bucket;
+  }
+
+  private long now() {
+    return nanoTime.getAsLong() - origin;
+  }
+
+  /** Time for the given number of tokens to accumulate, rounded up. */
+  private long nanosFor(long tokens) {
+    if (tokens <= Long.MAX_VALUE / periodNanos) {
+      return Math.min(Math.ceilDiv(tokens * periodNanos, refillRate), MAX_NANOS);
+    }
+    return (long) Math.min(Math.ceil(tokens * nanosPerToken), MAX_NANOS);
+  }
+
+  /** Whole tokens accumulated over the given time, capped at the capacity. */
+  private long tokensIn(long nanos) {
+    long tokens =
+        nanos <= Long.MAX_VALUE / refillRate
+            ? nanos * refillRate / periodNanos
+            : (long) (nanos / nanosPerToken);
+    return Math.min(Math.max(tokens, 0), config.getCapacity());
+  }
+
+  private static void validate(String key, long tokens) {
+    if (key == null || key.isEmpty()) {
+      throw new IllegalArgumentException("Key cannot be null or empty");
+    }
+    if (tokens <= 0) {
+      throw new IllegalArgumentException("Tokens must be positive");
+    }
+  }
+
+  /**
+   * Periodic sweep holding its limiter weakly, so a limiter dropped without {@link #close()} is
+   * still garbage collected and its sweep cancelled.
+   */
+  private static final class EvictionTask implements Runnable {
+    private final WeakReference<InMemoryRateLimiter> limiter;
+    private volatile ScheduledFuture<?> future;
+
+    private EvictionTask(InMemoryRateLimiter limiter) {
+      this.limiter = new WeakReference<>(limiter);
+    }
+
+    static ScheduledFuture<?> schedule(InMemoryRateLimiter limiter, Duration interval) {
+      EvictionTask task = new EvictionTask(limiter);
+      long millis = Math.max(1, interval.toMillis());
+      task.future = EVICTION.scheduleWithFixedDelay(task, millis, millis, TimeUnit.MILLISECONDS);
+      return task.future;
+    }
+
+    @Override
+    public void run() {
+      InMemoryRateLimiter target = limiter.get();
+      if (target == null) {
+        ScheduledFuture<?> scheduled = future;
+        if (scheduled != null) {
+          scheduled.cancel(false);
+        }
+        return;
+      }
+      target.evictIdle();
+    }
   }
 }
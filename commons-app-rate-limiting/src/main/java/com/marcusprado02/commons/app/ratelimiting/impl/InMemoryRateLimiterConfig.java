@@ -0,0 +1,42 @@
+package com.marcusprado02.commons.app.ratelimiting.impl;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link InMemoryRateLimiter}.
+ *
+ * @param evictionInterval How often buckets that have refilled completely are evicted in the
+ *     background; {@link Duration#ZERO} disables the periodic sweep
+ * @param maxBuckets Number of buckets above which a sweep is started right away instead of waiting
+ *     for the next interval
+ */
+public record InMemoryRateLimiterConfig(Duration evictionInterval, int maxBuckets) {
+
+  public static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofSeconds(1);
+  public static final int DEFAULT_MAX_BUCKETS = 1_000_000;
+
+  /** Validates fields on construction. */
+  public InMemoryRateLimiterConfig {
+    if (evictionInterval == null || evictionInterval.isNegative()) {
+      throw new IllegalArgumentException("evictionInterval must not be negative");
+    }
+    if (maxBuckets <= 0) {
+      throw new IllegalArgumentException("maxBuckets must be positive");
+    }
+  }
+
+  /** Creates default configuration: idle buckets swept every second, early above one million. */
+  public static InMemoryRateLimiterConfig defaults() {
+    return new InMemoryRateLimiterConfig(DEFAULT_EVICTION_INTERVAL, DEFAULT_MAX_BUCKETS);
+  }
+
+  /** Returns a copy with the given eviction interval. */
+  public InMemoryRateLimiterConfig withEvictionInterval(Duration evictionInterval) {
+    return new InMemoryRateLimiterConfig(evictionInterval, maxBuckets);
+  }
+
+  /** Returns a copy with the given bucket threshold. */
+  public InMemoryRateLimiterConfig withMaxBuckets(int maxBuckets) {
+    return new InMemoryRateLimiterConfig(evictionInterval, maxBuckets);
+  }
+}
@@ -0,0 +1,115 @@
+package com.marcusprado02.commons.app.ratelimiting.impl;
+
+import com.marcusprado02.commons.app.ratelimiting.RateLimitAlgorithm;
+
+/**
+ * Lua scripts evaluating {@link RateLimitAlgorithm#GCRA} and {@link
+ * RateLimitAlgorithm#SLIDING_WINDOW} limits inside Redis.
+ *
+ * <p>Each script takes any number of keys, with {@code ARGV[1..3]} holding the capacity, refill
+ * rate and refill period in microseconds, followed by the tokens to consume from each key. Every
+ * key is checked before any is written, so either all are consumed or none; the reply holds, per
+ * key, whether it admitted its tokens, the tokens it has left and the microseconds until it would.
+ * Time is read from the Redis server, so the clocks of application nodes do not matter.
+ */
+final class RedisRateLimitScripts {
+
+  /** Theoretical arrival time per key, as a single number expiring once the bucket is full. */
+  static final String GCRA =
+      """
+      local t = redis.call('TIME')
+      local now = t[1] * 1000000 + t[2]
+      local capacity = tonumber(ARGV[1])
+      local interval = tonumber(ARGV[3]) / tonumber(ARGV[2])
+      local tolerance = interval * capacity
+      local reply, tats, all = {}, {}, true
+      for i, key in ipairs(KEYS) do
+        local tokens = tonumber(ARGV[3 + i])
+        local tat = math.max(tonumber(redis.call('GET', key)) or now, now)
+        local nextTat = tat + interval * tokens
+        local allowAt = nextTat - tolerance
+        if allowAt > now then
+          all = false
+          reply[#reply + 1] = 0
+          reply[#reply + 1] = math.max(0, math.floor((tolerance - (tat - now)) / interval))
+          reply[#reply + 1] = math.ceil(allowAt - now)
+        else
+          tats[i] = nextTat
+          reply[#reply + 1] = 1
+          reply[#reply + 1] = math.max(0, math.floor((tolerance - (nextTat - now)) / interval))
+          reply[#reply + 1] = 0
+        end
+      end
+      if all then
+        for i, key in ipairs(KEYS) do
+          redis.call('SET', key, string.format('%.0f', tats[i]),
+              'PX', math.max(1, math.ceil((tats[i] - now) / 1000)))
+        end
+      end
+      return reply
+      """;
+
+  /** Current window index and the counts of the current and previous windows, in one hash. */
+  static final String SLIDING_WINDOW =
+      """
+      local t = redis.call('TIME')
+      local now = t[1] * 1000000 + t[2]
+      local capacity = tonumber(ARGV[1])
+      local window = math.max(1, capacity * tonumber(ARGV[3]) / tonumber(ARGV[2]))
+      local index = math.floor(now / window)
+      local elapsed = now - index * window
+      local weight = (window - elapsed) / window
+      local reply, counts, all = {}, {}, true
+      for i, key in ipairs(KEYS) do
+        local tokens = tonumber(ARGV[3 + i])
+        local state = redis.call('HMGET', key, 'w', 'p', 'c')
+        local w = tonumber(state[1]) or index
+        local previous, current = tonumber(state[2]) or 0, tonumber(state[3]) or 0
+        if w == index - 1 then
+          previous, current = current, 0
+        elseif w ~= index then
+          previous, current = 0, 0
+        end
+        local estimate = previous * weight + current
+        if current + tokens > capacity or estimate + tokens > capacity then
+          all = false
+          local wait
+          if tokens > capacity then
+            wait = 2 * window
+          elseif current + tokens <= capacity then
+            wait = math.ceil(window * (1 - (capacity - current - tokens) / previous)) - elapsed
+          else
+            wait = window - elapsed + math.ceil(window * (1 - (capacity - tokens) / current))
+          end
+          reply[#reply + 1] = 0
+          reply[#reply + 1] = math.max(0, math.floor(capacity - estimate))
+          reply[#reply + 1] = math.max(0, wait)
+        else
+          counts[i] = { previous, current + tokens }
+          reply[#reply + 1] = 1
+          reply[#reply + 1] = math.max(0, math.floor(capacity - estimate - tokens))
+          reply[#reply + 1] = 0
+        end
+      end
+      if all then
+        local ttl = math.max(1, math.ceil(2 * window / 1000))
+        for i, key in ipairs(KEYS) do
+          redis.call('HSET', key, 'w', string.format('%.0f', index),
+              'p', counts[i][1], 'c', counts[i][2])
+          redis.call('PEXPIRE', key, ttl)
+        end
+      end
+      return reply
+      """;
+
+  private RedisRateLimitScripts() {}
+
+  /** Gets the script evaluating the given algorithm, or {@code null} if Bucket4j evaluates it. */
+  static String forAlgorithm(RateLimitAlgorithm algorithm) {
+    return switch (algorithm) {
+      case GCRA -> GCRA;
+      case SLIDING_WINDOW -> SLIDING_WINDOW;
+      case TOKEN_BUCKET -> null;
+    };
+  }
+}
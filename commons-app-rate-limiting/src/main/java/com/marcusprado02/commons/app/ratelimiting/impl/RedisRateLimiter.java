@@ -1,5 +1,6 @@
 package com.marcusprado02.commons.app.ratelimiting.impl;
 
+import com.marcusprado02.commons.app.ratelimiting.RateLimitAlgorithm;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
 import com.marcusprado02.commons.app.ratelimiting.RateLimiter;
@@ -9,9 +10,23 @@ import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
 import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import io.github.bucket4j.VerboseResult;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
 import io.github.bucket4j.redis.jedis.cas.JedisBasedProxyManager;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
 
 /**
  * Redis-based distributed rate limiter implementation using Bucket4j.
@@ -49,20 +64,54 @@ import java.util.function.Supplier;
  * <p><strong>Requirements</strong>:
  *
  * <ul>
- *   <li>Redis server (version 2.6+ for Lua script support)
+ *   <li>Redis server 5+ (Lua scripts read the server clock with {@code TIME}, which needs script
+ *       effects replication)
  *   <li>Jedis client library on classpath
  * </ul>
  *
  * <p><strong>Redis Key Pattern</strong>: {@code rate_limiter:<keyPrefix>:<userKey>}
+ *
+ * <p><strong>Leasing</strong>: when {@link RateLimitConfig#isLeasingEnabled()}, each node takes
+ * {@link RateLimitConfig#getLeaseSize()} tokens per key from Redis in a single round trip and
+ * serves requests from them locally, topping the lease up in the background as it runs low. For a
+ * key receiving many requests per lease duration, Redis sees one call per lease instead of one per
+ * request. The limit still holds across nodes, since leased tokens are consumed in Redis first, but
+ * admissions may be shifted by up to one lease duration and unused leases are forfeited on expiry.
+ * {@link #probe(String)} always reads Redis. Leasing applies to {@link
+ * RateLimitAlgorithm#TOKEN_BUCKET} only.
+ *
+ * <p><strong>Algorithms</strong>: {@link RateLimitAlgorithm#GCRA} and {@link
+ * RateLimitAlgorithm#SLIDING_WINDOW} are evaluated by a Lua script instead of Bucket4j: GCRA keeps
+ * one timestamp per key, the sliding window one small hash, and {@link #tryConsumeAll(Map)} checks
+ * and consumes all of its keys atomically in a single round trip. Both read the clock of the Redis
+ * server, which requires Redis 5+. In a Redis Cluster, keys consumed together must hash to the same
+ * slot.
+ *
+ * <p>With {@link RateLimitAlgorithm#TOKEN_BUCKET}, Bucket4j cannot consume from several buckets
+ * atomically, so {@link #tryConsumeAll(Map)} evaluates the GCRA script instead, which admits the
+ * same requests as a token bucket of the same capacity and refill rate. Its state is kept under
+ * {@code <key>:gcra}, apart from the Bucket4j state of the key, so a key should be consumed either
+ * through {@link #tryConsumeAll(Map)} or through the single-key methods, not both.
  */
 public class RedisRateLimiter implements RateLimiter {
 
+  private static final ExecutorService LEASE_REFRESH =
+      Executors.newThreadPerTaskExecutor(
+          Thread.ofVirtual().name("rate-limiter-lease-", 0).factory());
+
   private final RateLimitConfig config;
-  private final JedisBasedProxyManager proxyManager;
+  private final Function<String, Bucket> buckets;
   private final BucketConfiguration bucketConfiguration;
   private final RateLimiterStats.Builder statsBuilder;
   private final String keyPrefix;
   private final AtomicLong activeBuckets;
+  private final TokenLeases leases;
+  private final JedisPool jedisPool;
+  private final String script;
+  private final String batchScript;
+  private final String batchKeySuffix;
+  private final List<String> scriptArgs;
+  private volatile String scriptSha;
 
   /**
    * Creates a new Redis-based rate limiter with default key prefix.
@@ -70,8 +119,7 @@ public class RedisRateLimiter implements RateLimiter {
    * @param jedisPoolSupplier supplier for Jedis pool instances
    * @param config rate limiting configuration
    */
-  public RedisRateLimiter(
-      Supplier<redis.clients.jedis.JedisPool> jedisPoolSupplier, RateLimitConfig config) {
+  public RedisRateLimiter(Supplier<JedisPool> jedisPoolSupplier, RateLimitConfig config) {
     this(jedisPoolSupplier, config, "rate_limiter");
   }
 
@@ -83,15 +131,48 @@ public class RedisRateLimiter implements RateLimiter {
    * @param keyPrefix prefix for Redis keys (helps avoid collisions)
    */
   public RedisRateLimiter(
-      Supplier<redis.clients.jedis.JedisPool> jedisPoolSupplier,
+      Supplier<JedisPool> jedisPoolSupplier, RateLimitConfig config, String keyPrefix) {
+    this(jedisPoolSupplier.get(), config, keyPrefix, null);
+  }
+
+  /**
+   * Creates a rate limiter whose token buckets are resolved by {@code buckets}, given the full
+   * Redis key, instead of Bucket4j's Redis proxy manager when it is not {@code null}.
+   */
+  RedisRateLimiter(
+      JedisPool jedisPool,
       RateLimitConfig config,
-      String keyPrefix) {
+      String keyPrefix,
+      Function<String, Bucket> buckets) {
     this.config = config;
     this.keyPrefix = keyPrefix;
+    this.jedisPool = jedisPool;
     this.bucketConfiguration = createBucketConfiguration(config);
-    this.proxyManager = createProxyManager(jedisPoolSupplier);
+    if (buckets == null) {
+      JedisBasedProxyManager proxyManager = createProxyManager(jedisPool);
+      this.buckets =
+          redisKey ->
+              proxyManager
+                  .builder()
+                  .build(redisKey.getBytes(StandardCharsets.UTF_8), () -> bucketConfiguration);
+    } else {
+      this.buckets = buckets;
+    }
     this.statsBuilder = RateLimiterStats.builder();
     this.activeBuckets = new AtomicLong();
+    this.script = RedisRateLimitScripts.forAlgorithm(config.getAlgorithm());
+    // Token buckets are consumed in batches as GCRA, which admits the same requests.
+    this.batchScript = script != null ? script : RedisRateLimitScripts.GCRA;
+    this.batchKeySuffix = script != null ? "" : ":gcra";
+    this.scriptArgs =
+        List.of(
+            Long.toString(config.getCapacity()),
+            Long.toString(config.getRefillRate()),
+            Long.toString(config.getRefillPeriod().toNanos() / 1_000));
+    this.leases =
+        config.isLeasingEnabled() && script == null
+            ? new TokenLeases(this::take, config, LEASE_REFRESH, System::nanoTime)
+            : null;
   }
 
   /**
@@ -100,7 +181,7 @@ public class RedisRateLimiter implements RateLimiter {
    * @param jedisPool direct Jedis pool instance
    * @param config rate limiting configuration
    */
-  public RedisRateLimiter(redis.clients.jedis.JedisPool jedisPool, RateLimitConfig config) {
+  public RedisRateLimiter(JedisPool jedisPool, RateLimitConfig config) {
     this(() -> jedisPool, config);
   }
 
@@ -113,15 +194,29 @@ public class RedisRateLimiter implements RateLimiter {
       throw new IllegalArgumentException("Tokens must be positive");
     }
 
+    if (leases != null) {
+      RateLimitResult result = leases.tryConsume(key, tokens);
+      if (result.isAllowed()) {
+        statsBuilder.recordAllowed();
+      } else {
+        statsBuilder.recordRejected();
+      }
+      return result;
+    }
+
+    if (script != null) {
+      RateLimitResult result = evaluate(Map.of(key, tokens)).get(key);
+      if (result.isAllowed()) {
+        statsBuilder.recordAllowed();
+      } else {
+        statsBuilder.recordRejected();
+      }
+      return result;
+    }
+
     long startTime = System.nanoTime();
     try {
-      String redisKey = buildRedisKey(key);
-      Bucket bucket =
-          proxyManager
-              .builder()
-              .build(
-                  redisKey.getBytes(java.nio.charset.StandardCharsets.UTF_8),
-                  () -> bucketConfiguration);
+      Bucket bucket = bucketFor(key);
 
       ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
 
@@ -147,24 +242,76 @@ public class RedisRateLimiter implements RateLimiter {
       throw new RuntimeException("Failed to perform rate limiting operation on Redis", e);
     } finally {
       long duration = System.nanoTime() - startTime;
-      statsBuilder.updateResponseTime(duration / 1_000_000.0); // Convert to milliseconds
+      statsBuilder.recordResponseTime(duration);
     }
   }
 
+  @Override
+  public boolean tryAcquire(String key, long tokens) {
+    if (leases == null) {
+      return RateLimiter.super.tryAcquire(key, tokens);
+    }
+    if (key == null || key.isEmpty()) {
+      throw new IllegalArgumentException("Key cannot be null or empty");
+    }
+    if (tokens <= 0) {
+      throw new IllegalArgumentException("Tokens must be positive");
+    }
+    if (leases.tryAcquire(key, tokens)) {
+      statsBuilder.recordAllowed();
+      return true;
+    }
+    statsBuilder.recordRejected();
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>With {@link RateLimitAlgorithm#GCRA} or {@link RateLimitAlgorithm#SLIDING_WINDOW}, all keys
+   * are checked and consumed atomically in one round trip: if any is rejected, none is consumed and
+   * every result is a rejection. With {@link RateLimitAlgorithm#TOKEN_BUCKET}, the keys are
+   * evaluated the same way by the GCRA script, under keys of their own.
+   */
+  @Override
+  public Map<String, RateLimitResult> tryConsumeAll(Map<String, Long> tokensByKey) {
+    if (tokensByKey == null || tokensByKey.isEmpty()) {
+      throw new IllegalArgumentException("Keys cannot be null or empty");
+    }
+    tokensByKey.forEach(
+        (key, tokens) -> {
+          if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Key cannot be null or empty");
+          }
+          if (tokens == null || tokens <= 0) {
+            throw new IllegalArgumentException("Tokens must be positive");
+          }
+        });
+
+    Map<String, RateLimitResult> results = evaluate(tokensByKey);
+    if (results.values().stream().allMatch(RateLimitResult::isAllowed)) {
+      statsBuilder.recordAllowed();
+    } else {
+      statsBuilder.recordRejected();
+    }
+    return results;
+  }
+
   @Override
   public RateLimitResult probe(String key) {
     if (key == null || key.isEmpty()) {
       throw new IllegalArgumentException("Key cannot be null or empty");
     }
 
+    if (script != null) {
+      // Consuming nothing is always admitted and leaves the key as it was.
+      RateLimitResult result = evaluate(Map.of(key, 0L)).get(key);
+      return RateLimitResult.allowed(
+          0, result.remainingTokens(), config.getCapacity(), System.nanoTime());
+    }
+
     try {
-      String redisKey = buildRedisKey(key);
-      Bucket bucket =
-          proxyManager
-              .builder()
-              .build(
-                  redisKey.getBytes(java.nio.charset.StandardCharsets.UTF_8),
-                  () -> bucketConfiguration);
+      Bucket bucket = bucketFor(key);
 
       long availableTokens = bucket.getAvailableTokens();
 
@@ -189,15 +336,20 @@ public class RedisRateLimiter implements RateLimiter {
       throw new IllegalArgumentException("Key cannot be null or empty");
     }
 
+    if (leases != null) {
+      leases.invalidate(key);
+    }
+    try (Jedis jedis = jedisPool.getResource()) {
+      jedis.del(buildRedisKey(key) + batchKeySuffix);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to reset rate limiter state in Redis", e);
+    }
+    if (script != null) {
+      return;
+    }
     try {
-      String redisKey = buildRedisKey(key);
       // Remove the bucket by getting it and then clearing its state
-      Bucket bucket =
-          proxyManager
-              .builder()
-              .build(
-                  redisKey.getBytes(java.nio.charset.StandardCharsets.UTF_8),
-                  () -> bucketConfiguration);
+      Bucket bucket = bucketFor(key);
       // Reset by consuming all available tokens and then refilling
       long available = bucket.getAvailableTokens();
       if (available > 0) {
@@ -226,9 +378,86 @@ public class RedisRateLimiter implements RateLimiter {
     return keyPrefix + ":" + key;
   }
 
-  private JedisBasedProxyManager createProxyManager(
-      Supplier<redis.clients.jedis.JedisPool> jedisPoolSupplier) {
-    return JedisBasedProxyManager.builderFor(jedisPoolSupplier.get()).build();
+  private Bucket bucketFor(String key) {
+    return buckets.apply(buildRedisKey(key));
+  }
+
+  /** Takes up to the given number of tokens for a lease in one round trip. */
+  private TokenLeases.Grant take(String key, long maxTokens) {
+    long startTime = System.nanoTime();
+    try {
+      VerboseResult<Long> result = bucketFor(key).asVerbose().tryConsumeAsMuchAsPossible(maxTokens);
+      activeBuckets.set(Math.max(activeBuckets.get(), 1));
+      long remaining =
+          result.getState().getAvailableTokens(result.getConfiguration().getBandwidths());
+      return new TokenLeases.Grant(result.getValue(), remaining);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to lease tokens from Redis", e);
+    } finally {
+      statsBuilder.recordResponseTime(System.nanoTime() - startTime);
+    }
+  }
+
+  /** Runs the algorithm's script, or GCRA for token buckets, over all keys in one round trip. */
+  private Map<String, RateLimitResult> evaluate(Map<String, Long> tokensByKey) {
+    List<String> keys = new ArrayList<>(tokensByKey.size());
+    List<String> args = new ArrayList<>(scriptArgs.size() + tokensByKey.size());
+    args.addAll(scriptArgs);
+    tokensByKey.forEach(
+        (key, tokens) -> {
+          keys.add(buildRedisKey(key) + batchKeySuffix);
+          args.add(Long.toString(tokens));
+        });
+
+    long startTime = System.nanoTime();
+    List<?> reply;
+    try (Jedis jedis = jedisPool.getResource()) {
+      reply = (List<?>) evalScript(jedis, keys, args);
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to perform rate limiting operation on Redis", e);
+    } finally {
+      statsBuilder.recordResponseTime(System.nanoTime() - startTime);
+    }
+    activeBuckets.set(Math.max(activeBuckets.get(), 1));
+
+    long now = System.nanoTime();
+    Map<String, RateLimitResult> results = new LinkedHashMap<>();
+    int i = 0;
+    for (Map.Entry<String, Long> entry : tokensByKey.entrySet()) {
+      boolean allowed = ((Number) reply.get(i)).longValue() == 1;
+      long remaining = ((Number) reply.get(i + 1)).longValue();
+      long waitNanos = ((Number) reply.get(i + 2)).longValue() * 1_000;
+      results.put(
+          entry.getKey(),
+          allowed
+              ? RateLimitResult.allowed(entry.getValue(), remaining, config.getCapacity(), now)
+              : RateLimitResult.rejected(remaining, config.getCapacity(), now + waitNanos));
+      i += 3;
+    }
+    return results;
+  }
+
+  /** Evaluates the script by its digest, loading it again if the server has dropped it. */
+  private Object evalScript(Jedis jedis, List<String> keys, List<String> args) {
+    String sha = scriptSha;
+    if (sha != null) {
+      try {
+        return jedis.evalsha(sha, keys, args);
+      } catch (JedisNoScriptException e) {
+        // Script cache flushed or failed over; load it again below.
+      }
+    }
+    scriptSha = jedis.scriptLoad(batchScript);
+    return jedis.evalsha(scriptSha, keys, args);
+  }
+
+  private JedisBasedProxyManager createProxyManager(JedisPool jedisPool) {
+    // Bucket4j requires an expiration strategy; full buckets carry no state worth keeping.
+    return JedisBasedProxyManager.builderFor(jedisPool)
+        .withExpirationStrategy(
+            ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(
+                Duration.ofSeconds(1)))
+        .build();
   }
 
   private BucketConfiguration createBucketConfiguration(RateLimitConfig config) {
@@ -0,0 +1,221 @@
+package com.marcusprado02.commons.app.ratelimiting.impl;
+
+import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
+import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-local leases of tokens taken from a shared token store.
+ *
+ * <p>Each key has a lease: tokens already consumed from the store on behalf of this node, usable
+ * until the lease expires. Requests are served from the lease with a compare-and-set; only when it
+ * cannot cover a request does the caller go to the store, taking {@link
+ * RateLimitConfig#getLeaseSize()} tokens, or as many as are left, in one round trip. Once a lease
+ * is down to half its size, it is topped up in the background so hot keys rarely wait on the store.
+ * Tokens still leased at expiry are forfeited.
+ */
+final class TokenLeases {
+
+  /** Expired leases are swept after this many store round trips. */
+  private static final int SWEEP_EVERY = 1024;
+
+  /** Takes up to the given number of tokens from the shared store in one round trip. */
+  @FunctionalInterface
+  interface TokenStore {
+    Grant take(String key, long maxTokens);
+  }
+
+  /**
+   * Outcome of a round trip to the store.
+   *
+   * @param granted tokens consumed from the store
+   * @param remaining tokens left in the store afterwards
+   */
+  record Grant(long granted, long remaining) {}
+
+  private final TokenStore store;
+  private final RateLimitConfig config;
+  private final Executor refresher;
+  private final LongSupplier nanoTime;
+  private final long leaseSize;
+  private final long leaseNanos;
+  private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+  private final AtomicLong roundTrips = new AtomicLong();
+
+  TokenLeases(TokenStore store, RateLimitConfig config, Executor refresher, LongSupplier nanoTime) {
+    this.store = store;
+    this.config = config;
+    this.refresher = refresher;
+    this.nanoTime = nanoTime;
+    this.leaseSize = config.getLeaseSize();
+    this.leaseNanos = config.getLeaseDuration().toNanos();
+  }
+
+  /** Consumes tokens from the key's lease, renewing it from the store if needed. */
+  RateLimitResult tryConsume(String key, long tokens) {
+    Lease lease = leaseFor(key);
+    long now = nanoTime.getAsLong();
+    if (!lease.tryTake(tokens, now) && !renewAndTake(key, lease, tokens)) {
+      long available = lease.available();
+      return RateLimitResult.rejected(
+          Math.min(available + lease.remaining, config.getCapacity()),
+          config.getCapacity(),
+          now + nanosToRefill(tokens - available));
+    }
+    topUpIfLow(key, lease, now);
+    return RateLimitResult.allowed(
+        tokens,
+        Math.min(lease.available() + lease.remaining, config.getCapacity()),
+        config.getCapacity(),
+        now);
+  }
+
+  /** Consumes tokens from the key's lease without building a result. */
+  boolean tryAcquire(String key, long tokens) {
+    Lease lease = leaseFor(key);
+    long now = nanoTime.getAsLong();
+    if (!lease.tryTake(tokens, now) && !renewAndTake(key, lease, tokens)) {
+      return false;
+    }
+    topUpIfLow(key, lease, now);
+    return true;
+  }
+
+  /** Drops the key's lease, forfeiting its tokens. */
+  void invalidate(String key) {
+    leases.remove(key);
+  }
+
+  /** Gets the number of round trips made to the store. */
+  long roundTrips() {
+    return roundTrips.get();
+  }
+
+  /** Gets the number of leases held. */
+  int size() {
+    return leases.size();
+  }
+
+  private Lease leaseFor(String key) {
+    Lease lease = leases.get(key);
+    if (lease != null) {
+      return lease;
+    }
+    long now = nanoTime.getAsLong();
+    return leases.computeIfAbsent(key, k -> new Lease(now));
+  }
+
+  private boolean renewAndTake(String key, Lease lease, long tokens) {
+    lease.lock.lock();
+    try {
+      long now = nanoTime.getAsLong();
+      if (lease.tryTake(tokens, now)) {
+        return true;
+      }
+      if (now - lease.expiresAt >= 0) {
+        lease.tokens.set(0);
+      }
+      long wanted = Math.max(leaseSize, tokens - lease.tokens.get());
+      fetch(key, lease, wanted, now);
+      return lease.tryTake(tokens, now);
+    } finally {
+      lease.lock.unlock();
+    }
+  }
+
+  private void topUpIfLow(String key, Lease lease, long now) {
+    if (lease.tokens.get() > leaseSize / 2
+        || now - lease.nextRefreshAt < 0
+        || !lease.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      refresher.execute(
+          () -> {
+            lease.lock.lock();
+            try {
+              fetch(key, lease, leaseSize, nanoTime.getAsLong());
+            } catch (RuntimeException ex) {
+              // Left to the next caller, which renews synchronously if the lease runs out.
+            } finally {
+              lease.lock.unlock();
+              lease.refreshing.set(false);
+            }
+          });
+    } catch (RuntimeException ex) {
+      lease.refreshing.set(false);
+    }
+  }
+
+  /** Takes tokens from the store into the lease. Must hold the lease lock. */
+  private void fetch(String key, Lease lease, long wanted, long now) {
+    Grant grant = store.take(key, wanted);
+    if (now - lease.expiresAt >= 0) {
+      lease.tokens.set(0);
+    }
+    long count = roundTrips.incrementAndGet();
+    lease.tokens.addAndGet(grant.granted());
+    lease.remaining = grant.remaining();
+    lease.expiresAt = now + leaseNanos;
+    // A short grant means the store is drained; wait for the shortfall to refill before topping
+    // up in the background again.
+    lease.nextRefreshAt =
+        grant.granted() < wanted ? now + nanosToRefill(wanted - grant.granted()) : now;
+    if (count % SWEEP_EVERY == 0) {
+      refresher.execute(() -> sweep(nanoTime.getAsLong()));
+    }
+  }
+
+  private void sweep(long now) {
+    leases.values().removeIf(lease -> now - lease.expiresAt >= 0 && !lease.refreshing.get());
+  }
+
+  private long nanosToRefill(long tokens) {
+    if (tokens <= 0) {
+      return 0;
+    }
+    return (long)
+        Math.ceil(tokens * (double) config.getRefillPeriod().toNanos() / config.getRefillRate());
+  }
+
+  /** Tokens leased for one key. */
+  private static final class Lease {
+    final AtomicLong tokens = new AtomicLong();
+    final AtomicBoolean refreshing = new AtomicBoolean();
+    final ReentrantLock lock = new ReentrantLock();
+    volatile long expiresAt;
+    volatile long nextRefreshAt;
+    volatile long remaining;
+
+    /** Creates a lease that holds no tokens and has already expired. */
+    Lease(long now) {
+      this.expiresAt = now;
+      this.nextRefreshAt = now;
+    }
+
+    boolean tryTake(long count, long now) {
+      if (now - expiresAt >= 0) {
+        return false;
+      }
+      while (true) {
+        long current = tokens.get();
+        if (current < count) {
+          return false;
+        }
+        if (tokens.compareAndSet(current, current - count)) {
+          return true;
+        }
+      }
+    }
+
+    long available() {
+      return tokens.get();
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.marcusprado02.commons.app.ratelimiting;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void shouldReportZeroWhenEmpty() {
+    var histogram = new LatencyHistogram();
+
+    assertThat(histogram.count()).isZero();
+    assertThat(histogram.mean()).isEqualTo(0.0);
+    assertThat(histogram.valueAtQuantile(0.99)).isZero();
+  }
+
+  @Test
+  void shouldReportQuantilesWithinRelativeError() {
+    var histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 10_000; micros++) {
+      histogram.record(micros * 1_000);
+    }
+
+    assertThat(histogram.count()).isEqualTo(10_000);
+    assertThat(histogram.mean()).isCloseTo(5_000_500.0, within(1.0));
+    assertThat(histogram.valueAtQuantile(0.5)).isCloseTo(5_000_000L, withinPercentage(3));
+    assertThat(histogram.valueAtQuantile(0.99)).isCloseTo(9_900_000L, withinPercentage(3));
+    assertThat(histogram.valueAtQuantile(0.999)).isCloseTo(9_990_000L, withinPercentage(3));
+    assertThat(histogram.valueAtQuantile(1.0)).isCloseTo(10_000_000L, withinPercentage(3));
+  }
+
+  @Test
+  void shouldCountSmallValuesExactly() {
+    var histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(-5);
+
+    assertThat(histogram.valueAtQuantile(0.0)).isZero();
+    assertThat(histogram.valueAtQuantile(1.0)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldCoverWholeLongRange() {
+    var histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+
+    assertThat(histogram.valueAtQuantile(1.0)).isCloseTo(Long.MAX_VALUE, withinPercentage(3));
+  }
+
+  @Test
+  void shouldNotLoseConcurrentRecords() throws InterruptedException {
+    var histogram = new LatencyHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    for (int t = 0; t < 8; t++) {
+      executor.submit(
+          () -> {
+            for (int i = 0; i < 10_000; i++) {
+              histogram.record(1_000);
+            }
+          });
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(histogram.count()).isEqualTo(80_000);
+    assertThat(histogram.valueAtQuantile(0.5)).isCloseTo(1_000L, withinPercentage(3));
+  }
+
+  @Test
+  void shouldResetAndRejectInvalidQuantile() {
+    var histogram = new LatencyHistogram();
+    histogram.record(1_000);
+    histogram.reset();
+
+    assertThat(histogram.count()).isZero();
+    assertThat(histogram.valueAtQuantile(0.5)).isZero();
+    assertThatThrownBy(() -> histogram.valueAtQuantile(1.5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
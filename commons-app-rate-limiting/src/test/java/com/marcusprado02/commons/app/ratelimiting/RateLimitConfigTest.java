@@ -149,6 +149,65 @@ class RateLimitConfigTest {
     assertEquals(Duration.ofSeconds(1).multipliedBy(60).dividedBy(50), refillInterval);
   }
 
+  @Test
+  void testLeasing() {
+    RateLimitConfig exact = RateLimitConfig.perSecond(1000);
+    assertFalse(exact.isLeasingEnabled());
+    assertEquals(0, exact.getLeaseSize());
+
+    RateLimitConfig leased =
+        RateLimitConfig.builder()
+            .capacity(1000)
+            .refillRate(1000)
+            .refillPeriod(Duration.ofSeconds(1))
+            .leaseFraction(0.1)
+            .leaseDuration(Duration.ofMillis(500))
+            .build();
+    assertTrue(leased.isLeasingEnabled());
+    assertEquals(100, leased.getLeaseSize());
+    assertEquals(Duration.ofMillis(500), leased.getLeaseDuration());
+    assertNotEquals(exact, leased);
+    assertTrue(leased.toString().contains("leaseFraction=0.1"));
+
+    RateLimitConfig tiny =
+        RateLimitConfig.builder()
+            .capacity(5)
+            .refillRate(5)
+            .refillPeriod(Duration.ofSeconds(1))
+            .leaseFraction(0.01)
+            .build();
+    assertEquals(1, tiny.getLeaseSize(), "A lease holds at least one token");
+    assertEquals(RateLimitConfig.DEFAULT_LEASE_DURATION, tiny.getLeaseDuration());
+
+    assertThrows(
+        IllegalArgumentException.class, () -> RateLimitConfig.builder().leaseFraction(1.5));
+    assertThrows(
+        IllegalArgumentException.class, () -> RateLimitConfig.builder().leaseFraction(Double.NaN));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RateLimitConfig.builder().leaseDuration(Duration.ZERO));
+  }
+
+  @Test
+  void testAlgorithm() {
+    RateLimitConfig bucket = RateLimitConfig.perSecond(10);
+    assertEquals(RateLimitAlgorithm.TOKEN_BUCKET, bucket.getAlgorithm());
+    assertFalse(bucket.toString().contains("algorithm"));
+
+    RateLimitConfig window =
+        RateLimitConfig.builder()
+            .capacity(10)
+            .refillRate(10)
+            .refillPeriod(Duration.ofSeconds(1))
+            .algorithm(RateLimitAlgorithm.SLIDING_WINDOW)
+            .build();
+    assertEquals(RateLimitAlgorithm.SLIDING_WINDOW, window.getAlgorithm());
+    assertNotEquals(bucket, window);
+    assertTrue(window.toString().contains("algorithm=SLIDING_WINDOW"));
+
+    assertThrows(IllegalArgumentException.class, () -> RateLimitConfig.builder().algorithm(null));
+  }
+
   @Test
   void testEqualsAndHashCode() {
     RateLimitConfig config1 =
@@ -0,0 +1,115 @@
+package com.marcusprado02.commons.app.ratelimiting;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.marcusprado02.commons.app.observability.MetricsFacade;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterMetricsTest {
+
+  private final RateLimiterStats.Builder statsBuilder = RateLimiterStats.builder();
+  private final RecordingMetrics metrics = new RecordingMetrics();
+  private final RateLimiterMetrics exporter =
+      new RateLimiterMetrics("api", new StatsOnlyLimiter(statsBuilder), metrics);
+
+  @Test
+  void shouldExportRequestsSinceLastExportAsIncrements() {
+    statsBuilder.recordAllowed().recordAllowed().recordRejected();
+    exporter.export();
+    statsBuilder.recordAllowed();
+    exporter.export();
+
+    assertThat(metrics.counters)
+        .containsExactly(
+            "commons.ratelimit.requests api allowed 2",
+            "commons.ratelimit.requests api rejected 1",
+            "commons.ratelimit.requests api allowed 1");
+  }
+
+  @Test
+  void shouldExportWholeCountAfterReset() {
+    statsBuilder.recordAllowed().recordAllowed();
+    exporter.export();
+    statsBuilder.reset().recordAllowed();
+    exporter.export();
+
+    assertThat(metrics.counters).last().isEqualTo("commons.ratelimit.requests api allowed 1");
+  }
+
+  @Test
+  void shouldExportBucketsAndResponseTimePercentilesAsGauges() {
+    statsBuilder.activeBuckets(4);
+    for (int i = 1; i <= 1_000; i++) {
+      statsBuilder.recordResponseTime(i * 1_000_000L);
+    }
+    exporter.export();
+
+    assertThat(metrics.gauges)
+        .containsEntry("commons.ratelimit.buckets.active {limiter=api}", 4.0);
+    assertThat(metrics.gauges.get(responseTime("p50"))).isCloseTo(500.0, withinPercentage(3));
+    assertThat(metrics.gauges.get(responseTime("p99"))).isCloseTo(990.0, withinPercentage(3));
+    assertThat(metrics.gauges.get(responseTime("p999"))).isCloseTo(999.0, withinPercentage(3));
+    assertThat(metrics.gauges.get(responseTime("mean"))).isCloseTo(500.5, within(0.01));
+  }
+
+  @Test
+  void shouldTagAllResponseTimeSeriesWithSameKeys() {
+    exporter.export();
+
+    assertThat(metrics.gauges.keySet())
+        .filteredOn(key -> key.startsWith(RateLimiterMetrics.METRIC_RESPONSE_TIME))
+        .containsExactlyInAnyOrder(
+            responseTime("mean"), responseTime("p50"), responseTime("p99"), responseTime("p999"));
+  }
+
+  private static String responseTime(String statistic) {
+    return RateLimiterMetrics.METRIC_RESPONSE_TIME + " {limiter=api, statistic=" + statistic + "}";
+  }
+
+  private static final class RecordingMetrics implements MetricsFacade {
+    private final List<String> counters = new ArrayList<>();
+    private final Map<String, Double> gauges = new HashMap<>();
+
+    @Override
+    public void incrementCounter(String name, long delta, Map<String, String> attributes) {
+      counters.add(
+          name + " " + attributes.get("limiter") + " " + attributes.get("outcome") + " " + delta);
+    }
+
+    @Override
+    public void recordHistogram(String name, double value, Map<String, String> attributes) {}
+
+    @Override
+    public void recordGauge(String name, double value, Map<String, String> attributes) {
+      gauges.put(name + " " + new TreeMap<>(attributes), value);
+    }
+  }
+
+  private record StatsOnlyLimiter(RateLimiterStats.Builder stats) implements RateLimiter {
+
+    @Override
+    public RateLimitResult tryConsume(String key, long tokens) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RateLimitResult probe(String key) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RateLimitConfig getConfig() {
+      return RateLimitConfig.perSecond(1);
+    }
+
+    @Override
+    public RateLimiterStats getStats() {
+      return stats.build();
+    }
+  }
+}
@@ -56,6 +56,21 @@ class RateLimiterStatsTest {
     assertThat(stats.averageResponseTimeMs()).isGreaterThan(0.0);
   }
 
+  @Test
+  void shouldReportResponseTimePercentiles() {
+    var builder = RateLimiterStats.builder();
+    for (int i = 1; i <= 1_000; i++) {
+      builder.recordResponseTime(i * 1_000_000L);
+    }
+
+    var stats = builder.build();
+
+    assertThat(stats.averageResponseTimeMs()).isCloseTo(500.5, within(0.01));
+    assertThat(stats.p50ResponseTimeMs()).isCloseTo(500.0, withinPercentage(3));
+    assertThat(stats.p99ResponseTimeMs()).isCloseTo(990.0, withinPercentage(3));
+    assertThat(stats.p999ResponseTimeMs()).isCloseTo(999.0, withinPercentage(3));
+  }
+
   @Test
   void shouldResetBuilder() {
     var builder = RateLimiterStats.builder();
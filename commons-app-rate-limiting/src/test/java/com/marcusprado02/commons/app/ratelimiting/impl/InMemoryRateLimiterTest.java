@@ -2,15 +2,19 @@ package com.marcusprado02.commons.app.ratelimiting.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.marcusprado02.commons.app.ratelimiting.RateLimitAlgorithm;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
 import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
 import com.marcusprado02.commons.app.ratelimiting.RateLimiterStats;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -228,6 +232,192 @@ class InMemoryRateLimiterTest {
     assertEquals(0, rateLimiter.getBucketCount(), "Should have no buckets after clear");
   }
 
+  @Test
+  void testRefillOverTime() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter = manualLimiter(clock);
+    String key = "refill-key";
+
+    assertTrue(limiter.tryConsume(key, 10).isAllowed());
+    RateLimitResult rejected = limiter.tryConsume(key);
+    assertFalse(rejected.isAllowed());
+    assertEquals(200_000_000L, rejected.refillTimeNanos(), "Next token is due in 200ms");
+
+    clock.addAndGet(Duration.ofMillis(199).toNanos());
+    assertFalse(limiter.tryAcquire(key), "Token should not be available before it is due");
+
+    clock.addAndGet(Duration.ofMillis(401).toNanos());
+    RateLimitResult result = limiter.tryConsume(key);
+    assertTrue(result.isAllowed(), "Tokens should refill at 5 per second");
+    assertEquals(2, result.remainingTokens(), "Three tokens refilled in 600ms, one consumed");
+
+    clock.addAndGet(Duration.ofMinutes(1).toNanos());
+    assertEquals(10, limiter.probe(key).remainingTokens(), "Refill should stop at capacity");
+  }
+
+  @Test
+  void testTryAcquireMatchesTryConsume() {
+    String key = "acquire-key";
+
+    for (int i = 0; i < 10; i++) {
+      assertTrue(rateLimiter.tryAcquire(key), "Request " + (i + 1) + " should be allowed");
+    }
+    assertFalse(rateLimiter.tryAcquire(key), "Request should be rejected when limit exceeded");
+    assertFalse(rateLimiter.tryAcquire("other-key", 11), "Cannot exceed capacity at once");
+    assertEquals(10, rateLimiter.getStats().allowedRequests());
+    assertEquals(2, rateLimiter.getStats().rejectedRequests());
+  }
+
+  @Test
+  void testEvictsOnlyRefilledBuckets() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter = manualLimiter(clock);
+
+    limiter.tryConsume("idle", 1);
+    limiter.tryConsume("busy", 5);
+    assertEquals(0, limiter.evictIdle(), "Nothing has refilled completely yet");
+
+    clock.addAndGet(Duration.ofMillis(200).toNanos());
+    limiter.tryConsume("busy", 1);
+
+    assertEquals(1, limiter.evictIdle(), "Bucket refilled after 200ms should be evicted");
+    assertEquals(1, limiter.getBucketCount());
+    assertEquals(5, limiter.probe("busy").remainingTokens(), "Active bucket must keep its state");
+    assertEquals(10, limiter.probe("idle").remainingTokens());
+  }
+
+  @Test
+  void testEvictsEarlyAboveMaxBuckets() throws InterruptedException {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter =
+        new InMemoryRateLimiter(
+            config, new InMemoryRateLimiterConfig(Duration.ZERO, 100), () -> clock.get());
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryConsume("user-" + i);
+    }
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    limiter.tryConsume("user-100");
+
+    long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+    while (limiter.getBucketCount() > 1 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, limiter.getBucketCount(), "Refilled buckets should be evicted early");
+  }
+
+  @Test
+  void testGcraMatchesTokenBucket() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter bucket = manualLimiter(clock);
+    InMemoryRateLimiter gcra = manualLimiter(clock, withAlgorithm(RateLimitAlgorithm.GCRA));
+
+    for (int i = 0; i < 40; i++) {
+      clock.addAndGet(Duration.ofMillis(70).toNanos());
+      long tokens = 1 + i % 3;
+      RateLimitResult expected = bucket.tryConsume("key", tokens);
+      RateLimitResult actual = gcra.tryConsume("key", tokens);
+      assertEquals(expected.isAllowed(), actual.isAllowed(), "Step " + i);
+      assertEquals(expected.remainingTokens(), actual.remainingTokens(), "Step " + i);
+    }
+  }
+
+  @Test
+  void testSlidingWindow() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter =
+        manualLimiter(clock, withAlgorithm(RateLimitAlgorithm.SLIDING_WINDOW));
+    String key = "window-key";
+
+    // Window is capacity / rate = 2 seconds
+    assertTrue(limiter.tryConsume(key, 10).isAllowed());
+    RateLimitResult rejected = limiter.tryConsume(key);
+    assertFalse(rejected.isAllowed());
+    assertEquals(0, rejected.remainingTokens());
+
+    // Half way into the next window, half of the previous one still counts
+    clock.addAndGet(Duration.ofSeconds(3).toNanos());
+    assertEquals(5, limiter.probe(key).remainingTokens());
+    assertTrue(limiter.tryConsume(key, 5).isAllowed());
+    assertFalse(limiter.tryAcquire(key, 1));
+
+    // Two windows later nothing is remembered
+    clock.addAndGet(Duration.ofSeconds(4).toNanos());
+    assertEquals(10, limiter.probe(key).remainingTokens());
+    assertEquals(1, limiter.evictIdle());
+  }
+
+  @Test
+  void testSlidingWindowRetryTime() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter =
+        manualLimiter(clock, withAlgorithm(RateLimitAlgorithm.SLIDING_WINDOW));
+
+    assertTrue(limiter.tryConsume("key", 10).isAllowed());
+    RateLimitResult rejected = limiter.tryConsume("key", 2);
+    assertFalse(rejected.isAllowed());
+
+    // Admitted once 20% of the full window has slid out, 2.4 seconds from now
+    clock.set(rejected.refillTimeNanos() - Duration.ofMillis(1).toNanos());
+    assertFalse(limiter.tryAcquire("key", 2));
+    clock.set(rejected.refillTimeNanos());
+    assertTrue(limiter.tryAcquire("key", 2));
+  }
+
+  @Test
+  void testSlidingWindowCapacityLimit() {
+    RateLimitConfig tooLarge =
+        RateLimitConfig.builder()
+            .capacity(InMemoryRateLimiter.MAX_WINDOW_CAPACITY + 1)
+            .refillRate(1)
+            .refillPeriod(Duration.ofSeconds(1))
+            .algorithm(RateLimitAlgorithm.SLIDING_WINDOW)
+            .build();
+    assertThrows(IllegalArgumentException.class, () -> new InMemoryRateLimiter(tooLarge));
+  }
+
+  @Test
+  void testTryConsumeAllIsAllOrNothing() {
+    InMemoryRateLimiter limiter = manualLimiter(new AtomicLong());
+    Map<String, Long> request = new LinkedHashMap<>();
+    request.put("user:1", 2L);
+    request.put("tenant:acme", 3L);
+    request.put("route:/orders", 1L);
+
+    Map<String, RateLimitResult> results = limiter.tryConsumeAll(request);
+    assertTrue(results.values().stream().allMatch(RateLimitResult::isAllowed));
+    assertEquals(8, results.get("user:1").remainingTokens());
+    assertEquals(7, results.get("tenant:acme").remainingTokens());
+
+    limiter.tryConsume("route:/orders", 9);
+    results = limiter.tryConsumeAll(request);
+    assertEquals(3, results.size());
+    assertTrue(results.values().stream().noneMatch(RateLimitResult::isAllowed));
+    assertEquals(8, results.get("user:1").remainingTokens());
+
+    // Tokens taken before the rejection were given back
+    assertEquals(8, limiter.probe("user:1").remainingTokens());
+    assertEquals(7, limiter.probe("tenant:acme").remainingTokens());
+
+    RateLimiterStats stats = limiter.getStats();
+    assertEquals(2, stats.allowedRequests());
+    assertEquals(1, stats.rejectedRequests());
+  }
+
+  @Test
+  void testSlidingWindowTryConsumeAllRefunds() {
+    AtomicLong clock = new AtomicLong();
+    InMemoryRateLimiter limiter =
+        manualLimiter(clock, withAlgorithm(RateLimitAlgorithm.SLIDING_WINDOW));
+    limiter.tryConsume("b", 10);
+
+    Map<String, Long> request = new LinkedHashMap<>();
+    request.put("a", 4L);
+    request.put("b", 1L);
+    assertFalse(limiter.tryConsumeAll(request).get("a").isAllowed());
+    assertEquals(10, limiter.probe("a").remainingTokens());
+  }
+
   @Test
   void testInvalidInput() {
     assertThrows(
@@ -250,4 +440,24 @@ class InMemoryRateLimiterTest {
         () -> rateLimiter.tryConsume("key", -1),
         "Should reject negative tokens");
   }
+
+  private InMemoryRateLimiter manualLimiter(AtomicLong clock) {
+    return manualLimiter(clock, config);
+  }
+
+  private RateLimitConfig withAlgorithm(RateLimitAlgorithm algorithm) {
+    return RateLimitConfig.builder()
+        .capacity(10)
+        .refillRate(5)
+        .refillPeriod(Duration.ofSeconds(1))
+        .algorithm(algorithm)
+        .build();
+  }
+
+  private InMemoryRateLimiter manualLimiter(AtomicLong clock, RateLimitConfig config) {
+    return new InMemoryRateLimiter(
+        config,
+        InMemoryRateLimiterConfig.defaults().withEvictionInterval(Duration.ZERO),
+        clock::get);
+  }
 }
@@ -0,0 +1,171 @@
+package com.marcusprado02.commons.app.ratelimiting.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.marcusprado02.commons.app.ratelimiting.RateLimitAlgorithm;
+import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
+import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.exceptions.JedisNoScriptException;
+
+class RedisRateLimiterTest {
+
+  private JedisPool pool;
+  private Jedis jedis;
+  private RedisRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    pool = mock(JedisPool.class);
+    jedis = mock(Jedis.class);
+    when(pool.getResource()).thenReturn(jedis);
+    when(jedis.scriptLoad(RedisRateLimitScripts.GCRA)).thenReturn("sha");
+    rateLimiter =
+        new RedisRateLimiter(
+            pool,
+            RateLimitConfig.builder()
+                .capacity(10)
+                .refillRate(5)
+                .refillPeriod(Duration.ofSeconds(1))
+                .algorithm(RateLimitAlgorithm.GCRA)
+                .build());
+  }
+
+  @Test
+  void testTryConsumeAllUsesSingleRoundTrip() {
+    when(jedis.evalsha(eq("sha"), anyList(), anyList()))
+        .thenReturn(List.of(1L, 8L, 0L, 1L, 9L, 0L));
+
+    Map<String, Long> request = new LinkedHashMap<>();
+    request.put("user:1", 2L);
+    request.put("tenant:acme", 1L);
+    Map<String, RateLimitResult> results = rateLimiter.tryConsumeAll(request);
+
+    assertTrue(results.get("user:1").isAllowed());
+    assertEquals(8, results.get("user:1").remainingTokens());
+    assertEquals(9, results.get("tenant:acme").remainingTokens());
+    verify(jedis, times(1))
+        .evalsha(
+            "sha",
+            List.of("rate_limiter:user:1", "rate_limiter:tenant:acme"),
+            List.of("10", "5", "1000000", "2", "1"));
+    assertEquals(1, rateLimiter.getStats().allowedRequests());
+  }
+
+  @Test
+  void testRejectionCarriesRetryTime() {
+    when(jedis.evalsha(eq("sha"), anyList(), anyList())).thenReturn(List.of(0L, 0L, 200_000L));
+
+    long before = System.nanoTime();
+    RateLimitResult result = rateLimiter.tryConsume("user:1");
+
+    assertFalse(result.isAllowed());
+    assertTrue(result.refillTimeNanos() - before >= Duration.ofMillis(200).toNanos());
+    assertEquals(1, rateLimiter.getStats().rejectedRequests());
+  }
+
+  @Test
+  void testReloadsFlushedScript() {
+    when(jedis.evalsha(eq("sha"), anyList(), anyList()))
+        .thenReturn(List.of(1L, 9L, 0L))
+        .thenThrow(new JedisNoScriptException("NOSCRIPT"))
+        .thenReturn(List.of(1L, 8L, 0L));
+
+    assertTrue(rateLimiter.tryConsume("user:1").isAllowed());
+    assertEquals(8, rateLimiter.tryConsume("user:1").remainingTokens());
+    verify(jedis, times(2)).scriptLoad(any(String.class));
+  }
+
+  @Test
+  void testLeasesTokensFromTokenBucket() {
+    Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    AtomicInteger lookups = new AtomicInteger();
+    RedisRateLimiter leasing =
+        new RedisRateLimiter(
+            pool,
+            RateLimitConfig.builder()
+                .capacity(100)
+                .refillRate(100)
+                .refillPeriod(Duration.ofHours(1))
+                .leaseFraction(0.1)
+                .leaseDuration(Duration.ofMinutes(1))
+                .build(),
+            "rate_limiter",
+            redisKey -> {
+              lookups.incrementAndGet();
+              return buckets.computeIfAbsent(
+                  redisKey,
+                  k ->
+                      Bucket.builder()
+                          .addLimit(
+                              Bandwidth.classic(100, Refill.greedy(100, Duration.ofHours(1))))
+                          .build());
+            });
+
+    RateLimitResult first = leasing.tryConsume("tenant");
+
+    assertTrue(first.isAllowed());
+    assertEquals(99, first.remainingTokens(), "9 leased locally plus 90 left in the bucket");
+    assertEquals(1, lookups.get());
+    assertEquals(90, buckets.get("rate_limiter:tenant").getAvailableTokens());
+
+    int allowed = 1;
+    for (int i = 0; i < 150; i++) {
+      if (leasing.tryAcquire("tenant", 1)) {
+        allowed++;
+      }
+    }
+    assertEquals(100, allowed);
+  }
+
+  @Test
+  void testTokenBucketConsumesSeveralKeysWithGcraScript() {
+    Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    RedisRateLimiter tokenBucket =
+        new RedisRateLimiter(
+            pool,
+            RateLimitConfig.builder()
+                .capacity(10)
+                .refillRate(5)
+                .refillPeriod(Duration.ofSeconds(1))
+                .build(),
+            "rate_limiter",
+            redisKey -> buckets.computeIfAbsent(redisKey, k -> Bucket.builder().build()));
+    when(jedis.evalsha(eq("sha"), anyList(), anyList()))
+        .thenReturn(List.of(1L, 9L, 0L, 0L, 0L, 400_000L));
+
+    Map<String, Long> request = new LinkedHashMap<>();
+    request.put("user:1", 1L);
+    request.put("tenant:acme", 1L);
+    Map<String, RateLimitResult> results = tokenBucket.tryConsumeAll(request);
+
+    assertFalse(results.get("tenant:acme").isAllowed());
+    assertEquals(9, results.get("user:1").remainingTokens());
+    verify(jedis, times(1))
+        .evalsha(
+            "sha",
+            List.of("rate_limiter:user:1:gcra", "rate_limiter:tenant:acme:gcra"),
+            List.of("10", "5", "1000000", "1", "1"));
+    assertTrue(buckets.isEmpty(), "Batches never touch the Bucket4j state");
+    assertEquals(1, tokenBucket.getStats().rejectedRequests());
+  }
+}
@@ -0,0 +1,147 @@
+package com.marcusprado02.commons.app.ratelimiting.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.marcusprado02.commons.app.ratelimiting.RateLimitConfig;
+import com.marcusprado02.commons.app.ratelimiting.RateLimitResult;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenLeasesTest {
+
+  private final RateLimitConfig config =
+      RateLimitConfig.builder()
+          .capacity(100)
+          .refillRate(100)
+          .refillPeriod(Duration.ofHours(1))
+          .leaseFraction(0.1)
+          .leaseDuration(Duration.ofSeconds(1))
+          .build();
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void testServesRequestsFromLeaseWithOneRoundTripPerLease() {
+    SharedStore store = new SharedStore(100);
+    TokenLeases leases = new TokenLeases(store, config, Runnable::run, clock::get);
+
+    int allowed = 0;
+    for (int i = 0; i < 100; i++) {
+      if (leases.tryAcquire("tenant", 1)) {
+        allowed++;
+      }
+    }
+
+    assertEquals(100, allowed, "Every token in the store should be admitted");
+    assertFalse(leases.tryAcquire("tenant", 1), "Store is drained");
+    assertTrue(store.calls.get() <= 12, "Expected about one round trip per 10-token lease");
+  }
+
+  @Test
+  void testLimitHoldsAcrossNodes() {
+    SharedStore store = new SharedStore(50);
+    TokenLeases nodeA = new TokenLeases(store, config, Runnable::run, clock::get);
+    TokenLeases nodeB = new TokenLeases(store, config, Runnable::run, clock::get);
+
+    int allowed = 0;
+    for (int i = 0; i < 100; i++) {
+      if ((i % 2 == 0 ? nodeA : nodeB).tryAcquire("tenant", 1)) {
+        allowed++;
+      }
+    }
+
+    assertEquals(50, allowed, "Nodes together cannot admit more than the store holds");
+  }
+
+  @Test
+  void testReportsRemainingTokensAcrossLeaseAndStore() {
+    SharedStore store = new SharedStore(100);
+    TokenLeases leases = new TokenLeases(store, config, task -> {}, clock::get);
+
+    RateLimitResult result = leases.tryConsume("tenant", 1);
+
+    assertTrue(result.isAllowed());
+    assertEquals(99, result.remainingTokens(), "9 leased locally plus 90 left in the store");
+    assertEquals(100, result.totalCapacity());
+  }
+
+  @Test
+  void testForfeitsExpiredLease() {
+    SharedStore store = new SharedStore(100);
+    TokenLeases leases = new TokenLeases(store, config, task -> {}, clock::get);
+
+    assertTrue(leases.tryAcquire("tenant", 1));
+    assertEquals(1, store.calls.get());
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    assertTrue(leases.tryAcquire("tenant", 1));
+
+    assertEquals(2, store.calls.get(), "Expired lease must be renewed from the store");
+    assertEquals(80, store.available.get(), "Unused tokens of the expired lease are forfeited");
+  }
+
+  @Test
+  void testRejectsWhenStoreCannotCoverRequest() {
+    SharedStore store = new SharedStore(5);
+    TokenLeases leases = new TokenLeases(store, config, task -> {}, clock::get);
+
+    RateLimitResult result = leases.tryConsume("tenant", 8);
+
+    assertFalse(result.isAllowed());
+    assertEquals(5, result.remainingTokens(), "Partial grant stays leased for smaller requests");
+    assertTrue(leases.tryAcquire("tenant", 5));
+  }
+
+  @Test
+  void testBackgroundRefreshFailureDoesNotFailCallers() {
+    SharedStore store = new SharedStore(100);
+    AtomicBoolean failing = new AtomicBoolean();
+    TokenLeases leases =
+        new TokenLeases(
+            (key, max) -> {
+              if (failing.get()) {
+                throw new IllegalStateException("redis down");
+              }
+              return store.take(key, max);
+            },
+            config,
+            Runnable::run,
+            clock::get);
+
+    assertTrue(leases.tryAcquire("tenant", 1));
+    failing.set(true);
+    for (int i = 0; i < 9; i++) {
+      assertTrue(leases.tryAcquire("tenant", 1), "Leased tokens should still be served");
+    }
+    assertThrows(IllegalStateException.class, () -> leases.tryAcquire("tenant", 1));
+  }
+
+  @Test
+  void testInvalidateDropsLease() {
+    SharedStore store = new SharedStore(100);
+    TokenLeases leases = new TokenLeases(store, config, task -> {}, clock::get);
+
+    leases.tryAcquire("tenant", 1);
+    leases.invalidate("tenant");
+
+    assertEquals(0, leases.size());
+  }
+
+  /** Store without refill, standing in for the Redis bucket shared by all nodes. */
+  private static final class SharedStore implements TokenLeases.TokenStore {
+    private final AtomicLong available;
+    private final AtomicLong calls = new AtomicLong();
+
+    private SharedStore(long tokens) {
+      this.available = new AtomicLong(tokens);
+    }
+
+    @Override
+    public synchronized TokenLeases.Grant take(String key, long maxTokens) {
+      calls.incrementAndGet();
+      long granted = Math.min(maxTokens, available.get());
+      return new TokenLeases.Grant(granted, available.addAndGet(-granted));
+    }
+  }
+}
@@ -2,10 +2,29 @@ package com.marcusprado02.commons.app.resilience;
 
 import java.time.Duration;
 
-/** Configuration policy for caching operation results with a size limit and time-to-live. */
-public record CachePolicy(int maxSize, Duration ttl) {
+/**
+ * Configuration policy for caching operation results with a size limit and time-to-live.
+ *
+ * <p>Concurrent misses for one key share a single load. The optional windows trade freshness for
+ * latency: within {@code refreshAhead} before an entry expires, a hit reloads it in the background;
+ * within {@code staleWhileRevalidate} after it expires, a hit returns the stale value and reloads
+ * it in the background; within {@code staleIfCircuitOpen} after it expires, a load rejected by an
+ * open circuit breaker returns the stale value instead of failing. A zero window is disabled.
+ *
+ * @param maxSize maximum number of entries
+ * @param ttl how long an entry is fresh
+ * @param refreshAhead window before expiry in which hits reload the entry in the background
+ * @param staleWhileRevalidate window after expiry in which hits return the stale value
+ * @param staleIfCircuitOpen window after expiry in which an open circuit returns the stale value
+ */
+public record CachePolicy(
+    int maxSize,
+    Duration ttl,
+    Duration refreshAhead,
+    Duration staleWhileRevalidate,
+    Duration staleIfCircuitOpen) {
 
-  /** Validates cache policy fields. */
+  /** Validates cache policy fields and disables windows left {@code null}. */
   public CachePolicy {
     if (maxSize <= 0) {
       throw new IllegalArgumentException("maxSize must be > 0");
@@ -13,5 +32,45 @@ public record CachePolicy(int maxSize, Duration ttl) {
     if (ttl == null || ttl.isNegative() || ttl.isZero()) {
       throw new IllegalArgumentException("ttl must be > 0");
     }
+    refreshAhead = (refreshAhead == null) ? Duration.ZERO : refreshAhead;
+    staleWhileRevalidate = (staleWhileRevalidate == null) ? Duration.ZERO : staleWhileRevalidate;
+    staleIfCircuitOpen = (staleIfCircuitOpen == null) ? Duration.ZERO : staleIfCircuitOpen;
+    if (refreshAhead.isNegative() || refreshAhead.compareTo(ttl) >= 0) {
+      throw new IllegalArgumentException("refreshAhead must be >= 0 and < ttl");
+    }
+    if (staleWhileRevalidate.isNegative()) {
+      throw new IllegalArgumentException("staleWhileRevalidate must be >= 0");
+    }
+    if (staleIfCircuitOpen.isNegative()) {
+      throw new IllegalArgumentException("staleIfCircuitOpen must be >= 0");
+    }
+  }
+
+  /** Creates a policy without refresh-ahead or stale windows. */
+  public CachePolicy(int maxSize, Duration ttl) {
+    this(maxSize, ttl, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+  }
+
+  /** Returns a copy with the given refresh-ahead window. */
+  public CachePolicy withRefreshAhead(Duration refreshAhead) {
+    return new CachePolicy(maxSize, ttl, refreshAhead, staleWhileRevalidate, staleIfCircuitOpen);
+  }
+
+  /** Returns a copy with the given stale-while-revalidate window. */
+  public CachePolicy withStaleWhileRevalidate(Duration staleWhileRevalidate) {
+    return new CachePolicy(maxSize, ttl, refreshAhead, staleWhileRevalidate, staleIfCircuitOpen);
+  }
+
+  /** Returns a copy with the given window for serving stale values while the circuit is open. */
+  public CachePolicy withStaleIfCircuitOpen(Duration staleIfCircuitOpen) {
+    return new CachePolicy(maxSize, ttl, refreshAhead, staleWhileRevalidate, staleIfCircuitOpen);
+  }
+
+  /** Returns how long an entry is retained: fresh, then as long as any stale window allows. */
+  public Duration retention() {
+    return ttl.plus(
+        (staleWhileRevalidate.compareTo(staleIfCircuitOpen) >= 0)
+            ? staleWhileRevalidate
+            : staleIfCircuitOpen);
   }
 }
@@ -0,0 +1,98 @@
+package com.marcusprado02.commons.app.resilience;
+
+import java.time.Duration;
+
+/**
+ * Configuration policy for an adaptive concurrency limit, which adjusts how many calls may run at
+ * once from their observed latency and failures instead of using a fixed bulkhead size.
+ *
+ * <p>The limit starts at {@code initialLimit} and stays within {@code minLimit} and {@code
+ * maxLimit}. A call over the limit waits up to {@code maxWaitDuration} for a permit and is rejected
+ * after that. How the limit moves depends on the {@link Algorithm}.
+ *
+ * @param algorithm how the limit is adjusted
+ * @param initialLimit limit before any call has completed
+ * @param minLimit lowest limit
+ * @param maxLimit highest limit
+ * @param maxWaitDuration how long a call waits for a permit
+ */
+public record ConcurrencyLimitPolicy(
+    Algorithm algorithm, int initialLimit, int minLimit, int maxLimit, Duration maxWaitDuration) {
+
+  public static final int DEFAULT_INITIAL_LIMIT = 20;
+  public static final int DEFAULT_MIN_LIMIT = 1;
+  public static final int DEFAULT_MAX_LIMIT = 200;
+
+  /** Strategy for adjusting the limit. */
+  public enum Algorithm {
+    /**
+     * Additive increase, multiplicative decrease: grows by one per successful call made while at
+     * least half the limit is in use, and shrinks by a constant factor on a failed call.
+     */
+    AIMD,
+    /**
+     * Estimates the calls queued downstream from how far latency has risen above the lowest latency
+     * observed, growing the limit while the queue is short and shrinking it once it is long.
+     */
+    VEGAS,
+    /**
+     * Scales the limit by the ratio of long-term to short-term average latency, so it shrinks as
+     * soon as latency rises and recovers once it settles.
+     */
+    GRADIENT
+  }
+
+  /** Validates concurrency limit policy fields and applies defaults for optional values. */
+  public ConcurrencyLimitPolicy {
+    algorithm = (algorithm == null) ? Algorithm.GRADIENT : algorithm;
+    if (minLimit <= 0) {
+      throw new IllegalArgumentException("minLimit must be > 0");
+    }
+    if (maxLimit < minLimit) {
+      throw new IllegalArgumentException("maxLimit must be >= minLimit");
+    }
+    if (initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("initialLimit must be >= minLimit and <= maxLimit");
+    }
+    maxWaitDuration = (maxWaitDuration == null) ? Duration.ZERO : maxWaitDuration;
+    if (maxWaitDuration.isNegative()) {
+      throw new IllegalArgumentException("maxWaitDuration must be >= 0");
+    }
+  }
+
+  /** Returns a gradient policy with the default limits and no waiting. */
+  public static ConcurrencyLimitPolicy defaults() {
+    return of(Algorithm.GRADIENT, DEFAULT_MAX_LIMIT);
+  }
+
+  /**
+   * Creates a policy with the default initial and minimum limits and no waiting.
+   *
+   * @param algorithm how the limit is adjusted
+   * @param maxLimit highest limit
+   * @return the policy
+   */
+  public static ConcurrencyLimitPolicy of(Algorithm algorithm, int maxLimit) {
+    return new ConcurrencyLimitPolicy(
+        algorithm,
+        Math.min(DEFAULT_INITIAL_LIMIT, maxLimit),
+        Math.min(DEFAULT_MIN_LIMIT, maxLimit),
+        maxLimit,
+        Duration.ZERO);
+  }
+
+  /** Returns a copy with the given algorithm. */
+  public ConcurrencyLimitPolicy withAlgorithm(Algorithm algorithm) {
+    return new ConcurrencyLimitPolicy(algorithm, initialLimit, minLimit, maxLimit, maxWaitDuration);
+  }
+
+  /** Returns a copy with the given initial, minimum and maximum limits. */
+  public ConcurrencyLimitPolicy withLimits(int initialLimit, int minLimit, int maxLimit) {
+    return new ConcurrencyLimitPolicy(algorithm, initialLimit, minLimit, maxLimit, maxWaitDuration);
+  }
+
+  /** Returns a copy with the given wait for a permit. */
+  public ConcurrencyLimitPolicy withMaxWaitDuration(Duration maxWaitDuration) {
+    return new ConcurrencyLimitPolicy(algorithm, initialLimit, minLimit, maxLimit, maxWaitDuration);
+  }
+}
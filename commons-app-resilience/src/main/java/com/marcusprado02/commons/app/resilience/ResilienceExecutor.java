@@ -1,6 +1,9 @@
 package com.marcusprado02.commons.app.resilience;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 /** Executes operations with resilience policies applied (retry, timeout, circuit breaker, etc.). */
@@ -38,6 +41,54 @@ public interface ResilienceExecutor {
     }
   }
 
+  /**
+   * Executes an asynchronous operation with resilience policies applied, without blocking the
+   * caller.
+   *
+   * @param name operation name for metrics/logging
+   * @param policies resilience policy set to apply
+   * @param action starts the operation and returns its stage; invoked again on each retry
+   * @param <T> result type
+   * @return a stage completing with the operation result
+   */
+  default <T> CompletionStage<T> supplyAsync(
+      String name, ResiliencePolicySet policies, Supplier<CompletionStage<T>> action) {
+    return supplyAsync(name, policies, action, FallbackStrategy.none());
+  }
+
+  /**
+   * Executes an asynchronous operation with resilience policies and a fallback on failure, without
+   * blocking the caller.
+   *
+   * @param name operation name for metrics/logging
+   * @param policies resilience policy set to apply
+   * @param action starts the operation and returns its stage; invoked again on each retry
+   * @param fallback fallback strategy invoked if the operation fails
+   * @param <T> result type
+   * @return a stage completing with the operation result, or fallback value on failure
+   */
+  default <T> CompletionStage<T> supplyAsync(
+      String name,
+      ResiliencePolicySet policies,
+      Supplier<CompletionStage<T>> action,
+      FallbackStrategy<T> fallback) {
+    Objects.requireNonNull(action, "action must not be null");
+    FallbackStrategy<T> safeFallback = (fallback == null) ? FallbackStrategy.none() : fallback;
+    // Default: no policies applied (implementations may override).
+    CompletionStage<T> stage;
+    try {
+      stage = action.get();
+    } catch (Throwable t) {
+      stage = CompletableFuture.failedFuture(t);
+    }
+    return stage.exceptionally(
+        error ->
+            safeFallback.recover(
+                (error instanceof CompletionException && error.getCause() != null)
+                    ? error.getCause()
+                    : error));
+  }
+
   default <T> T supplyCached(
       String name, ResiliencePolicySet policies, Object cacheKey, Supplier<T> action) {
     return supplyCached(name, policies, cacheKey, action, FallbackStrategy.none());
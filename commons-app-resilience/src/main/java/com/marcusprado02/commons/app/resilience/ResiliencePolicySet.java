@@ -7,4 +7,29 @@ public record ResiliencePolicySet(
     CircuitBreakerPolicy circuitBreaker,
     BulkheadPolicy bulkhead,
     RateLimiterPolicy rateLimiter,
-    CachePolicy cache) {}
+    CachePolicy cache,
+    ConcurrencyLimitPolicy concurrencyLimit) {
+
+  /** Creates a policy set without an adaptive concurrency limit. */
+  public ResiliencePolicySet(
+      RetryPolicy retry,
+      TimeoutPolicy timeout,
+      CircuitBreakerPolicy circuitBreaker,
+      BulkheadPolicy bulkhead,
+      RateLimiterPolicy rateLimiter,
+      CachePolicy cache) {
+    this(retry, timeout, circuitBreaker, bulkhead, rateLimiter, cache, null);
+  }
+
+  /** Returns a copy with the given cache policy. */
+  public ResiliencePolicySet withCache(CachePolicy cache) {
+    return new ResiliencePolicySet(
+        retry, timeout, circuitBreaker, bulkhead, rateLimiter, cache, concurrencyLimit);
+  }
+
+  /** Returns a copy with the given adaptive concurrency limit. */
+  public ResiliencePolicySet withConcurrencyLimit(ConcurrencyLimitPolicy concurrencyLimit) {
+    return new ResiliencePolicySet(
+        retry, timeout, circuitBreaker, bulkhead, rateLimiter, cache, concurrencyLimit);
+  }
+}
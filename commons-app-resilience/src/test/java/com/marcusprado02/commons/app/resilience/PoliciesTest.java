@@ -33,6 +33,44 @@ class PoliciesTest {
   void cachePolicyShouldValidate() {
     assertThrows(IllegalArgumentException.class, () -> new CachePolicy(0, Duration.ofSeconds(1)));
     assertThrows(IllegalArgumentException.class, () -> new CachePolicy(10, Duration.ZERO));
+    CachePolicy policy = new CachePolicy(10, Duration.ofSeconds(10));
+    assertThrows(
+        IllegalArgumentException.class, () -> policy.withRefreshAhead(Duration.ofSeconds(10)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> policy.withStaleWhileRevalidate(Duration.ofSeconds(-1)));
+  }
+
+  @Test
+  void cachePolicyRetainsEntriesForLongestStaleWindow() {
+    CachePolicy policy =
+        new CachePolicy(10, Duration.ofSeconds(10))
+            .withStaleWhileRevalidate(Duration.ofSeconds(5))
+            .withStaleIfCircuitOpen(Duration.ofMinutes(1));
+    assertEquals(Duration.ZERO, policy.refreshAhead());
+    assertEquals(Duration.ofSeconds(70), policy.retention());
+  }
+
+  @Test
+  void concurrencyLimitPolicyShouldValidate() {
+    ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.defaults();
+    assertThrows(IllegalArgumentException.class, () -> policy.withLimits(1, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> policy.withLimits(5, 10, 8));
+    assertThrows(IllegalArgumentException.class, () -> policy.withLimits(20, 1, 10));
+    assertThrows(
+        IllegalArgumentException.class, () -> policy.withMaxWaitDuration(Duration.ofSeconds(-1)));
+    assertEquals(
+        ConcurrencyLimitPolicy.Algorithm.GRADIENT,
+        new ConcurrencyLimitPolicy(null, 1, 1, 1, null).algorithm());
+  }
+
+  @Test
+  void concurrencyLimitPolicyOfCapsLimitsAtMax() {
+    ConcurrencyLimitPolicy policy =
+        ConcurrencyLimitPolicy.of(ConcurrencyLimitPolicy.Algorithm.AIMD, 8);
+    assertEquals(8, policy.initialLimit());
+    assertEquals(1, policy.minLimit());
+    assertEquals(Duration.ZERO, policy.maxWaitDuration());
   }
 
   @Test
@@ -62,6 +100,12 @@ class PoliciesTest {
     ResiliencePolicySet policySet = new ResiliencePolicySet(retry, null, null, null, null, null);
     assertEquals(retry, policySet.retry());
     assertNull(policySet.timeout());
+    assertNull(policySet.concurrencyLimit());
+
+    ConcurrencyLimitPolicy limit = ConcurrencyLimitPolicy.defaults();
+    ResiliencePolicySet limited = policySet.withConcurrencyLimit(limit);
+    assertEquals(limit, limited.concurrencyLimit());
+    assertEquals(retry, limited.retry());
   }
 
   @Test
@@ -1,5 +1,6 @@
 package com.marcusprado02.commons.benchmarks;
 
+import com.marcusprado02.commons.app.domainevents.AsyncDispatchConfig;
 import com.marcusprado02.commons.app.domainevents.DomainEventBus;
 import com.marcusprado02.commons.app.domainevents.DomainEventHandler;
 import com.marcusprado02.commons.kernel.ddd.event.DomainEvent;
@@ -18,6 +19,7 @@ import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
 
@@ -30,6 +32,7 @@ import org.openjdk.jmh.infra.Blackhole;
  *   <li>Single event publish/dispatch throughput
  *   <li>Overhead of multiple handlers per event type
  *   <li>Batch publish via {@code publishAll}
+ *   <li>Fan-out latency of five CPU-bound handlers, synchronous vs. asynchronous dispatch
  * </ul>
  *
  * <p>To run:
@@ -51,6 +54,8 @@ public class DomainEventsBenchmark {
   private DomainEventBus busWith5Handlers;
   private DomainEventBus busNoHandlers;
   private DomainEventBus busForBatch;
+  private DomainEventBus syncFanOut;
+  private DomainEventBus asyncFanOut;
 
   private OrderCreated singleEvent;
   private List<DomainEvent> batchOf10;
@@ -113,6 +118,31 @@ public class DomainEventsBenchmark {
 
     busForBatch = new DomainEventBus();
     busForBatch.register(handler);
+
+    syncFanOut = new DomainEventBus();
+    asyncFanOut = new DomainEventBus(AsyncDispatchConfig.defaults());
+    for (int i = 0; i < 5; i++) {
+      DomainEventHandler<OrderCreated> slowHandler =
+          new DomainEventHandler<OrderCreated>() {
+            @Override
+            public void handle(OrderCreated event) {
+              Blackhole.consumeCPU(20_000);
+            }
+
+            @Override
+            public Class<OrderCreated> eventType() {
+              return OrderCreated.class;
+            }
+          };
+      syncFanOut.register(slowHandler);
+      asyncFanOut.register(slowHandler);
+    }
+  }
+
+  /** Stops the asynchronous bus's dispatch threads. */
+  @TearDown
+  public void tearDown() {
+    asyncFanOut.close();
   }
 
   /**
@@ -150,6 +180,28 @@ public class DomainEventsBenchmark {
     busForBatch.publishAll(batchOf10);
   }
 
+  /**
+   * Benchmark: time until five slow handlers have processed an event, dispatched on the publishing
+   * thread one after the other.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void fanOutLatency_sync() {
+    syncFanOut.publishAsync(singleEvent).toCompletableFuture().join();
+  }
+
+  /**
+   * Benchmark: time until five slow handlers have processed an event, dispatched asynchronously
+   * with the handlers running in parallel.
+   */
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public void fanOutLatency_async() {
+    asyncFanOut.publishAsync(singleEvent).toCompletableFuture().join();
+  }
+
   // -------------------------------------------------------------------------
   // Test event
   // -------------------------------------------------------------------------
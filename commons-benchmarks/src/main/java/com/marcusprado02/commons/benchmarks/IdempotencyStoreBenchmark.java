@@ -0,0 +1,159 @@
+package com.marcusprado02.commons.benchmarks;
+
+import com.marcusprado02.commons.adapters.persistence.jpa.idempotency.IdempotencyRecordEntity;
+import com.marcusprado02.commons.adapters.persistence.jpa.idempotency.JpaIdempotencyStoreAdapter;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.store.RedisIdempotencyStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import redis.clients.jedis.JedisPooled;
+
+/**
+ * JMH benchmarks comparing the Redis and JPA idempotency stores.
+ *
+ * <p>Measures operations per second for the path every idempotent HTTP request takes:
+ *
+ * <ul>
+ *   <li>Acquiring a new key and marking it completed
+ *   <li>Rejecting a duplicate of a key that is already held
+ * </ul>
+ *
+ * <p>Both stores need a running server. Connection settings are read from system properties: {@code
+ * bench.redis.uri} (default {@code redis://localhost:6379}), {@code bench.jdbc.url} (default {@code
+ * jdbc:postgresql://localhost:5432/postgres}), {@code bench.jdbc.user} and {@code
+ * bench.jdbc.password} (default {@code postgres}). The JPA store runs each operation in its own
+ * transaction, as it does behind the web interceptor.
+ *
+ * <p>To run:
+ *
+ * <pre>{@code
+ * docker run -d -p 6379:6379 redis:7-alpine
+ * docker run -d -p 5432:5432 -e POSTGRES_PASSWORD=postgres postgres:16-alpine
+ * mvn package -pl commons-benchmarks -am -DskipTests
+ * java -jar commons-benchmarks/target/benchmarks.jar IdempotencyStoreBenchmark
+ * }</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IdempotencyStoreBenchmark {
+
+  private static final Duration TTL = Duration.ofMinutes(5);
+
+  @Param({"redis", "jpa"})
+  private String store;
+
+  private JedisPooled jedis;
+  private EntityManagerFactory emf;
+  private EntityManager em;
+  private IdempotencyStorePort port;
+  private IdempotencyKey held;
+  private String prefix;
+  private long sequence;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    prefix = "bench:" + UUID.randomUUID() + ":";
+    if ("redis".equals(store)) {
+      jedis =
+          new JedisPooled(
+              URI.create(System.getProperty("bench.redis.uri", "redis://localhost:6379")));
+      port = new RedisIdempotencyStore(jedis, "bench-idempotency");
+    } else {
+      emf =
+          new Configuration()
+              .addAnnotatedClass(IdempotencyRecordEntity.class)
+              .setProperty(
+                  "hibernate.connection.url",
+                  System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"))
+              .setProperty(
+                  "hibernate.connection.username",
+                  System.getProperty("bench.jdbc.user", "postgres"))
+              .setProperty(
+                  "hibernate.connection.password",
+                  System.getProperty("bench.jdbc.password", "postgres"))
+              .setProperty("hibernate.hbm2ddl.auto", "update")
+              .buildSessionFactory();
+      em = emf.createEntityManager();
+      port = new JpaIdempotencyStoreAdapter(em);
+    }
+    held = new IdempotencyKey(prefix + "held");
+    inTransaction(() -> port.tryAcquire(held, TTL));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (jedis != null) {
+      jedis.close();
+    }
+    if (em != null) {
+      em.close();
+      emf.close();
+    }
+  }
+
+  @Benchmark
+  public boolean acquireAndComplete() {
+    IdempotencyKey key = new IdempotencyKey(prefix + sequence++);
+    boolean acquired = inTransaction(() -> port.tryAcquire(key, TTL));
+    inTransaction(
+        () -> {
+          port.markCompleted(key, "ref");
+          return null;
+        });
+    return acquired;
+  }
+
+  @Benchmark
+  public boolean rejectDuplicate() {
+    try {
+      return inTransaction(() -> port.tryAcquire(held, TTL));
+    } catch (PersistenceException ex) {
+      // the JPA insert of a held key only fails on flush, at commit
+      return false;
+    }
+  }
+
+  private <T> T inTransaction(Supplier<T> operation) {
+    if (em == null) {
+      return operation.get();
+    }
+    em.getTransaction().begin();
+    try {
+      T result = operation.get();
+      em.getTransaction().commit();
+      return result;
+    } catch (RuntimeException ex) {
+      if (em.getTransaction().isActive()) {
+        em.getTransaction().rollback();
+      }
+      throw ex;
+    } finally {
+      em.clear();
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package com.marcusprado02.commons.benchmarks;
+
+import com.marcusprado02.commons.app.outbox.AsyncOutboundPublisher;
+import com.marcusprado02.commons.app.outbox.DefaultOutboxProcessor;
+import com.marcusprado02.commons.app.outbox.OutboundPublisher;
+import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
+import com.marcusprado02.commons.app.outbox.metrics.NoOpOutboxMetrics;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
+import com.marcusprado02.commons.app.outbox.model.OutboxPayload;
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for outbox publishing against an in-memory broker stub.
+ *
+ * <p>Measures messages per second for:
+ *
+ * <ul>
+ *   <li>Synchronous publishing, where every send blocks for the broker acknowledgement
+ *   <li>Pipelined publishing through an {@link AsyncOutboundPublisher} with a bounded in-flight
+ *       window
+ * </ul>
+ *
+ * <p>The broker stub acknowledges each message after {@code ackLatencyMicros}, standing in for the
+ * network round trip to Kafka or RabbitMQ. Each batch is spread over {@code aggregates}
+ * aggregates. The pipelined processor keeps at most one send outstanding per aggregate, so its
+ * window is the smaller of the batch size and {@code aggregates}: with 32 aggregates a batch of 256
+ * takes 8 acknowledgement round trips, with 256 aggregates it takes one. Scores are messages per
+ * second in both modes.
+ *
+ * <p>To run:
+ *
+ * <pre>{@code
+ * mvn package -pl commons-benchmarks -am -DskipTests
+ * java -jar commons-benchmarks/target/benchmarks.jar OutboxPublishBenchmark
+ * }</pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OutboxPublishBenchmark {
+
+  private static final int BATCH_SIZE = 256;
+  private static final byte[] BODY = "{\"orderId\":\"order-1\"}".getBytes();
+
+  @Param({"200", "1000"})
+  private long ackLatencyMicros;
+
+  @Param({"32", "256"})
+  private int aggregates;
+
+  private ScheduledExecutorService broker;
+  private InMemoryOutboxRepository repository;
+  private DefaultOutboxProcessor syncProcessor;
+  private DefaultOutboxProcessor pipelinedProcessor;
+  private long sequence;
+
+  /** Creates the broker stub and one processor per publishing mode. */
+  @Setup
+  public void setup() {
+    broker = Executors.newSingleThreadScheduledExecutor();
+    repository = new InMemoryOutboxRepository();
+    OutboxProcessorConfig config = OutboxProcessorConfig.defaults().withMaxInFlight(BATCH_SIZE);
+
+    OutboundPublisher blocking =
+        (topic, body, headers) -> LockSupport.parkNanos(ackLatencyMicros * 1_000);
+    AsyncOutboundPublisher acking = this::acknowledgeLater;
+
+    syncProcessor =
+        new DefaultOutboxProcessor(repository, blocking, config, NoOpOutboxMetrics.INSTANCE);
+    pipelinedProcessor =
+        new DefaultOutboxProcessor(repository, acking, config, NoOpOutboxMetrics.INSTANCE);
+  }
+
+  @TearDown
+  public void tearDown() {
+    broker.shutdownNow();
+  }
+
+  /** Benchmark: one batch published message by message, waiting for each acknowledgement. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int synchronousPublish() {
+    appendBatch();
+    int published = syncProcessor.drainBatch(BATCH_SIZE);
+    purgePublished();
+    return published;
+  }
+
+  /** Benchmark: one batch published with one send in flight per aggregate. */
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int pipelinedPublish() {
+    appendBatch();
+    int published = pipelinedProcessor.drainBatch(BATCH_SIZE);
+    purgePublished();
+    return published;
+  }
+
+  private CompletionStage<Void> acknowledgeLater(
+      String topic, byte[] body, Map<String, String> headers) {
+    CompletableFuture<Void> ack = new CompletableFuture<>();
+    broker.schedule(() -> ack.complete(null), ackLatencyMicros, TimeUnit.MICROSECONDS);
+    return ack;
+  }
+
+  /** Keeps the store at one batch so claim scans do not grow over the iteration. */
+  private void purgePublished() {
+    repository.deletePublishedOlderThan(Instant.MAX);
+  }
+
+  private void appendBatch() {
+    Instant now = Instant.now();
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      long seq = sequence++;
+      repository.append(
+          new OutboxMessage(
+              new OutboxMessageId("msg-" + seq),
+              "Order",
+              "order-" + (seq % aggregates),
+              "OrderCreated",
+              "orders.created",
+              new OutboxPayload("application/json", BODY),
+              Map.of(),
+              now,
+              OutboxStatus.PENDING,
+              0));
+    }
+  }
+}
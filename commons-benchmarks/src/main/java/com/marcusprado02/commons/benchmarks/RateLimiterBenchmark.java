@@ -26,6 +26,8 @@ import org.openjdk.jmh.infra.Blackhole;
  *   <li>Single-key {@code tryConsume} throughput
  *   <li>Multi-key fan-out (simulating per-user rate limiting)
  *   <li>High-load scenario where most calls are rejected
+ *   <li>The allocation-free {@code tryAcquire} fast path, allowed and rejected
+ *   <li>A million distinct keys, exercising bucket creation and idle eviction
  * </ul>
  *
  * <p>To run:
@@ -43,9 +45,12 @@ import org.openjdk.jmh.infra.Blackhole;
 @Measurement(iterations = 5, time = 1)
 public class RateLimiterBenchmark {
 
+  private static final int DISTINCT_KEYS = 1_000_000;
+
   private RateLimiter unlimitedLimiter;
   private RateLimiter restrictedLimiter;
   private int keyCounter;
+  private String[] distinctKeys;
 
   /** Creates a high-capacity and a restricted rate limiter for the benchmark scenarios. */
   @Setup
@@ -59,6 +64,10 @@ public class RateLimiterBenchmark {
         RateLimiterFactory.inMemory().withConfig(RateLimitConfig.perSecond(1)).build();
 
     keyCounter = 0;
+    distinctKeys = new String[DISTINCT_KEYS];
+    for (int i = 0; i < DISTINCT_KEYS; i++) {
+      distinctKeys[i] = "client-" + i;
+    }
   }
 
   /**
@@ -97,4 +106,26 @@ public class RateLimiterBenchmark {
   public RateLimitResult singleKey_burstConsumption(Blackhole bh) {
     return unlimitedLimiter.tryConsume("burst-key", 2);
   }
+
+  /** Benchmark: tryAcquire on a single key with a high-capacity limiter; no result is built. */
+  @Benchmark
+  public boolean singleKey_tryAcquire() {
+    return unlimitedLimiter.tryAcquire("benchmark-key");
+  }
+
+  /** Benchmark: tryAcquire on a heavily throttled limiter; the rejection path without a result. */
+  @Benchmark
+  public boolean singleKey_tryAcquireThrottled() {
+    return restrictedLimiter.tryAcquire("throttled-key");
+  }
+
+  /**
+   * Benchmark: tryAcquire cycling through a million distinct keys, as with per-client limits under
+   * heavy key churn. Measures bucket creation and lookup while idle buckets are being evicted.
+   */
+  @Benchmark
+  public boolean distinctKeys_tryAcquire() {
+    String key = distinctKeys[Math.floorMod(keyCounter++, DISTINCT_KEYS)];
+    return restrictedLimiter.tryAcquire(key);
+  }
 }
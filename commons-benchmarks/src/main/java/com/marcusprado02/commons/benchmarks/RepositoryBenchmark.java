@@ -1,6 +1,14 @@
 package com.marcusprado02.commons.benchmarks;
 
 import com.marcusprado02.commons.adapters.persistence.inmemory.InMemoryPageableRepository;
+import com.marcusprado02.commons.adapters.persistence.inmemory.IndexType;
+import com.marcusprado02.commons.ports.persistence.model.Order;
+import com.marcusprado02.commons.ports.persistence.model.PageRequest;
+import com.marcusprado02.commons.ports.persistence.model.PageResult;
+import com.marcusprado02.commons.ports.persistence.model.Sort;
+import com.marcusprado02.commons.ports.persistence.specification.FilterOperator;
+import com.marcusprado02.commons.ports.persistence.specification.SearchCriteria;
+import com.marcusprado02.commons.ports.persistence.specification.SearchFilter;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,7 +34,13 @@ import org.openjdk.jmh.annotations.Warmup;
 @Measurement(iterations = 5, time = 1)
 public class RepositoryBenchmark {
 
+  private static final SearchCriteria GROUP_50 =
+      SearchCriteria.of(SearchFilter.of("group", FilterOperator.EQ, "50"));
+  private static final Sort BY_NAME = Sort.of(new Order("name", Order.Direction.ASC));
+  private static final PageRequest FIRST_PAGE = new PageRequest(0, 20);
+
   private TestRepository repository;
+  private TestRepository indexedRepository;
   private List<TestEntity> testEntities;
   private String existingId;
 
@@ -49,6 +63,10 @@ public class RepositoryBenchmark {
 
     testEntities.forEach(entity -> repository.save(entity));
     existingId = testEntities.get(500).getId();
+
+    indexedRepository = new TestRepository();
+    indexedRepository.createIndex("group", IndexType.HASH);
+    testEntities.forEach(entity -> indexedRepository.save(entity));
   }
 
   @Benchmark
@@ -82,6 +100,21 @@ public class RepositoryBenchmark {
     return repository.findByGroup(50);
   }
 
+  @Benchmark
+  public PageResult<TestEntity> findByGroupCriteria() {
+    return repository.findAll(FIRST_PAGE, GROUP_50);
+  }
+
+  @Benchmark
+  public PageResult<TestEntity> findByGroupCriteriaIndexed() {
+    return indexedRepository.findAll(FIRST_PAGE, GROUP_50);
+  }
+
+  @Benchmark
+  public PageResult<TestEntity> searchSortedFirstPage() {
+    return repository.search(FIRST_PAGE, null, BY_NAME);
+  }
+
   /** Benchmark: delete an entity then re-add it to keep the dataset stable across iterations. */
   @Benchmark
   public void deleteOperation() {
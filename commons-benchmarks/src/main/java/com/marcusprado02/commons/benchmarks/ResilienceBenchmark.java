@@ -1,5 +1,11 @@
 package com.marcusprado02.commons.benchmarks;
 
+import com.marcusprado02.commons.adapters.resilience4j.Resilience4jExecutor;
+import com.marcusprado02.commons.app.resilience.BulkheadPolicy;
+import com.marcusprado02.commons.app.resilience.CircuitBreakerPolicy;
+import com.marcusprado02.commons.app.resilience.RateLimiterPolicy;
+import com.marcusprado02.commons.app.resilience.ResiliencePolicySet;
+import com.marcusprado02.commons.app.resilience.RetryPolicy;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.retry.Retry;
@@ -20,7 +26,8 @@ import org.openjdk.jmh.annotations.Warmup;
 
 /**
  * Benchmarks for resilience patterns (Circuit Breaker, Retry). Tests performance overhead of
- * resilience4j patterns.
+ * resilience4j patterns, and of {@link Resilience4jExecutor} on top of them; compare against {@code
+ * baselineOperation}.
  */
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.NANOSECONDS)
@@ -33,6 +40,8 @@ public class ResilienceBenchmark {
   private CircuitBreaker circuitBreaker;
   private Retry retry;
   private AtomicInteger counter;
+  private Resilience4jExecutor executor;
+  private ResiliencePolicySet executorPolicies;
 
   /** Configures circuit breaker and retry instances used across all benchmark methods. */
   @Setup
@@ -54,6 +63,16 @@ public class ResilienceBenchmark {
     retry = Retry.of("benchmark", retryConfig);
 
     counter = new AtomicInteger(0);
+
+    executor = new Resilience4jExecutor();
+    executorPolicies =
+        new ResiliencePolicySet(
+            new RetryPolicy(3, Duration.ofMillis(100), Duration.ofSeconds(1)),
+            null,
+            new CircuitBreakerPolicy(50, 10),
+            BulkheadPolicy.of(1_000),
+            new RateLimiterPolicy(Integer.MAX_VALUE, Duration.ofSeconds(1), Duration.ZERO),
+            null);
   }
 
   @Benchmark
@@ -79,6 +98,26 @@ public class ResilienceBenchmark {
         .get();
   }
 
+  /** Benchmark: executor call through retry, rate limiter, bulkhead and circuit breaker. */
+  @Benchmark
+  public int executorSupply() {
+    return executor.supply("benchmark", executorPolicies, this::successfulOperation);
+  }
+
+  /** Benchmark: executor call with a policy set that is equal but not the same instance. */
+  @Benchmark
+  public int executorSupplyEqualPolicies() {
+    ResiliencePolicySet policies =
+        new ResiliencePolicySet(
+            executorPolicies.retry(),
+            null,
+            executorPolicies.circuitBreaker(),
+            executorPolicies.bulkhead(),
+            executorPolicies.rateLimiter(),
+            null);
+    return executor.supply("benchmark", policies, this::successfulOperation);
+  }
+
   /**
    * Benchmark: a conditional operation to measure branching overhead without resilience wrapping.
    */
@@ -1,6 +1,7 @@
 package com.marcusprado02.commons.starter.idempotency;
 
 import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.replay.ReplayingIdempotencyService;
 import com.marcusprado02.commons.app.idempotency.service.DefaultIdempotencyService;
 import com.marcusprado02.commons.app.idempotency.service.DefaultIdempotentExecutor;
 import com.marcusprado02.commons.app.idempotency.service.IdempotencyService;
@@ -18,13 +19,21 @@ public class IdempotencyAutoConfiguration {
   @ConditionalOnMissingBean(IdempotencyService.class)
   public IdempotencyService idempotencyService(
       IdempotencyStorePort storePort, IdempotencyProperties properties) {
-    return new DefaultIdempotencyService(storePort, properties.defaultTtl());
+    IdempotencyService service = new DefaultIdempotencyService(storePort, properties.defaultTtl());
+    if (properties.replay().enabled()) {
+      return new ReplayingIdempotencyService(service, properties.replay().toConfig());
+    }
+    return service;
   }
 
   @Bean
   @ConditionalOnMissingBean(IdempotentExecutor.class)
   public IdempotentExecutor idempotentExecutor(
       IdempotencyStorePort storePort, IdempotencyProperties properties) {
+    if (properties.replay().enabled()) {
+      return new DefaultIdempotentExecutor(
+          storePort, properties.defaultTtl(), properties.replay().toConfig());
+    }
     return new DefaultIdempotentExecutor(storePort, properties.defaultTtl());
   }
 }
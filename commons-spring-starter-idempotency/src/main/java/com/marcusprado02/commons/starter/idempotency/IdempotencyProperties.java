@@ -1,10 +1,14 @@
 package com.marcusprado02.commons.starter.idempotency;
 
+import com.marcusprado02.commons.app.idempotency.replay.IdempotencyReplayConfig;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "commons.idempotency")
-public record IdempotencyProperties(Duration defaultTtl, Web web, Aop aop) {
+public record IdempotencyProperties(
+    Duration defaultTtl, Web web, Aop aop, Redis redis, Replay replay) {
 
   public record Web(
       boolean enabled,
@@ -32,7 +36,60 @@ public record IdempotencyProperties(Duration defaultTtl, Web web, Aop aop) {
     }
   }
 
+  /**
+   * Redis-backed store settings. When enabled, a {@code RedisIdempotencyStore} is registered on the
+   * application's {@code UnifiedJedis} bean, or on a pooled client connected to {@code uri}.
+   */
+  public record Redis(boolean enabled, String uri, String keyPrefix) {
+
+    /** Validates and applies defaults for {@link Redis} configuration. */
+    public Redis {
+      if (uri == null || uri.isBlank()) {
+        uri = "redis://localhost:6379";
+      }
+      if (keyPrefix == null || keyPrefix.isBlank()) {
+        keyPrefix = "idempotency";
+      }
+    }
+  }
+
+  /**
+   * Replay of original results to duplicates on this node. When enabled, duplicates arriving while
+   * the original runs wait for it (if {@code coalesce}), and completed results, including HTTP
+   * responses up to {@code maxBodyBytes}, are cached for {@code ttl} and replayed.
+   */
+  public record Replay(
+      boolean enabled,
+      @DefaultValue("true") boolean coalesce,
+      Duration awaitTimeout,
+      @DefaultValue("10000") int maxEntries,
+      Duration ttl,
+      @DefaultValue("65536") int maxBodyBytes) {
+
+    /** Validates and applies defaults for {@link Replay} configuration. */
+    public Replay {
+      if (awaitTimeout == null || awaitTimeout.isNegative() || awaitTimeout.isZero()) {
+        awaitTimeout = IdempotencyReplayConfig.DEFAULT_AWAIT_TIMEOUT;
+      }
+      if (maxEntries < 0) {
+        maxEntries = IdempotencyReplayConfig.DEFAULT_MAX_ENTRIES;
+      }
+      if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+        ttl = IdempotencyReplayConfig.DEFAULT_TTL;
+      }
+      if (maxBodyBytes <= 0) {
+        maxBodyBytes = 65536;
+      }
+    }
+
+    /** Returns the core replay configuration for these properties. */
+    public IdempotencyReplayConfig toConfig() {
+      return new IdempotencyReplayConfig(coalesce, awaitTimeout, maxEntries, ttl);
+    }
+  }
+
   /** Validates and applies defaults for {@link IdempotencyProperties}. */
+  @ConstructorBinding
   public IdempotencyProperties {
     if (defaultTtl == null) {
       defaultTtl = Duration.ofMinutes(5);
@@ -49,5 +106,15 @@ public record IdempotencyProperties(Duration defaultTtl, Web web, Aop aop) {
     if (aop == null) {
       aop = new Aop(false);
     }
+    if (redis == null) {
+      redis = new Redis(false, null, null);
+    }
+    if (replay == null) {
+      replay = new Replay(false, true, null, IdempotencyReplayConfig.DEFAULT_MAX_ENTRIES, null, 0);
+    }
+  }
+
+  public IdempotencyProperties(Duration defaultTtl, Web web, Aop aop) {
+    this(defaultTtl, web, aop, null, null);
   }
 }
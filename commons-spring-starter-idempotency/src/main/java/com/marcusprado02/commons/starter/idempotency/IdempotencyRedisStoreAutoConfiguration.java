@@ -0,0 +1,52 @@
+package com.marcusprado02.commons.starter.idempotency;
+
+import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.store.RedisIdempotencyStore;
+import java.net.URI;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+
+/**
+ * Registers a {@link RedisIdempotencyStore} when {@code commons.idempotency.redis.enabled=true} and
+ * Jedis is on the classpath. Runs before the JPA store configuration, so Redis wins when both are
+ * available.
+ */
+@AutoConfiguration(before = IdempotencyJpaStoreAutoConfiguration.class)
+@ConditionalOnClass(name = "redis.clients.jedis.UnifiedJedis")
+@ConditionalOnProperty(prefix = "commons.idempotency.redis", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyRedisStoreAutoConfiguration {
+
+  /**
+   * Creates a pooled Jedis client for {@code commons.idempotency.redis.uri} unless the application
+   * already provides one.
+   *
+   * @param properties the idempotency properties
+   * @return the Redis client
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnMissingBean(UnifiedJedis.class)
+  public JedisPooled idempotencyJedis(IdempotencyProperties properties) {
+    return new JedisPooled(URI.create(properties.redis().uri()));
+  }
+
+  /**
+   * Creates the Redis-backed {@link IdempotencyStorePort} bean.
+   *
+   * @param jedis the Redis client
+   * @param properties the idempotency properties
+   * @return the idempotency store port
+   */
+  @Bean
+  @ConditionalOnMissingBean(IdempotencyStorePort.class)
+  public IdempotencyStorePort idempotencyStorePort(
+      UnifiedJedis jedis, IdempotencyProperties properties) {
+    return new RedisIdempotencyStore(jedis, properties.redis().keyPrefix());
+  }
+}
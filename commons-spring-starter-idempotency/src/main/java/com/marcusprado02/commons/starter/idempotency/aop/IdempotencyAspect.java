@@ -112,7 +112,7 @@ public class IdempotencyAspect {
             action,
             returned -> resolveResultRef(idempotent.resultRef(), baseContext, returned));
 
-    if (result.executed()) {
+    if (result.executed() || result.replayed()) {
       return result.value();
     }
 
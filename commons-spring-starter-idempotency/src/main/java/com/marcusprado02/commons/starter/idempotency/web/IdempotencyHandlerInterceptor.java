@@ -120,7 +120,7 @@ public class IdempotencyHandlerInterceptor implements HandlerInterceptor {
     return (location == null || location.isBlank()) ? null : location;
   }
 
-  private static boolean isMutationMethod(String method) {
+  static boolean isMutationMethod(String method) {
     if (method == null) {
       return false;
     }
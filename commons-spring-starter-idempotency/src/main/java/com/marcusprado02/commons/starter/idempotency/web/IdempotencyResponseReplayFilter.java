@@ -0,0 +1,299 @@
+package com.marcusprado02.commons.starter.idempotency.web;
+
+import com.marcusprado02.commons.app.idempotency.http.IdempotencyHttp;
+import com.marcusprado02.commons.app.idempotency.http.IdempotentHttpResponse;
+import com.marcusprado02.commons.app.idempotency.model.IdempotencyKey;
+import com.marcusprado02.commons.app.idempotency.replay.IdempotencyResultCache;
+import com.marcusprado02.commons.app.idempotency.replay.InFlightRequests;
+import com.marcusprado02.commons.starter.idempotency.IdempotencyProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Servlet filter that replays completed responses to duplicates of an idempotent request.
+ *
+ * <p>Works alongside {@link IdempotencyHandlerInterceptor}: responses to requests the interceptor
+ * acquired are captured once they complete with a 2xx status and a body of at most {@code
+ * commons.idempotency.replay.max-body-bytes}, and kept in a bounded cache. Duplicates are answered
+ * from the cache with the original status, headers and body, plus {@code Idempotency-Replayed:
+ * true}, without reaching the handler or the store. With coalescing, duplicates arriving while the
+ * original is still being handled on this node wait for its response instead of getting {@code 409
+ * Conflict}. Anything that cannot be replayed falls through to the interceptor as before.
+ *
+ * <p>Cached and in-flight responses are scoped to the HTTP method, the request path and the caller
+ * as well as the header value, so clients or endpoints that happen to send the same key never see
+ * each other's responses. The caller is the authenticated principal; anonymous requests are told
+ * apart by a fingerprint of their body instead, and are not replayed when the body is larger than
+ * {@code max-body-bytes} or is a form submission. Per-client headers such as {@code Set-Cookie} are
+ * not stored.
+ */
+public class IdempotencyResponseReplayFilter extends OncePerRequestFilter {
+
+  /** Response headers that belong to one client or one connection and are never replayed. */
+  private static final Set<String> UNREPLAYABLE_HEADERS =
+      Set.of(
+          "content-length",
+          "set-cookie",
+          "set-cookie2",
+          "www-authenticate",
+          "proxy-authenticate",
+          "connection",
+          "keep-alive",
+          "transfer-encoding",
+          "date");
+
+  private final IdempotencyProperties properties;
+  private final IdempotencyResultCache<IdempotentHttpResponse> cache;
+  private final InFlightRequests<IdempotentHttpResponse> inFlight = new InFlightRequests<>();
+
+  /**
+   * Creates a filter with the given idempotency properties.
+   *
+   * @param properties the idempotency configuration properties
+   */
+  public IdempotencyResponseReplayFilter(IdempotencyProperties properties) {
+    this.properties = Objects.requireNonNull(properties, "properties must not be null");
+    int maxEntries = properties.replay().maxEntries();
+    this.cache = maxEntries == 0 ? null : new IdempotencyResultCache<>(maxEntries);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+
+    Optional<IdempotencyKey> maybeKey =
+        IdempotencyHandlerInterceptor.isMutationMethod(request.getMethod())
+            ? IdempotencyHttp.resolveFromHeaderValue(
+                request.getHeader(properties.web().headerName()))
+            : Optional.empty();
+    if (maybeKey.isEmpty()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    String caller;
+    Principal principal = request.getUserPrincipal();
+    if (principal != null) {
+      caller = "principal:" + principal.getName();
+    } else if (isFormSubmission(request)) {
+      chain.doFilter(request, response);
+      return;
+    } else {
+      BodyReplayingRequest buffered = BodyReplayingRequest.read(request, maxBodyBytes());
+      request = buffered;
+      if (buffered.truncated()) {
+        chain.doFilter(request, response);
+        return;
+      }
+      caller = "body:" + sha256(buffered.prefix());
+    }
+    IdempotencyKey key = scopedKey(request, caller, maybeKey.get());
+
+    Optional<IdempotentHttpResponse> cached = cache == null ? Optional.empty() : cache.get(key);
+    if (cached.isPresent()) {
+      replay(cached.get(), response);
+      return;
+    }
+
+    InFlightRequests.Call<IdempotentHttpResponse> call =
+        properties.replay().coalesce() ? inFlight.begin(key) : null;
+    if (call != null && !call.leader()) {
+      Optional<IdempotentHttpResponse> shared =
+          inFlight.await(call, properties.replay().awaitTimeout());
+      if (shared.isPresent()) {
+        replay(shared.get(), response);
+      } else {
+        chain.doFilter(request, response);
+      }
+      return;
+    }
+
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    IdempotentHttpResponse captured = null;
+    try {
+      chain.doFilter(request, wrapper);
+      captured = capture(request, wrapper);
+      if (captured != null && cache != null) {
+        cache.put(key, captured, properties.replay().ttl());
+      }
+    } finally {
+      if (call != null) {
+        inFlight.complete(call, captured);
+      }
+      wrapper.copyBodyToResponse();
+    }
+  }
+
+  private IdempotentHttpResponse capture(
+      HttpServletRequest request, ContentCachingResponseWrapper response) {
+    int status = response.getStatus();
+    if (!Boolean.TRUE.equals(request.getAttribute(IdempotencyHandlerInterceptor.ATTR_ACQUIRED))
+        || status < 200
+        || status >= 300
+        || request.isAsyncStarted()
+        || response.getContentSize() > maxBodyBytes()) {
+      return null;
+    }
+    Map<String, List<String>> headers = new LinkedHashMap<>();
+    for (String name : response.getHeaderNames()) {
+      if (!UNREPLAYABLE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+        headers.put(name, new ArrayList<>(response.getHeaders(name)));
+      }
+    }
+    if (response.getContentType() != null) {
+      headers.putIfAbsent(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+    }
+    return new IdempotentHttpResponse(status, headers, response.getContentAsByteArray());
+  }
+
+  private static void replay(IdempotentHttpResponse cached, HttpServletResponse response)
+      throws IOException {
+    response.setStatus(cached.status());
+    cached.headers().forEach((name, values) -> values.forEach(v -> response.addHeader(name, v)));
+    response.setHeader(IdempotencyHttp.IDEMPOTENCY_REPLAYED_HEADER, "true");
+    response.setContentLength(cached.body().length);
+    response.getOutputStream().write(cached.body());
+  }
+
+  private int maxBodyBytes() {
+    return properties.replay().maxBodyBytes();
+  }
+
+  /**
+   * Key the response is cached and coalesced under: a digest of the method, the path, the caller
+   * and the client-supplied key, so it stays within {@link IdempotencyKey}'s length limit.
+   */
+  private static IdempotencyKey scopedKey(
+      HttpServletRequest request, String caller, IdempotencyKey key) {
+    String scope =
+        request.getMethod().toUpperCase(Locale.ROOT)
+            + '\n'
+            + request.getRequestURI()
+            + '\n'
+            + caller
+            + '\n'
+            + key.value();
+    return new IdempotencyKey("replay:" + sha256(scope.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static boolean isFormSubmission(HttpServletRequest request) {
+    String contentType = request.getContentType();
+    return contentType != null
+        && contentType
+            .toLowerCase(Locale.ROOT)
+            .startsWith("application/x-www-form-urlencoded");
+  }
+
+  private static String sha256(byte[] bytes) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+
+  /**
+   * Request whose body has been read ahead, up to a limit, to fingerprint it. The handler still
+   * sees the whole body: the bytes read ahead followed by whatever was left unread.
+   */
+  private static final class BodyReplayingRequest extends HttpServletRequestWrapper {
+
+    private final byte[] prefix;
+    private final boolean truncated;
+    private final InputStream body;
+
+    private BodyReplayingRequest(
+        HttpServletRequest request, byte[] prefix, boolean truncated, InputStream rest) {
+      super(request);
+      this.prefix = prefix;
+      this.truncated = truncated;
+      this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), rest);
+    }
+
+    static BodyReplayingRequest read(HttpServletRequest request, int limit) throws IOException {
+      ServletInputStream in = request.getInputStream();
+      byte[] prefix = in.readNBytes(limit + 1);
+      return new BodyReplayingRequest(request, prefix, prefix.length > limit, in);
+    }
+
+    byte[] prefix() {
+      return prefix;
+    }
+
+    boolean truncated() {
+      return truncated;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return new ServletInputStream() {
+        private boolean finished;
+
+        @Override
+        public int read() throws IOException {
+          int b = body.read();
+          finished = b < 0;
+          return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+          int n = body.read(buffer, off, len);
+          finished = n < 0;
+          return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+          return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+          throw new UnsupportedOperationException("Non-blocking reads are not supported");
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      String encoding = getCharacterEncoding();
+      Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+      return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+  }
+}
@@ -23,6 +23,24 @@ public class IdempotencyWebMvcAutoConfiguration {
     return new IdempotencyHandlerInterceptor(storePort, properties);
   }
 
+  /**
+   * Registers the {@link IdempotencyResponseReplayFilter} when {@code
+   * commons.idempotency.replay.enabled=true}.
+   *
+   * @param properties the idempotency properties
+   * @return the response replay filter
+   */
+  @Bean
+  @ConditionalOnMissingBean
+  @ConditionalOnProperty(
+      prefix = "commons.idempotency.replay",
+      name = "enabled",
+      havingValue = "true")
+  public IdempotencyResponseReplayFilter idempotencyResponseReplayFilter(
+      IdempotencyProperties properties) {
+    return new IdempotencyResponseReplayFilter(properties);
+  }
+
   /**
    * Registers the {@link IdempotencyHandlerInterceptor} with Spring MVC.
    *
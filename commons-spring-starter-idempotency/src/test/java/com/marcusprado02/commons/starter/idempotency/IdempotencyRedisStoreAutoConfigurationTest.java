@@ -0,0 +1,70 @@
+package com.marcusprado02.commons.starter.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.marcusprado02.commons.app.idempotency.port.IdempotencyStorePort;
+import com.marcusprado02.commons.app.idempotency.store.RedisIdempotencyStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.UnifiedJedis;
+
+class IdempotencyRedisStoreAutoConfigurationTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withConfiguration(
+              AutoConfigurations.of(
+                  IdempotencyAutoConfiguration.class,
+                  IdempotencyRedisStoreAutoConfiguration.class));
+
+  @Test
+  void shouldNotRegisterRedisStoreUnlessEnabled() {
+    new ApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(IdempotencyRedisStoreAutoConfiguration.class))
+        .withUserConfiguration(JedisConfig.class)
+        .run(ctx -> assertThat(ctx).doesNotHaveBean(IdempotencyStorePort.class));
+  }
+
+  @Test
+  void shouldUseApplicationRedisClient() {
+    contextRunner
+        .withUserConfiguration(JedisConfig.class)
+        .withPropertyValues(
+            "commons.idempotency.redis.enabled=true", "commons.idempotency.redis.key-prefix=orders")
+        .run(
+            ctx -> {
+              assertThat(ctx)
+                  .getBean(IdempotencyStorePort.class)
+                  .isInstanceOf(RedisIdempotencyStore.class);
+              assertThat(ctx).doesNotHaveBean(JedisPooled.class);
+              assertThat(ctx.getBean(IdempotencyProperties.class).redis().keyPrefix())
+                  .isEqualTo("orders");
+            });
+  }
+
+  @Test
+  void shouldCreatePooledClientFromUri() {
+    contextRunner
+        .withPropertyValues(
+            "commons.idempotency.redis.enabled=true",
+            "commons.idempotency.redis.uri=redis://localhost:6380")
+        .run(
+            ctx -> {
+              assertThat(ctx).hasSingleBean(JedisPooled.class);
+              assertThat(ctx).hasSingleBean(RedisIdempotencyStore.class);
+            });
+  }
+
+  @Configuration
+  static class JedisConfig {
+    @Bean
+    UnifiedJedis unifiedJedis() {
+      return mock(UnifiedJedis.class);
+    }
+  }
+}
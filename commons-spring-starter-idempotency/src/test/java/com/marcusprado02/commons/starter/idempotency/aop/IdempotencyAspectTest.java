@@ -47,6 +47,21 @@ class IdempotencyAspectTest {
         });
   }
 
+  @Test
+  void shouldReplayOriginalResultWhenReplayEnabled() {
+    contextRunner
+        .withPropertyValues("commons.idempotency.replay.enabled=true")
+        .run(
+            ctx -> {
+              TestService service = ctx.getBean(TestService.class);
+
+              TestService.CALLS.set(0);
+              assertThat(service.create("k2")).isEqualTo("r:k2");
+              assertThat(service.create("k2")).isEqualTo("r:k2");
+              assertThat(TestService.CALLS.get()).isEqualTo(1);
+            });
+  }
+
   @Configuration
   static class TestConfig {
     @Bean
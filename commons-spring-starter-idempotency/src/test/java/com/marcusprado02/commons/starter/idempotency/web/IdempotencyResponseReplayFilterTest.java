@@ -0,0 +1,173 @@
+package com.marcusprado02.commons.starter.idempotency.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.marcusprado02.commons.app.idempotency.store.InMemoryIdempotencyStore;
+import com.marcusprado02.commons.starter.idempotency.DuplicateRequestStrategy;
+import com.marcusprado02.commons.starter.idempotency.IdempotencyProperties;
+import com.marcusprado02.commons.starter.idempotency.ResultRefStrategy;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class IdempotencyResponseReplayFilterTest {
+
+  private final IdempotencyProperties props =
+      new IdempotencyProperties(
+          Duration.ofMinutes(1),
+          new IdempotencyProperties.Web(
+              true,
+              "Idempotency-Key",
+              DuplicateRequestStrategy.CONFLICT,
+              ResultRefStrategy.LOCATION_HEADER),
+          new IdempotencyProperties.Aop(false),
+          null,
+          new IdempotencyProperties.Replay(true, true, Duration.ofSeconds(2), 100, null, 1024));
+
+  private final IdempotencyHandlerInterceptor interceptor =
+      new IdempotencyHandlerInterceptor(new InMemoryIdempotencyStore(), props);
+  private final IdempotencyResponseReplayFilter filter = new IdempotencyResponseReplayFilter(props);
+  private final AtomicInteger handled = new AtomicInteger();
+  private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void shouldReplayCompletedResponseWithoutReachingHandler() throws Exception {
+    MockHttpServletResponse first = post("k1", handler(201, null));
+    MockHttpServletResponse second = post("k1", handler(201, null));
+
+    assertThat(handled.get()).isEqualTo(1);
+    assertThat(first.getContentAsString()).isEqualTo("{\"id\":\"123\"}");
+    assertThat(second.getStatus()).isEqualTo(201);
+    assertThat(second.getHeader(HttpHeaders.LOCATION)).isEqualTo("/orders/123");
+    assertThat(second.getContentAsString()).isEqualTo("{\"id\":\"123\"}");
+    assertThat(second.getHeader("Idempotency-Replayed")).isEqualTo("true");
+  }
+
+  @Test
+  void shouldNotReplayErrorResponses() throws Exception {
+    post("k1", handler(500, null));
+    MockHttpServletResponse second = post("k1", handler(201, null));
+
+    assertThat(second.getStatus()).isEqualTo(409);
+    assertThat(second.getHeader("Idempotency-Replayed")).isNull();
+  }
+
+  @Test
+  void shouldShareResponseWithDuplicateArrivingWhileOriginalRuns() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Future<MockHttpServletResponse> original =
+        pool.submit(
+            () ->
+                post(
+                    "k1",
+                    handler(
+                        201,
+                        () -> {
+                          started.countDown();
+                          release.await(2, TimeUnit.SECONDS);
+                        })));
+    assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+    Future<MockHttpServletResponse> duplicate = pool.submit(() -> post("k1", handler(201, null)));
+    Thread.sleep(50);
+    release.countDown();
+
+    assertThat(original.get(2, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+    MockHttpServletResponse shared = duplicate.get(2, TimeUnit.SECONDS);
+    assertThat(shared.getStatus()).isEqualTo(201);
+    assertThat(shared.getContentAsString()).isEqualTo("{\"id\":\"123\"}");
+    assertThat(handled.get()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotReplayResponseToAnotherPrincipalReusingTheKey() throws Exception {
+    MockHttpServletResponse alice = post("alice", "k1", "{}", handler(201, null));
+    MockHttpServletResponse bob = post("bob", "k1", "{}", handler(201, null));
+    MockHttpServletResponse aliceAgain = post("alice", "k1", "{}", handler(201, null));
+
+    assertThat(alice.getHeader(HttpHeaders.SET_COOKIE)).isEqualTo("SESSION=alice");
+    assertThat(bob.getHeader("Idempotency-Replayed")).isNull();
+    assertThat(bob.getContentAsString()).isNotEqualTo("{\"id\":\"123\"}");
+    assertThat(bob.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+    assertThat(aliceAgain.getHeader("Idempotency-Replayed")).isEqualTo("true");
+    assertThat(aliceAgain.getContentAsString()).isEqualTo("{\"id\":\"123\"}");
+    assertThat(aliceAgain.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+  }
+
+  @Test
+  void shouldNotReplayAnonymousResponseToDifferentBody() throws Exception {
+    post(null, "k1", "{\"item\":1}", handler(201, null));
+    MockHttpServletResponse other = post(null, "k1", "{\"item\":2}", handler(201, null));
+    MockHttpServletResponse same = post(null, "k1", "{\"item\":1}", handler(201, null));
+
+    assertThat(other.getHeader("Idempotency-Replayed")).isNull();
+    assertThat(same.getHeader("Idempotency-Replayed")).isEqualTo("true");
+    assertThat(handled.get()).isEqualTo(1);
+  }
+
+  private MockHttpServletResponse post(String key, FilterChain chain) throws Exception {
+    return post(null, key, "", chain);
+  }
+
+  private MockHttpServletResponse post(String principal, String key, String body, FilterChain chain)
+      throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+    request.addHeader("Idempotency-Key", key);
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    if (principal != null) {
+      request.setUserPrincipal(() -> principal);
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+
+  /** Chain standing in for the dispatcher: runs the interceptor around a handler. */
+  private FilterChain handler(int status, Blocking beforeWrite) {
+    return (request, response) -> {
+      var req = (jakarta.servlet.http.HttpServletRequest) request;
+      var resp = (jakarta.servlet.http.HttpServletResponse) response;
+      try {
+        if (!interceptor.preHandle(req, resp, new Object())) {
+          return;
+        }
+        handled.incrementAndGet();
+        if (beforeWrite != null) {
+          beforeWrite.run();
+        }
+        resp.setStatus(status);
+        resp.setHeader(HttpHeaders.LOCATION, "/orders/123");
+        if (req.getUserPrincipal() != null) {
+          resp.addHeader(HttpHeaders.SET_COOKIE, "SESSION=" + req.getUserPrincipal().getName());
+        }
+        resp.setContentType("application/json");
+        resp.getOutputStream().write("{\"id\":\"123\"}".getBytes(StandardCharsets.UTF_8));
+        interceptor.afterCompletion(req, resp, new Object(), null);
+      } catch (Exception ex) {
+        throw new IllegalStateException(ex);
+      }
+    };
+  }
+
+  @FunctionalInterface
+  private interface Blocking {
+    void run() throws InterruptedException;
+  }
+}
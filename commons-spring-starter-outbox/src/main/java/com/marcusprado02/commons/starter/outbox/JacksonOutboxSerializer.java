@@ -1,17 +1,23 @@
 package com.marcusprado02.commons.starter.outbox;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.marcusprado02.commons.app.outbox.OutboxSerializer;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Objects;
 
 /** Jackson-based implementation of {@link OutboxSerializer} for JSON serialization. */
 public final class JacksonOutboxSerializer implements OutboxSerializer {
 
   private final ObjectMapper mapper;
+  private final ObjectWriter streamWriter;
 
   public JacksonOutboxSerializer(ObjectMapper mapper) {
     this.mapper = Objects.requireNonNull(mapper, "mapper");
+    this.streamWriter = mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   @Override
@@ -23,4 +29,15 @@ public final class JacksonOutboxSerializer implements OutboxSerializer {
           "Failed to serialize outbox event: " + event.getClass().getName(), e);
     }
   }
+
+  /** Writes UTF-8 JSON straight into the stream, with no intermediate string. */
+  @Override
+  public void serialize(Object event, OutputStream out) throws IOException {
+    try {
+      streamWriter.writeValue(out, event);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(
+          "Failed to serialize outbox event: " + event.getClass().getName(), e);
+    }
+  }
 }
@@ -5,13 +5,20 @@ import com.marcusprado02.commons.adapters.persistence.jpa.outbox.JpaOutboxReposi
 import com.marcusprado02.commons.app.outbox.DefaultOutboxProcessor;
 import com.marcusprado02.commons.app.outbox.DefaultOutboxPublisher;
 import com.marcusprado02.commons.app.outbox.OutboundPublisher;
+import com.marcusprado02.commons.app.outbox.OutboxLeaseReaper;
 import com.marcusprado02.commons.app.outbox.OutboxMetadataEnricher;
+import com.marcusprado02.commons.app.outbox.OutboxNotifier;
 import com.marcusprado02.commons.app.outbox.OutboxProcessor;
 import com.marcusprado02.commons.app.outbox.OutboxPublisher;
+import com.marcusprado02.commons.app.outbox.OutboxPurgeJob;
 import com.marcusprado02.commons.app.outbox.OutboxSerializer;
 import com.marcusprado02.commons.app.outbox.OutboxSupport;
+import com.marcusprado02.commons.app.outbox.OutboxTransactionRunner;
 import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
+import com.marcusprado02.commons.app.outbox.config.OutboxPurgeConfig;
 import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
+import com.marcusprado02.commons.app.outbox.port.OutboxArchivePort;
+import com.marcusprado02.commons.app.outbox.port.OutboxPartitionPort;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
 import com.marcusprado02.commons.kernel.ddd.context.ActorProvider;
 import com.marcusprado02.commons.kernel.ddd.context.CorrelationProvider;
@@ -21,6 +28,8 @@ import com.marcusprado02.commons.starter.outbox.health.OutboxHealthIndicator;
 import com.marcusprado02.commons.starter.outbox.metrics.MicrometerOutboxMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -29,6 +38,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Consolidated auto-configuration for Outbox pattern.
@@ -40,7 +51,9 @@ import org.springframework.context.annotation.Bean;
  *   <li>OutboxSerializer (Jackson)
  *   <li>OutboxMetadataEnricher
  *   <li>OutboxPublisher
+ *   <li>OutboxTransactionRunner (a transaction per repository call of the background jobs)
  *   <li>OutboxProcessor (with metrics and retry)
+ *   <li>OutboxLeaseReaper (recovers messages whose processing lease expired)
  *   <li>OutboxMetrics (Micrometer)
  *   <li>OutboxHealthIndicator (Actuator)
  * </ul>
@@ -77,8 +90,14 @@ public class OutboxAutoConfiguration {
       OutboxRepositoryPort repository,
       OutboxSerializer serializer,
       OutboxMetadataEnricher enricher,
-      ClockProvider clock) {
-    return new DefaultOutboxPublisher(repository, serializer, enricher, clock);
+      ClockProvider clock,
+      ObjectProvider<OutboxNotifier> notifier) {
+    return new DefaultOutboxPublisher(
+        repository,
+        serializer,
+        enricher,
+        clock,
+        notifier.getIfAvailable(() -> OutboxNotifier.NOOP));
   }
 
   @Bean
@@ -87,6 +106,14 @@ public class OutboxAutoConfiguration {
     return new OutboxSupport(publisher);
   }
 
+  @Bean
+  @ConditionalOnClass(
+      name = "org.springframework.transaction.support.TransactionSynchronizationManager")
+  @ConditionalOnMissingBean(TransactionalOutboxUnitOfWork.class)
+  public TransactionalOutboxUnitOfWork transactionalOutboxUnitOfWork(OutboxPublisher publisher) {
+    return new TransactionalOutboxUnitOfWork(publisher);
+  }
+
   @Bean
   @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
   @ConditionalOnBean(MeterRegistry.class)
@@ -110,18 +137,101 @@ public class OutboxAutoConfiguration {
         properties.retry().initialBackoff(),
         properties.retry().maxBackoff(),
         properties.retry().backoffMultiplier(),
-        properties.processing().useCircuitBreaker());
+        properties.processing().useCircuitBreaker(),
+        properties.processing().concurrency(),
+        properties.processing().virtualThreads(),
+        properties.processing().leaseDuration(),
+        properties.processing().maxInFlight(),
+        properties.processing().ackTimeout());
   }
 
-  @Bean
+  /**
+   * Creates the processor. Its repository calls run through the {@link OutboxTransactionRunner}
+   * bean, if any, since its workers cannot join the caller's transaction.
+   *
+   * @param repository the outbox repository
+   * @param publisher the broker publisher
+   * @param config the processor configuration
+   * @param metrics the outbox metrics
+   * @param transactions optional transaction runner for repository calls
+   * @return the processor, whose worker pool is released on shutdown
+   */
+  @Bean(destroyMethod = "close")
   @ConditionalOnBean(OutboundPublisher.class)
   @ConditionalOnMissingBean(OutboxProcessor.class)
   public OutboxProcessor outboxProcessor(
       OutboxRepositoryPort repository,
       OutboundPublisher publisher,
       OutboxProcessorConfig config,
-      OutboxMetrics metrics) {
-    return new DefaultOutboxProcessor(repository, publisher, config, metrics);
+      OutboxMetrics metrics,
+      ObjectProvider<OutboxTransactionRunner> transactions) {
+    return new DefaultOutboxProcessor(
+        repository,
+        publisher,
+        config,
+        metrics,
+        transactions.getIfAvailable(() -> OutboxTransactionRunner.DIRECT));
+  }
+
+  /**
+   * Creates the lease reaper. Each chunk of released leases runs in its own transaction through the
+   * {@link OutboxTransactionRunner} bean, if any.
+   *
+   * @param repository the outbox repository
+   * @param metrics the outbox metrics
+   * @param properties the outbox properties
+   * @param transactions optional transaction runner for repository calls
+   * @return the lease reaper
+   */
+  @Bean
+  @ConditionalOnBean(OutboundPublisher.class)
+  @ConditionalOnMissingBean(OutboxLeaseReaper.class)
+  public OutboxLeaseReaper outboxLeaseReaper(
+      OutboxRepositoryPort repository,
+      OutboxMetrics metrics,
+      OutboxProperties properties,
+      ObjectProvider<OutboxTransactionRunner> transactions) {
+    return new OutboxLeaseReaper(
+        repository,
+        metrics,
+        properties.recovery().batchSize(),
+        Clock.systemUTC(),
+        transactions.getIfAvailable(() -> OutboxTransactionRunner.DIRECT));
+  }
+
+  /**
+   * Creates the purge job. Published rows are archived first when an {@link OutboxArchivePort} bean
+   * exists, and expired partitions are dropped when an {@link OutboxPartitionPort} bean exists.
+   * Each chunk runs in its own transaction through the {@link OutboxTransactionRunner} bean, if
+   * any.
+   *
+   * @param repository the outbox repository
+   * @param archive optional archive for purged rows
+   * @param partitions optional partition manager of a time-partitioned outbox table
+   * @param metrics the outbox metrics
+   * @param properties the outbox properties
+   * @param transactions optional transaction runner for repository calls
+   * @return the purge job
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "commons.outbox.purge", name = "enabled", havingValue = "true")
+  @ConditionalOnMissingBean(OutboxPurgeJob.class)
+  public OutboxPurgeJob outboxPurgeJob(
+      OutboxRepositoryPort repository,
+      ObjectProvider<OutboxArchivePort> archive,
+      ObjectProvider<OutboxPartitionPort> partitions,
+      OutboxMetrics metrics,
+      OutboxProperties properties,
+      ObjectProvider<OutboxTransactionRunner> transactions) {
+    OutboxProperties.Purge purge = properties.purge();
+    return new OutboxPurgeJob(
+        repository,
+        new OutboxPurgeConfig(purge.retention(), purge.batchSize(), purge.maxRowsPerSecond()),
+        archive.getIfAvailable(),
+        partitions.getIfAvailable(),
+        metrics,
+        Clock.systemUTC(),
+        transactions.getIfAvailable(() -> OutboxTransactionRunner.DIRECT));
   }
 
   @Bean
@@ -136,4 +246,27 @@ public class OutboxAutoConfiguration {
       OutboxRepositoryPort repository, OutboxProperties properties) {
     return new OutboxHealthIndicator(repository, properties);
   }
+
+  /** Runs the repository calls of the background jobs in Spring-managed transactions. */
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(PlatformTransactionManager.class)
+  static class OutboxTransactionConfiguration {
+
+    /**
+     * Creates a runner opening a new transaction per unit of work, or one calling the repository
+     * directly when the context has no single transaction manager.
+     *
+     * @param transactionManager the transaction manager, if unique
+     * @return the transaction runner
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxTransactionRunner.class)
+    public OutboxTransactionRunner outboxTransactionRunner(
+        ObjectProvider<PlatformTransactionManager> transactionManager) {
+      PlatformTransactionManager manager = transactionManager.getIfUnique();
+      return manager != null
+          ? new SpringOutboxTransactionRunner(manager)
+          : OutboxTransactionRunner.DIRECT;
+    }
+  }
 }
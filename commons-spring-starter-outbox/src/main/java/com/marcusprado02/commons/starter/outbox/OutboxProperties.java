@@ -2,15 +2,23 @@ package com.marcusprado02.commons.starter.outbox;
 
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "commons.outbox")
 public record OutboxProperties(
-    Processing processing, Scheduling scheduling, Retry retry, Health health) {
+    Processing processing,
+    Scheduling scheduling,
+    Retry retry,
+    Health health,
+    Recovery recovery,
+    Purge purge) {
 
   /** Validates and applies defaults for {@link OutboxProperties}. */
+  @ConstructorBinding
   public OutboxProperties {
     if (processing == null) {
-      processing = new Processing(100, false);
+      processing = new Processing(100, false, 1, true, Duration.ofMinutes(5), 256, null);
     }
     if (scheduling == null) {
       scheduling = new Scheduling(false, Duration.ofSeconds(2));
@@ -21,23 +29,91 @@ public record OutboxProperties(
     if (health == null) {
       health = new Health(true, 1000, 100);
     }
+    if (recovery == null) {
+      recovery = new Recovery(true, Duration.ofSeconds(30), 500);
+    }
+    if (purge == null) {
+      purge = new Purge(false, null, null, 0, 5000);
+    }
+  }
+
+  /** Creates properties with default purge settings. */
+  public OutboxProperties(
+      Processing processing, Scheduling scheduling, Retry retry, Health health, Recovery recovery) {
+    this(processing, scheduling, retry, health, recovery, null);
   }
 
-  public record Processing(int batchSize, boolean useCircuitBreaker) {
+  /** Creates properties with default lease recovery settings. */
+  public OutboxProperties(
+      Processing processing, Scheduling scheduling, Retry retry, Health health) {
+    this(processing, scheduling, retry, health, null, null);
+  }
+
+  public record Processing(
+      int batchSize,
+      boolean useCircuitBreaker,
+      @DefaultValue("1") int concurrency,
+      @DefaultValue("true") boolean virtualThreads,
+      Duration leaseDuration,
+      @DefaultValue("256") int maxInFlight,
+      Duration ackTimeout) {
     /** Validates and applies defaults for {@link Processing}. */
+    @ConstructorBinding
     public Processing {
       if (batchSize <= 0) {
         batchSize = 100;
       }
+      if (concurrency <= 0) {
+        concurrency = 1;
+      }
+      if (leaseDuration == null || leaseDuration.isNegative() || leaseDuration.isZero()) {
+        leaseDuration = Duration.ofMinutes(5);
+      }
+      if (maxInFlight <= 0) {
+        maxInFlight = 256;
+      }
+      if (ackTimeout == null || ackTimeout.isNegative() || ackTimeout.isZero()) {
+        ackTimeout = Duration.ofSeconds(30);
+      }
+    }
+
+    /** Creates a sequential processing configuration. */
+    public Processing(int batchSize, boolean useCircuitBreaker) {
+      this(batchSize, useCircuitBreaker, 1, true, Duration.ofMinutes(5), 256, null);
     }
   }
 
-  public record Scheduling(boolean enabled, Duration fixedDelay) {
+  /**
+   * Scheduling of the outbox processor.
+   *
+   * @param enabled whether the processor runs in the background
+   * @param fixedDelay poll interval; in event-driven mode, the idle delay after a partial batch
+   * @param eventDriven wake the processor right after messages are committed, polling adaptively as
+   *     a fallback, instead of polling on a fixed timer
+   * @param maxIdleDelay longest wait between polls while the outbox stays empty (event-driven mode)
+   */
+  public record Scheduling(
+      boolean enabled,
+      Duration fixedDelay,
+      @DefaultValue("false") boolean eventDriven,
+      Duration maxIdleDelay) {
     /** Validates and applies defaults for {@link Scheduling}. */
+    @ConstructorBinding
     public Scheduling {
       if (fixedDelay == null || fixedDelay.isNegative() || fixedDelay.isZero()) {
         fixedDelay = Duration.ofSeconds(2);
       }
+      if (maxIdleDelay == null) {
+        maxIdleDelay = Duration.ofSeconds(30);
+      }
+      if (maxIdleDelay.compareTo(fixedDelay) < 0) {
+        maxIdleDelay = fixedDelay;
+      }
+    }
+
+    /** Creates a fixed-interval scheduling configuration. */
+    public Scheduling(boolean enabled, Duration fixedDelay) {
+      this(enabled, fixedDelay, false, null);
     }
   }
 
@@ -71,4 +147,55 @@ public record OutboxProperties(
       }
     }
   }
+
+  /**
+   * Recovery of messages left in PROCESSING by workers that died before their lease expired.
+   *
+   * @param enabled whether the lease reaper runs alongside the scheduled processor
+   * @param interval delay between reaper runs
+   * @param batchSize maximum number of messages released per repository call
+   */
+  public record Recovery(@DefaultValue("true") boolean enabled, Duration interval, int batchSize) {
+    /** Validates and applies defaults for {@link Recovery}. */
+    public Recovery {
+      if (interval == null || interval.isNegative() || interval.isZero()) {
+        interval = Duration.ofSeconds(30);
+      }
+      if (batchSize <= 0) {
+        batchSize = 500;
+      }
+    }
+  }
+
+  /**
+   * Removal of published messages once their retention has passed.
+   *
+   * @param enabled whether the purge job runs alongside the scheduled processor
+   * @param interval delay between purge runs
+   * @param retention how long published messages are kept
+   * @param batchSize maximum number of rows deleted or archived per repository call
+   * @param maxRowsPerSecond upper bound on the purge rate; {@code 0} disables throttling
+   */
+  public record Purge(
+      @DefaultValue("false") boolean enabled,
+      Duration interval,
+      Duration retention,
+      int batchSize,
+      @DefaultValue("5000") int maxRowsPerSecond) {
+    /** Validates and applies defaults for {@link Purge}. */
+    public Purge {
+      if (interval == null || interval.isNegative() || interval.isZero()) {
+        interval = Duration.ofHours(1);
+      }
+      if (retention == null || retention.isNegative()) {
+        retention = Duration.ofDays(7);
+      }
+      if (batchSize <= 0) {
+        batchSize = 1000;
+      }
+      if (maxRowsPerSecond < 0) {
+        maxRowsPerSecond = 5000;
+      }
+    }
+  }
 }
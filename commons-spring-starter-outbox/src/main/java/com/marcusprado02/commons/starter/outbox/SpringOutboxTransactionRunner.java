@@ -0,0 +1,32 @@
+package com.marcusprado02.commons.starter.outbox;
+
+import com.marcusprado02.commons.app.outbox.OutboxTransactionRunner;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link OutboxTransactionRunner} backed by a Spring {@link TransactionTemplate}.
+ *
+ * <p>Each unit of work runs in a new transaction that commits before the call returns, suspending
+ * any transaction of the calling thread, so claims and outcomes recorded by the outbox processor's
+ * workers never depend on a transaction they cannot see.
+ */
+public final class SpringOutboxTransactionRunner implements OutboxTransactionRunner {
+
+  private final TransactionTemplate template;
+
+  public SpringOutboxTransactionRunner(PlatformTransactionManager transactionManager) {
+    this.template =
+        new TransactionTemplate(
+            Objects.requireNonNull(transactionManager, "transactionManager must not be null"));
+    this.template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public <T> T inTransaction(Supplier<T> work) {
+    return template.execute(status -> work.get());
+  }
+}
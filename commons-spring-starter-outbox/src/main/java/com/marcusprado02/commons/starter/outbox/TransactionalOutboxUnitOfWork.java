@@ -0,0 +1,78 @@
+package com.marcusprado02.commons.starter.outbox;
+
+import com.marcusprado02.commons.app.outbox.OutboxPublisher;
+import com.marcusprado02.commons.app.outbox.OutboxUnitOfWork;
+import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
+import java.util.Objects;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Binds an {@link OutboxUnitOfWork} to each Spring-managed transaction.
+ *
+ * <p>Aggregates tracked during a transaction have their events forwarded to the outbox in one batch
+ * just before it commits, inside the same transaction, so events are stored if and only if the
+ * aggregate changes are. Tracking requires an active transaction synchronization: outside a
+ * transaction there is no commit to flush on, and publishing right away would miss the events
+ * raised after {@code track} returns. Read-only transactions are not flushed.
+ *
+ * <pre>{@code
+ * @Transactional
+ * public void confirm(OrderId id) {
+ *   Order order = unitOfWork.track(orders.findById(id));
+ *   order.confirm();
+ * }
+ * }</pre>
+ */
+public final class TransactionalOutboxUnitOfWork {
+
+  private final OutboxPublisher publisher;
+
+  public TransactionalOutboxUnitOfWork(OutboxPublisher publisher) {
+    this.publisher = Objects.requireNonNull(publisher, "publisher");
+  }
+
+  /**
+   * Tracks an aggregate whose events are forwarded when the current transaction commits.
+   *
+   * @param aggregate aggregate touched in the current transaction
+   * @param <A> aggregate type
+   * @return the aggregate, for chaining
+   * @throws IllegalStateException if no transaction synchronization is active
+   */
+  public <A extends AggregateRoot<?>> A track(A aggregate) {
+    Objects.requireNonNull(aggregate, "aggregate");
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException(
+          "No active transaction: aggregates can only be tracked inside a transaction");
+    }
+    return current().track(aggregate);
+  }
+
+  private OutboxUnitOfWork current() {
+    OutboxUnitOfWork unitOfWork =
+        (OutboxUnitOfWork) TransactionSynchronizationManager.getResource(this);
+    if (unitOfWork != null) {
+      return unitOfWork;
+    }
+    OutboxUnitOfWork created = new OutboxUnitOfWork(publisher);
+    TransactionSynchronizationManager.bindResource(this, created);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void beforeCommit(boolean readOnly) {
+            if (!readOnly) {
+              created.flush();
+            }
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            created.clear();
+            TransactionSynchronizationManager.unbindResourceIfPossible(
+                TransactionalOutboxUnitOfWork.this);
+          }
+        });
+    return created;
+  }
+}
@@ -3,6 +3,7 @@ package com.marcusprado02.commons.starter.outbox.health;
 import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
 import com.marcusprado02.commons.starter.outbox.OutboxProperties;
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -17,9 +18,12 @@ import org.springframework.boot.actuate.health.HealthIndicator;
  * <ul>
  *   <li>DOWN: Failed count > errorThreshold
  *   <li>OUT_OF_SERVICE: Pending count > errorThreshold
- *   <li>DEGRADED: Failed or pending count > warningThreshold
+ *   <li>DEGRADED: Failed, pending or expired-lease count > warningThreshold
  *   <li>UP: Otherwise
  * </ul>
+ *
+ * <p>{@code expiredLeases} counts PROCESSING messages whose lease ran out and that are waiting for
+ * the lease reaper; a growing value means workers are dying or the reaper is not running.
  */
 public final class OutboxHealthIndicator implements HealthIndicator {
 
@@ -39,6 +43,7 @@ public final class OutboxHealthIndicator implements HealthIndicator {
       long published = repository.countByStatus(OutboxStatus.PUBLISHED);
       long failed = repository.countByStatus(OutboxStatus.FAILED);
       long dead = repository.countByStatus(OutboxStatus.DEAD);
+      long expiredLeases = repository.countExpiredLeases(Instant.now());
 
       Map<String, Object> details = new LinkedHashMap<>();
       details.put("pending", pending);
@@ -47,6 +52,7 @@ public final class OutboxHealthIndicator implements HealthIndicator {
       details.put("failed", failed);
       details.put("dead", dead);
       details.put("total", pending + processing + published + failed + dead);
+      details.put("expiredLeases", expiredLeases);
 
       long warningThreshold = properties.health().warningThreshold();
       long errorThreshold = properties.health().errorThreshold();
@@ -59,7 +65,9 @@ public final class OutboxHealthIndicator implements HealthIndicator {
         return Health.outOfService().withDetails(details).build();
       }
 
-      if (failed > warningThreshold || pending > warningThreshold) {
+      if (failed > warningThreshold
+          || pending > warningThreshold
+          || expiredLeases > warningThreshold) {
         return Health.status("DEGRADED").withDetails(details).build();
       }
 
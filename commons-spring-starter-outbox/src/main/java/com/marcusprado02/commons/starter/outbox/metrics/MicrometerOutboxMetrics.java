@@ -53,6 +53,14 @@ public final class MicrometerOutboxMetrics implements OutboxMetrics {
         .record(Duration.ofMillis(durationMillis));
   }
 
+  @Override
+  public void recordLeasesReleased(int count) {
+    Counter.builder("outbox.lease.released")
+        .description("Number of outbox messages returned to PENDING after their lease expired")
+        .register(registry)
+        .increment(count);
+  }
+
   @Override
   public void recordBatchProcessing(int batchSize, long durationMillis) {
     Timer.builder("outbox.batch.processing")
@@ -61,4 +69,45 @@ public final class MicrometerOutboxMetrics implements OutboxMetrics {
         .register(registry)
         .record(Duration.ofMillis(durationMillis));
   }
+
+  @Override
+  public void recordWorkerThroughput(int workerId, int processed, long durationMillis) {
+    String worker = String.valueOf(workerId);
+    Counter.builder("outbox.worker.published")
+        .tag("worker", worker)
+        .description("Number of outbox messages published per processing worker")
+        .register(registry)
+        .increment(processed);
+    Timer.builder("outbox.worker.processing")
+        .tag("worker", worker)
+        .description("Time a processing worker spent on its share of a batch")
+        .register(registry)
+        .record(Duration.ofMillis(durationMillis));
+  }
+
+  @Override
+  public void recordDeferred(String topic) {
+    Counter.builder("outbox.deferred")
+        .tag("topic", topic)
+        .description("Number of outbox messages rescheduled unattempted because their topic failed")
+        .register(registry)
+        .increment();
+  }
+
+  @Override
+  public void recordPurged(int count, boolean archived) {
+    Counter.builder("outbox.purged")
+        .tag("mode", archived ? "archived" : "deleted")
+        .description("Number of published outbox messages removed after their retention")
+        .register(registry)
+        .increment(count);
+  }
+
+  @Override
+  public void recordPartitionsDropped(int count) {
+    Counter.builder("outbox.partitions.dropped")
+        .description("Number of expired outbox partitions dropped")
+        .register(registry)
+        .increment(count);
+  }
 }
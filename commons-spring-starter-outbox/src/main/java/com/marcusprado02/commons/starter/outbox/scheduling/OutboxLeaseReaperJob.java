@@ -0,0 +1,20 @@
+package com.marcusprado02.commons.starter.outbox.scheduling;
+
+import com.marcusprado02.commons.app.outbox.OutboxLeaseReaper;
+import java.util.Objects;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/** Scheduled job that periodically returns messages with expired leases to PENDING. */
+public final class OutboxLeaseReaperJob {
+
+  private final OutboxLeaseReaper reaper;
+
+  public OutboxLeaseReaperJob(OutboxLeaseReaper reaper) {
+    this.reaper = Objects.requireNonNull(reaper);
+  }
+
+  @Scheduled(fixedDelayString = "#{@outboxProperties.recovery().interval().toMillis()}")
+  public void tick() {
+    reaper.reap();
+  }
+}
@@ -0,0 +1,20 @@
+package com.marcusprado02.commons.starter.outbox.scheduling;
+
+import com.marcusprado02.commons.app.outbox.OutboxPurgeJob;
+import java.util.Objects;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/** Scheduled job that periodically purges published messages past their retention. */
+public final class OutboxPurgeScheduledJob {
+
+  private final OutboxPurgeJob purgeJob;
+
+  public OutboxPurgeScheduledJob(OutboxPurgeJob purgeJob) {
+    this.purgeJob = Objects.requireNonNull(purgeJob);
+  }
+
+  @Scheduled(fixedDelayString = "#{@outboxProperties.purge().interval().toMillis()}")
+  public void tick() {
+    purgeJob.purge();
+  }
+}
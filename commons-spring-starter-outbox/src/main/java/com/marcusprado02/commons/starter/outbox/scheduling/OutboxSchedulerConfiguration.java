@@ -1,9 +1,14 @@
 package com.marcusprado02.commons.starter.outbox.scheduling;
 
+import com.marcusprado02.commons.app.outbox.AdaptiveOutboxPoller;
+import com.marcusprado02.commons.app.outbox.OutboxLeaseReaper;
+import com.marcusprado02.commons.app.outbox.OutboxNotifier;
 import com.marcusprado02.commons.app.outbox.OutboxProcessor;
+import com.marcusprado02.commons.app.outbox.OutboxPurgeJob;
 import com.marcusprado02.commons.starter.outbox.OutboxProperties;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -15,7 +20,57 @@ public class OutboxSchedulerConfiguration {
 
   @Bean
   @ConditionalOnBean(OutboxProcessor.class)
+  @ConditionalOnProperty(
+      prefix = "commons.outbox.scheduling",
+      name = "event-driven",
+      havingValue = "false",
+      matchIfMissing = true)
   public OutboxScheduledJob outboxScheduledJob(OutboxProcessor processor, OutboxProperties props) {
     return new OutboxScheduledJob(processor, props);
   }
+
+  /**
+   * Drives the processor from commit notifications, polling adaptively as a fallback.
+   *
+   * @param processor the outbox processor
+   * @param props the outbox properties
+   * @return the poller, started with the context and closed on shutdown
+   */
+  @Bean(initMethod = "start", destroyMethod = "close")
+  @ConditionalOnBean(OutboxProcessor.class)
+  @ConditionalOnProperty(
+      prefix = "commons.outbox.scheduling",
+      name = "event-driven",
+      havingValue = "true")
+  public AdaptiveOutboxPoller outboxPoller(OutboxProcessor processor, OutboxProperties props) {
+    return new AdaptiveOutboxPoller(
+        processor,
+        props.processing().batchSize(),
+        props.scheduling().fixedDelay(),
+        props.scheduling().maxIdleDelay());
+  }
+
+  @Bean
+  @ConditionalOnBean(AdaptiveOutboxPoller.class)
+  @ConditionalOnMissingBean(OutboxNotifier.class)
+  public OutboxNotifier outboxNotifier(AdaptiveOutboxPoller poller) {
+    return new TransactionAwareOutboxNotifier(count -> poller.signal());
+  }
+
+  @Bean
+  @ConditionalOnBean(OutboxLeaseReaper.class)
+  @ConditionalOnProperty(
+      prefix = "commons.outbox.recovery",
+      name = "enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  public OutboxLeaseReaperJob outboxLeaseReaperJob(OutboxLeaseReaper reaper) {
+    return new OutboxLeaseReaperJob(reaper);
+  }
+
+  @Bean
+  @ConditionalOnBean(OutboxPurgeJob.class)
+  public OutboxPurgeScheduledJob outboxPurgeScheduledJob(OutboxPurgeJob purgeJob) {
+    return new OutboxPurgeScheduledJob(purgeJob);
+  }
 }
@@ -0,0 +1,43 @@
+package com.marcusprado02.commons.starter.outbox.scheduling;
+
+import com.marcusprado02.commons.app.outbox.OutboxNotifier;
+import java.util.Objects;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link OutboxNotifier} that defers the signal until the surrounding transaction commits.
+ *
+ * <p>Signalling before commit would wake the processor while the new rows are still invisible to
+ * it. Without an active transaction synchronization (or without spring-tx on the classpath) the
+ * signal is delivered immediately; rolled-back transactions deliver nothing.
+ */
+public final class TransactionAwareOutboxNotifier implements OutboxNotifier {
+
+  private static final boolean TX_PRESENT =
+      ClassUtils.isPresent(
+          "org.springframework.transaction.support.TransactionSynchronizationManager",
+          TransactionAwareOutboxNotifier.class.getClassLoader());
+
+  private final OutboxNotifier delegate;
+
+  public TransactionAwareOutboxNotifier(OutboxNotifier delegate) {
+    this.delegate = Objects.requireNonNull(delegate);
+  }
+
+  @Override
+  public void messagesAppended(int count) {
+    if (TX_PRESENT && TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              delegate.messagesAppended(count);
+            }
+          });
+      return;
+    }
+    delegate.messagesAppended(count);
+  }
+}
@@ -1,9 +1,17 @@
 package com.marcusprado02.commons.starter.outbox;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marcusprado02.commons.app.outbox.OutboundPublisher;
+import com.marcusprado02.commons.app.outbox.OutboxLeaseReaper;
+import com.marcusprado02.commons.app.outbox.OutboxPurgeJob;
 import com.marcusprado02.commons.app.outbox.OutboxSerializer;
+import com.marcusprado02.commons.app.outbox.OutboxTransactionRunner;
 import com.marcusprado02.commons.app.outbox.config.OutboxProcessorConfig;
 import com.marcusprado02.commons.app.outbox.metrics.OutboxMetrics;
 import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
@@ -12,12 +20,14 @@ import com.marcusprado02.commons.kernel.ddd.context.CorrelationProvider;
 import com.marcusprado02.commons.kernel.ddd.context.TenantProvider;
 import com.marcusprado02.commons.kernel.ddd.time.ClockProvider;
 import jakarta.persistence.EntityManager;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
 class OutboxAutoConfigurationTest {
 
@@ -59,6 +69,152 @@ class OutboxAutoConfigurationTest {
             });
   }
 
+  @Test
+  void shouldBindProcessingConcurrency() {
+    runner
+        .withPropertyValues(
+            "commons.outbox.processing.concurrency=6",
+            "commons.outbox.processing.virtual-threads=false",
+            "commons.outbox.processing.max-in-flight=64",
+            "commons.outbox.processing.ack-timeout=5s")
+        .run(
+            context -> {
+              var config = context.getBean(OutboxProcessorConfig.class);
+              assertThat(config.concurrency()).isEqualTo(6);
+              assertThat(config.useVirtualThreads()).isFalse();
+              assertThat(config.maxInFlight()).isEqualTo(64);
+              assertThat(config.ackTimeout()).isEqualTo(Duration.ofSeconds(5));
+            });
+  }
+
+  @Test
+  void shouldRunRepositoryCallsInTransactionsWhenTransactionManagerExists() {
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    runner
+        .withBean(PlatformTransactionManager.class, () -> transactionManager)
+        .run(
+            context -> {
+              OutboxTransactionRunner transactions =
+                  context.getBean(OutboxTransactionRunner.class);
+              assertThat(transactions).isInstanceOf(SpringOutboxTransactionRunner.class);
+
+              assertThat(transactions.inTransaction(() -> 42)).isEqualTo(42);
+              verify(transactionManager).getTransaction(any());
+              verify(transactionManager).commit(any());
+            });
+  }
+
+  @Test
+  void shouldCallRepositoryDirectlyWithoutTransactionManager() {
+    runner.run(
+        context ->
+            assertThat(context.getBean(OutboxTransactionRunner.class))
+                .isSameAs(OutboxTransactionRunner.DIRECT));
+  }
+
+  @Test
+  void shouldCloseProcessorOnShutdown() {
+    runner
+        .withBean(OutboundPublisher.class, () -> (topic, body, headers) -> {})
+        .withPropertyValues("commons.outbox.processing.concurrency=2")
+        .run(
+            context ->
+                assertThat(
+                        context
+                            .getBeanFactory()
+                            .getBeanDefinition("outboxProcessor")
+                            .getDestroyMethodName())
+                    .isEqualTo("close"));
+  }
+
+  @Test
+  void shouldCreatePurgeJobWhenEnabled() {
+    runner
+        .withPropertyValues(
+            "commons.outbox.purge.enabled=true",
+            "commons.outbox.purge.retention=3d",
+            "commons.outbox.purge.max-rows-per-second=0")
+        .run(
+            context -> {
+              var purge = context.getBean(OutboxProperties.class).purge();
+              assertThat(purge.retention()).hasDays(3);
+              assertThat(purge.batchSize()).isEqualTo(1000);
+              assertThat(purge.maxRowsPerSecond()).isZero();
+              assertThat(context).hasSingleBean(OutboxPurgeJob.class);
+            });
+  }
+
+  @Test
+  void shouldPurgeEachChunkInTransaction() {
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    OutboxRepositoryPort repository = mock(OutboxRepositoryPort.class);
+    runner
+        .withBean(PlatformTransactionManager.class, () -> transactionManager)
+        .withBean(OutboxRepositoryPort.class, () -> repository)
+        .withPropertyValues("commons.outbox.purge.enabled=true")
+        .run(
+            context -> {
+              context.getBean(OutboxPurgeJob.class).purge();
+
+              verify(repository).deletePublishedOlderThan(any(), eq(1000));
+              verify(transactionManager).getTransaction(any());
+              verify(transactionManager).commit(any());
+            });
+  }
+
+  @Test
+  void shouldNotCreatePurgeJobByDefault() {
+    runner.run(context -> assertThat(context).doesNotHaveBean(OutboxPurgeJob.class));
+  }
+
+  @Test
+  void shouldReleaseExpiredLeasesInTransaction() {
+    PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    OutboxRepositoryPort repository = mock(OutboxRepositoryPort.class);
+    runner
+        .withBean(PlatformTransactionManager.class, () -> transactionManager)
+        .withBean(OutboxRepositoryPort.class, () -> repository)
+        .withBean(OutboundPublisher.class, () -> (topic, body, headers) -> {})
+        .run(
+            context -> {
+              context.getBean(OutboxLeaseReaper.class).reap();
+
+              verify(repository).releaseExpiredLeases(any(), eq(500));
+              verify(transactionManager).getTransaction(any());
+              verify(transactionManager).commit(any());
+            });
+  }
+
+  @Test
+  void shouldBindLeaseRecovery() {
+    runner
+        .withPropertyValues(
+            "commons.outbox.recovery.interval=10s", "commons.outbox.recovery.batch-size=50")
+        .run(
+            context -> {
+              var recovery = context.getBean(OutboxProperties.class).recovery();
+              assertThat(recovery.enabled()).isTrue();
+              assertThat(recovery.interval()).hasSeconds(10);
+              assertThat(recovery.batchSize()).isEqualTo(50);
+            });
+  }
+
+  @Test
+  void shouldBindEventDrivenScheduling() {
+    runner
+        .withPropertyValues(
+            "commons.outbox.scheduling.event-driven=true",
+            "commons.outbox.scheduling.fixed-delay=50ms",
+            "commons.outbox.scheduling.max-idle-delay=10s")
+        .run(
+            context -> {
+              var scheduling = context.getBean(OutboxProperties.class).scheduling();
+              assertThat(scheduling.eventDriven()).isTrue();
+              assertThat(scheduling.fixedDelay()).hasMillis(50);
+              assertThat(scheduling.maxIdleDelay()).hasSeconds(10);
+            });
+  }
+
   @Test
   void shouldNotCreateHealthIndicatorWhenDisabled() {
     runner
@@ -0,0 +1,102 @@
+package com.marcusprado02.commons.starter.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.marcusprado02.commons.app.outbox.OutboxPublisher;
+import com.marcusprado02.commons.kernel.ddd.audit.ActorId;
+import com.marcusprado02.commons.kernel.ddd.audit.AuditStamp;
+import com.marcusprado02.commons.kernel.ddd.entity.AggregateRoot;
+import com.marcusprado02.commons.kernel.ddd.tenant.TenantId;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionalOutboxUnitOfWorkTest {
+
+  private final List<List<AggregateRoot<?>>> published = new ArrayList<>();
+  private final OutboxPublisher publisher =
+      new OutboxPublisher() {
+        @Override
+        public void publishFrom(AggregateRoot<?> aggregate) {
+          published.add(List.of(aggregate));
+        }
+
+        @Override
+        public void publishFromAll(Collection<? extends AggregateRoot<?>> aggregates) {
+          published.add(List.copyOf(aggregates));
+        }
+      };
+  private final TransactionalOutboxUnitOfWork unitOfWork =
+      new TransactionalOutboxUnitOfWork(publisher);
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.unbindResourceIfPossible(unitOfWork);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void shouldRejectTrackingWithoutTransaction() {
+    assertThatThrownBy(() -> unitOfWork.track(new TestAggregate("order-1")))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(published).isEmpty();
+  }
+
+  @Test
+  void shouldPublishTrackedAggregatesTogetherBeforeCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    TestAggregate order = unitOfWork.track(new TestAggregate("order-1"));
+    TestAggregate customer = unitOfWork.track(new TestAggregate("customer-1"));
+    unitOfWork.track(order);
+    assertThat(published).isEmpty();
+    assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+    TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+    assertThat(published).containsExactly(List.of(order, customer));
+    assertThat(TransactionSynchronizationManager.hasResource(unitOfWork)).isFalse();
+  }
+
+  @Test
+  void shouldNotPublishFromReadOnlyTransaction() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    unitOfWork.track(new TestAggregate("order-1"));
+    TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(true));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+    assertThat(published).isEmpty();
+    assertThat(TransactionSynchronizationManager.hasResource(unitOfWork)).isFalse();
+  }
+
+  @Test
+  void shouldNotPublishOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    unitOfWork.track(new TestAggregate("order-1"));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(published).isEmpty();
+    assertThat(TransactionSynchronizationManager.hasResource(unitOfWork)).isFalse();
+  }
+
+  static final class TestAggregate extends AggregateRoot<String> {
+    TestAggregate(String id) {
+      super(id, TenantId.of("acme"), AuditStamp.of(Instant.now(), ActorId.system()));
+    }
+  }
+}
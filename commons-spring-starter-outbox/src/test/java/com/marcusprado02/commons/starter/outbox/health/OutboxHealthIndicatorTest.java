@@ -1,6 +1,7 @@
 package com.marcusprado02.commons.starter.outbox.health;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
@@ -38,6 +39,25 @@ class OutboxHealthIndicatorTest {
     assertThat(health.getDetails().get("failed")).isEqualTo(5L);
   }
 
+  @Test
+  void shouldReportExpiredLeases() {
+    var properties =
+        new OutboxProperties(
+            new OutboxProperties.Processing(10, false),
+            new OutboxProperties.Scheduling(true, Duration.ofSeconds(60)),
+            new OutboxProperties.Retry(5, Duration.ofMillis(100), Duration.ofSeconds(30), 2.0),
+            new OutboxProperties.Health(true, 100, 500));
+
+    when(repository.countByStatus(any())).thenReturn(0L);
+    when(repository.countExpiredLeases(any())).thenReturn(150L);
+
+    var indicator = new OutboxHealthIndicator(repository, properties);
+    Health health = indicator.health();
+
+    assertThat(health.getStatus()).isEqualTo(new Status("DEGRADED"));
+    assertThat(health.getDetails().get("expiredLeases")).isEqualTo(150L);
+  }
+
   @Test
   void shouldReportDegradedWhenAboveWarningThreshold() {
     var properties =
@@ -60,4 +60,51 @@ class MicrometerOutboxMetricsTest {
     assertThat(timer).isNotNull();
     assertThat(timer.count()).isEqualTo(1);
   }
+
+  @Test
+  void shouldRecordWorkerThroughput() {
+    metrics.recordWorkerThroughput(2, 25, 40);
+    metrics.recordWorkerThroughput(2, 15, 30);
+
+    var counter = registry.find("outbox.worker.published").tag("worker", "2").counter();
+    assertThat(counter).isNotNull();
+    assertThat(counter.count()).isEqualTo(40.0);
+
+    var timer = registry.find("outbox.worker.processing").tag("worker", "2").timer();
+    assertThat(timer).isNotNull();
+    assertThat(timer.count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldRecordReleasedLeases() {
+    metrics.recordLeasesReleased(3);
+    metrics.recordLeasesReleased(2);
+
+    var counter = registry.find("outbox.lease.released").counter();
+    assertThat(counter).isNotNull();
+    assertThat(counter.count()).isEqualTo(5.0);
+  }
+
+  @Test
+  void shouldRecordDeferredMessages() {
+    metrics.recordDeferred("payments");
+
+    var counter = registry.find("outbox.deferred").tag("topic", "payments").counter();
+    assertThat(counter).isNotNull();
+    assertThat(counter.count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void shouldRecordPurgeProgress() {
+    metrics.recordPurged(1000, false);
+    metrics.recordPurged(250, false);
+    metrics.recordPurged(10, true);
+    metrics.recordPartitionsDropped(2);
+
+    assertThat(registry.find("outbox.purged").tag("mode", "deleted").counter().count())
+        .isEqualTo(1250.0);
+    assertThat(registry.find("outbox.purged").tag("mode", "archived").counter().count())
+        .isEqualTo(10.0);
+    assertThat(registry.find("outbox.partitions.dropped").counter().count()).isEqualTo(2.0);
+  }
 }
@@ -0,0 +1,53 @@
+package com.marcusprado02.commons.starter.outbox.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TransactionAwareOutboxNotifierTest {
+
+  private final AtomicInteger signalled = new AtomicInteger();
+  private final TransactionAwareOutboxNotifier notifier =
+      new TransactionAwareOutboxNotifier(signalled::addAndGet);
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void shouldSignalImmediatelyWithoutTransaction() {
+    notifier.messagesAppended(2);
+
+    assertThat(signalled).hasValue(2);
+  }
+
+  @Test
+  void shouldSignalOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    notifier.messagesAppended(3);
+    assertThat(signalled).hasValue(0);
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertThat(signalled).hasValue(3);
+  }
+
+  @Test
+  void shouldNotSignalOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    notifier.messagesAppended(1);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(signalled).hasValue(0);
+  }
+}
@@ -0,0 +1,31 @@
+package com.marcusprado02.commons.starter.resilience.actuator;
+
+import com.marcusprado02.commons.adapters.resilience4j.Resilience4jExecutor;
+import com.marcusprado02.commons.app.resilience.ResilienceExecutor;
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/** Actuator endpoint exposing the current adaptive concurrency limits and their queues. */
+@Endpoint(id = "commonsConcurrencyLimits")
+public final class ConcurrencyLimitsEndpoint {
+
+  private final ResilienceExecutor resilienceExecutor;
+
+  public ConcurrencyLimitsEndpoint(ResilienceExecutor resilienceExecutor) {
+    this.resilienceExecutor = resilienceExecutor;
+  }
+
+  /**
+   * Returns the status of all known adaptive concurrency limiters.
+   *
+   * @return list of concurrency limit status snapshots
+   */
+  @ReadOperation
+  public List<Resilience4jExecutor.ConcurrencyLimitStatus> concurrencyLimits() {
+    if (resilienceExecutor instanceof Resilience4jExecutor resilience4jExecutor) {
+      return resilience4jExecutor.concurrencyLimitStatuses();
+    }
+    return List.of();
+  }
+}
@@ -15,4 +15,11 @@ public class ResilienceActuatorAutoConfiguration {
   public CircuitBreakersEndpoint circuitBreakersEndpoint(ResilienceExecutor resilienceExecutor) {
     return new CircuitBreakersEndpoint(resilienceExecutor);
   }
+
+  @Bean
+  @ConditionalOnBean(ResilienceExecutor.class)
+  public ConcurrencyLimitsEndpoint concurrencyLimitsEndpoint(
+      ResilienceExecutor resilienceExecutor) {
+    return new ConcurrencyLimitsEndpoint(resilienceExecutor);
+  }
 }
@@ -5,7 +5,12 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-/** Configures bulkhead (concurrency limiter) resilience for the annotated method. */
+/**
+ * Configures bulkhead (concurrency limiter) resilience for the annotated method.
+ *
+ * <p>With {@code adaptive = true} the limit is not fixed: it adapts to the observed latency and
+ * failures of the method within {@code maxConcurrentCalls}, which becomes the highest limit.
+ */
 @Target({ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Bulkhead {
@@ -14,4 +19,10 @@ public @interface Bulkhead {
 
   /** ISO-8601 duration, e.g. PT0S */
   String maxWaitDuration() default "";
+
+  /** Whether the limit adapts to observed latency and failures instead of being fixed. */
+  boolean adaptive() default false;
+
+  /** Adaptive limit algorithm: AIMD, VEGAS or GRADIENT; empty uses the configured default. */
+  String algorithm() default "";
 }
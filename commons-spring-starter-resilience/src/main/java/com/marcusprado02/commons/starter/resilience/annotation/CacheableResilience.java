@@ -14,4 +14,13 @@ public @interface CacheableResilience {
 
   /** ISO-8601 duration, e.g. PT5M */
   String ttl() default "";
+
+  /** ISO-8601 window before expiry in which hits reload in the background; empty uses default. */
+  String refreshAhead() default "";
+
+  /** ISO-8601 window after expiry in which hits return the stale value; empty uses default. */
+  String staleWhileRevalidate() default "";
+
+  /** ISO-8601 window after expiry in which an open circuit returns the stale value. */
+  String staleIfCircuitOpen() default "";
 }
@@ -0,0 +1,58 @@
+package com.marcusprado02.commons.starter.resilience.aop;
+
+import java.util.Arrays;
+
+/**
+ * Cache key of a {@code @CacheableResilience} invocation, comparing arguments by {@code equals},
+ * like Spring's {@code SimpleKey}.
+ *
+ * <p>No key object is allocated for the common shapes: a method without arguments shares one key,
+ * and a single non-null, non-array argument is its own key. Arguments must not be mutated while
+ * they are cached.
+ */
+final class MethodCacheKey {
+
+  static final MethodCacheKey EMPTY = new MethodCacheKey(new Object[0]);
+
+  private final Object[] args;
+  private final int hash;
+
+  private MethodCacheKey(Object[] args) {
+    this.args = args;
+    this.hash = Arrays.deepHashCode(args);
+  }
+
+  /**
+   * Returns the cache key for the given invocation arguments.
+   *
+   * @param args invocation arguments
+   * @return the key
+   */
+  static Object of(Object[] args) {
+    if (args.length == 0) {
+      return EMPTY;
+    }
+    if (args.length == 1 && args[0] != null && !args[0].getClass().isArray()) {
+      return args[0];
+    }
+    return new MethodCacheKey(args.clone());
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other
+        || (other instanceof MethodCacheKey key
+            && hash == key.hash
+            && Arrays.deepEquals(args, key.args));
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.deepToString(args);
+  }
+}
@@ -3,6 +3,7 @@ package com.marcusprado02.commons.starter.resilience.aop;
 import com.marcusprado02.commons.app.resilience.BulkheadPolicy;
 import com.marcusprado02.commons.app.resilience.CachePolicy;
 import com.marcusprado02.commons.app.resilience.CircuitBreakerPolicy;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
 import com.marcusprado02.commons.app.resilience.FallbackStrategy;
 import com.marcusprado02.commons.app.resilience.RateLimiterPolicy;
 import com.marcusprado02.commons.app.resilience.ResilienceExecutor;
@@ -14,7 +15,7 @@ import com.marcusprado02.commons.starter.resilience.annotation.Resilient;
 import com.marcusprado02.commons.starter.resilience.props.ResilienceProperties;
 import java.lang.reflect.Method;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -24,13 +25,18 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
 
-/** AOP aspect that applies resilience policies to methods annotated with {@link Resilient}. */
+/**
+ * AOP aspect that applies resilience policies to methods annotated with {@link Resilient}.
+ *
+ * <p>The annotations and default properties of a method are resolved into its policies, operation
+ * name and fallback method on its first invocation; later invocations reuse them.
+ */
 @Aspect
 public final class ResilienceAspect {
 
   private final ResilienceExecutor resilienceExecutor;
   private final ResilienceProperties resilienceProperties;
-  private final ConcurrentMap<String, Method> fallbackMethodCache = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Method, ResilientMethod> descriptors = new ConcurrentHashMap<>();
 
   /**
    * Creates a resilience aspect with the given executor and properties.
@@ -56,19 +62,14 @@ public final class ResilienceAspect {
    */
   @Around("@annotation(resilient)")
   public Object aroundResilient(ProceedingJoinPoint joinPoint, Resilient resilient) {
-    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-    Method method = signature.getMethod();
-
-    String opName =
-        (resilient.name() == null || resilient.name().isBlank())
-            ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
-            : resilient.name().trim();
-
-    ResiliencePolicySet policies = buildPolicies(method);
-    FallbackStrategy<Object> fallback =
-        buildFallback(
-            joinPoint.getTarget(), method, resilient.fallbackMethod(), joinPoint.getArgs());
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    ResilientMethod descriptor = descriptors.get(method);
+    if (descriptor == null) {
+      descriptor = descriptors.computeIfAbsent(method, ignored -> describe(method, resilient));
+    }
 
+    Object[] args = joinPoint.getArgs();
+    FallbackStrategy<Object> fallback = descriptor.fallback(joinPoint.getTarget(), args);
     Supplier<Object> action =
         () -> {
           try {
@@ -82,22 +83,32 @@ public final class ResilienceAspect {
           }
         };
 
+    Object key = descriptor.cacheKey(args);
+    if (key != null) {
+      return resilienceExecutor.supplyCached(
+          descriptor.operationName(), descriptor.policies(), key, action, fallback);
+    }
+    return resilienceExecutor.supply(
+        descriptor.operationName(), descriptor.policies(), action, fallback);
+  }
+
+  private ResilientMethod describe(Method method, Resilient resilient) {
+    String opName =
+        (resilient.name() == null || resilient.name().isBlank())
+            ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+            : resilient.name().trim();
+
+    ResiliencePolicySet policies = buildPolicies(method);
     CacheableResilience cacheable = method.getAnnotation(CacheableResilience.class);
     if (cacheable != null) {
-      CachePolicy cachePolicy = toCachePolicy(cacheable);
-      ResiliencePolicySet withCache =
-          new ResiliencePolicySet(
-              policies.retry(),
-              policies.timeout(),
-              policies.circuitBreaker(),
-              policies.bulkhead(),
-              policies.rateLimiter(),
-              cachePolicy);
-      Object key = Arrays.asList(opName, Arrays.deepToString(joinPoint.getArgs()));
-      return resilienceExecutor.supplyCached(opName, withCache, key, action, fallback);
+      policies = policies.withCache(toCachePolicy(cacheable));
     }
-
-    return resilienceExecutor.supply(opName, policies, action, fallback);
+    return new ResilientMethod(
+        opName,
+        policies,
+        cacheable != null,
+        resilient.fallbackMethod(),
+        method.getParameterTypes());
   }
 
   private ResiliencePolicySet buildPolicies(Method method) {
@@ -147,7 +158,10 @@ public final class ResilienceAspect {
     }
 
     BulkheadPolicy bulkhead = base.bulkhead();
-    if (bulkheadAnn != null) {
+    ConcurrencyLimitPolicy concurrencyLimit = base.concurrencyLimit();
+    if (bulkheadAnn != null && bulkheadAnn.adaptive()) {
+      concurrencyLimit = toConcurrencyLimitPolicy(bulkheadAnn, concurrencyLimit);
+    } else if (bulkheadAnn != null) {
       BulkheadPolicy seed = (bulkhead == null) ? defaultBulkhead() : bulkhead;
       int max =
           (bulkheadAnn.maxConcurrentCalls() <= 0)
@@ -176,18 +190,44 @@ public final class ResilienceAspect {
     }
 
     return new ResiliencePolicySet(
-        retry, timeout, circuitBreaker, bulkhead, rateLimiter, base.cache());
+        retry, timeout, circuitBreaker, bulkhead, rateLimiter, base.cache(), concurrencyLimit);
+  }
+
+  private ConcurrencyLimitPolicy toConcurrencyLimitPolicy(
+      com.marcusprado02.commons.starter.resilience.annotation.Bulkhead bulkheadAnn,
+      ConcurrencyLimitPolicy base) {
+    ConcurrencyLimitPolicy seed = (base == null) ? ConcurrencyLimitPolicy.defaults() : base;
+    int max =
+        (bulkheadAnn.maxConcurrentCalls() <= 0)
+            ? seed.maxLimit()
+            : bulkheadAnn.maxConcurrentCalls();
+    ConcurrencyLimitPolicy.Algorithm algorithm =
+        (bulkheadAnn.algorithm() == null || bulkheadAnn.algorithm().isBlank())
+            ? seed.algorithm()
+            : ConcurrencyLimitPolicy.Algorithm.valueOf(
+                bulkheadAnn.algorithm().trim().toUpperCase(Locale.ROOT));
+    return new ConcurrencyLimitPolicy(
+        algorithm,
+        Math.min(seed.initialLimit(), max),
+        Math.min(seed.minLimit(), max),
+        max,
+        durationOr(bulkheadAnn.maxWaitDuration(), seed.maxWaitDuration()));
   }
 
   private CachePolicy toCachePolicy(CacheableResilience cacheable) {
     CachePolicy base = resilienceProperties.toPolicySet().cache();
     CachePolicy seed = (base == null) ? defaultCache() : base;
     int maxSize = (cacheable.maxSize() <= 0) ? seed.maxSize() : cacheable.maxSize();
-    Duration ttl =
-        (cacheable.ttl() == null || cacheable.ttl().isBlank())
-            ? seed.ttl()
-            : Duration.parse(cacheable.ttl());
-    return new CachePolicy(maxSize, ttl);
+    return new CachePolicy(
+        maxSize,
+        durationOr(cacheable.ttl(), seed.ttl()),
+        durationOr(cacheable.refreshAhead(), seed.refreshAhead()),
+        durationOr(cacheable.staleWhileRevalidate(), seed.staleWhileRevalidate()),
+        durationOr(cacheable.staleIfCircuitOpen(), seed.staleIfCircuitOpen()));
+  }
+
+  private Duration durationOr(String value, Duration fallback) {
+    return (value == null || value.isBlank()) ? fallback : Duration.parse(value);
   }
 
   private RetryPolicy defaultRetry() {
@@ -209,56 +249,4 @@ public final class ResilienceAspect {
   private CachePolicy defaultCache() {
     return new CachePolicy(1_000, Duration.ofMinutes(5));
   }
-
-  private FallbackStrategy<Object> buildFallback(
-      Object target, Method original, String fallbackMethodName, Object[] args) {
-    if (fallbackMethodName == null || fallbackMethodName.isBlank()) {
-      return FallbackStrategy.none();
-    }
-
-    String key = target.getClass().getName() + "#" + original.getName() + "->" + fallbackMethodName;
-    Method fallback =
-        fallbackMethodCache.computeIfAbsent(
-            key,
-            ignored ->
-                resolveFallbackMethod(
-                    target.getClass(), fallbackMethodName.trim(), original.getParameterTypes()));
-
-    return cause -> {
-      try {
-        Object[] params;
-        if (fallback.getParameterCount() == args.length + 1
-            && Throwable.class.isAssignableFrom(
-                fallback.getParameterTypes()[fallback.getParameterCount() - 1])) {
-          params = Arrays.copyOf(args, args.length + 1);
-          params[params.length - 1] = cause;
-        } else {
-          params = args;
-        }
-
-        fallback.setAccessible(true);
-        return fallback.invoke(target, params);
-      } catch (RuntimeException e) {
-        throw e;
-      } catch (Throwable t) {
-        throw new RuntimeException(t);
-      }
-    };
-  }
-
-  private Method resolveFallbackMethod(Class<?> targetClass, String name, Class<?>[] paramTypes) {
-    try {
-      return targetClass.getMethod(name, paramTypes);
-    } catch (NoSuchMethodException ignored) {
-      // Try with Throwable as last parameter
-      Class<?>[] withThrowable = Arrays.copyOf(paramTypes, paramTypes.length + 1);
-      withThrowable[withThrowable.length - 1] = Throwable.class;
-      try {
-        return targetClass.getMethod(name, withThrowable);
-      } catch (NoSuchMethodException e) {
-        throw new IllegalStateException(
-            "Fallback method '" + name + "' not found on " + targetClass.getName(), e);
-      }
-    }
-  }
 }
@@ -0,0 +1,120 @@
+package com.marcusprado02.commons.starter.resilience.aop;
+
+import com.marcusprado02.commons.app.resilience.FallbackStrategy;
+import com.marcusprado02.commons.app.resilience.ResiliencePolicySet;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * What {@link ResilienceAspect} resolved about one {@code @Resilient} method: its operation name,
+ * policies and fallback method. Resolved on the first invocation and reused afterwards.
+ */
+final class ResilientMethod {
+
+  private final String operationName;
+  private final ResiliencePolicySet policies;
+  private final boolean cacheable;
+  private final String fallbackMethodName;
+  private final Class<?>[] parameterTypes;
+  private final ClassValue<Fallback> fallbacks =
+      new ClassValue<>() {
+        @Override
+        protected Fallback computeValue(Class<?> targetClass) {
+          return resolveFallback(targetClass);
+        }
+      };
+
+  ResilientMethod(
+      String operationName,
+      ResiliencePolicySet policies,
+      boolean cacheable,
+      String fallbackMethodName,
+      Class<?>[] parameterTypes) {
+    this.operationName = operationName;
+    this.policies = policies;
+    this.cacheable = cacheable;
+    this.fallbackMethodName =
+        (fallbackMethodName == null || fallbackMethodName.isBlank())
+            ? null
+            : fallbackMethodName.trim();
+    this.parameterTypes = parameterTypes;
+  }
+
+  String operationName() {
+    return operationName;
+  }
+
+  ResiliencePolicySet policies() {
+    return policies;
+  }
+
+  /** Returns the cache key for the arguments, or {@code null} if results are not cached. */
+  Object cacheKey(Object[] args) {
+    return cacheable ? MethodCacheKey.of(args) : null;
+  }
+
+  /** Returns the fallback of an invocation on the target with the given arguments. */
+  FallbackStrategy<Object> fallback(Object target, Object[] args) {
+    if (fallbackMethodName == null) {
+      return FallbackStrategy.none();
+    }
+    Fallback fallback = fallbacks.get(target.getClass());
+    return cause -> fallback.invoke(target, args, cause);
+  }
+
+  private Fallback resolveFallback(Class<?> targetClass) {
+    Method method = findFallbackMethod(targetClass);
+    try {
+      method.setAccessible(true);
+      int parameterCount = method.getParameterCount();
+      MethodHandle handle =
+          MethodHandles.lookup()
+              .unreflect(method)
+              .asType(MethodType.genericMethodType(parameterCount + 1))
+              .asSpreader(Object[].class, parameterCount);
+      return new Fallback(handle, parameterCount == parameterTypes.length + 1);
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalStateException(
+          "Fallback method '" + fallbackMethodName + "' is not accessible on " + targetClass, e);
+    }
+  }
+
+  private Method findFallbackMethod(Class<?> targetClass) {
+    try {
+      return targetClass.getMethod(fallbackMethodName, parameterTypes);
+    } catch (NoSuchMethodException ignored) {
+      // Try with Throwable as last parameter
+      Class<?>[] withThrowable = Arrays.copyOf(parameterTypes, parameterTypes.length + 1);
+      withThrowable[withThrowable.length - 1] = Throwable.class;
+      try {
+        return targetClass.getMethod(fallbackMethodName, withThrowable);
+      } catch (NoSuchMethodException e) {
+        throw new IllegalStateException(
+            "Fallback method '" + fallbackMethodName + "' not found on " + targetClass.getName(),
+            e);
+      }
+    }
+  }
+
+  /** A fallback method adapted to take the target and an argument array. */
+  private record Fallback(MethodHandle handle, boolean takesCause) {
+
+    Object invoke(Object target, Object[] args, Throwable cause) {
+      Object[] params = args;
+      if (takesCause) {
+        params = Arrays.copyOf(args, args.length + 1);
+        params[args.length] = cause;
+      }
+      try {
+        return (Object) handle.invokeExact(target, params);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.marcusprado02.commons.starter.resilience.props;
 import com.marcusprado02.commons.app.resilience.BulkheadPolicy;
 import com.marcusprado02.commons.app.resilience.CachePolicy;
 import com.marcusprado02.commons.app.resilience.CircuitBreakerPolicy;
+import com.marcusprado02.commons.app.resilience.ConcurrencyLimitPolicy;
 import com.marcusprado02.commons.app.resilience.RateLimiterPolicy;
 import com.marcusprado02.commons.app.resilience.ResiliencePolicySet;
 import com.marcusprado02.commons.app.resilience.RetryPolicy;
@@ -36,7 +37,8 @@ public class ResilienceProperties {
         defaults.circuitBreaker.toPolicy(),
         defaults.bulkhead.toPolicy(),
         defaults.rateLimiter.toPolicy(),
-        defaults.cache.toPolicy());
+        defaults.cache.toPolicy(),
+        defaults.concurrencyLimit.toPolicy());
   }
 
   public static final class Aop {
@@ -58,6 +60,7 @@ public class ResilienceProperties {
     private final Bulkhead bulkhead = new Bulkhead();
     private final RateLimiter rateLimiter = new RateLimiter();
     private final Cache cache = new Cache();
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
 
     public Retry getRetry() {
       return retry;
@@ -82,6 +85,10 @@ public class ResilienceProperties {
     public Cache getCache() {
       return cache;
     }
+
+    public ConcurrencyLimit getConcurrencyLimit() {
+      return concurrencyLimit;
+    }
   }
 
   public static final class Retry {
@@ -243,6 +250,9 @@ public class ResilienceProperties {
   public static final class Cache {
     private Integer maxSize;
     private Duration ttl;
+    private Duration refreshAhead;
+    private Duration staleWhileRevalidate;
+    private Duration staleIfCircuitOpen;
 
     public Integer getMaxSize() {
       return maxSize;
@@ -260,13 +270,108 @@ public class ResilienceProperties {
       this.ttl = ttl;
     }
 
+    public Duration getRefreshAhead() {
+      return refreshAhead;
+    }
+
+    public void setRefreshAhead(Duration refreshAhead) {
+      this.refreshAhead = refreshAhead;
+    }
+
+    public Duration getStaleWhileRevalidate() {
+      return staleWhileRevalidate;
+    }
+
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+      this.staleWhileRevalidate = staleWhileRevalidate;
+    }
+
+    public Duration getStaleIfCircuitOpen() {
+      return staleIfCircuitOpen;
+    }
+
+    public void setStaleIfCircuitOpen(Duration staleIfCircuitOpen) {
+      this.staleIfCircuitOpen = staleIfCircuitOpen;
+    }
+
     CachePolicy toPolicy() {
-      if (maxSize == null && ttl == null) {
+      if (maxSize == null
+          && ttl == null
+          && refreshAhead == null
+          && staleWhileRevalidate == null
+          && staleIfCircuitOpen == null) {
         return null;
       }
       int size = (maxSize == null) ? 1_000 : maxSize;
       Duration duration = (ttl == null) ? Duration.ofMinutes(5) : ttl;
-      return new CachePolicy(size, duration);
+      return new CachePolicy(
+          size, duration, refreshAhead, staleWhileRevalidate, staleIfCircuitOpen);
+    }
+  }
+
+  public static final class ConcurrencyLimit {
+    private ConcurrencyLimitPolicy.Algorithm algorithm;
+    private Integer initialLimit;
+    private Integer minLimit;
+    private Integer maxLimit;
+    private Duration maxWaitDuration;
+
+    public ConcurrencyLimitPolicy.Algorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    public void setAlgorithm(ConcurrencyLimitPolicy.Algorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    public Integer getInitialLimit() {
+      return initialLimit;
+    }
+
+    public void setInitialLimit(Integer initialLimit) {
+      this.initialLimit = initialLimit;
+    }
+
+    public Integer getMinLimit() {
+      return minLimit;
+    }
+
+    public void setMinLimit(Integer minLimit) {
+      this.minLimit = minLimit;
+    }
+
+    public Integer getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(Integer maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+
+    public Duration getMaxWaitDuration() {
+      return maxWaitDuration;
+    }
+
+    public void setMaxWaitDuration(Duration maxWaitDuration) {
+      this.maxWaitDuration = maxWaitDuration;
+    }
+
+    ConcurrencyLimitPolicy toPolicy() {
+      if (algorithm == null
+          && initialLimit == null
+          && minLimit == null
+          && maxLimit == null
+          && maxWaitDuration == null) {
+        return null;
+      }
+      int max = (maxLimit == null) ? ConcurrencyLimitPolicy.DEFAULT_MAX_LIMIT : maxLimit;
+      int min =
+          (minLimit == null) ? Math.min(ConcurrencyLimitPolicy.DEFAULT_MIN_LIMIT, max) : minLimit;
+      int initial =
+          (initialLimit == null)
+              ? Math.clamp(ConcurrencyLimitPolicy.DEFAULT_INITIAL_LIMIT, min, max)
+              : initialLimit;
+      return new ConcurrencyLimitPolicy(algorithm, initial, min, max, maxWaitDuration);
     }
   }
 }
@@ -3,6 +3,10 @@ package com.marcusprado02.commons.starter.resilience;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.marcusprado02.commons.adapters.resilience4j.Resilience4jExecutor;
+import com.marcusprado02.commons.app.resilience.CachePolicy;
+import com.marcusprado02.commons.app.resilience.ResilienceExecutor;
+import com.marcusprado02.commons.app.resilience.ResiliencePolicySet;
 import com.marcusprado02.commons.starter.resilience.annotation.Bulkhead;
 import com.marcusprado02.commons.starter.resilience.annotation.CacheableResilience;
 import com.marcusprado02.commons.starter.resilience.annotation.CircuitBreaker;
@@ -10,7 +14,12 @@ import com.marcusprado02.commons.starter.resilience.annotation.RateLimiter;
 import com.marcusprado02.commons.starter.resilience.annotation.Resilient;
 import com.marcusprado02.commons.starter.resilience.annotation.Retry;
 import com.marcusprado02.commons.starter.resilience.annotation.Timeout;
+import com.marcusprado02.commons.starter.resilience.props.ResilienceProperties;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
@@ -116,9 +125,8 @@ class ResilienceAspectBranchTest {
     contextRunner.run(
         ctx -> {
           BranchService service = ctx.getBean(BranchService.class);
-          // @Timeout annotation exercises timeoutAnn != null branch in buildPolicies;
-          // executor wraps the timeout execution which may throw RuntimeException
-          assertThatThrownBy(service::withTimeout).isInstanceOf(RuntimeException.class);
+          // @Timeout annotation exercises timeoutAnn != null branch in buildPolicies
+          assertThat(service.withTimeout()).isEqualTo("timeout-ok");
         });
   }
 
@@ -179,6 +187,110 @@ class ResilienceAspectBranchTest {
             });
   }
 
+  @Test
+  void shouldApplyCacheWindowsFromProperties() {
+    new ApplicationContextRunner()
+        .withConfiguration(
+            AutoConfigurations.of(AopAutoConfiguration.class, ResilienceAutoConfiguration.class))
+        .withPropertyValues(
+            "commons.resilience.defaults.cache.ttl=PT2M",
+            "commons.resilience.defaults.cache.refresh-ahead=PT10S",
+            "commons.resilience.defaults.cache.stale-while-revalidate=PT30S",
+            "commons.resilience.defaults.cache.stale-if-circuit-open=PT10M")
+        .withUserConfiguration(BranchServiceConfig.class)
+        .run(
+            ctx -> {
+              assertThat(ctx.getBean(ResilienceProperties.class).toPolicySet().cache())
+                  .isEqualTo(
+                      new CachePolicy(
+                          1_000,
+                          Duration.ofMinutes(2),
+                          Duration.ofSeconds(10),
+                          Duration.ofSeconds(30),
+                          Duration.ofMinutes(10)));
+              BranchService service = ctx.getBean(BranchService.class);
+              assertThat(service.withCacheDefaults("key4")).isEqualTo("cache-defaults:key4");
+            });
+  }
+
+  @Test
+  void shouldKeyCachedResultsByArgumentEquality() {
+    contextRunner.run(
+        ctx -> {
+          BranchService service = ctx.getBean(BranchService.class);
+          BranchService.PAIR_CALLS.set(0);
+          service.withCachedPair(new Tag("a"), new int[] {1});
+          service.withCachedPair(new Tag("a"), new int[] {1});
+          assertThat(BranchService.PAIR_CALLS).hasValue(1);
+
+          // same string form, different values
+          service.withCachedPair(new Tag("b"), new int[] {1});
+          assertThat(BranchService.PAIR_CALLS).hasValue(2);
+        });
+  }
+
+  @Test
+  void shouldResolvePoliciesOncePerMethod() {
+    List<ResiliencePolicySet> seen = new CopyOnWriteArrayList<>();
+    ResilienceExecutor capturing =
+        new ResilienceExecutor() {
+          @Override
+          public void run(String name, ResiliencePolicySet policies, Runnable action) {
+            action.run();
+          }
+
+          @Override
+          public <T> T supply(String name, ResiliencePolicySet policies, Supplier<T> action) {
+            seen.add(policies);
+            return action.get();
+          }
+        };
+    contextRunner
+        .withBean(ResilienceExecutor.class, () -> capturing)
+        .run(
+            ctx -> {
+              BranchService service = ctx.getBean(BranchService.class);
+              service.withCb();
+              service.withCb();
+              assertThat(seen).hasSize(2);
+              assertThat(seen.get(1)).isSameAs(seen.get(0));
+              assertThat(seen.get(0).circuitBreaker()).isNotNull();
+            });
+  }
+
+  @Test
+  void shouldApplyAdaptiveBulkheadAsConcurrencyLimit() {
+    contextRunner
+        .withPropertyValues(
+            "commons.resilience.defaults.concurrency-limit.algorithm=VEGAS",
+            "commons.resilience.defaults.concurrency-limit.min-limit=2")
+        .run(
+            ctx -> {
+              BranchService service = ctx.getBean(BranchService.class);
+              assertThat(service.withAdaptiveBulkhead()).isEqualTo("adaptive-ok");
+
+              Resilience4jExecutor executor = ctx.getBean(Resilience4jExecutor.class);
+              assertThat(executor.concurrencyLimitStatuses())
+                  .singleElement()
+                  .satisfies(
+                      status -> {
+                        assertThat(status.name()).isEqualTo("with-adaptive-bulkhead");
+                        assertThat(status.algorithm()).isEqualTo("AIMD");
+                        assertThat(status.minLimit()).isEqualTo(2);
+                        assertThat(status.maxLimit()).isEqualTo(8);
+                        assertThat(status.inFlight()).isZero();
+                      });
+            });
+  }
+
+  /** A value whose string form does not reflect its equality. */
+  record Tag(String value) {
+    @Override
+    public String toString() {
+      return "tag";
+    }
+  }
+
   @Configuration
   static class BranchServiceConfig {
     @Bean
@@ -189,6 +301,7 @@ class ResilienceAspectBranchTest {
 
   static class BranchService {
     static final AtomicInteger CACHE_CALLS = new AtomicInteger();
+    static final AtomicInteger PAIR_CALLS = new AtomicInteger();
     static final AtomicInteger ALWAYS_FAIL_CALLS = new AtomicInteger();
     static final AtomicInteger RETRY_DEFAULTS_CALLS = new AtomicInteger();
 
@@ -221,6 +334,12 @@ class ResilienceAspectBranchTest {
       return "bulkhead-defaults-ok";
     }
 
+    @Resilient(name = "with-adaptive-bulkhead")
+    @Bulkhead(adaptive = true, algorithm = "aimd", maxConcurrentCalls = 8)
+    public String withAdaptiveBulkhead() {
+      return "adaptive-ok";
+    }
+
     @Resilient(name = "with-rl")
     @RateLimiter(limitForPeriod = 100, refreshPeriod = "PT1S", timeout = "PT0S")
     public String withRl() {
@@ -240,13 +359,20 @@ class ResilienceAspectBranchTest {
       return "cached:" + key;
     }
 
+    @Resilient(name = "with-cached-pair")
+    @CacheableResilience
+    public String withCachedPair(Tag tag, int[] values) {
+      PAIR_CALLS.incrementAndGet();
+      return tag.value() + values.length;
+    }
+
     @Resilient(name = "with-cache-defaults")
     @CacheableResilience
     public String withCacheDefaults(String key) {
       return "cache-defaults:" + key;
     }
 
-    @Resilient(name = "with-timeout-executor-bug")
+    @Resilient(name = "with-timeout")
     @Timeout("PT30S")
     public String withTimeout() {
       return "timeout-ok";
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.marcusprado02.commons.app.resilience.ResilienceExecutor;
 import com.marcusprado02.commons.starter.resilience.actuator.CircuitBreakersEndpoint;
+import com.marcusprado02.commons.starter.resilience.actuator.ConcurrencyLimitsEndpoint;
 import com.marcusprado02.commons.starter.resilience.actuator.ResilienceActuatorAutoConfiguration;
 import com.marcusprado02.commons.starter.resilience.annotation.Resilient;
 import com.marcusprado02.commons.starter.resilience.annotation.Retry;
@@ -59,6 +60,7 @@ class ResilienceAutoConfigurationTest {
     contextRunnerWithActuator.run(
         ctx -> {
           assertThat(ctx).hasSingleBean(CircuitBreakersEndpoint.class);
+          assertThat(ctx).hasSingleBean(ConcurrencyLimitsEndpoint.class);
         });
   }
 
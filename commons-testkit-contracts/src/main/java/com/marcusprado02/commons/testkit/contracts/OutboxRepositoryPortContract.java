@@ -0,0 +1,514 @@
+package com.marcusprado02.commons.testkit.contracts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.marcusprado02.commons.app.outbox.model.OutboxMessage;
+import com.marcusprado02.commons.app.outbox.model.OutboxMessageId;
+import com.marcusprado02.commons.app.outbox.model.OutboxPayload;
+import com.marcusprado02.commons.app.outbox.model.OutboxStatus;
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Base contract test for {@link OutboxRepositoryPort} implementations.
+ *
+ * <p>Extend this class to verify that your outbox repository correctly follows the
+ * OutboxRepositoryPort contract, including the set-based claim and transition operations.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * class JpaOutboxRepositoryContractTest extends OutboxRepositoryPortContract {
+ *   @Override
+ *   protected OutboxRepositoryPort createRepository() {
+ *     return new JpaOutboxRepositoryAdapter(em);
+ *   }
+ *
+ *   @Override
+ *   protected <T> T inTransaction(Supplier<T> action) {
+ *     em.getTransaction().begin();
+ *     T result = action.get();
+ *     em.getTransaction().commit();
+ *     em.clear();
+ *     return result;
+ *   }
+ * }
+ * }</pre>
+ */
+public abstract class OutboxRepositoryPortContract {
+
+  private static final Duration LEASE = Duration.ofMinutes(1);
+
+  protected OutboxRepositoryPort repository;
+
+  /**
+   * Create the repository instance to be tested.
+   *
+   * @return repository implementation
+   */
+  protected abstract OutboxRepositoryPort createRepository();
+
+  /** Clean up repository before each test (optional). */
+  protected void cleanupRepository() {
+    // Override if cleanup is needed
+  }
+
+  /**
+   * Run a repository interaction in its own unit of work.
+   *
+   * <p>Transactional adapters should override this to begin and commit a transaction.
+   *
+   * @param action repository interaction
+   * @param <T> result type
+   * @return the action result
+   */
+  protected <T> T inTransaction(Supplier<T> action) {
+    return action.get();
+  }
+
+  @BeforeEach
+  void setUp() {
+    repository = createRepository();
+    cleanupRepository();
+  }
+
+  @Test
+  @DisplayName("Should append and find message by ID")
+  void shouldAppendAndFindById() {
+    // Given
+    OutboxMessage message = createMessage(Instant.now());
+
+    // When
+    append(message);
+
+    // Then
+    OutboxMessage found = find(message.id());
+    assertThat(found.status()).isEqualTo(OutboxStatus.PENDING);
+    assertThat(found.topic()).isEqualTo(message.topic());
+  }
+
+  @Test
+  @DisplayName("Should mark message as processing only once")
+  void shouldMarkProcessingOnlyOnce() {
+    // Given
+    OutboxMessage message = createMessage(Instant.now());
+    append(message);
+
+    // When
+    boolean first = inTransaction(() -> repository.markProcessing(message.id(), Instant.now()));
+    boolean second = inTransaction(() -> repository.markProcessing(message.id(), Instant.now()));
+
+    // Then
+    assertThat(first).isTrue();
+    assertThat(second).isFalse();
+    assertThat(find(message.id()).attempts()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should claim pending messages oldest first up to the limit")
+  void shouldClaimOldestPendingMessagesFirst() {
+    // Given
+    Instant base = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    OutboxMessage newest = createMessage(base.plusSeconds(2));
+    OutboxMessage oldest = createMessage(base);
+    OutboxMessage middle = createMessage(base.plusSeconds(1));
+    append(newest);
+    append(oldest);
+    append(middle);
+
+    // When
+    List<OutboxMessage> claimed = claim("worker-1", 2);
+
+    // Then
+    assertThat(claimed).extracting(OutboxMessage::id).containsExactly(oldest.id(), middle.id());
+    assertThat(claimed).allMatch(m -> m.status() == OutboxStatus.PROCESSING);
+    assertThat(find(oldest.id()).status()).isEqualTo(OutboxStatus.PROCESSING);
+    assertThat(find(newest.id()).status()).isEqualTo(OutboxStatus.PENDING);
+  }
+
+  @Test
+  @DisplayName("Should hand out disjoint batches to successive claims")
+  void shouldNotClaimMessagesTwice() {
+    // Given
+    for (int i = 0; i < 5; i++) {
+      append(createMessage(Instant.now()));
+    }
+
+    // When
+    List<OutboxMessage> first = claim("worker-1", 3);
+    List<OutboxMessage> second = claim("worker-2", 3);
+    List<OutboxMessage> third = claim("worker-3", 3);
+
+    // Then
+    assertThat(first).hasSize(3);
+    assertThat(second).hasSize(2);
+    assertThat(third).isEmpty();
+    assertThat(second)
+        .extracting(OutboxMessage::id)
+        .doesNotContainAnyElementsOf(first.stream().map(OutboxMessage::id).toList());
+  }
+
+  @Test
+  @DisplayName("Should not change attempts when claiming")
+  void shouldKeepAttemptsWhenClaiming() {
+    // Given
+    OutboxMessage message = createMessage(Instant.now());
+    append(message);
+
+    // When
+    claim("worker-1", 10);
+
+    // Then
+    assertThat(find(message.id()).attempts()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should mark a batch of claimed messages as published")
+  void shouldMarkPublishedBatch() {
+    // Given
+    append(createMessage(Instant.now()));
+    append(createMessage(Instant.now()));
+    List<OutboxMessageId> ids = claim("worker-1", 10).stream().map(OutboxMessage::id).toList();
+
+    // When
+    int updated =
+        inTransaction(() -> repository.markPublishedBatch("worker-1", ids, Instant.now()));
+
+    // Then
+    assertThat(updated).isEqualTo(2);
+    ids.forEach(id -> assertThat(find(id).status()).isEqualTo(OutboxStatus.PUBLISHED));
+  }
+
+  @Test
+  @DisplayName("Should ignore messages that are not processing in batch transitions")
+  void shouldIgnoreNonProcessingMessagesInBatchTransitions() {
+    // Given
+    OutboxMessage pending = createMessage(Instant.now());
+    append(pending);
+    List<OutboxMessageId> ids = List.of(pending.id());
+
+    // When
+    int published =
+        inTransaction(() -> repository.markPublishedBatch("worker-1", ids, Instant.now()));
+    int failed = inTransaction(() -> repository.markFailedBatch("worker-1", ids, "boom", null));
+
+    // Then
+    assertThat(published).isZero();
+    assertThat(failed).isZero();
+    assertThat(find(pending.id()).status()).isEqualTo(OutboxStatus.PENDING);
+  }
+
+  @Test
+  @DisplayName("Should mark a batch of claimed messages as failed and count the attempt")
+  void shouldMarkFailedBatch() {
+    // Given
+    append(createMessage(Instant.now()));
+    append(createMessage(Instant.now()));
+    List<OutboxMessageId> ids = claim("worker-1", 10).stream().map(OutboxMessage::id).toList();
+
+    // When
+    int updated =
+        inTransaction(
+            () -> repository.markFailedBatch("worker-1", ids, "Connection timeout", null));
+
+    // Then
+    assertThat(updated).isEqualTo(2);
+    ids.forEach(
+        id -> {
+          OutboxMessage found = find(id);
+          assertThat(found.status()).isEqualTo(OutboxStatus.FAILED);
+          assertThat(found.attempts()).isEqualTo(1);
+        });
+  }
+
+  @Test
+  @DisplayName("Should treat empty batch transitions as no-ops")
+  void shouldHandleEmptyBatchTransitions() {
+    assertThat(
+            inTransaction(
+                () -> repository.markPublishedBatch("worker-1", List.of(), Instant.now())))
+        .isZero();
+    assertThat(
+            inTransaction(() -> repository.markFailedBatch("worker-1", List.of(), "boom", null)))
+        .isZero();
+  }
+
+  @Test
+  @DisplayName("Should count messages by status")
+  void shouldCountByStatus() {
+    // Given
+    append(createMessage(Instant.now()));
+    append(createMessage(Instant.now()));
+    append(createMessage(Instant.now()));
+    claim("worker-1", 1);
+
+    // When / Then
+    assertThat(inTransaction(() -> repository.countByStatus(OutboxStatus.PENDING))).isEqualTo(2);
+    assertThat(inTransaction(() -> repository.countByStatus(OutboxStatus.PROCESSING))).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should not claim failed messages before their next attempt is due")
+  void shouldHonourNextAttemptAt() {
+    // Given
+    Instant now = Instant.now();
+    append(createMessage(now));
+    List<OutboxMessageId> ids = claim("worker-1", 10).stream().map(OutboxMessage::id).toList();
+    Instant retryAt = now.plus(LEASE);
+    inTransaction(() -> repository.markFailedBatch("worker-1", ids, "Connection timeout", retryAt));
+
+    // When
+    List<OutboxMessage> early = inTransaction(() -> repository.fetchDue(now, 10));
+    List<OutboxMessage> notYet =
+        inTransaction(() -> repository.claimBatch("worker-2", 10, now, LEASE));
+    List<OutboxMessage> due =
+        inTransaction(() -> repository.claimBatch("worker-2", 10, retryAt, LEASE));
+
+    // Then
+    assertThat(early).isEmpty();
+    assertThat(notYet).isEmpty();
+    assertThat(due).extracting(OutboxMessage::id).containsExactlyElementsOf(ids);
+    assertThat(due.get(0).attempts()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should reschedule claimed messages without counting an attempt")
+  void shouldRescheduleBatch() {
+    // Given
+    Instant now = Instant.now();
+    append(createMessage(now));
+    List<OutboxMessageId> ids = claim("worker-1", 10).stream().map(OutboxMessage::id).toList();
+    Instant retryAt = now.plus(LEASE);
+
+    // When
+    int rescheduled = inTransaction(() -> repository.rescheduleBatch("worker-1", ids, retryAt));
+
+    // Then
+    assertThat(rescheduled).isEqualTo(1);
+    OutboxMessage found = find(ids.get(0));
+    assertThat(found.status()).isEqualTo(OutboxStatus.PENDING);
+    assertThat(found.attempts()).isZero();
+    assertThat(inTransaction(() -> repository.fetchDue(now, 10))).isEmpty();
+    assertThat(inTransaction(() -> repository.fetchDue(retryAt, 10))).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("Should release expired leases back to pending")
+  void shouldReleaseExpiredLeases() {
+    // Given
+    Instant now = Instant.now();
+    append(createMessage(now));
+    append(createMessage(now));
+    List<OutboxMessage> stuck =
+        inTransaction(
+            () -> repository.claimBatch("crashed", 10, now.minus(LEASE.multipliedBy(2)), LEASE));
+
+    // When
+    long expired = inTransaction(() -> repository.countExpiredLeases(now));
+    int released = inTransaction(() -> repository.releaseExpiredLeases(now, 10));
+
+    // Then
+    assertThat(expired).isEqualTo(2);
+    assertThat(released).isEqualTo(2);
+    stuck.forEach(
+        m -> {
+          OutboxMessage found = find(m.id());
+          assertThat(found.status()).isEqualTo(OutboxStatus.PENDING);
+          assertThat(found.attempts()).isZero();
+        });
+    assertThat(claim("worker-2", 10)).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Should not release leases that are still valid")
+  void shouldKeepValidLeases() {
+    // Given
+    append(createMessage(Instant.now()));
+    OutboxMessage claimed = claim("worker-1", 10).get(0);
+
+    // When
+    int released = inTransaction(() -> repository.releaseExpiredLeases(Instant.now(), 10));
+
+    // Then
+    assertThat(released).isZero();
+    assertThat(inTransaction(() -> repository.countExpiredLeases(Instant.now()))).isZero();
+    assertThat(find(claimed.id()).status()).isEqualTo(OutboxStatus.PROCESSING);
+  }
+
+  @Test
+  @DisplayName("Should release at most the requested number of expired leases")
+  void shouldLimitReleasedLeases() {
+    // Given
+    Instant now = Instant.now();
+    for (int i = 0; i < 3; i++) {
+      append(createMessage(now));
+    }
+    inTransaction(
+        () -> repository.claimBatch("crashed", 10, now.minus(LEASE.multipliedBy(2)), LEASE));
+
+    // When
+    int released = inTransaction(() -> repository.releaseExpiredLeases(now, 2));
+
+    // Then
+    assertThat(released).isEqualTo(2);
+    assertThat(inTransaction(() -> repository.countExpiredLeases(now))).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should renew leases only for the owning worker")
+  void shouldRenewLeasesForOwner() {
+    // Given
+    Instant now = Instant.now();
+    append(createMessage(now));
+    List<OutboxMessageId> ids =
+        inTransaction(
+                () ->
+                    repository.claimBatch("worker-1", 10, now.minus(LEASE.multipliedBy(2)), LEASE))
+            .stream()
+            .map(OutboxMessage::id)
+            .toList();
+
+    // When
+    int foreign = inTransaction(() -> repository.renewLeases("worker-2", ids, now.plus(LEASE)));
+    int own = inTransaction(() -> repository.renewLeases("worker-1", ids, now.plus(LEASE)));
+
+    // Then
+    assertThat(foreign).isZero();
+    assertThat(own).isEqualTo(1);
+    assertThat(inTransaction(() -> repository.releaseExpiredLeases(now, 10))).isZero();
+  }
+
+  @Test
+  @DisplayName("Should not record outcomes from a worker whose lease passed to another")
+  void shouldScopeBatchTransitionsToLeaseOwner() {
+    // Given
+    Instant now = Instant.now();
+    append(createMessage(now));
+    List<OutboxMessageId> ids =
+        inTransaction(
+                () -> repository.claimBatch("stale", 10, now.minus(LEASE.multipliedBy(2)), LEASE))
+            .stream()
+            .map(OutboxMessage::id)
+            .toList();
+    inTransaction(() -> repository.releaseExpiredLeases(now, 10));
+    claim("worker-2", 10);
+
+    // When
+    int published =
+        inTransaction(() -> repository.markPublishedBatch("stale", ids, Instant.now()));
+    int rescheduled =
+        inTransaction(() -> repository.rescheduleBatch("stale", ids, now.plus(LEASE)));
+    int failed =
+        inTransaction(() -> repository.markFailedBatch("worker-2", ids, "boom", now.plus(LEASE)));
+
+    // Then
+    assertThat(published).isZero();
+    assertThat(rescheduled).isZero();
+    assertThat(failed).isEqualTo(1);
+    assertThat(find(ids.get(0)).status()).isEqualTo(OutboxStatus.FAILED);
+  }
+
+  @Test
+  @DisplayName("Should purge old published messages in bounded chunks, oldest first")
+  void shouldDeletePublishedInChunks() {
+    // Given
+    Instant now = Instant.now();
+    List<OutboxMessageId> ids = publishAll(3, now.minus(3, ChronoUnit.HOURS));
+    List<OutboxMessageId> recent = publishAll(1, now);
+
+    // When
+    int first = inTransaction(() -> repository.deletePublishedOlderThan(now.minusSeconds(60), 2));
+    int second = inTransaction(() -> repository.deletePublishedOlderThan(now.minusSeconds(60), 2));
+
+    // Then
+    assertThat(first).isEqualTo(2);
+    assertThat(second).isEqualTo(1);
+    ids.forEach(id -> assertThat(inTransaction(() -> repository.findById(id))).isEmpty());
+    assertThat(find(recent.get(0)).status()).isEqualTo(OutboxStatus.PUBLISHED);
+  }
+
+  @Test
+  @DisplayName("Should archive old published messages before deleting them")
+  void shouldArchivePublishedInChunks() {
+    // Given
+    Instant now = Instant.now();
+    List<OutboxMessageId> ids = publishAll(3, now.minus(3, ChronoUnit.HOURS));
+    List<OutboxMessage> archived = new ArrayList<>();
+
+    // When
+    int count =
+        inTransaction(
+            () -> repository.archivePublishedOlderThan(now.minusSeconds(60), 2, archived::addAll));
+
+    // Then
+    assertThat(count).isEqualTo(2);
+    assertThat(archived).extracting(OutboxMessage::id).containsExactlyElementsOf(ids.subList(0, 2));
+    assertThat(inTransaction(() -> repository.countByStatus(OutboxStatus.PUBLISHED))).isEqualTo(1);
+  }
+
+  /**
+   * Create a PENDING test message with a unique ID.
+   *
+   * @param occurredAt when the event occurred
+   * @return test message
+   */
+  protected OutboxMessage createMessage(Instant occurredAt) {
+    return new OutboxMessage(
+        new OutboxMessageId(UUID.randomUUID().toString()),
+        "Order",
+        "order-" + UUID.randomUUID(),
+        "OrderCreated",
+        "orders.created",
+        new OutboxPayload("application/json", "{}".getBytes(StandardCharsets.UTF_8)),
+        Map.of(),
+        occurredAt,
+        OutboxStatus.PENDING,
+        0);
+  }
+
+  private void append(OutboxMessage message) {
+    inTransaction(
+        () -> {
+          repository.append(message);
+          return null;
+        });
+  }
+
+  /** Appends, claims and publishes {@code count} messages, publishing each a second apart. */
+  private List<OutboxMessageId> publishAll(int count, Instant publishedFrom) {
+    List<OutboxMessageId> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      OutboxMessage message = createMessage(publishedFrom);
+      append(message);
+      ids.add(message.id());
+    }
+    List<OutboxMessageId> claimed =
+        claim("worker-1", count).stream().map(OutboxMessage::id).toList();
+    for (int i = 0; i < ids.size(); i++) {
+      List<OutboxMessageId> one = List.of(ids.get(i));
+      Instant publishedAt = publishedFrom.plusSeconds(i);
+      inTransaction(() -> repository.markPublishedBatch("worker-1", one, publishedAt));
+    }
+    assertThat(claimed).containsExactlyInAnyOrderElementsOf(ids);
+    return ids;
+  }
+
+  private List<OutboxMessage> claim(String owner, int limit) {
+    return inTransaction(() -> repository.claimBatch(owner, limit, Instant.now(), LEASE));
+  }
+
+  private OutboxMessage find(OutboxMessageId id) {
+    return inTransaction(() -> repository.findById(id)).orElseThrow();
+  }
+}
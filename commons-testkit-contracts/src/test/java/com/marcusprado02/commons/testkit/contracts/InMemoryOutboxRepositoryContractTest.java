@@ -0,0 +1,12 @@
+package com.marcusprado02.commons.testkit.contracts;
+
+import com.marcusprado02.commons.app.outbox.port.OutboxRepositoryPort;
+import com.marcusprado02.commons.app.outbox.store.InMemoryOutboxRepository;
+
+class InMemoryOutboxRepositoryContractTest extends OutboxRepositoryPortContract {
+
+  @Override
+  protected OutboxRepositoryPort createRepository() {
+    return new InMemoryOutboxRepository();
+  }
+}